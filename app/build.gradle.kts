@@ -38,6 +38,7 @@ android {
 }
 
 dependencies {
+    implementation(project(":bluelineastrolib"))
     implementation(libs.appcompat)
     implementation(libs.androidx.work)
     testImplementation(libs.junit)
@@ -10,11 +10,16 @@ import net.nhiroki.bluelinesolarinfo.storage.oldVersions.DataStore_0_1_0;
 import net.nhiroki.bluelinesolarinfo.test_data.ShowaStationRegion;
 import net.nhiroki.bluelinesolarinfo.test_data.TokyoNAORegion;
 import net.nhiroki.bluelinesolarinfo.test_data.TopOfMtFujiRegion;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.time.LocalDate;
+import java.util.Arrays;
+
 
 @RunWith(AndroidJUnit4.class)
 public class DataStoreTest {
@@ -68,4 +73,62 @@ public class DataStoreTest {
         assertEquals(new TopOfMtFujiRegion().getLocationOnTheEarth(), newDataStore.getRegions().get(2).getLocationOnTheEarth());
         newDataStore.close();
     }
+
+    @Test
+    public void almanacTest() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        DataStore dataStore = DataStore.getInstance(ApplicationProvider.getApplicationContext());
+        long tokyoNAOID = dataStore.createRegion(new TokyoNAORegion());
+        RegionOnTheEarth tokyoNAO = dataStore.getRegionById(tokyoNAOID);
+        long showaStationID = dataStore.createRegion(new ShowaStationRegion());
+        RegionOnTheEarth showaStation = dataStore.getRegionById(showaStationID);
+
+        LocalDate date = LocalDate.of(2026, 6, 21);
+        StoredAlmanac tokyoAlmanac = StoredAlmanac.calculate(date, tokyoNAO.getZoneId(), tokyoNAO.getLocationOnTheEarth());
+        // Polar night, without sunrise and sunset
+        StoredAlmanac showaAlmanac = StoredAlmanac.calculate(date, showaStation.getZoneId(), showaStation.getLocationOnTheEarth());
+        assertNull(showaAlmanac.getSunrise());
+
+        assertNull(dataStore.getAlmanac(tokyoNAOID, date));
+        assertTrue(dataStore.storeAlmanacs(tokyoNAO, Arrays.asList(tokyoAlmanac, StoredAlmanac.calculate(date.plusDays(1), tokyoNAO.getZoneId(), tokyoNAO.getLocationOnTheEarth()))));
+        assertTrue(dataStore.storeAlmanacs(showaStation, Arrays.asList(showaAlmanac)));
+
+        StoredAlmanac tokyoStored = dataStore.getAlmanac(tokyoNAOID, date);
+        assertEquals(tokyoAlmanac.getSunrise(), tokyoStored.getSunrise());
+        assertEquals(tokyoAlmanac.getSunCulmination(), tokyoStored.getSunCulmination());
+        assertEquals(tokyoAlmanac.getSunset(), tokyoStored.getSunset());
+        assertEquals(tokyoAlmanac.getMoonrise(), tokyoStored.getMoonrise());
+        assertEquals(tokyoAlmanac.getMoonCulmination(), tokyoStored.getMoonCulmination());
+        assertEquals(tokyoAlmanac.getMoonset(), tokyoStored.getMoonset());
+        assertEquals(tokyoAlmanac.getSunEclipticLongitudeDegAtNoon(), tokyoStored.getSunEclipticLongitudeDegAtNoon(), 0.0);
+        assertEquals(tokyoAlmanac.getMoonPhaseDegAtNoon(), tokyoStored.getMoonPhaseDegAtNoon(), 0.0);
+        assertEquals(tokyoAlmanac.getEquationOfTimeSecAtNoon(), tokyoStored.getEquationOfTimeSecAtNoon(), 0.0);
+        assertEquals(tokyoAlmanac.getPreviousNewMoon(), tokyoStored.getPreviousNewMoon());
+
+        StoredAlmanac showaStored = dataStore.getAlmanac(showaStationID, date);
+        assertNull(showaStored.getSunrise());
+        assertNull(showaStored.getSunset());
+        assertEquals(showaAlmanac.getMoonrise(), showaStored.getMoonrise());
+
+        assertEquals(2, dataStore.getDatesOfStoredAlmanacs(tokyoNAOID, date, date.plusDays(400)).size());
+        assertEquals(1, dataStore.getDatesOfStoredAlmanacs(tokyoNAOID, date.plusDays(1), date.plusDays(400)).size());
+
+        // Renaming keeps the almanac
+        dataStore.updateRegion(new RegionOnTheEarth(tokyoNAOID, "Renamed", tokyoNAO.getZoneId(), tokyoNAO.getLocationOnTheEarth()));
+        assertNotNull(dataStore.getAlmanac(tokyoNAOID, date));
+
+        dataStore.removeAlmanacsBefore(tokyoNAOID, date.plusDays(1));
+        assertNull(dataStore.getAlmanac(tokyoNAOID, date));
+        assertNotNull(dataStore.getAlmanac(tokyoNAOID, date.plusDays(1)));
+
+        // Moving the region removes the almanac, and the one computed for the old location is not stored
+        dataStore.updateRegion(new RegionOnTheEarth(tokyoNAOID, "Renamed", tokyoNAO.getZoneId(), new TopOfMtFujiRegion().getLocationOnTheEarth()));
+        assertNull(dataStore.getAlmanac(tokyoNAOID, date.plusDays(1)));
+        assertFalse(dataStore.storeAlmanacs(tokyoNAO, Arrays.asList(tokyoAlmanac)));
+        assertNull(dataStore.getAlmanac(tokyoNAOID, date));
+
+        dataStore.removeRegionById(showaStationID);
+        assertNull(dataStore.getAlmanac(showaStationID, date));
+        assertFalse(dataStore.storeAlmanacs(showaStation, Arrays.asList(showaAlmanac)));
+        dataStore.close();
+    }
 }
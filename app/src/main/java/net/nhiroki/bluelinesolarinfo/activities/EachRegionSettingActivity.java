@@ -16,6 +16,7 @@ import androidx.core.view.WindowInsetsCompat;
 
 import net.nhiroki.bluelinesolarinfo.R;
 import net.nhiroki.bluelinesolarinfo.region.RegionOnTheEarth;
+import net.nhiroki.bluelinesolarinfo.storage.AlmanacPrecomputeWorker;
 import net.nhiroki.bluelinesolarinfo.storage.DataStore;
 import net.nhiroki.lib.bluelineastrolib.coordinates.LocationOnTheEarth;
 
@@ -105,11 +106,13 @@ public class EachRegionSettingActivity extends AppCompatActivity {
             );
             if (isNewRegion) {
                 long savedId = DataStore.getInstance(EachRegionSettingActivity.this.getApplicationContext()).createRegion(region);
+                AlmanacPrecomputeWorker.enqueue(EachRegionSettingActivity.this.getApplicationContext(), savedId);
                 if (((CheckBox)findViewById(R.id.each_region_setting_default_region_checkbox)).isChecked()) {
                     DataStore.getInstance(EachRegionSettingActivity.this.getApplicationContext()).setDefaultRegion(DataStore.getInstance(EachRegionSettingActivity.this.getApplicationContext()).getRegionById(savedId));
                 }
             } else {
                 DataStore.getInstance(EachRegionSettingActivity.this.getApplicationContext()).updateRegion(region);
+                AlmanacPrecomputeWorker.enqueue(EachRegionSettingActivity.this.getApplicationContext(), region.getId());
                 if (((CheckBox)findViewById(R.id.each_region_setting_default_region_checkbox)).isChecked()) {
                     DataStore.getInstance(EachRegionSettingActivity.this.getApplicationContext()).setDefaultRegion(region);
                 } else {
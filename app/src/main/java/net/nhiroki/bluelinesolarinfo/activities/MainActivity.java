@@ -27,9 +27,12 @@ import androidx.core.view.WindowInsetsCompat;
 import net.nhiroki.androidlib.bluelineastroandroidlib.views.MoonPhaseView;
 import net.nhiroki.bluelinesolarinfo.R;
 import net.nhiroki.bluelinesolarinfo.region.RegionOnTheEarth;
+import net.nhiroki.bluelinesolarinfo.storage.AlmanacPrecomputeWorker;
 import net.nhiroki.bluelinesolarinfo.storage.AppPreferences;
 import net.nhiroki.bluelinesolarinfo.storage.DataStore;
+import net.nhiroki.bluelinesolarinfo.storage.StoredAlmanac;
 import net.nhiroki.bluelinesolarinfo.stringformats.AppTimeFormat;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.AstronomicalObject;
 import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Moon;
 import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Sun;
 import net.nhiroki.lib.bluelineastrolib.coordinates.HorizontalCoordinatesFromGround;
@@ -39,9 +42,11 @@ import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputa
 import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
 import net.nhiroki.lib.bluelineastrolib.coordinates.LocationOnTheEarth;
 import net.nhiroki.lib.bluelineastrolib.logic.AstronomicalEventsCalculation;
+import net.nhiroki.lib.bluelineastrolib.tool.DailyAlmanac;
 import net.nhiroki.lib.bluelineastrolib.tool.MoonTool;
 import net.nhiroki.lib.bluelineastrolib.tool.SunTool;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -297,6 +302,8 @@ public class MainActivity extends AppCompatActivity {
 
             builder.show();
         });
+
+        AlmanacPrecomputeWorker.enqueueForAllRegions(getApplicationContext());
     }
 
     @Override
@@ -549,7 +556,7 @@ public class MainActivity extends AppCompatActivity {
         Instant startOfTheDay = date.atStartOfDay(zoneId).toInstant();
         Instant midOfTheDay = date.atTime(12, 0).atZone(zoneId).toInstant();
         Instant endOfTheDay = date.plusDays(1).atStartOfDay(zoneId).toInstant();
-        this.displayTodaySolarInfo(startOfTheDay, midOfTheDay, endOfTheDay, locationOnTheEarth, zoneId);
+        this.displayTodaySolarInfo(date, startOfTheDay, midOfTheDay, endOfTheDay, locationOnTheEarth, zoneId, regionOnTheEarth);
 
         if (date.equals(today)) {
             this.displayNowSolarInfo(now, locationOnTheEarth, zoneId);
@@ -568,7 +575,8 @@ public class MainActivity extends AppCompatActivity {
 
     // Uses @midOfTheDay to calculate moon phase. Required because it can be 11 hours or 13 hours from @todayStart due to DST
     // @endOfTheDay is assumed to be 23-25 hours from @todayStart
-    private void displayTodaySolarInfo(Instant startOfTheDay, Instant midOfTheDay, Instant endOfTheDay, LocationOnTheEarth locationOnTheEarth, ZoneId zoneId) {
+    // Almanac precomputed for @region is used if stored, null @region for the current location
+    private void displayTodaySolarInfo(LocalDate date, Instant startOfTheDay, Instant midOfTheDay, Instant endOfTheDay, LocationOnTheEarth locationOnTheEarth, ZoneId zoneId, @Nullable RegionOnTheEarth region) {
         Sun sun = new Sun();
         Moon moon = new Moon();
 
@@ -576,20 +584,25 @@ public class MainActivity extends AppCompatActivity {
         boolean timeFormat24Hour = android.text.format.DateFormat.is24HourFormat(this.getApplicationContext());
 
         try {
-            double sunEclipticLongittudeDegAtNoon = sun.calculateEclipticCoordinates(midOfTheDay).getLongitudeDeg();
+            StoredAlmanac almanac = (region == null) ? null : DataStore.getInstance(getApplicationContext()).getAlmanac(region.getId(), date);
+            // Positions at the events are computed from the series if the almanac is stored
+            AstronomicalObject interpolatedSun = sun;
+            AstronomicalObject interpolatedMoon = moon;
+            if (almanac == null) {
+                DailyAlmanac dailyAlmanac = DailyAlmanac.calculate(date, zoneId, locationOnTheEarth);
+                almanac = StoredAlmanac.of(date, dailyAlmanac, MoonTool.calculatePreviousTimeOfMoonPhase(midOfTheDay, 0.0));
+                interpolatedSun = dailyAlmanac.getInterpolatedSun();
+                interpolatedMoon = dailyAlmanac.getInterpolatedMoon();
+            }
+
+            double sunEclipticLongittudeDegAtNoon = almanac.getSunEclipticLongitudeDegAtNoon();
             int sunEclipticLongitudeMin = (int) Math.floor(sunEclipticLongittudeDegAtNoon * 60.0);
             ((TextView) findViewById(R.id.main_view_solar_info_today_sun_ecliptic_longitude_today)).setText(getString(R.string.format_unit_angle_dm, sunEclipticLongitudeMin / 60, sunEclipticLongitudeMin % 60));
 
-            Instant sunrise = AstronomicalEventsCalculation.calculateRiseWithin24h(sun, startOfTheDay, locationOnTheEarth, true, AstronomicalEventsCalculation.ReferencePoint.TOP);
-            if (sunrise == null && endOfTheDay.isAfter(startOfTheDay.plusSeconds(86400))) {
-                sunrise = AstronomicalEventsCalculation.calculateRiseWithin24h(sun, endOfTheDay.minusSeconds(86400), locationOnTheEarth, true, AstronomicalEventsCalculation.ReferencePoint.TOP);
-            }
-            if (sunrise != null && sunrise.isAfter(endOfTheDay)) {
-                sunrise = null;
-            }
+            Instant sunrise = almanac.getSunrise();
             ((TextView) findViewById(R.id.main_view_solar_info_today_sunrise_time)).setText(AppTimeFormat.instantToHmStringForEventTime(sunrise, zoneId, timeFormat24Hour, locale));
             if (sunrise != null) {
-                double sunAzimuthDeg = HorizontalCoordinatesFromTheCenterOfTheEarth.ofAstronomicalObject(sun, sunrise, locationOnTheEarth).getAzimuthDeg();
+                double sunAzimuthDeg = HorizontalCoordinatesFromTheCenterOfTheEarth.ofAstronomicalObject(interpolatedSun, sunrise, locationOnTheEarth).getAzimuthDeg();
                 if (Double.isNaN(sunAzimuthDeg)) {
                     ((TextView) findViewById(R.id.main_view_solar_info_today_sunrise_direction)).setText("");
                 } else {
@@ -600,16 +613,10 @@ public class MainActivity extends AppCompatActivity {
                 ((TextView) findViewById(R.id.main_view_solar_info_today_sunrise_direction)).setText("");
             }
 
-            Instant sunculmination = AstronomicalEventsCalculation.calculateCulminationWithin24h(sun, startOfTheDay, locationOnTheEarth);
-            if (sunculmination == null && endOfTheDay.isAfter(startOfTheDay.plusSeconds(86400))) {
-                sunculmination = AstronomicalEventsCalculation.calculateCulminationWithin24h(sun, endOfTheDay.minusSeconds(86400), locationOnTheEarth);
-            }
-            if (sunculmination != null && sunculmination.isAfter(endOfTheDay)) {
-                sunculmination = null;
-            }
+            Instant sunculmination = almanac.getSunCulmination();
             ((TextView) findViewById(R.id.main_view_solar_info_today_sun_culmination_time)).setText(AppTimeFormat.instantToHmStringForEventTime(sunculmination, zoneId, timeFormat24Hour, locale));
             if (sunculmination != null) {
-                HorizontalCoordinatesFromGround sunAppearance = HorizontalCoordinatesFromGround.calculatePositionOfAstronomicalObject(sun, sunculmination, locationOnTheEarth);
+                HorizontalCoordinatesFromGround sunAppearance = HorizontalCoordinatesFromGround.calculatePositionOfAstronomicalObject(interpolatedSun, sunculmination, locationOnTheEarth);
                 if (sunAppearance.isTopAboveHorizon()) {
                     double sunAzimuthDeg = sunAppearance.getAzimuthDeg();
                     double sunElevationDeg = sunAppearance.calculateApparentElevationDeg();
@@ -628,16 +635,10 @@ public class MainActivity extends AppCompatActivity {
                 ((TextView) findViewById(R.id.main_view_solar_info_today_sun_culmination_invisible_label)).setText("");
             }
 
-            Instant sunset = AstronomicalEventsCalculation.calculateSetWithin24h(sun, startOfTheDay, locationOnTheEarth, true, AstronomicalEventsCalculation.ReferencePoint.TOP);
-            if (sunset == null && endOfTheDay.isAfter(startOfTheDay.plusSeconds(86400))) {
-                sunset = AstronomicalEventsCalculation.calculateSetWithin24h(sun, endOfTheDay.minusSeconds(86400), locationOnTheEarth, true, AstronomicalEventsCalculation.ReferencePoint.TOP);
-            }
-            if (sunset != null && sunset.isAfter(endOfTheDay)) {
-                sunset = null;
-            }
+            Instant sunset = almanac.getSunset();
             ((TextView) findViewById(R.id.main_view_solar_info_today_sunset_time)).setText(AppTimeFormat.instantToHmStringForEventTime(sunset, zoneId, timeFormat24Hour, locale));
             if (sunset != null) {
-                double sunAzimuthDeg = HorizontalCoordinatesFromTheCenterOfTheEarth.ofAstronomicalObject(sun, sunset, locationOnTheEarth).getAzimuthDeg();
+                double sunAzimuthDeg = HorizontalCoordinatesFromTheCenterOfTheEarth.ofAstronomicalObject(interpolatedSun, sunset, locationOnTheEarth).getAzimuthDeg();
                 if (Double.isNaN(sunAzimuthDeg)) {
                     ((TextView) findViewById(R.id.main_view_solar_info_today_sunset_direction)).setText("");
                 } else {
@@ -652,33 +653,15 @@ public class MainActivity extends AppCompatActivity {
                 Instant nextEventTime = null;
                 boolean nextEventIsRise = false;
 
-                Instant t = endOfTheDay.minusSeconds(1);
-                for (int i = 0; i < 270; ++i) {
-                    Instant sunriseCandidate = AstronomicalEventsCalculation.calculateRiseWithin24h(sun, t, locationOnTheEarth, true, AstronomicalEventsCalculation.ReferencePoint.TOP);
-                    Instant sunsetCandidate = AstronomicalEventsCalculation.calculateSetWithin24h(sun, t, locationOnTheEarth, true, AstronomicalEventsCalculation.ReferencePoint.TOP);
-
-                    if (sunriseCandidate != null || sunsetCandidate != null) {
-                        if (sunriseCandidate != null && sunsetCandidate != null) {
-                            if (sunriseCandidate.isBefore(sunsetCandidate)) {
-                                nextEventTime = sunriseCandidate;
-                                nextEventIsRise = true;
-                            } else {
-                                nextEventTime = sunsetCandidate;
-                                nextEventIsRise = false;
-                            }
-                        } else if (sunriseCandidate != null) {
-                            nextEventTime = sunriseCandidate;
-                            nextEventIsRise = true;
-                        } else {
-                            nextEventTime = sunsetCandidate;
-                            nextEventIsRise = false;
-                        }
-
-
-                        break;
-                    }
+                Instant nextSunrise = AstronomicalEventsCalculation.findNextEvent(sun, AstronomicalEventsCalculation.EventDirectionType.RISE, endOfTheDay.minusSeconds(1), locationOnTheEarth, true, AstronomicalEventsCalculation.ReferencePoint.TOP, Duration.ofDays(270));
+                Instant nextSunset = AstronomicalEventsCalculation.findNextEvent(sun, AstronomicalEventsCalculation.EventDirectionType.SET, endOfTheDay.minusSeconds(1), locationOnTheEarth, true, AstronomicalEventsCalculation.ReferencePoint.TOP, Duration.ofDays(270));
 
-                    t = t.plusSeconds(86399);
+                if (nextSunrise != null && (nextSunset == null || nextSunrise.isBefore(nextSunset))) {
+                    nextEventTime = nextSunrise;
+                    nextEventIsRise = true;
+                } else if (nextSunset != null) {
+                    nextEventTime = nextSunset;
+                    nextEventIsRise = false;
                 }
 
                 if (nextEventTime != null) {
@@ -697,28 +680,22 @@ public class MainActivity extends AppCompatActivity {
                 findViewById(R.id.main_view_solar_info_today_sun_next_event_time).setVisibility(View.GONE);
             }
 
-            double equationOfTimeSec = new Sun().calculateEquationOfTimeSec(midOfTheDay);
+            double equationOfTimeSec = almanac.getEquationOfTimeSecAtNoon();
             String equationOfTimeSign = (equationOfTimeSec >= 0.0) ? "+" : "-";
             long euqationOfTimeSecAbs = Math.abs(Math.round(equationOfTimeSec));
             ((TextView) findViewById(R.id.main_view_solar_info_now_equation_of_time)).setText(getString(R.string.main_activity_solar_info_today_equation_of_time_format, equationOfTimeSign, euqationOfTimeSecAbs / 60, euqationOfTimeSecAbs % 60));
 
-            double moonPhaseDeg = MoonTool.calculateMoonPhaseDeg(midOfTheDay);
+            double moonPhaseDeg = almanac.getMoonPhaseDegAtNoon();
             ((MoonPhaseView) findViewById(R.id.main_view_solar_info_today_moon_phase_view)).setMoonPhaseDeg((float) moonPhaseDeg);
 
-            Instant prevNewMoon = MoonTool.calculatePreviousTimeOfMoonPhase(midOfTheDay, 0.0);
+            Instant prevNewMoon = almanac.getPreviousNewMoon();
             double daysAfterPrevNewMoon = ((double)(midOfTheDay.toEpochMilli() - prevNewMoon.toEpochMilli())) / 86400000.0;
             ((TextView) findViewById(R.id.main_view_solar_info_today_moon_phase_days_text)).setText(String.format(locale, "%.1f", daysAfterPrevNewMoon));
 
-            Instant moonrise = AstronomicalEventsCalculation.calculateRiseWithin24h(moon, startOfTheDay, locationOnTheEarth, true, AstronomicalEventsCalculation.ReferencePoint.CENTER);
-            if (moonrise == null && endOfTheDay.isAfter(startOfTheDay.plusSeconds(86400))) {
-                moonrise = AstronomicalEventsCalculation.calculateRiseWithin24h(moon, endOfTheDay.minusSeconds(86400), locationOnTheEarth, true, AstronomicalEventsCalculation.ReferencePoint.CENTER);
-            }
-            if (moonrise != null && moonrise.isAfter(endOfTheDay)) {
-                moonrise = null;
-            }
+            Instant moonrise = almanac.getMoonrise();
             ((TextView) findViewById(R.id.main_view_solar_info_today_moonrise_time)).setText(AppTimeFormat.instantToHmStringForEventTime(moonrise, zoneId, timeFormat24Hour, locale));
             if (moonrise != null) {
-                double moonAzimuthDeg = HorizontalCoordinatesFromTheCenterOfTheEarth.ofAstronomicalObject(moon, moonrise, locationOnTheEarth).getAzimuthDeg();
+                double moonAzimuthDeg = HorizontalCoordinatesFromTheCenterOfTheEarth.ofAstronomicalObject(interpolatedMoon, moonrise, locationOnTheEarth).getAzimuthDeg();
                 if (Double.isNaN(moonAzimuthDeg)) {
                     ((TextView) findViewById(R.id.main_view_solar_info_today_moonrise_direction)).setText("");
                 } else {
@@ -729,16 +706,10 @@ public class MainActivity extends AppCompatActivity {
                 ((TextView) findViewById(R.id.main_view_solar_info_today_moonrise_direction)).setText("");
             }
 
-            Instant moonculmination = AstronomicalEventsCalculation.calculateCulminationWithin24h(moon, startOfTheDay, locationOnTheEarth);
-            if (moonculmination == null && endOfTheDay.isAfter(startOfTheDay.plusSeconds(86400))) {
-                moonculmination = AstronomicalEventsCalculation.calculateCulminationWithin24h(moon, endOfTheDay.minusSeconds(86400), locationOnTheEarth);
-            }
-            if (moonculmination != null && moonculmination.isAfter(endOfTheDay)) {
-                moonculmination = null;
-            }
+            Instant moonculmination = almanac.getMoonCulmination();
             ((TextView) findViewById(R.id.main_view_solar_info_today_moon_culmination_time)).setText(AppTimeFormat.instantToHmStringForEventTime(moonculmination, zoneId, timeFormat24Hour, locale));
             if (moonculmination != null) {
-                HorizontalCoordinatesFromGround moonAppearance = HorizontalCoordinatesFromGround.calculatePositionOfAstronomicalObject(moon, moonculmination, locationOnTheEarth);
+                HorizontalCoordinatesFromGround moonAppearance = HorizontalCoordinatesFromGround.calculatePositionOfAstronomicalObject(interpolatedMoon, moonculmination, locationOnTheEarth);
 
                 if (moonAppearance.isTopAboveHorizon()) {
                     double moonAzimuthDeg = moonAppearance.getAzimuthDeg();
@@ -758,16 +729,10 @@ public class MainActivity extends AppCompatActivity {
                 ((TextView) findViewById(R.id.main_view_solar_info_today_moon_culmination_invisible_label)).setText("");
             }
 
-            Instant moonset = AstronomicalEventsCalculation.calculateSetWithin24h(moon, startOfTheDay, locationOnTheEarth, true, AstronomicalEventsCalculation.ReferencePoint.CENTER);
-            if (moonset == null && endOfTheDay.isAfter(startOfTheDay.plusSeconds(86400))) {
-                moonset = AstronomicalEventsCalculation.calculateSetWithin24h(moon, endOfTheDay.minusSeconds(86400), locationOnTheEarth, true, AstronomicalEventsCalculation.ReferencePoint.CENTER);
-            }
-            if (moonset != null && moonset.isAfter(endOfTheDay)) {
-                moonset = null;
-            }
+            Instant moonset = almanac.getMoonset();
             ((TextView) findViewById(R.id.main_view_solar_info_today_moonset_time)).setText(AppTimeFormat.instantToHmStringForEventTime(moonset, zoneId, timeFormat24Hour, locale));
             if (moonset != null) {
-                double moonAzimuthDeg = HorizontalCoordinatesFromTheCenterOfTheEarth.ofAstronomicalObject(moon, moonset, locationOnTheEarth).getAzimuthDeg();
+                double moonAzimuthDeg = HorizontalCoordinatesFromTheCenterOfTheEarth.ofAstronomicalObject(interpolatedMoon, moonset, locationOnTheEarth).getAzimuthDeg();
                 if (Double.isNaN(moonAzimuthDeg)) {
                     ((TextView) findViewById(R.id.main_view_solar_info_today_moonset_direction)).setText("");
                 } else {
@@ -782,33 +747,15 @@ public class MainActivity extends AppCompatActivity {
                 Instant nextEventTime = null;
                 boolean nextEventIsRise = false;
 
-                Instant t = endOfTheDay.minusSeconds(1);
-                for (int i = 0; i < 270; ++i) {
-                    Instant moonriseCandidate = AstronomicalEventsCalculation.calculateRiseWithin24h(moon, t, locationOnTheEarth, true, AstronomicalEventsCalculation.ReferencePoint.CENTER);
-                    Instant moonsetCandidate = AstronomicalEventsCalculation.calculateSetWithin24h(moon, t, locationOnTheEarth, true, AstronomicalEventsCalculation.ReferencePoint.CENTER);
-
-                    if (moonriseCandidate != null || moonsetCandidate != null) {
-                        if (moonriseCandidate != null && moonsetCandidate != null) {
-                            if (moonriseCandidate.isBefore(moonsetCandidate)) {
-                                nextEventTime = moonriseCandidate;
-                                nextEventIsRise = true;
-                            } else {
-                                nextEventTime = moonsetCandidate;
-                                nextEventIsRise = false;
-                            }
-                        } else if (moonriseCandidate != null) {
-                            nextEventTime = moonriseCandidate;
-                            nextEventIsRise = true;
-                        } else {
-                            nextEventTime = moonsetCandidate;
-                            nextEventIsRise = false;
-                        }
-
-
-                        break;
-                    }
+                Instant nextMoonrise = AstronomicalEventsCalculation.findNextEvent(moon, AstronomicalEventsCalculation.EventDirectionType.RISE, endOfTheDay.minusSeconds(1), locationOnTheEarth, true, AstronomicalEventsCalculation.ReferencePoint.CENTER, Duration.ofDays(270));
+                Instant nextMoonset = AstronomicalEventsCalculation.findNextEvent(moon, AstronomicalEventsCalculation.EventDirectionType.SET, endOfTheDay.minusSeconds(1), locationOnTheEarth, true, AstronomicalEventsCalculation.ReferencePoint.CENTER, Duration.ofDays(270));
 
-                    t = t.plusSeconds(86399);
+                if (nextMoonrise != null && (nextMoonset == null || nextMoonrise.isBefore(nextMoonset))) {
+                    nextEventTime = nextMoonrise;
+                    nextEventIsRise = true;
+                } else if (nextMoonset != null) {
+                    nextEventTime = nextMoonset;
+                    nextEventIsRise = false;
                 }
 
                 if (nextEventTime != null) {
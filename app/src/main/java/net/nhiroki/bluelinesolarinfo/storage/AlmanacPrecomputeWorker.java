@@ -0,0 +1,103 @@
+package net.nhiroki.bluelinesolarinfo.storage;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import net.nhiroki.bluelinesolarinfo.region.RegionOnTheEarth;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// Fills the almanac table of DataStore for a region from yesterday to DAYS_TO_PRECOMPUTE days later, computing only the dates not stored yet
+public class AlmanacPrecomputeWorker extends Worker {
+    public static final int DAYS_TO_PRECOMPUTE = 400;
+    private static final int DAYS_IN_TRANSACTION = 31;
+    private static final String INPUT_KEY_REGION_ID = "region_id";
+    private static final String UNIQUE_WORK_NAME_PREFIX = "almanac_precompute_";
+
+    private final Context context;
+
+    public AlmanacPrecomputeWorker(Context context, WorkerParameters workerParameters) {
+        super(context, workerParameters);
+
+        this.context = context;
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        long regionId = getInputData().getLong(INPUT_KEY_REGION_ID, -1);
+        DataStore dataStore = DataStore.getInstance(this.context);
+        RegionOnTheEarth region = dataStore.getRegionById(regionId);
+        if (region == null) {
+            return Result.success();
+        }
+
+        LocalDate firstDate = LocalDate.now(region.getZoneId()).minusDays(1);
+        LocalDate lastDate = firstDate.plusDays(DAYS_TO_PRECOMPUTE);
+        dataStore.removeAlmanacsBefore(regionId, firstDate);
+        Set<LocalDate> storedDates = dataStore.getDatesOfStoredAlmanacs(regionId, firstDate, lastDate);
+
+        List<StoredAlmanac> almanacs = new ArrayList<>();
+        for (LocalDate date = firstDate; date.isBefore(lastDate); date = date.plusDays(1)) {
+            if (isStopped()) {
+                // Replaced by the worker for the region edited, or stopped by the system. Computed ones are kept.
+                break;
+            }
+            if (storedDates.contains(date)) {
+                continue;
+            }
+            try {
+                almanacs.add(StoredAlmanac.calculate(date, region.getZoneId(), region.getLocationOnTheEarth()));
+            } catch (AstronomicalPhenomenonComputationException | UnsupportedDateRangeException e) {
+                // Not stored, computed when displayed instead
+                Log.w(AlmanacPrecomputeWorker.class.getName(), "Failed to compute almanac of region " + regionId + " on " + date, e);
+            }
+            if (almanacs.size() >= DAYS_IN_TRANSACTION) {
+                if (! dataStore.storeAlmanacs(region, almanacs)) {
+                    Log.d(AlmanacPrecomputeWorker.class.getName(), "Region " + regionId + " has been changed. Discarding almanacs computed.");
+                    return Result.success();
+                }
+                almanacs.clear();
+            }
+        }
+        if (! almanacs.isEmpty()) {
+            dataStore.storeAlmanacs(region, almanacs);
+        }
+
+        return Result.success();
+    }
+
+    // For a region just created or edited, replacing the worker for the region running with the old location
+    public static void enqueue(Context context, long regionId) {
+        enqueue(context, regionId, ExistingWorkPolicy.REPLACE);
+    }
+
+    // Extends the stored dates of all regions as days pass
+    public static void enqueueForAllRegions(Context context) {
+        for (RegionOnTheEarth region: DataStore.getInstance(context).getRegions()) {
+            enqueue(context, region.getId(), ExistingWorkPolicy.KEEP);
+        }
+    }
+
+    private static void enqueue(Context context, long regionId, ExistingWorkPolicy existingWorkPolicy) {
+        OneTimeWorkRequest workRequest = new OneTimeWorkRequest.Builder(AlmanacPrecomputeWorker.class)
+                .setInputData(new Data.Builder().putLong(INPUT_KEY_REGION_ID, regionId).build())
+                .setConstraints(new Constraints.Builder().setRequiresBatteryNotLow(true).build())
+                .build();
+        WorkManager.getInstance(context).enqueueUniqueWork(UNIQUE_WORK_NAME_PREFIX + regionId, existingWorkPolicy, workRequest);
+    }
+}
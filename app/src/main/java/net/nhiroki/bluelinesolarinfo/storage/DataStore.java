@@ -11,13 +11,22 @@ import androidx.annotation.Nullable;
 import net.nhiroki.bluelinesolarinfo.region.RegionOnTheEarth;
 import net.nhiroki.lib.bluelineastrolib.coordinates.LocationOnTheEarth;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class DataStore extends SQLiteOpenHelper {
     private static final String DATABASE_FILENAME = "app-data.sqlite";
-    private static final int DATABASE_VERSION = 1;
+    private static final int DATABASE_VERSION = 2;
+
+    // Rows of almanac with other version are ignored and computed again. Increment when the values computed by StoredAlmanac.calculate() change.
+    // 2: Moon series from coefficient tables and its rate from the derivatives, and ecliptic tilt and nutation cached per day in bluelineastrolib
+    private static final int ALMANAC_VERSION = 2;
 
     private static final String PROP_KEY_DEFAULT_REGION_ID = "default_region_id";
     private static DataStore singleton;
@@ -56,11 +65,33 @@ public class DataStore extends SQLiteOpenHelper {
         sqLiteDatabase.execSQL("CREATE TABLE IF NOT EXISTS props (" +
                                "    name TEXT PRIMARY KEY," +
                                "    value TEXT NOT NULL)");
+        createAlmanacTable(sqLiteDatabase);
     }
 
     @Override
-    public void onUpgrade(SQLiteDatabase sqLiteDatabase, int i, int i1) {
-        // Nothing to do now because database structure have not been modified
+    public void onUpgrade(SQLiteDatabase sqLiteDatabase, int oldVersion, int newVersion) {
+        if (oldVersion < 2) {
+            createAlmanacTable(sqLiteDatabase);
+        }
+    }
+
+    // Precomputed almanac of each date of regions. Events are epoch milliseconds, NULL if no event on the date.
+    private static void createAlmanacTable(SQLiteDatabase sqLiteDatabase) {
+        sqLiteDatabase.execSQL("CREATE TABLE IF NOT EXISTS almanac (" +
+                               "    region_id INTEGER NOT NULL," +
+                               "    local_date TEXT NOT NULL," +
+                               "    version INTEGER NOT NULL," +
+                               "    sunrise INTEGER," +
+                               "    sun_culmination INTEGER," +
+                               "    sunset INTEGER," +
+                               "    moonrise INTEGER," +
+                               "    moon_culmination INTEGER," +
+                               "    moonset INTEGER," +
+                               "    sun_ecliptic_longitude_deg REAL NOT NULL," +
+                               "    moon_phase_deg REAL NOT NULL," +
+                               "    equation_of_time_sec REAL NOT NULL," +
+                               "    previous_new_moon INTEGER NOT NULL," +
+                               "    PRIMARY KEY (region_id, local_date))");
     }
 
     public RegionOnTheEarth getRegionById(long id) {
@@ -166,14 +197,125 @@ public class DataStore extends SQLiteOpenHelper {
         contentValues.put("longitude", region.getLocationOnTheEarth().getLongitudeDeg());
         contentValues.put("latitude", region.getLocationOnTheEarth().getLatitudeDeg());
         contentValues.put("elevation", region.getLocationOnTheEarth().getElevationMeters());
-        getWritableDatabase().update("regions", contentValues, "id = ?", new String[]{Long.toString(region.getId())});
+
+        RegionOnTheEarth previous = this.getRegionById(region.getId());
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.update("regions", contentValues, "id = ?", new String[]{Long.toString(region.getId())});
+            if (previous == null || ! previous.getZoneId().equals(region.getZoneId()) || ! previous.getLocationOnTheEarth().equals(region.getLocationOnTheEarth())) {
+                db.delete("almanac", "region_id = ?", new String[]{Long.toString(region.getId())});
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
 
         this.regionCache.put(region.getId(), region);
     }
 
     public void removeRegionById(long id) {
-        getWritableDatabase().delete("regions", "id = ?", new String[]{Long.toString(id)});
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete("regions", "id = ?", new String[]{Long.toString(id)});
+            db.delete("almanac", "region_id = ?", new String[]{Long.toString(id)});
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
 
         this.regionCache.remove(id);
     }
+
+    public @Nullable StoredAlmanac getAlmanac(long regionId, LocalDate date) {
+        Cursor cursor = getReadableDatabase().rawQuery(
+                "SELECT sunrise, sun_culmination, sunset, moonrise, moon_culmination, moonset, sun_ecliptic_longitude_deg, moon_phase_deg, equation_of_time_sec, previous_new_moon " +
+                "FROM almanac WHERE region_id = ? AND local_date = ? AND version = ?",
+                new String[]{Long.toString(regionId), date.toString(), Integer.toString(ALMANAC_VERSION)});
+        if (cursor.moveToNext()) {
+            StoredAlmanac ret = new StoredAlmanac(date,
+                    getInstantOrNull(cursor, 0), getInstantOrNull(cursor, 1), getInstantOrNull(cursor, 2),
+                    getInstantOrNull(cursor, 3), getInstantOrNull(cursor, 4), getInstantOrNull(cursor, 5),
+                    cursor.getDouble(6), cursor.getDouble(7), cursor.getDouble(8),
+                    Instant.ofEpochMilli(cursor.getLong(9)));
+            cursor.close();
+            return ret;
+        } else {
+            cursor.close();
+            return null;
+        }
+    }
+
+    // Dates in [from, until) whose almanac of the current version is stored
+    public Set<LocalDate> getDatesOfStoredAlmanacs(long regionId, LocalDate from, LocalDate until) {
+        Set<LocalDate> ret = new HashSet<>();
+
+        Cursor cursor = getReadableDatabase().rawQuery("SELECT local_date FROM almanac WHERE region_id = ? AND local_date >= ? AND local_date < ? AND version = ?",
+                new String[]{Long.toString(regionId), from.toString(), until.toString(), Integer.toString(ALMANAC_VERSION)});
+        while (cursor.moveToNext()) {
+            ret.add(LocalDate.parse(cursor.getString(0)));
+        }
+        cursor.close();
+        return ret;
+    }
+
+    /**
+     * Stores almanacs computed for the region.
+     * Nothing is stored if the region has been removed, or its location or time zone has been changed since the region was read.
+     *
+     * @return true if stored
+     */
+    public boolean storeAlmanacs(RegionOnTheEarth region, List<StoredAlmanac> almanacs) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            Cursor cursor = db.rawQuery("SELECT timezone, longitude, latitude, elevation FROM regions WHERE id = ?", new String[]{Long.toString(region.getId())});
+            boolean unchanged = cursor.moveToNext()
+                    && ZoneId.of(cursor.getString(0)).equals(region.getZoneId())
+                    && LocationOnTheEarth.ofDegreesMeters(cursor.getDouble(1), cursor.getDouble(2), cursor.getDouble(3)).equals(region.getLocationOnTheEarth());
+            cursor.close();
+            if (! unchanged) {
+                return false;
+            }
+
+            for (StoredAlmanac almanac: almanacs) {
+                ContentValues contentValues = new ContentValues();
+                contentValues.put("region_id", region.getId());
+                contentValues.put("local_date", almanac.getDate().toString());
+                contentValues.put("version", ALMANAC_VERSION);
+                putInstantOrNull(contentValues, "sunrise", almanac.getSunrise());
+                putInstantOrNull(contentValues, "sun_culmination", almanac.getSunCulmination());
+                putInstantOrNull(contentValues, "sunset", almanac.getSunset());
+                putInstantOrNull(contentValues, "moonrise", almanac.getMoonrise());
+                putInstantOrNull(contentValues, "moon_culmination", almanac.getMoonCulmination());
+                putInstantOrNull(contentValues, "moonset", almanac.getMoonset());
+                contentValues.put("sun_ecliptic_longitude_deg", almanac.getSunEclipticLongitudeDegAtNoon());
+                contentValues.put("moon_phase_deg", almanac.getMoonPhaseDegAtNoon());
+                contentValues.put("equation_of_time_sec", almanac.getEquationOfTimeSecAtNoon());
+                contentValues.put("previous_new_moon", almanac.getPreviousNewMoon().toEpochMilli());
+                db.insertWithOnConflict("almanac", null, contentValues, SQLiteDatabase.CONFLICT_REPLACE);
+            }
+            db.setTransactionSuccessful();
+            return true;
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    public void removeAlmanacsBefore(long regionId, LocalDate date) {
+        getWritableDatabase().delete("almanac", "region_id = ? AND local_date < ?", new String[]{Long.toString(regionId), date.toString()});
+    }
+
+    private static Instant getInstantOrNull(Cursor cursor, int columnIndex) {
+        return cursor.isNull(columnIndex) ? null : Instant.ofEpochMilli(cursor.getLong(columnIndex));
+    }
+
+    private static void putInstantOrNull(ContentValues contentValues, String key, Instant value) {
+        if (value == null) {
+            contentValues.putNull(key);
+        } else {
+            contentValues.put(key, value.toEpochMilli());
+        }
+    }
 }
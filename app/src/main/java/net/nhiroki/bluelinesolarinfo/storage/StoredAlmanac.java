@@ -0,0 +1,103 @@
+package net.nhiroki.bluelinesolarinfo.storage;
+
+import androidx.annotation.Nullable;
+
+import net.nhiroki.lib.bluelineastrolib.coordinates.LocationOnTheEarth;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+import net.nhiroki.lib.bluelineastrolib.tool.DailyAlmanac;
+import net.nhiroki.lib.bluelineastrolib.tool.MoonTool;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+// Values of DailyAlmanac of a date which are stored in DataStore, and the previous new moon before 12:00 of the date
+public class StoredAlmanac {
+    private final LocalDate date;
+    private final Instant sunrise;
+    private final Instant sunCulmination;
+    private final Instant sunset;
+    private final Instant moonrise;
+    private final Instant moonCulmination;
+    private final Instant moonset;
+    private final double sunEclipticLongitudeDegAtNoon;
+    private final double moonPhaseDegAtNoon;
+    private final double equationOfTimeSecAtNoon;
+    private final Instant previousNewMoon;
+
+    public StoredAlmanac(LocalDate date,
+                         @Nullable Instant sunrise, @Nullable Instant sunCulmination, @Nullable Instant sunset,
+                         @Nullable Instant moonrise, @Nullable Instant moonCulmination, @Nullable Instant moonset,
+                         double sunEclipticLongitudeDegAtNoon, double moonPhaseDegAtNoon, double equationOfTimeSecAtNoon,
+                         Instant previousNewMoon) {
+        this.date = date;
+        this.sunrise = sunrise;
+        this.sunCulmination = sunCulmination;
+        this.sunset = sunset;
+        this.moonrise = moonrise;
+        this.moonCulmination = moonCulmination;
+        this.moonset = moonset;
+        this.sunEclipticLongitudeDegAtNoon = sunEclipticLongitudeDegAtNoon;
+        this.moonPhaseDegAtNoon = moonPhaseDegAtNoon;
+        this.equationOfTimeSecAtNoon = equationOfTimeSecAtNoon;
+        this.previousNewMoon = previousNewMoon;
+    }
+
+    public static StoredAlmanac of(LocalDate date, DailyAlmanac dailyAlmanac, Instant previousNewMoon) {
+        return new StoredAlmanac(date,
+                dailyAlmanac.getSunrise(), dailyAlmanac.getSunCulmination(), dailyAlmanac.getSunset(),
+                dailyAlmanac.getMoonrise(), dailyAlmanac.getMoonCulmination(), dailyAlmanac.getMoonset(),
+                dailyAlmanac.getSunEclipticLongitudeDegAtNoon(), dailyAlmanac.getMoonPhaseDegAtNoon(), dailyAlmanac.getEquationOfTimeSecAtNoon(),
+                previousNewMoon);
+    }
+
+    public static StoredAlmanac calculate(LocalDate date, ZoneId zoneId, LocationOnTheEarth locationOnTheEarth) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        Instant midOfTheDay = date.atTime(12, 0).atZone(zoneId).toInstant();
+        return of(date, DailyAlmanac.calculate(date, zoneId, locationOnTheEarth), MoonTool.calculatePreviousTimeOfMoonPhase(midOfTheDay, 0.0));
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public @Nullable Instant getSunrise() {
+        return sunrise;
+    }
+
+    public @Nullable Instant getSunCulmination() {
+        return sunCulmination;
+    }
+
+    public @Nullable Instant getSunset() {
+        return sunset;
+    }
+
+    public @Nullable Instant getMoonrise() {
+        return moonrise;
+    }
+
+    public @Nullable Instant getMoonCulmination() {
+        return moonCulmination;
+    }
+
+    public @Nullable Instant getMoonset() {
+        return moonset;
+    }
+
+    public double getSunEclipticLongitudeDegAtNoon() {
+        return sunEclipticLongitudeDegAtNoon;
+    }
+
+    public double getMoonPhaseDegAtNoon() {
+        return moonPhaseDegAtNoon;
+    }
+
+    public double getEquationOfTimeSecAtNoon() {
+        return equationOfTimeSecAtNoon;
+    }
+
+    public Instant getPreviousNewMoon() {
+        return previousNewMoon;
+    }
+}
@@ -16,11 +16,15 @@ import net.nhiroki.bluelinesolarinfo.activities.MainActivity;
 import net.nhiroki.bluelinesolarinfo.region.RegionOnTheEarth;
 import net.nhiroki.bluelinesolarinfo.storage.AppPreferences;
 import net.nhiroki.bluelinesolarinfo.storage.DataStore;
+import net.nhiroki.bluelinesolarinfo.storage.StoredAlmanac;
 import net.nhiroki.bluelinesolarinfo.stringformats.AppTimeFormat;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.PrecisionProfile;
 import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Sun;
 import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
 import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
 import net.nhiroki.lib.bluelineastrolib.coordinates.LocationOnTheEarth;
+import net.nhiroki.lib.bluelineastrolib.coordinates.Observer;
+import net.nhiroki.lib.bluelineastrolib.earth.Earth;
 import net.nhiroki.lib.bluelineastrolib.logic.AstronomicalEventsCalculation;
 import net.nhiroki.lib.bluelineastrolib.tool.MoonTool;
 
@@ -39,6 +43,10 @@ public class SolarInfoTodayMedium {
         remoteViews.setTextViewText(R.id.suninfo_moon_days, context.getString(R.string.widget_error_string));
     }
 
+    private static Instant instantOfEventEpochMilli(double eventEpochMilli) {
+        return Double.isNaN(eventEpochMilli) ? null : Instant.ofEpochMilli((long) eventEpochMilli);
+    }
+
     public static Instant updateWidget(Context context, AppWidgetManager appWidgetManager, int appWidgetId) {
         RemoteViews remoteViews = new RemoteViews(context.getPackageName(), R.layout.widget_solarinfo_today_medium);
 
@@ -70,29 +78,47 @@ public class SolarInfoTodayMedium {
         remoteViews.setTextViewText(R.id.suninfo_widget_date, nowLocal.format(DateTimeFormatter.ofPattern(dateFormat, locale)));
         remoteViews.setTextViewText(R.id.suninfo_widget_location, region.getName());
 
-        Sun sun = new Sun();
-        try {
-            Instant sunrise = AstronomicalEventsCalculation.calculateRiseWithin24h(sun, startOfDay, locationOnEarth, true, AstronomicalEventsCalculation.ReferencePoint.TOP);
-            remoteViews.setTextViewText(R.id.suninfo_widget_sunrise, AppTimeFormat.instantToHmStringForEventTime(sunrise, localZone, timeFormat24Hours, locale));
-        } catch (AstronomicalPhenomenonComputationException | UnsupportedDateRangeException e) {
-            remoteViews.setTextViewText(R.id.suninfo_widget_sunrise, context.getString(R.string.widget_error_string));
-        }
+        // Precomputed by AlmanacPrecomputeWorker, computed here only if not stored yet
+        StoredAlmanac almanac = DataStore.getInstance(context).getAlmanac(region.getId(), nowLocal.toLocalDate());
 
-        try {
-            Instant sunset = AstronomicalEventsCalculation.calculateSetWithin24h(sun, startOfDay, locationOnEarth, true, AstronomicalEventsCalculation.ReferencePoint.TOP);
-            remoteViews.setTextViewText(R.id.suninfo_widget_sunset, AppTimeFormat.instantToHmStringForEventTime(sunset, localZone, timeFormat24Hours, locale));
-        } catch (AstronomicalPhenomenonComputationException | UnsupportedDateRangeException e) {
-            remoteViews.setTextViewText(R.id.suninfo_widget_sunset, context.getString(R.string.widget_error_string));
+        if (almanac != null) {
+            remoteViews.setTextViewText(R.id.suninfo_widget_sunrise, AppTimeFormat.instantToHmStringForEventTime(almanac.getSunrise(), localZone, timeFormat24Hours, locale));
+            remoteViews.setTextViewText(R.id.suninfo_widget_sunset, AppTimeFormat.instantToHmStringForEventTime(almanac.getSunset(), localZone, timeFormat24Hours, locale));
+        } else {
+            // Shown in minutes, so computed with the precision for widgets
+            Sun sun = new Sun(PrecisionProfile.WIDGET);
+            Observer observer = Observer.of(locationOnEarth);
+            double heightStandardRad = -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0);
+            try {
+                double sunrise = AstronomicalEventsCalculation.calculateEventWithin24h(sun, AstronomicalEventsCalculation.EventDirectionType.RISE, startOfDay.toEpochMilli(), observer,
+                        true, AstronomicalEventsCalculation.ReferencePoint.TOP, true, heightStandardRad, PrecisionProfile.WIDGET);
+                remoteViews.setTextViewText(R.id.suninfo_widget_sunrise, AppTimeFormat.instantToHmStringForEventTime(instantOfEventEpochMilli(sunrise), localZone, timeFormat24Hours, locale));
+            } catch (AstronomicalPhenomenonComputationException | UnsupportedDateRangeException e) {
+                remoteViews.setTextViewText(R.id.suninfo_widget_sunrise, context.getString(R.string.widget_error_string));
+            }
+
+            try {
+                double sunset = AstronomicalEventsCalculation.calculateEventWithin24h(sun, AstronomicalEventsCalculation.EventDirectionType.SET, startOfDay.toEpochMilli(), observer,
+                        true, AstronomicalEventsCalculation.ReferencePoint.TOP, true, heightStandardRad, PrecisionProfile.WIDGET);
+                remoteViews.setTextViewText(R.id.suninfo_widget_sunset, AppTimeFormat.instantToHmStringForEventTime(instantOfEventEpochMilli(sunset), localZone, timeFormat24Hours, locale));
+            } catch (AstronomicalPhenomenonComputationException | UnsupportedDateRangeException e) {
+                remoteViews.setTextViewText(R.id.suninfo_widget_sunset, context.getString(R.string.widget_error_string));
+            }
         }
 
-        double moonPhaseDeg = MoonTool.calculateMoonPhaseDeg(midOfDay);
+        double moonPhaseDeg = (almanac != null) ? almanac.getMoonPhaseDegAtNoon() : MoonTool.calculateMoonPhaseDeg(midOfDay);
 
-        try {
-            Instant prevNewMoon = MoonTool.calculatePreviousTimeOfMoonPhase(midOfDay, 0.0);
-            double daysAfterNewMoon = (midOfDay.toEpochMilli() - prevNewMoon.toEpochMilli()) / 86400000.0 - 0.0;
+        if (almanac != null) {
+            double daysAfterNewMoon = (midOfDay.toEpochMilli() - almanac.getPreviousNewMoon().toEpochMilli()) / 86400000.0 - 0.0;
             remoteViews.setTextViewText(R.id.suninfo_moon_days, String.format(locale, "%2.1f", daysAfterNewMoon));
-        } catch (AstronomicalPhenomenonComputationException e) {
-            remoteViews.setTextViewText(R.id.suninfo_moon_days, context.getString(R.string.widget_error_string));
+        } else {
+            try {
+                Instant prevNewMoon = MoonTool.calculatePreviousTimeOfMoonPhase(midOfDay, 0.0);
+                double daysAfterNewMoon = (midOfDay.toEpochMilli() - prevNewMoon.toEpochMilli()) / 86400000.0 - 0.0;
+                remoteViews.setTextViewText(R.id.suninfo_moon_days, String.format(locale, "%2.1f", daysAfterNewMoon));
+            } catch (AstronomicalPhenomenonComputationException e) {
+                remoteViews.setTextViewText(R.id.suninfo_moon_days, context.getString(R.string.widget_error_string));
+            }
         }
 
         TypedValue typedValue = new TypedValue();
@@ -15,6 +15,8 @@ import androidx.work.WorkerParameters;
 
 import com.google.common.util.concurrent.ListenableFuture;
 
+import net.nhiroki.bluelinesolarinfo.storage.AlmanacPrecomputeWorker;
+
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
@@ -37,6 +39,7 @@ public class WidgetUpdateWorker extends Worker {
     @Override
     public Result doWork() {
         updateAllWidgets(this.context);
+        AlmanacPrecomputeWorker.enqueueForAllRegions(this.context);
         return Result.success();
     }
 
@@ -0,0 +1,28 @@
+// JMH benchmarks of bluelineastrolib, which runs on plain JVM without Android SDK.
+//
+// Run all:    ./gradlew :benchmark:jmh
+// Run some:   ./gradlew :benchmark:jmh -PjmhIncludes=EventCalculationBenchmark
+// Results (ops/s and allocation rate by gc profiler) are written to benchmark/build/results/jmh/results.json
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
+
+dependencies {
+    implementation(project(":bluelineastrolib"))
+}
+
+jmh {
+    jmhVersion = libs.versions.jmh.get()
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    findProperty("jmhIncludes")?.let { includes = listOf(it.toString()) }
+}
@@ -0,0 +1,24 @@
+package net.nhiroki.lib.bluelineastrolib.benchmark;
+
+import net.nhiroki.lib.bluelineastrolib.coordinates.LocationOnTheEarth;
+
+
+/**
+ * Locations used by the benchmarks, same as the ones in LocationsForTest of the unit tests.
+ */
+public enum BenchmarkLocation {
+    TOKYO(LocationOnTheEarth.ofDegreesMeters(139.7414, 35.6581, 0.0)),
+    MT_FUJI(LocationOnTheEarth.ofDegreesMeters(138.0 + 43.0 / 60.0 + 39.0 / 3600.0, 35.0 + 21.0 / 60.0 + 38.0 / 3600.0, 3776.0)),
+    SHOWA_STATION(LocationOnTheEarth.ofDegreesMeters(39.0 + 35.0 / 60.0 + 1.48 / 3600.0, -(69.0 + 25.05 / 3600.0), 28.8)),
+    NORTH_POLE(LocationOnTheEarth.ofDegreesMeters(0.0, 90.0, 0.0));
+
+    private final LocationOnTheEarth locationOnTheEarth;
+
+    BenchmarkLocation(LocationOnTheEarth locationOnTheEarth) {
+        this.locationOnTheEarth = locationOnTheEarth;
+    }
+
+    public LocationOnTheEarth getLocationOnTheEarth() {
+        return locationOnTheEarth;
+    }
+}
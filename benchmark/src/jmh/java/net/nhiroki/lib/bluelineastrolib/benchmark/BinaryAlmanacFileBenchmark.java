@@ -0,0 +1,66 @@
+package net.nhiroki.lib.bluelineastrolib.benchmark;
+
+import net.nhiroki.lib.bluelineastrolib.coordinates.LocationOnTheEarth;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+import net.nhiroki.lib.bluelineastrolib.tool.BinaryAlmanacFile;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Lookups of the file written by BinaryAlmanacFile for 1000 locations and a year, at locations and days jumping around the file.
+ * The gc profiler should show no allocation for the lookup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BinaryAlmanacFileBenchmark {
+    private static final int LOCATION_COUNT = 1000;
+    private static final int DAY_COUNT = 366;
+
+    private Path path;
+    private BinaryAlmanacFile almanacFile;
+    private int locationId;
+    private int day;
+
+    @Setup
+    public void setup() throws IOException, AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final LocationOnTheEarth[] locations = new LocationOnTheEarth[LOCATION_COUNT];
+        for (int i = 0; i < LOCATION_COUNT; ++i) {
+            // Spread between 60S and 60N
+            locations[i] = LocationOnTheEarth.ofDegreesMeters((i * 137.5) % 360.0 - 180.0, (i * 0.12) - 60.0, 0.0);
+        }
+        this.path = Files.createTempFile("binary-almanac-benchmark", ".bin");
+        BinaryAlmanacFile.write(this.path, locations, LocalDate.of(2026, 1, 1), DAY_COUNT);
+        this.almanacFile = BinaryAlmanacFile.open(this.path);
+        this.locationId = 0;
+        this.day = 0;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        this.almanacFile.close();
+        Files.delete(this.path);
+    }
+
+    @Benchmark
+    public int lookup() {
+        this.locationId = (this.locationId + 397) % LOCATION_COUNT;
+        this.day = (this.day + 31) % DAY_COUNT;
+        return this.almanacFile.getSecondOfDay(this.locationId, this.day, BinaryAlmanacFile.Event.SUNRISE);
+    }
+}
@@ -0,0 +1,156 @@
+package net.nhiroki.lib.bluelineastrolib.benchmark;
+
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.AstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Moon;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Sun;
+import net.nhiroki.lib.bluelineastrolib.coordinates.CelestialCoordinatesWithRightAscension;
+import net.nhiroki.lib.bluelineastrolib.coordinates.HorizontalCoordinatesFromGround;
+import net.nhiroki.lib.bluelineastrolib.coordinates.LocationOnTheEarth;
+import net.nhiroki.lib.bluelineastrolib.coordinates.Observer;
+import net.nhiroki.lib.bluelineastrolib.earth.SiderealTimeStepper;
+import net.nhiroki.lib.bluelineastrolib.earth.TimePointOnTheEarth;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Evaluation of the positions of the Sun and the Moon, and sidereal time, which are the inner loop of all the event calculations.<br>
+ * Time advances by a prime number of seconds for each call, not to let the JIT or caches see the same input.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EphemerisBenchmark {
+    private static final long START_EPOCH_MILLI = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+    private static final long STEP_MILLIS = 4021000L;
+    private static final long RANGE_MILLIS = 366L * 86400000L;
+    private static final long SCAN_INTERVAL_MILLIS = 60000L;
+    private static final double LONGITUDE_DEG = 139.7414;
+    private static final LocationOnTheEarth TOKYO = LocationOnTheEarth.ofDegreesMeters(LONGITUDE_DEG, 35.6581, 0.0);
+    private static final int TRACK_COUNT = 1440;
+
+    private final Sun sun = new Sun();
+    private final Moon moon = new Moon();
+    private final Moon truncatedMoon = new Moon(Moon.ARCMINUTE_ACCURACY_TRUNCATION_DEG);
+    private final double[] coordinates = new double[2];
+    private final double[] state = new double[AstronomicalObject.STATE_LENGTH];
+    private final Observer observer = Observer.of(TOKYO);
+    private final double[] trackElevation = new double[TRACK_COUNT];
+    private long epochMilli;
+    private SiderealTimeStepper siderealTimeStepper;
+
+    @Setup
+    public void setup() throws UnsupportedDateRangeException {
+        this.epochMilli = START_EPOCH_MILLI;
+        this.siderealTimeStepper = new SiderealTimeStepper(START_EPOCH_MILLI, SCAN_INTERVAL_MILLIS, Math.toRadians(LONGITUDE_DEG));
+    }
+
+    private long nextEpochMilli() {
+        this.epochMilli += STEP_MILLIS;
+        if (this.epochMilli >= START_EPOCH_MILLI + RANGE_MILLIS) {
+            this.epochMilli -= RANGE_MILLIS;
+        }
+        return this.epochMilli;
+    }
+
+    @Benchmark
+    public CelestialCoordinatesWithRightAscension sunCelestialCoordinates() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        return this.sun.calculateCelestialCoordinates(Instant.ofEpochMilli(this.nextEpochMilli()));
+    }
+
+    @Benchmark
+    public double sunCelestialCoordinatesEpochMilli() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        this.sun.calculateCelestialCoordinates(this.nextEpochMilli(), this.coordinates);
+        return this.coordinates[0] + this.coordinates[1];
+    }
+
+    @Benchmark
+    public CelestialCoordinatesWithRightAscension moonCelestialCoordinates() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        return this.moon.calculateCelestialCoordinates(Instant.ofEpochMilli(this.nextEpochMilli()));
+    }
+
+    @Benchmark
+    public double moonCelestialCoordinatesEpochMilli() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        this.moon.calculateCelestialCoordinates(this.nextEpochMilli(), this.coordinates);
+        return this.coordinates[0] + this.coordinates[1];
+    }
+
+    @Benchmark
+    public double moonState() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        this.moon.calculateState(this.nextEpochMilli(), this.state);
+        return this.state[0] + this.state[1] + this.state[2] + this.state[3] + this.state[4];
+    }
+
+    @Benchmark
+    public double moonStateBySeparateCalls() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final long epochMilli = this.nextEpochMilli();
+        this.moon.calculateCelestialCoordinates(epochMilli, this.coordinates);
+        return this.coordinates[0] + this.coordinates[1] + this.moon.calculateEquatorialHorizontalParallaxRad(epochMilli) + this.moon.calculateApparentRadiusRad(epochMilli)
+                + this.moon.estimatedIncrementOfRightAscensionRadPerDay(epochMilli);
+    }
+
+    @Benchmark
+    public double moonIncrementOfRightAscension() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        return this.moon.estimatedIncrementOfRightAscensionRadPerDay(this.nextEpochMilli());
+    }
+
+    @Benchmark
+    public double truncatedMoonCelestialCoordinatesEpochMilli() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        this.truncatedMoon.calculateCelestialCoordinates(this.nextEpochMilli(), this.coordinates);
+        return this.coordinates[0] + this.coordinates[1];
+    }
+
+    @Benchmark
+    public double moonEclipticLongitude() {
+        return this.moon.calculateEclipticLongitudeRadByJulianYear(TimePointOnTheEarth.julianYearFromJ2000_0(this.nextEpochMilli()));
+    }
+
+    @Benchmark
+    public double truncatedMoonEclipticLongitude() {
+        return this.truncatedMoon.calculateEclipticLongitudeRadByJulianYear(TimePointOnTheEarth.julianYearFromJ2000_0(this.nextEpochMilli()));
+    }
+
+    @Benchmark
+    public double siderealTimeDeg() throws UnsupportedDateRangeException {
+        return TimePointOnTheEarth.calculateSiderealTimeDeg(this.nextEpochMilli(), LONGITUDE_DEG);
+    }
+
+    // Steps at the interval of the scan of calculateAllEvents(), which refreshes the nutation once an hour
+    @Benchmark
+    public double siderealTimeStepper() throws UnsupportedDateRangeException {
+        if (this.siderealTimeStepper.getEpochMilli() >= START_EPOCH_MILLI + RANGE_MILLIS) {
+            this.siderealTimeStepper = new SiderealTimeStepper(START_EPOCH_MILLI, SCAN_INTERVAL_MILLIS, Math.toRadians(LONGITUDE_DEG));
+        }
+        this.siderealTimeStepper.next();
+        return this.siderealTimeStepper.getSiderealTimeRad();
+    }
+
+    // Path of the Moon for a day at 1 sample per minute, by calculateTrack()
+    @Benchmark
+    public double moonTrackOfADay() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        HorizontalCoordinatesFromGround.calculateTrack(this.moon, this.nextEpochMilli(), SCAN_INTERVAL_MILLIS, TRACK_COUNT, this.observer, null, null, this.trackElevation);
+        return this.trackElevation[TRACK_COUNT - 1];
+    }
+
+    // Same as moonTrackOfADay(), by calculatePositionOfAstronomicalObject() for each sample
+    @Benchmark
+    public double moonPositionsOfADay() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final long start = this.nextEpochMilli();
+        double ret = 0.0;
+        for (int i = 0; i < TRACK_COUNT; ++i) {
+            ret += HorizontalCoordinatesFromGround.calculatePositionOfAstronomicalObject(this.moon, Instant.ofEpochMilli(start + i * SCAN_INTERVAL_MILLIS), TOKYO).calculateApparentElevationRad();
+        }
+        return ret;
+    }
+}
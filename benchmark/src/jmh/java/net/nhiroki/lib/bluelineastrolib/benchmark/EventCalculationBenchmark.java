@@ -0,0 +1,100 @@
+package net.nhiroki.lib.bluelineastrolib.benchmark;
+
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.AstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.PrecisionProfile;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Moon;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Sun;
+import net.nhiroki.lib.bluelineastrolib.coordinates.LocationOnTheEarth;
+import net.nhiroki.lib.bluelineastrolib.coordinates.Observer;
+import net.nhiroki.lib.bluelineastrolib.earth.Earth;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+import net.nhiroki.lib.bluelineastrolib.logic.AstronomicalEventsCalculation;
+import net.nhiroki.lib.bluelineastrolib.logic.HorizontalCrossingCalculation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Rise/set/culmination calculation for each location, going through the days of a year one by one so that polar days and nights are included.
+ * Each PrecisionProfile is measured to compare the cost of the tiers, with Sun and Moon created by the same profile.<br>
+ * crossingsOfAYear() measures HorizontalCrossingCalculation for a whole year: crossings of the elevation of 6 degrees for RISE and SET,
+ * and crossings of the azimuth of the south (180 degrees) for CULMINATION.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EventCalculationBenchmark {
+    private static final long START_EPOCH_MILLI = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+    private static final double HEIGHT_STANDARD_RAD = -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0);
+    private static final long END_EPOCH_MILLI = Instant.parse("2027-01-01T00:00:00Z").toEpochMilli();
+    private static final double CROSSING_ELEVATION_RAD = Math.toRadians(6.0);
+    private static final double CROSSING_AZIMUTH_RAD = Math.toRadians(180.0);
+
+    @Param({ "TOKYO", "MT_FUJI", "SHOWA_STATION", "NORTH_POLE" })
+    public BenchmarkLocation location;
+
+    @Param({ "SUN", "MOON" })
+    public String object;
+
+    @Param({ "RISE", "CULMINATION", "SET" })
+    public AstronomicalEventsCalculation.EventDirectionType eventDirectionType;
+
+    @Param({ "WIDGET", "DEFAULT", "FINE_SOLVER" })
+    public PrecisionProfile precisionProfile;
+
+    private AstronomicalObject astronomicalObject;
+    private LocationOnTheEarth locationOnTheEarth;
+    private Observer observer;
+    private final double[] eventEpochMillis = new double[4];
+    private final double[] crossingEpochMillis = new double[800];
+    private int day;
+
+    @Setup
+    public void setup() {
+        this.astronomicalObject = this.object.equals("SUN") ? new Sun(this.precisionProfile) : new Moon(this.precisionProfile);
+        this.locationOnTheEarth = this.location.getLocationOnTheEarth();
+        this.observer = Observer.of(this.locationOnTheEarth);
+        this.day = 0;
+    }
+
+    private long nextDayStart() {
+        this.day = (this.day + 1) % 366;
+        return START_EPOCH_MILLI + this.day * 86400000L;
+    }
+
+    @Benchmark
+    public double eventWithin24h() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        return AstronomicalEventsCalculation.calculateEventWithin24h(this.astronomicalObject, this.eventDirectionType, this.nextDayStart(), this.observer,
+                true, AstronomicalEventsCalculation.ReferencePoint.TOP, true, HEIGHT_STANDARD_RAD, this.precisionProfile);
+    }
+
+    // Slow path of calculateEventWithin24h(), with the same interval and precision
+    @Benchmark
+    public int allEventsWithin24h() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final long start = this.nextDayStart();
+        return AstronomicalEventsCalculation.calculateAllEvents(this.astronomicalObject, this.eventDirectionType, start, start + 86400000L,
+                this.precisionProfile.getScanIntervalMillis(), (double) this.precisionProfile.getToleranceMillis(),
+                this.observer, true, AstronomicalEventsCalculation.ReferencePoint.TOP, true, HEIGHT_STANDARD_RAD, this.eventEpochMillis);
+    }
+
+    @Benchmark
+    public int crossingsOfAYear() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        if (this.eventDirectionType == AstronomicalEventsCalculation.EventDirectionType.CULMINATION) {
+            return HorizontalCrossingCalculation.calculateAzimuthCrossings(this.astronomicalObject, START_EPOCH_MILLI, END_EPOCH_MILLI, this.locationOnTheEarth,
+                    CROSSING_AZIMUTH_RAD, this.precisionProfile, this.crossingEpochMillis);
+        }
+        return HorizontalCrossingCalculation.calculateElevationCrossings(this.astronomicalObject, this.eventDirectionType, START_EPOCH_MILLI, END_EPOCH_MILLI, this.locationOnTheEarth,
+                CROSSING_ELEVATION_RAD, this.precisionProfile, this.crossingEpochMillis);
+    }
+}
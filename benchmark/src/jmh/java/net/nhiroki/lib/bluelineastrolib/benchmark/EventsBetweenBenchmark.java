@@ -0,0 +1,102 @@
+package net.nhiroki.lib.bluelineastrolib.benchmark;
+
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.AstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.ChebyshevInterpolatedAstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Moon;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Sun;
+import net.nhiroki.lib.bluelineastrolib.coordinates.LocationOnTheEarth;
+import net.nhiroki.lib.bluelineastrolib.coordinates.Observer;
+import net.nhiroki.lib.bluelineastrolib.earth.Earth;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+import net.nhiroki.lib.bluelineastrolib.logic.AstronomicalEvent;
+import net.nhiroki.lib.bluelineastrolib.logic.AstronomicalEventsCalculation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Rises, culminations and sets of a year by calculateEventsBetween(), compared with calling calculateRiseWithin24h(), calculateCulminationWithin24h() and calculateSetWithin24h()
+ * for each day, which gives the same events.<br>
+ * risesOfAYearScan() is the one-minute scan of calculateAllEvents() over the year, which evaluates the object for every sample.
+ * Each is measured with the object itself and with ChebyshevInterpolatedAstronomicalObject.forSun() or forMoon() of it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EventsBetweenBenchmark {
+    private static final LocalDate FIRST_DATE = LocalDate.of(2026, 1, 1);
+    private static final LocalDate LAST_DATE = LocalDate.of(2026, 12, 31);
+    private static final ZoneId ZONE_ID = ZoneId.of("Asia/Tokyo");
+    private static final long SCAN_START_EPOCH_MILLI = FIRST_DATE.atStartOfDay(ZONE_ID).toInstant().toEpochMilli();
+    private static final long SCAN_END_EPOCH_MILLI = LAST_DATE.plusDays(1).atStartOfDay(ZONE_ID).toInstant().toEpochMilli();
+    private static final double HEIGHT_STANDARD_RAD = -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0);
+
+    @Param({ "TOKYO", "SHOWA_STATION" })
+    public BenchmarkLocation location;
+
+    @Param({ "SUN", "MOON" })
+    public String object;
+
+    @Param({ "false", "true" })
+    public boolean interpolated;
+
+    private AstronomicalObject astronomicalObject;
+    private LocationOnTheEarth locationOnTheEarth;
+    private Observer observer;
+    private final double[] eventEpochMillis = new double[400];
+
+    @Setup
+    public void setup() {
+        if (this.object.equals("SUN")) {
+            this.astronomicalObject = this.interpolated ? ChebyshevInterpolatedAstronomicalObject.forSun(new Sun()) : new Sun();
+        } else {
+            this.astronomicalObject = this.interpolated ? ChebyshevInterpolatedAstronomicalObject.forMoon(new Moon()) : new Moon();
+        }
+        this.locationOnTheEarth = this.location.getLocationOnTheEarth();
+        this.observer = Observer.of(this.locationOnTheEarth);
+    }
+
+    @Benchmark
+    public int eachDayOfAYear() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        int eventCount = 0;
+        for (LocalDate date = FIRST_DATE; ! date.isAfter(LAST_DATE); date = date.plusDays(1)) {
+            final Instant startOfDay = date.atStartOfDay(ZONE_ID).toInstant();
+            if (AstronomicalEventsCalculation.calculateRiseWithin24h(this.astronomicalObject, startOfDay, this.locationOnTheEarth, true, AstronomicalEventsCalculation.ReferencePoint.TOP) != null) {
+                ++eventCount;
+            }
+            if (AstronomicalEventsCalculation.calculateCulminationWithin24h(this.astronomicalObject, startOfDay, this.locationOnTheEarth) != null) {
+                ++eventCount;
+            }
+            if (AstronomicalEventsCalculation.calculateSetWithin24h(this.astronomicalObject, startOfDay, this.locationOnTheEarth, true, AstronomicalEventsCalculation.ReferencePoint.TOP) != null) {
+                ++eventCount;
+            }
+        }
+        return eventCount;
+    }
+
+    @Benchmark
+    public AstronomicalEvent[] eventsBetweenOfAYear() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        return AstronomicalEventsCalculation.calculateEventsBetween(this.astronomicalObject, FIRST_DATE, LAST_DATE, ZONE_ID, this.locationOnTheEarth,
+                true, AstronomicalEventsCalculation.ReferencePoint.TOP);
+    }
+
+    @Benchmark
+    public int risesOfAYearScan() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        return AstronomicalEventsCalculation.calculateAllEvents(this.astronomicalObject, AstronomicalEventsCalculation.EventDirectionType.RISE,
+                SCAN_START_EPOCH_MILLI, SCAN_END_EPOCH_MILLI, 60000L, 200.0, this.observer, true, AstronomicalEventsCalculation.ReferencePoint.TOP,
+                true, HEIGHT_STANDARD_RAD, this.eventEpochMillis);
+    }
+}
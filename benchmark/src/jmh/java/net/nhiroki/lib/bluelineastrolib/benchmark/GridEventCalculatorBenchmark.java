@@ -0,0 +1,66 @@
+package net.nhiroki.lib.bluelineastrolib.benchmark;
+
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.AstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Moon;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Sun;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+import net.nhiroki.lib.bluelineastrolib.logic.AstronomicalEventsCalculation;
+import net.nhiroki.lib.bluelineastrolib.logic.GridEventCalculator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.LocalDate;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Rise over the whole earth by GridEventCalculator, with the pools of 1 thread and of more threads to compare the scaling.<br>
+ * "0" threads means the number of available processors.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GridEventCalculatorBenchmark {
+    private static final LocalDate FIRST_DATE = LocalDate.of(2026, 3, 1);
+    private static final int DAY_COUNT = 2;
+
+    @Param({ "1", "2", "4", "0" })
+    public int threads;
+
+    @Param({ "SUN", "MOON" })
+    public String object;
+
+    private final GridEventCalculator calculator = new GridEventCalculator(-89.0, 2.0, 90, -180.0, 2.0, 180);
+    private AstronomicalObject astronomicalObject;
+    private ForkJoinPool pool;
+    private int[] result;
+
+    @Setup
+    public void setup() {
+        this.astronomicalObject = this.object.equals("SUN") ? new Sun() : new Moon();
+        this.pool = new ForkJoinPool(this.threads == 0 ? Runtime.getRuntime().availableProcessors() : this.threads);
+        this.result = new int[DAY_COUNT * this.calculator.getLatitudeCount() * this.calculator.getLongitudeCount()];
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    @Benchmark
+    public int[] riseOfGrid() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        this.calculator.calculate(this.astronomicalObject, AstronomicalEventsCalculation.EventDirectionType.RISE, AstronomicalEventsCalculation.ReferencePoint.TOP,
+                FIRST_DATE, DAY_COUNT, this.pool, this.result);
+        return this.result;
+    }
+}
@@ -0,0 +1,50 @@
+package net.nhiroki.lib.bluelineastrolib.benchmark;
+
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.tool.MoonTool;
+import net.nhiroki.lib.bluelineastrolib.tool.SunTool;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Searches of moon phases and solar terms shown in the app, from each day of a year.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ToolBenchmark {
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    private int day;
+
+    @Setup
+    public void setup() {
+        this.day = 0;
+    }
+
+    private Instant nextDay() {
+        this.day = (this.day + 1) % 366;
+        return START.plusSeconds(this.day * 86400L);
+    }
+
+    @Benchmark
+    public Instant previousNewMoon() throws AstronomicalPhenomenonComputationException {
+        return MoonTool.calculatePreviousTimeOfMoonPhase(this.nextDay(), 0.0);
+    }
+
+    @Benchmark
+    public Instant nextSolarTerm() throws AstronomicalPhenomenonComputationException {
+        // Solar terms are every 15 degrees of the ecliptic longitude
+        return SunTool.calculateNextTimeOfEclipticLongitude(this.nextDay(), 15.0 * (this.day % 24));
+    }
+}
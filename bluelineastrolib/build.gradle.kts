@@ -0,0 +1,14 @@
+// Astronomical calculation library of the app, which does not depend on Android,
+// so that it can also be used and profiled on server JVMs.
+plugins {
+    `java-library`
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
+
+dependencies {
+    testImplementation(libs.junit)
+}
@@ -0,0 +1,150 @@
+package net.nhiroki.lib.bluelineastrolib.astronomicalobjects;
+
+import net.nhiroki.lib.bluelineastrolib.coordinates.CelestialCoordinatesWithRightAscension;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+
+import java.time.Instant;
+
+
+/**
+ * Astronomical object to be used for calculation.<br>
+ * Implementations must be thread-safe, as the calculations may share an instance between threads (see README.md of this library).
+ */
+public interface AstronomicalObject {
+    /** Index of right ascension in the array of calculateState() */
+    int STATE_RIGHT_ASCENSION = 0;
+    /** Index of declination in the array of calculateState() */
+    int STATE_DECLINATION = 1;
+    /** Index of equatorial horizontal parallax in the array of calculateState() */
+    int STATE_EQUATORIAL_HORIZONTAL_PARALLAX = 2;
+    /** Index of apparent radius in the array of calculateState() */
+    int STATE_APPARENT_RADIUS = 3;
+    /** Index of increment of right ascension per day, same as estimatedIncrementOfRightAscensionRadPerDay(), in the array of calculateState() */
+    int STATE_INCREMENT_OF_RIGHT_ASCENSION_PER_DAY = 4;
+    /** Length of the array of calculateState() */
+    int STATE_LENGTH = 5;
+
+    /**
+     * Calculates celestial coordinates of the corresponding astronomical object.
+     *
+     * @param t Target time to calculate celestial coordinates
+     * @return Computed celestial coordinates
+     */
+    CelestialCoordinatesWithRightAscension calculateCelestialCoordinates(Instant t) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException;
+
+    /**
+     * Calculates apparent radius from the earth of the corresponding astronomical object.
+     *
+     * @param t Target time
+     * @return Apparent radius in radian
+     */
+    double calculateApparentRadiusRad (Instant t) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException;
+
+    /**
+     * Calculates horizontal parallax from the earth of the corresponding astronomical object.
+     * This is for calculating rise/set of the object.
+     *
+     * @param t Target time
+     * @return Equatorial horizontal parallax in radian
+     */
+    double calculateEquatorialHorizontalParallaxRad (Instant t) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException;
+
+    /**
+     * Returns estimation of how much the right ascension of this astronomical object increases in
+     * a day.
+     * The value is just a hint for estimation and may not be the exact one.
+     * If the fixed star or unsure, implementation should return 0.0.
+     *
+     * @param t Target time
+     * @return Estimated increment of hour angle per day in degrees
+     */
+    double estimatedIncrementOfRightAscensionRadPerDay(Instant t) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException;
+
+    /**
+     * Calculates celestial coordinates without allocating objects, for loops computing many time points.<br>
+     * Default implementation calls calculateCelestialCoordinates(Instant), so implementations should override this.
+     *
+     * @param epochMilli Target time in milliseconds from the epoch
+     * @param rightAscensionAndDeclinationRad Array to store right ascension at index 0 and declination at index 1, in radians
+     */
+    default void calculateCelestialCoordinates(long epochMilli, double[] rightAscensionAndDeclinationRad) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final CelestialCoordinatesWithRightAscension celestialCoordinates = this.calculateCelestialCoordinates(Instant.ofEpochMilli(epochMilli));
+        rightAscensionAndDeclinationRad[0] = celestialCoordinates.getRightAscensionRad();
+        rightAscensionAndDeclinationRad[1] = celestialCoordinates.getDeclinationRad();
+    }
+
+    /**
+     * Calculates celestial coordinates, equatorial horizontal parallax, apparent radius and increment of right ascension at the same time, which are all needed by each step of rise/set calculation.<br>
+     * The array is in the same layout as calculateCelestialCoordinates(long, double[]) for the first two values, so it can be passed to both.<br>
+     * Default implementation calls each method, so implementations computing these from common values should override this to compute them once.
+     *
+     * @param epochMilli Target time in milliseconds from the epoch
+     * @param stateRad Array of at least STATE_LENGTH to store the values in radians at the indices STATE_RIGHT_ASCENSION, STATE_DECLINATION, STATE_EQUATORIAL_HORIZONTAL_PARALLAX, STATE_APPARENT_RADIUS
+     *                 and STATE_INCREMENT_OF_RIGHT_ASCENSION_PER_DAY
+     */
+    default void calculateState(long epochMilli, double[] stateRad) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        this.calculateCelestialCoordinates(epochMilli, stateRad);
+        stateRad[STATE_EQUATORIAL_HORIZONTAL_PARALLAX] = this.calculateEquatorialHorizontalParallaxRad(epochMilli);
+        stateRad[STATE_APPARENT_RADIUS] = this.calculateApparentRadiusRad(epochMilli);
+        stateRad[STATE_INCREMENT_OF_RIGHT_ASCENSION_PER_DAY] = this.estimatedIncrementOfRightAscensionRadPerDay(epochMilli);
+    }
+
+    /**
+     * Same as calculateApparentRadiusRad(Instant), but takes milliseconds from the epoch not to allocate objects.
+     * Default implementation calls calculateApparentRadiusRad(Instant), so implementations should override this.
+     *
+     * @param epochMilli Target time in milliseconds from the epoch
+     * @return Apparent radius in radian
+     */
+    default double calculateApparentRadiusRad(long epochMilli) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        return this.calculateApparentRadiusRad(Instant.ofEpochMilli(epochMilli));
+    }
+
+    /**
+     * Same as calculateEquatorialHorizontalParallaxRad(Instant), but takes milliseconds from the epoch not to allocate objects.
+     * Default implementation calls calculateEquatorialHorizontalParallaxRad(Instant), so implementations should override this.
+     *
+     * @param epochMilli Target time in milliseconds from the epoch
+     * @return Equatorial horizontal parallax in radian
+     */
+    default double calculateEquatorialHorizontalParallaxRad(long epochMilli) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        return this.calculateEquatorialHorizontalParallaxRad(Instant.ofEpochMilli(epochMilli));
+    }
+
+    /**
+     * Same as estimatedIncrementOfRightAscensionRadPerDay(Instant), but takes milliseconds from the epoch not to allocate objects.
+     * Default implementation calls estimatedIncrementOfRightAscensionRadPerDay(Instant), so implementations should override this.
+     *
+     * @param epochMilli Target time in milliseconds from the epoch
+     * @return Estimated increment of hour angle per day in degrees
+     */
+    default double estimatedIncrementOfRightAscensionRadPerDay(long epochMilli) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        return this.estimatedIncrementOfRightAscensionRadPerDay(Instant.ofEpochMilli(epochMilli));
+    }
+
+    /**
+     * Returns the upper bound of how fast this astronomical object moves on the celestial sphere, in the supported date range.
+     * The change of apparent radius and equatorial horizontal parallax per day must be included, as they also move the standard of rise/set.
+     * This is used to skip the time when the event cannot happen in the slow path of rise/set calculation.
+     * If unsure, implementation should return Double.POSITIVE_INFINITY, which disables skipping.
+     * Default implementation returns Double.POSITIVE_INFINITY, so implementations should override this to enable skipping.
+     *
+     * @return Upper bound of angular speed in radians per day
+     */
+    default double maximumAngularSpeedRadPerDay() {
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns the upper bound of how fast the declination of this astronomical object changes, in the supported date range.
+     * The change of apparent radius and equatorial horizontal parallax per day must be included, same as maximumAngularSpeedRadPerDay().
+     * This is used to judge that rise/set cannot happen in polar area.
+     * Default implementation returns maximumAngularSpeedRadPerDay(), which is always an upper bound of this.
+     *
+     * @return Upper bound of change of declination in radians per day
+     */
+    default double maximumDeclinationSpeedRadPerDay() {
+        return this.maximumAngularSpeedRadPerDay();
+    }
+}
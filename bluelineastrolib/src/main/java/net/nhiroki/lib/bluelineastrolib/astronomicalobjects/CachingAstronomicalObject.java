@@ -0,0 +1,249 @@
+package net.nhiroki.lib.bluelineastrolib.astronomicalobjects;
+
+import net.nhiroki.lib.bluelineastrolib.coordinates.CelestialCoordinatesWithRightAscension;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Astronomical object which remembers the results of another astronomical object for the last few time points evaluated by each thread.<br>
+ * <br>
+ * Calculations of rise/set may evaluate the same time point several times (e.g. the coordinates for the height, and the parallax and the apparent radius for the standard height,
+ * unless taken at once by calculateState()). This answers them from the cache, so that the source is evaluated once for each.
+ * Unlike ChebyshevInterpolatedAstronomicalObject, results are exactly the same as the source, and time points far from each other are not faster.<br>
+ * <br>
+ * Each thread has its own cache of {@code capacity} time points in milliseconds, replaced in round-robin, so no lock is taken.
+ * Values are computed lazily for each time point: e.g. the parallax is evaluated only when it is asked.
+ * Instant with sub-millisecond part is not cached and passed to the source as is.<br>
+ * <br>
+ * Hit/miss counters are shared by the threads, and counted for each value (coordinates, parallax, apparent radius, and increment of right ascension).
+ * calculateState() is counted once, and asks the source for all of its values when any of them is missing.
+ */
+public class CachingAstronomicalObject implements AstronomicalObject {
+    public static final int DEFAULT_CAPACITY = 8;
+
+    private final AstronomicalObject source;
+    private final int capacity;
+    private final ThreadLocal<Cache> cache;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+
+    /**
+     * Creates caching object with DEFAULT_CAPACITY time points for each thread.
+     *
+     * @param source Object to be cached
+     */
+    public CachingAstronomicalObject(AstronomicalObject source) {
+        this(source, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param source Object to be cached
+     * @param capacity Number of time points remembered by each thread
+     */
+    public CachingAstronomicalObject(AstronomicalObject source, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.source = source;
+        this.capacity = capacity;
+        this.cache = ThreadLocal.withInitial(() -> new Cache(this.capacity));
+    }
+
+    public long getHitCount() {
+        return this.hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return this.missCount.sum();
+    }
+
+    public void resetCounts() {
+        this.hitCount.reset();
+        this.missCount.reset();
+    }
+
+    @Override
+    public CelestialCoordinatesWithRightAscension calculateCelestialCoordinates(Instant t) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        if (! isCacheable(t)) {
+            return this.source.calculateCelestialCoordinates(t);
+        }
+        final Cache cache = this.cache.get();
+        final int index = this.findCoordinates(cache, t.toEpochMilli());
+        return CelestialCoordinatesWithRightAscension.ofRadians(cache.rightAscension[index], cache.declination[index]);
+    }
+
+    @Override
+    public void calculateCelestialCoordinates(long epochMilli, double[] rightAscensionAndDeclinationRad) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final Cache cache = this.cache.get();
+        final int index = this.findCoordinates(cache, epochMilli);
+        rightAscensionAndDeclinationRad[0] = cache.rightAscension[index];
+        rightAscensionAndDeclinationRad[1] = cache.declination[index];
+    }
+
+    @Override
+    public void calculateState(long epochMilli, double[] stateRad) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final Cache cache = this.cache.get();
+        final int index = cache.findOrAssign(epochMilli);
+        if (Double.isNaN(cache.rightAscension[index]) || Double.isNaN(cache.parallax[index]) || Double.isNaN(cache.apparentRadius[index]) || Double.isNaN(cache.incrementOfRightAscension[index])) {
+            this.missCount.increment();
+            final double[] state = cache.state;
+            this.source.calculateState(epochMilli, state);
+            cache.rightAscension[index] = state[STATE_RIGHT_ASCENSION];
+            cache.declination[index] = state[STATE_DECLINATION];
+            cache.parallax[index] = state[STATE_EQUATORIAL_HORIZONTAL_PARALLAX];
+            cache.apparentRadius[index] = state[STATE_APPARENT_RADIUS];
+            cache.incrementOfRightAscension[index] = state[STATE_INCREMENT_OF_RIGHT_ASCENSION_PER_DAY];
+        } else {
+            this.hitCount.increment();
+        }
+        stateRad[STATE_RIGHT_ASCENSION] = cache.rightAscension[index];
+        stateRad[STATE_DECLINATION] = cache.declination[index];
+        stateRad[STATE_EQUATORIAL_HORIZONTAL_PARALLAX] = cache.parallax[index];
+        stateRad[STATE_APPARENT_RADIUS] = cache.apparentRadius[index];
+        stateRad[STATE_INCREMENT_OF_RIGHT_ASCENSION_PER_DAY] = cache.incrementOfRightAscension[index];
+    }
+
+    @Override
+    public double calculateApparentRadiusRad(Instant t) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        if (! isCacheable(t)) {
+            return this.source.calculateApparentRadiusRad(t);
+        }
+        return this.calculateApparentRadiusRad(t.toEpochMilli());
+    }
+
+    @Override
+    public double calculateApparentRadiusRad(long epochMilli) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final Cache cache = this.cache.get();
+        final int index = cache.findOrAssign(epochMilli);
+        if (Double.isNaN(cache.apparentRadius[index])) {
+            this.missCount.increment();
+            cache.apparentRadius[index] = this.source.calculateApparentRadiusRad(epochMilli);
+        } else {
+            this.hitCount.increment();
+        }
+        return cache.apparentRadius[index];
+    }
+
+    @Override
+    public double calculateEquatorialHorizontalParallaxRad(Instant t) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        if (! isCacheable(t)) {
+            return this.source.calculateEquatorialHorizontalParallaxRad(t);
+        }
+        return this.calculateEquatorialHorizontalParallaxRad(t.toEpochMilli());
+    }
+
+    @Override
+    public double calculateEquatorialHorizontalParallaxRad(long epochMilli) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final Cache cache = this.cache.get();
+        final int index = cache.findOrAssign(epochMilli);
+        if (Double.isNaN(cache.parallax[index])) {
+            this.missCount.increment();
+            cache.parallax[index] = this.source.calculateEquatorialHorizontalParallaxRad(epochMilli);
+        } else {
+            this.hitCount.increment();
+        }
+        return cache.parallax[index];
+    }
+
+    @Override
+    public double estimatedIncrementOfRightAscensionRadPerDay(Instant t) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        if (! isCacheable(t)) {
+            return this.source.estimatedIncrementOfRightAscensionRadPerDay(t);
+        }
+        return this.estimatedIncrementOfRightAscensionRadPerDay(t.toEpochMilli());
+    }
+
+    @Override
+    public double estimatedIncrementOfRightAscensionRadPerDay(long epochMilli) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final Cache cache = this.cache.get();
+        final int index = cache.findOrAssign(epochMilli);
+        if (Double.isNaN(cache.incrementOfRightAscension[index])) {
+            this.missCount.increment();
+            cache.incrementOfRightAscension[index] = this.source.estimatedIncrementOfRightAscensionRadPerDay(epochMilli);
+        } else {
+            this.hitCount.increment();
+        }
+        return cache.incrementOfRightAscension[index];
+    }
+
+    @Override
+    public double maximumAngularSpeedRadPerDay() {
+        return this.source.maximumAngularSpeedRadPerDay();
+    }
+
+    @Override
+    public double maximumDeclinationSpeedRadPerDay() {
+        return this.source.maximumDeclinationSpeedRadPerDay();
+    }
+
+    // Returns the index in the cache of this thread, where the coordinates at epochMilli are stored
+    private int findCoordinates(Cache cache, long epochMilli) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final int index = cache.findOrAssign(epochMilli);
+        if (Double.isNaN(cache.rightAscension[index])) {
+            this.missCount.increment();
+            final double[] coordinates = cache.coordinates;
+            this.source.calculateCelestialCoordinates(epochMilli, coordinates);
+            cache.rightAscension[index] = coordinates[0];
+            cache.declination[index] = coordinates[1];
+        } else {
+            this.hitCount.increment();
+        }
+        return index;
+    }
+
+    private static boolean isCacheable(Instant t) {
+        return t.getNano() % 1000000 == 0;
+    }
+
+
+    // Cache owned by a thread. NaN means not computed yet.
+    private static class Cache {
+        private final long[] epochMillis;
+        private final double[] rightAscension;
+        private final double[] declination;
+        private final double[] parallax;
+        private final double[] apparentRadius;
+        private final double[] incrementOfRightAscension;
+        // Work arrays passed to the source
+        private final double[] coordinates = new double[2];
+        private final double[] state = new double[STATE_LENGTH];
+        private int size = 0;
+        private int next = 0;
+
+        Cache(int capacity) {
+            this.epochMillis = new long[capacity];
+            this.rightAscension = new double[capacity];
+            this.declination = new double[capacity];
+            this.parallax = new double[capacity];
+            this.apparentRadius = new double[capacity];
+            this.incrementOfRightAscension = new double[capacity];
+        }
+
+        // Returns the index of epochMilli, assigning the oldest entry if not found
+        int findOrAssign(long epochMilli) {
+            for (int i = 0; i < this.size; ++i) {
+                if (this.epochMillis[i] == epochMilli) {
+                    return i;
+                }
+            }
+
+            final int index = this.next;
+            this.next = (this.next + 1) % this.epochMillis.length;
+            if (this.size < this.epochMillis.length) {
+                ++this.size;
+            }
+            this.epochMillis[index] = epochMilli;
+            this.rightAscension[index] = Double.NaN;
+            this.declination[index] = Double.NaN;
+            this.parallax[index] = Double.NaN;
+            this.apparentRadius[index] = Double.NaN;
+            this.incrementOfRightAscension[index] = Double.NaN;
+            return index;
+        }
+    }
+}
@@ -0,0 +1,400 @@
+package net.nhiroki.lib.bluelineastrolib.astronomicalobjects;
+
+import net.nhiroki.lib.bluelineastrolib.coordinates.CelestialCoordinatesWithRightAscension;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * Astronomical object which answers positions by piecewise Chebyshev polynomials fitted to another astronomical object.<br>
+ * <br>
+ * On the first use of each segment (fixed length of time aligned to the epoch), right ascension, declination, equatorial horizontal parallax and apparent radius of
+ * the source object are evaluated at the Chebyshev nodes of the segment, and later calls within the segment are answered by polynomial evaluation.
+ * This is much faster than evaluating the trigonometric series of Sun or Moon for each call when many calls are made for near time points, like rise/set calculation.<br>
+ * <br>
+ * Maximum interpolation error against the source, checked in 1900-2100 with the default parameters (see ChebyshevInterpolatedAstronomicalObjectTest):
+ * <ul>
+ *   <li>Moon ({@link #forMoon}, 1-day segment, 12 nodes): less than 0.001 arcsecond for right ascension and declination, and less than 1e-5 arcsecond for parallax and apparent radius</li>
+ *   <li>Sun ({@link #forSun}, 1-day segment, 6 nodes): less than 0.0001 arcsecond for right ascension and declination, and less than 1e-7 arcsecond for parallax and apparent radius</li>
+ * </ul>
+ * For Moon, the error mostly comes from rounding nodes to milliseconds, as the Moon moves about 0.0005 arcsecond per millisecond.<br>
+ * These are far smaller than the precision of the series themselves (about 10 arcseconds for Moon, and 30 arcseconds for Sun), so rise/set computed with this object matches the source within the precision of the calculation.<br>
+ * <br>
+ * Segments are kept in a cache bounded by {@code maxSegments}, and least recently used segments are discarded.
+ * An instance can be shared by threads, as the cache is synchronized and fitted segments are immutable.
+ * Threads computing different segments at the same time contend on the cache, so use {@link #ofRange} to share an instance by many threads.<br>
+ * <br>
+ * Note that the positions of the objects in this library jump by leap seconds, as they are computed in TT.
+ * Segments of the default parameters are aligned to 00:00 UTC, where leap seconds are inserted, so that the jump does not happen within a segment.
+ * If other parameters are specified, the error near leap seconds may be larger (e.g. about 0.5 arcsecond for Moon).
+ */
+public class ChebyshevInterpolatedAstronomicalObject implements AstronomicalObject {
+    public static final int DEFAULT_MAX_SEGMENTS = 64;
+    /** Number of nodes of 1-day segments for the Moon, used by forMoon() and forAny() */
+    public static final int MOON_NODE_COUNT = 12;
+    /** Number of nodes of 1-day segments for the Sun, used by forSun() */
+    public static final int SUN_NODE_COUNT = 6;
+
+    private final AstronomicalObject source;
+    private final long segmentLengthMillis;
+    private final int nodeCount;
+    private final Map<Long, Segment> segmentCache;
+    private volatile Segment lastSegment = null;
+    // Segment given by the caller, which is not aligned to the epoch. Null if not given.
+    private final Segment windowSegment;
+    // Segments fitted beforehand by ofRange(), from the segment of rangeFirstIndex. Never modified, so read without the lock. Null if not given.
+    private final Segment[] rangeSegments;
+    private final long rangeFirstIndex;
+
+
+    /**
+     * Creates interpolated object for the Moon with 1-day segments and MOON_NODE_COUNT nodes.
+     *
+     * @param moon Source object, which is expected to be Moon or the object moving similarly
+     * @return Interpolated object
+     */
+    public static ChebyshevInterpolatedAstronomicalObject forMoon(AstronomicalObject moon) {
+        return new ChebyshevInterpolatedAstronomicalObject(moon, 86400000L, MOON_NODE_COUNT, DEFAULT_MAX_SEGMENTS);
+    }
+
+    /**
+     * Creates interpolated object for the Sun with 1-day segments and SUN_NODE_COUNT nodes.
+     *
+     * @param sun Source object, which is expected to be Sun or the object moving similarly
+     * @return Interpolated object
+     */
+    public static ChebyshevInterpolatedAstronomicalObject forSun(AstronomicalObject sun) {
+        return new ChebyshevInterpolatedAstronomicalObject(sun, 86400000L, SUN_NODE_COUNT, DEFAULT_MAX_SEGMENTS);
+    }
+
+    /**
+     * Creates interpolated object with the same parameters as forMoon(), for the object which may be either the Sun or the Moon.<br>
+     * The nodes for the Moon are precise enough also for the objects moving slower, like the Sun.
+     *
+     * @param source Source object, which is expected not to move faster than the Moon
+     * @return Interpolated object
+     */
+    public static ChebyshevInterpolatedAstronomicalObject forAny(AstronomicalObject source) {
+        return forMoon(source);
+    }
+
+    /**
+     * Constructor of ChebyshevInterpolatedAstronomicalObject.
+     *
+     * @param source Source astronomical object to be interpolated. Right ascension must not change more than 180 degrees within a segment.
+     * @param segmentLengthMillis Length of each segment in milliseconds
+     * @param nodeCount Number of Chebyshev nodes in each segment. The degree of polynomials is {@code nodeCount - 1}.
+     * @param maxSegments Maximum number of segments kept in the cache
+     */
+    public ChebyshevInterpolatedAstronomicalObject(AstronomicalObject source, long segmentLengthMillis, int nodeCount, int maxSegments) {
+        this(source, segmentLengthMillis, nodeCount, maxSegments, null, null, 0L);
+    }
+
+    private ChebyshevInterpolatedAstronomicalObject(AstronomicalObject source, long segmentLengthMillis, int nodeCount, int maxSegments, Segment windowSegment,
+                                                    Segment[] rangeSegments, long rangeFirstIndex) {
+        if (segmentLengthMillis <= 0L || nodeCount < 2 || maxSegments < 1) {
+            throw new IllegalArgumentException("Invalid parameter for ChebyshevInterpolatedAstronomicalObject");
+        }
+        this.source = source;
+        this.segmentLengthMillis = segmentLengthMillis;
+        this.nodeCount = nodeCount;
+        this.windowSegment = windowSegment;
+        this.rangeSegments = rangeSegments;
+        this.rangeFirstIndex = rangeFirstIndex;
+        this.segmentCache = new LinkedHashMap<Long, Segment>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Segment> eldest) {
+                return this.size() > maxSegments;
+            }
+        };
+    }
+
+    /**
+     * Creates interpolated object for a window, whose values at the Chebyshev nodes are already computed by the caller.<br>
+     * This is for computing several objects for the same time points, sharing the work depending only on the time (e.g. DailyAlmanac).<br>
+     * Values at index k of the arrays must be the ones at calculateNodeEpochMilli(startEpochMilli, lengthMillis, n, k), where n is the length of the arrays.
+     * Calls out of the window are answered by 1-day segments fitted to {@code source} with n nodes.
+     *
+     * @param source Source astronomical object, used only out of the window
+     * @param startEpochMilli Start of the window in milliseconds from the epoch
+     * @param lengthMillis Length of the window in milliseconds
+     * @param rightAscensionRad Right ascension at the nodes in radians
+     * @param declinationRad Declination at the nodes in radians
+     * @param equatorialHorizontalParallaxRad Equatorial horizontal parallax at the nodes in radians
+     * @param apparentRadiusRad Apparent radius at the nodes in radians
+     * @return Interpolated object
+     */
+    public static ChebyshevInterpolatedAstronomicalObject ofWindow(AstronomicalObject source, long startEpochMilli, long lengthMillis,
+                                                                   double[] rightAscensionRad, double[] declinationRad,
+                                                                   double[] equatorialHorizontalParallaxRad, double[] apparentRadiusRad) {
+        final int n = rightAscensionRad.length;
+        if (lengthMillis <= 0L || n < 2 || declinationRad.length != n || equatorialHorizontalParallaxRad.length != n || apparentRadiusRad.length != n) {
+            throw new IllegalArgumentException("Invalid parameter for ChebyshevInterpolatedAstronomicalObject");
+        }
+        return new ChebyshevInterpolatedAstronomicalObject(source, 86400000L, n, DEFAULT_MAX_SEGMENTS,
+                buildSegment(startEpochMilli, lengthMillis, rightAscensionRad.clone(), declinationRad, equatorialHorizontalParallaxRad, apparentRadiusRad), null, 0L);
+    }
+
+    /**
+     * Creates interpolated object whose {@code segmentCount} segments from the one including {@code startEpochMilli} are all fitted at once.<br>
+     * Segments in the range are read from an array fixed on creation, without the lock nor updating shared fields,
+     * so that many threads can share the instance in parallel without contention (e.g. GridEventCalculator).
+     * Calls out of the range are answered by the cache, same as the constructor.
+     *
+     * @param source Source astronomical object to be interpolated. Right ascension must not change more than 180 degrees within a segment.
+     * @param segmentLengthMillis Length of each segment in milliseconds
+     * @param nodeCount Number of Chebyshev nodes in each segment. The degree of polynomials is {@code nodeCount - 1}.
+     * @param startEpochMilli Time in the first segment in milliseconds from the epoch
+     * @param segmentCount Number of segments to be fitted
+     * @return Interpolated object
+     */
+    public static ChebyshevInterpolatedAstronomicalObject ofRange(AstronomicalObject source, long segmentLengthMillis, int nodeCount,
+                                                                  long startEpochMilli, int segmentCount) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        if (segmentLengthMillis <= 0L || nodeCount < 2 || segmentCount < 1) {
+            throw new IllegalArgumentException("Invalid parameter for ChebyshevInterpolatedAstronomicalObject");
+        }
+        final long firstIndex = Math.floorDiv(startEpochMilli, segmentLengthMillis);
+        final Segment[] segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; ++i) {
+            segments[i] = fitSegment(source, (firstIndex + i) * segmentLengthMillis, segmentLengthMillis, nodeCount);
+        }
+        return new ChebyshevInterpolatedAstronomicalObject(source, segmentLengthMillis, nodeCount, DEFAULT_MAX_SEGMENTS, null, segments, firstIndex);
+    }
+
+    /**
+     * Returns the time of k-th Chebyshev node of the segment or the window.
+     *
+     * @param startEpochMilli Start of the segment in milliseconds from the epoch
+     * @param lengthMillis Length of the segment in milliseconds
+     * @param nodeCount Number of nodes
+     * @param k Index of the node, from 0 to {@code nodeCount - 1}
+     * @return Time of the node in milliseconds from the epoch
+     */
+    public static long calculateNodeEpochMilli(long startEpochMilli, long lengthMillis, int nodeCount, int k) {
+        final double x = Math.cos(Math.PI * (k + 0.5) / nodeCount);
+        return startEpochMilli + Math.round((x + 1.0) * 0.5 * lengthMillis);
+    }
+
+    @Override
+    public CelestialCoordinatesWithRightAscension calculateCelestialCoordinates(Instant t) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final double[] ret = new double[2];
+        this.calculateCelestialCoordinates(t.toEpochMilli(), ret);
+        return CelestialCoordinatesWithRightAscension.ofRadians(ret[0], ret[1]);
+    }
+
+    @Override
+    public void calculateCelestialCoordinates(long epochMilli, double[] rightAscensionAndDeclinationRad) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final Segment segment = this.getSegment(epochMilli);
+        final double x = segment.normalizeTime(epochMilli);
+
+        double rightAscensionRad = evaluate(segment.rightAscensionCoefficients, x);
+        rightAscensionRad -= 2.0 * Math.PI * Math.floor(rightAscensionRad / (2.0 * Math.PI));
+        rightAscensionAndDeclinationRad[0] = rightAscensionRad;
+        rightAscensionAndDeclinationRad[1] = evaluate(segment.declinationCoefficients, x);
+    }
+
+    @Override
+    public void calculateState(long epochMilli, double[] stateRad) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final Segment segment = this.getSegment(epochMilli);
+        final double x = segment.normalizeTime(epochMilli);
+
+        double rightAscensionRad = evaluate(segment.rightAscensionCoefficients, x);
+        rightAscensionRad -= 2.0 * Math.PI * Math.floor(rightAscensionRad / (2.0 * Math.PI));
+        stateRad[STATE_RIGHT_ASCENSION] = rightAscensionRad;
+        stateRad[STATE_DECLINATION] = evaluate(segment.declinationCoefficients, x);
+        stateRad[STATE_EQUATORIAL_HORIZONTAL_PARALLAX] = evaluate(segment.parallaxCoefficients, x);
+        stateRad[STATE_APPARENT_RADIUS] = evaluate(segment.apparentRadiusCoefficients, x);
+        stateRad[STATE_INCREMENT_OF_RIGHT_ASCENSION_PER_DAY] = evaluateDerivative(segment.rightAscensionCoefficients, x) * 2.0 * 86400000.0 / segment.lengthMillis;
+    }
+
+    @Override
+    public double calculateApparentRadiusRad(Instant t) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        return this.calculateApparentRadiusRad(t.toEpochMilli());
+    }
+
+    @Override
+    public double calculateApparentRadiusRad(long epochMilli) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final Segment segment = this.getSegment(epochMilli);
+        return evaluate(segment.apparentRadiusCoefficients, segment.normalizeTime(epochMilli));
+    }
+
+    @Override
+    public double calculateEquatorialHorizontalParallaxRad(Instant t) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        return this.calculateEquatorialHorizontalParallaxRad(t.toEpochMilli());
+    }
+
+    @Override
+    public double calculateEquatorialHorizontalParallaxRad(long epochMilli) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final Segment segment = this.getSegment(epochMilli);
+        return evaluate(segment.parallaxCoefficients, segment.normalizeTime(epochMilli));
+    }
+
+    /**
+     * Returns the derivative of the interpolated right ascension at {@code t}.<br>
+     * This is the rate at the moment, while some sources return the average increment over 24 hours, but both are accurate enough as the hint.
+     *
+     * @param t Target time
+     * @return Increment of right ascension per day in radians
+     */
+    @Override
+    public double estimatedIncrementOfRightAscensionRadPerDay(Instant t) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        return this.estimatedIncrementOfRightAscensionRadPerDay(t.toEpochMilli());
+    }
+
+    @Override
+    public double estimatedIncrementOfRightAscensionRadPerDay(long epochMilli) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final Segment segment = this.getSegment(epochMilli);
+        return evaluateDerivative(segment.rightAscensionCoefficients, segment.normalizeTime(epochMilli)) * 2.0 * 86400000.0 / segment.lengthMillis;
+    }
+
+    @Override
+    public double maximumAngularSpeedRadPerDay() {
+        // Interpolation error is far smaller than the margin of the source
+        return this.source.maximumAngularSpeedRadPerDay();
+    }
+
+    @Override
+    public double maximumDeclinationSpeedRadPerDay() {
+        return this.source.maximumDeclinationSpeedRadPerDay();
+    }
+
+    private Segment getSegment(long epochMilli) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final Segment windowSegment = this.windowSegment;
+        if (windowSegment != null && epochMilli >= windowSegment.startEpochMilli && epochMilli <= windowSegment.startEpochMilli + windowSegment.lengthMillis) {
+            return windowSegment;
+        }
+
+        final long index = Math.floorDiv(epochMilli, this.segmentLengthMillis);
+
+        final Segment[] rangeSegments = this.rangeSegments;
+        if (rangeSegments != null && index >= this.rangeFirstIndex && index - this.rangeFirstIndex < rangeSegments.length) {
+            return rangeSegments[(int) (index - this.rangeFirstIndex)];
+        }
+
+        // Most calls are for the same segment as the previous call. Checking this first also avoids boxing the key.
+        final Segment lastSegment = this.lastSegment;
+        if (lastSegment != null && lastSegment.startEpochMilli == index * this.segmentLengthMillis) {
+            return lastSegment;
+        }
+
+        synchronized (this.segmentCache) {
+            Segment segment = this.segmentCache.get(index);
+            if (segment != null) {
+                this.lastSegment = segment;
+                return segment;
+            }
+        }
+
+        // Fitting is done outside the lock. Other thread may fit the same segment at the same time, but the result is the same.
+        Segment segment = fitSegment(this.source, index * this.segmentLengthMillis, this.segmentLengthMillis, this.nodeCount);
+        synchronized (this.segmentCache) {
+            this.segmentCache.put(index, segment);
+        }
+        this.lastSegment = segment;
+        return segment;
+    }
+
+    private static Segment fitSegment(AstronomicalObject source, long startEpochMilli, long segmentLengthMillis, int nodeCount) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final int n = nodeCount;
+        double[] rightAscension = new double[n];
+        double[] declination = new double[n];
+        double[] parallax = new double[n];
+        double[] apparentRadius = new double[n];
+
+        final double[] state = new double[STATE_LENGTH];
+
+        for (int k = 0; k < n; ++k) {
+            final long t = calculateNodeEpochMilli(startEpochMilli, segmentLengthMillis, n, k);
+            source.calculateState(t, state);
+
+            rightAscension[k] = state[STATE_RIGHT_ASCENSION];
+            declination[k] = state[STATE_DECLINATION];
+            parallax[k] = state[STATE_EQUATORIAL_HORIZONTAL_PARALLAX];
+            apparentRadius[k] = state[STATE_APPARENT_RADIUS];
+        }
+
+        return buildSegment(startEpochMilli, segmentLengthMillis, rightAscension, declination, parallax, apparentRadius);
+    }
+
+    // rightAscension is modified
+    private static Segment buildSegment(long startEpochMilli, long lengthMillis, double[] rightAscension, double[] declination, double[] parallax, double[] apparentRadius) {
+        for (int k = 1; k < rightAscension.length; ++k) {
+            // Right ascension jumps at 0h/24h, so make it continuous to the previous node
+            rightAscension[k] -= 2.0 * Math.PI * Math.floor((rightAscension[k] - rightAscension[k - 1] + Math.PI) / (2.0 * Math.PI));
+        }
+
+        return new Segment(startEpochMilli, lengthMillis,
+                fitCoefficients(rightAscension), fitCoefficients(declination), fitCoefficients(parallax), fitCoefficients(apparentRadius));
+    }
+
+    // Nodes are rounded to milliseconds, but the error by this is negligible as the functions do not change much in a millisecond
+    private static double[] fitCoefficients(double[] valuesAtNodes) {
+        final int n = valuesAtNodes.length;
+        double[] coefficients = new double[n];
+        for (int j = 0; j < n; ++j) {
+            double sum = 0.0;
+            for (int k = 0; k < n; ++k) {
+                sum += valuesAtNodes[k] * Math.cos(Math.PI * j * (k + 0.5) / n);
+            }
+            coefficients[j] = 2.0 * sum / n;
+        }
+        coefficients[0] *= 0.5;
+        return coefficients;
+    }
+
+    // Clenshaw's recurrence
+    private static double evaluate(double[] coefficients, double x) {
+        double b1 = 0.0;
+        double b2 = 0.0;
+        for (int j = coefficients.length - 1; j >= 1; --j) {
+            final double b0 = 2.0 * x * b1 - b2 + coefficients[j];
+            b2 = b1;
+            b1 = b0;
+        }
+        return x * b1 - b2 + coefficients[0];
+    }
+
+    // Derivative with respect to x, using dT_j/dx = j * U_{j-1}
+    private static double evaluateDerivative(double[] coefficients, double x) {
+        double ret = 0.0;
+        double uPrev = 0.0;
+        double u = 1.0;
+        for (int j = 1; j < coefficients.length; ++j) {
+            ret += j * coefficients[j] * u;
+            final double uNext = 2.0 * x * u - uPrev;
+            uPrev = u;
+            u = uNext;
+        }
+        return ret;
+    }
+
+
+    private static class Segment {
+        private final long startEpochMilli;
+        private final long lengthMillis;
+        private final double[] rightAscensionCoefficients;
+        private final double[] declinationCoefficients;
+        private final double[] parallaxCoefficients;
+        private final double[] apparentRadiusCoefficients;
+
+        private Segment(long startEpochMilli, long lengthMillis,
+                        double[] rightAscensionCoefficients, double[] declinationCoefficients,
+                        double[] parallaxCoefficients, double[] apparentRadiusCoefficients) {
+            this.startEpochMilli = startEpochMilli;
+            this.lengthMillis = lengthMillis;
+            this.rightAscensionCoefficients = rightAscensionCoefficients;
+            this.declinationCoefficients = declinationCoefficients;
+            this.parallaxCoefficients = parallaxCoefficients;
+            this.apparentRadiusCoefficients = apparentRadiusCoefficients;
+        }
+
+        // Maps the segment to [-1, 1]
+        private double normalizeTime(long epochMilli) {
+            return 2.0 * (epochMilli - this.startEpochMilli) / this.lengthMillis - 1.0;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package net.nhiroki.lib.bluelineastrolib.astronomicalobjects;
+
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Moon;
+
+
+/**
+ * Precision of the computation, accepted by Sun, Moon and the entry points of AstronomicalEventsCalculation.<br>
+ * <br>
+ * Each profile decides:
+ * <ul>
+ *   <li>Terms of the series of Sun and Moon skipped as too small</li>
+ *   <li>Tolerance of the solvers, below which the iteration to find the time of an event is finished</li>
+ *   <li>Scan interval of the slow path, within which the object showing or hiding only briefly may be missed</li>
+ * </ul>
+ * Error bounds below are the differences of the times of events from DEFAULT, which are added to the error of the formulas themselves.
+ * They are measured for rise, culmination and set of the Sun and the Moon through 2026 in the locations of the tests below the latitude of 60 degrees (see PrecisionProfileTest).
+ * In polar area, where the object barely reaches the horizon, the differences can be minutes, and an event just at the border of the polar day or night may be found by only one of the profiles.<br>
+ * No profile is more accurate than DEFAULT, which already evaluates all the terms available: FINE_SOLVER only iterates the solvers further on the same formulas.
+ */
+public enum PrecisionProfile {
+    /**
+     * For showing the time in minutes (e.g. widgets).
+     * Moon skips the terms below Moon.ARCMINUTE_ACCURACY_TRUNCATION_DEG, and Sun skips the second harmonic of the equation of center (0.020 degrees).
+     * Solvers finish at the correction below 5 seconds. The slow path scans every minute same as DEFAULT, as it may return the event up to the interval before the start.
+     * Times of events are within 10 seconds from DEFAULT. calculateEventWithin24h() of the Moon in Tokyo is about 30% faster.
+     */
+    WIDGET(Moon.ARCMINUTE_ACCURACY_TRUNCATION_DEG, 0.05, 5000L, 60000L),
+
+    /**
+     * All the terms of the series. Solvers finish at the correction below 200 milliseconds, and the slow path scans every minute.
+     * This is used when no profile is given.
+     */
+    DEFAULT(0.0, 0.0, 200L, 60000L),
+
+    /**
+     * Same formulas as DEFAULT. Solvers finish at the correction below 10 milliseconds, and the slow path scans every 30 seconds.
+     * This does NOT make the times of events more accurate, as the errors of the formulas and of the standard refraction at the horizon are far larger than the tolerance of DEFAULT.
+     * It is for comparing the solvers, e.g. checking that a change of the solver does not move the results.
+     * Times of events are within 0.2 seconds from DEFAULT. calculateEventWithin24h() of the Moon in Tokyo is about 70% slower, mostly by the slow path on the days without the event.
+     */
+    FINE_SOLVER(0.0, 0.0, 10L, 30000L);
+
+
+    private final double moonTruncationThresholdDeg;
+    private final double sunTruncationThresholdDeg;
+    private final long toleranceMillis;
+    private final long scanIntervalMillis;
+
+    PrecisionProfile(double moonTruncationThresholdDeg, double sunTruncationThresholdDeg, long toleranceMillis, long scanIntervalMillis) {
+        this.moonTruncationThresholdDeg = moonTruncationThresholdDeg;
+        this.sunTruncationThresholdDeg = sunTruncationThresholdDeg;
+        this.toleranceMillis = toleranceMillis;
+        this.scanIntervalMillis = scanIntervalMillis;
+    }
+
+    /**
+     * @return Minimum amplitude of the terms of the series of Moon evaluated in degrees (see Moon(double))
+     */
+    public double getMoonTruncationThresholdDeg() {
+        return moonTruncationThresholdDeg;
+    }
+
+    /**
+     * @return Minimum amplitude of the terms of the formula of Sun evaluated in degrees
+     */
+    public double getSunTruncationThresholdDeg() {
+        return sunTruncationThresholdDeg;
+    }
+
+    /**
+     * @return Tolerance of the solvers in milliseconds. The iteration is finished when the correction of the time is below this.
+     */
+    public long getToleranceMillis() {
+        return toleranceMillis;
+    }
+
+    /**
+     * @return Interval of the scan by the slow path in milliseconds (see AstronomicalEventsCalculation.calculateAllEvents())
+     */
+    public long getScanIntervalMillis() {
+        return scanIntervalMillis;
+    }
+}
@@ -22,6 +22,12 @@ public class FixedStar implements AstronomicalObject {
         return this.celestialCoordinates;
     }
 
+    @Override
+    public void calculateCelestialCoordinates(long epochMilli, double[] rightAscensionAndDeclinationRad) {
+        rightAscensionAndDeclinationRad[0] = this.celestialCoordinates.getRightAscensionRad();
+        rightAscensionAndDeclinationRad[1] = this.celestialCoordinates.getDeclinationRad();
+    }
+
     @Override
     public double calculateEquatorialHorizontalParallaxRad(Instant t) {
         return 0.0;
@@ -32,6 +38,22 @@ public class FixedStar implements AstronomicalObject {
         return 0.0;
     }
 
+    @Override
+    public double calculateEquatorialHorizontalParallaxRad(long epochMilli) {
+        return 0.0;
+    }
+
+    @Override
+    public double calculateApparentRadiusRad(long epochMilli) {
+        return 0.0;
+    }
+
     @Override
     public double estimatedIncrementOfRightAscensionRadPerDay(Instant t) { return 0.0; }
+
+    @Override
+    public double estimatedIncrementOfRightAscensionRadPerDay(long epochMilli) { return 0.0; }
+
+    @Override
+    public double maximumAngularSpeedRadPerDay() { return 0.0; }
 }
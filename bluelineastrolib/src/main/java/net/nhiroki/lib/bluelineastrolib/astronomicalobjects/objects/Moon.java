@@ -0,0 +1,502 @@
+package net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects;
+
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.AstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.PrecisionProfile;
+import net.nhiroki.lib.bluelineastrolib.coordinates.CelestialCoordinatesWithRightAscension;
+import net.nhiroki.lib.bluelineastrolib.coordinates.EclipticCoordinates;
+import net.nhiroki.lib.bluelineastrolib.earth.Earth;
+import net.nhiroki.lib.bluelineastrolib.earth.EarthOrientationProvider;
+import net.nhiroki.lib.bluelineastrolib.earth.TimePointOnTheEarth;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+
+import java.time.Instant;
+
+
+/**
+ * The moon seen from the earth
+ */
+public class Moon implements AstronomicalObject {
+    // https://en.wikipedia.org/wiki/Moon
+    private static final double MEAN_RADIUS_KM = 1737.4;
+
+    /**
+     * Truncation threshold for arc-minute accuracy (e.g. widgets).
+     * Sum of the amplitudes of the terms skipped is 0.0101 degrees (36 arcseconds) for ecliptic longitude, 0.0074 degrees for ecliptic latitude, and 0.0036 degrees for equatorial horizontal parallax.
+     */
+    public static final double ARCMINUTE_ACCURACY_TRUNCATION_DEG = 0.001;
+
+    // Terms of the series in https://www1.kaiho.mlit.go.jp/kenkyu/report/rhr15/rhr15-06.pdf (see the methods below),
+    // where each term is AMPLITUDE_DEG * cos(RATE_DEG_PER_CENTURY * T + PHASE_DEG) for T in julian centuries from J2000.0.
+    // Rates and phases are kept in degrees, and each argument is converted into radians after the sum.
+    // Rates converted into radians in advance would change the results by about 1e-10 degrees, as arguments of the faster terms are thousands of radians.
+    // Terms are in ascending order of the amplitude, which is the order of the summation, so that the terms below the truncation threshold are the first ones.
+
+    private static final double[] PARALLAX_AMPLITUDE_DEG = {
+            0.000005, 0.000006, 0.000006, 0.000007, 0.000007, 0.000009, 0.000010, 0.000011,
+            0.000011, 0.000012, 0.000013, 0.000013, 0.000013, 0.000019, 0.000023, 0.000026,
+            0.000029, 0.000030, 0.000031, 0.000033, 0.000034, 0.000041, 0.000063, 0.000064,
+            0.000073, 0.000078, 0.000083, 0.000084, 0.000103, 0.000111, 0.000167, 0.000173,
+            0.000197, 0.000263, 0.000271, 0.000319, 0.000400, 0.000531, 0.000858, 0.002824,
+            0.007842, 0.009530, 0.051820,
+    };
+    private static final double[] PARALLAX_RATE_DEG_PER_CENTURY = {
+            405201.0, 99863.0, 485333.0, 1808933.0, 2322131.0, 790672.0, 1745069.0, 858602.0,
+            1908795.0, 2258267.0, 401329.0, 341337.0, 1403732.0, 1267871.0, 553069.0, 818536.0,
+            990397.0, 75870.0, 922466.0, 541062.0, 918399.0, 481266.0, 449334.0, 1331734.0,
+            1781068.0, 1844932.0, 926533.0, 63864.0, 826671.0, 35999.0, 1303870.0, 1431597.0,
+            489205.0, 513198.0, 445267.0, 441199.8, 377336.3, 854535.2, 1367733.1, 954397.74,
+            890534.22, 413335.35, 477198.868,
+    };
+    private static final double[] PARALLAX_PHASE_DEG = {
+            140.0, 212.0, 276.0, 148.0, 281.0, 204.0, 114.0, 219.0,
+            180.0, 246.0, 4.0, 106.0, 188.0, 339.0, 266.0, 241.0,
+            87.0, 131.0, 253.0, 349.0, 272.0, 295.0, 278.0, 13.0,
+            111.0, 146.0, 53.0, 214.0, 201.0, 178.0, 336.0, 45.0,
+            232.0, 312.0, 118.0, 137.4, 103.2, 238.2, 10.7, 269.93,
+            235.70, 100.74, 134.963,
+    };
+
+    // The 32nd term (0.0027 degrees) has been "918399.0 + T + 182.0" instead of "918399.0 * T + 182.0" since the first version.
+    // It is kept as is (rate of 1 degree per century, phase of 918399 + 182 degrees), which gives exactly the same results.
+    private static final double[] LONGITUDE_AMPLITUDE_DEG = {
+            0.0003, 0.0003, 0.0003, 0.0003, 0.0003, 0.0003, 0.0003, 0.0004,
+            0.0004, 0.0005, 0.0005, 0.0005, 0.0006, 0.0006, 0.0007, 0.0007,
+            0.0007, 0.0007, 0.0008, 0.0009, 0.0011, 0.0012, 0.0016, 0.0018,
+            0.0021, 0.0021, 0.0021, 0.0022, 0.0023, 0.0024, 0.0026, 0.0027,
+            0.0028, 0.0037, 0.0038, 0.0040, 0.0040, 0.0040, 0.0050, 0.0052,
+            0.0068, 0.0079, 0.0085, 0.0100, 0.0107, 0.0110, 0.0125, 0.0154,
+            0.0304, 0.0347, 0.0409, 0.0458, 0.0533, 0.0571, 0.0588, 0.1144,
+            0.1851, 0.2136, 0.6583, 1.2740, 6.2888,
+    };
+    private static final double[] LONGITUDE_RATE_DEG_PER_CENTURY = {
+            2322131.0, 4067.0, 549197.0, 1808933.0, 349472.0, 381404.0, 958465.0, 12006.0,
+            39871.0, 509131.0, 1745069.0, 1908795.0, 2258267.0, 111869.0, 27864.0, 485333.0,
+            405201.0, 790672.0, 1403732.0, 858602.0, 1920802.0, 1267871.0, 1856938.0, 401329.0,
+            341337.0, 71998.0, 990397.0, 818536.0, 922466.0, 99863.0, 1379739.0, 1.0,
+            1934.0, 541062.0, 1781068.0, 133.0, 1844932.0, 1331734.0, 481266.0, 31932.0,
+            926533.0, 449334.0, 826671.0, 1431597.0, 1303870.0, 489205.0, 1443603.0, 75870.0,
+            513197.9, 445267.1, 441199.8, 854535.2, 1367733.1, 377336.3, 63863.5, 966404.0,
+            35999.05, 954397.74, 890534.22, 413335.35, 477198.868,
+    };
+    private static final double[] LONGITUDE_PHASE_DEG = {
+            191.0, 70.0, 220.0, 58.0, 337.0, 354.0, 340.0, 187.0,
+            223.0, 242.0, 24.0, 90.0, 156.0, 38.0, 127.0, 186.0,
+            50.0, 114.0, 98.0, 129.0, 186.0, 249.0, 152.0, 274.0,
+            16.0, 85.0, 357.0, 151.0, 163.0, 122.0, 17.0, 918581.0,
+            145.0, 259.0, 21.0, 29.0, 56.0, 283.0, 205.0, 107.0,
+            323.0, 188.0, 111.0, 315.0, 246.0, 142.0, 52.0, 41.0,
+            222.5, 27.9, 47.4, 148.2, 280.7, 13.2, 124.2, 276.5,
+            87.53, 179.93, 145.70, 10.74, 44.963,
+    };
+
+    private static final double[] LATITUDE_AMPLITUDE_DEG = {
+            0.0003, 0.0003, 0.0003, 0.0003, 0.0003, 0.0004, 0.0004, 0.0005,
+            0.0005, 0.0005, 0.0006, 0.0006, 0.0007, 0.0008, 0.0009, 0.0010,
+            0.0011, 0.0013, 0.0013, 0.0014, 0.0015, 0.0015, 0.0015, 0.0018,
+            0.0018, 0.0018, 0.0019, 0.0021, 0.0022, 0.0022, 0.0025, 0.0034,
+            0.0042, 0.0043, 0.0082, 0.0088, 0.0093, 0.0172, 0.0326, 0.0463,
+            0.0554, 0.1733, 0.2777, 0.2806, 5.1281,
+    };
+    private static final double[] LATITUDE_RATE_DEG_PER_CENTURY = {
+            335334.0, 1814936.0, 2264270.0, 1409735.0, 932536.0, 1024264.0, 2328134.0, 948395.0,
+            419339.0, 848532.0, 1361730.0, 559072.0, 1309873.0, 972407.0, 1787072.0, 1297866.0,
+            1914799.0, 37935.0, 447203.0, 29996.0, 996400.0, 928469.0, 42002.0, 1449606.0,
+            519201.0, 820668.0, 924402.0, 105866.0, 1337737.0, 481268.0, 860538.0, 443331.0,
+            1850935.0, 547066.0, 371333.0, 471196.0, 884531.0, 1437599.8, 1373736.2, 69866.7,
+            896537.4, 407332.20, 6003.15, 960400.89, 483202.019,
+    };
+    private static final double[] LATITUDE_PHASE_DEG = {
+            57.0, 16.0, 115.0, 57.0, 282.0, 352.0, 149.0, 222.0,
+            149.0, 190.0, 322.0, 134.0, 205.0, 235.0, 340.0, 288.0,
+            48.0, 65.0, 6.0, 129.0, 316.0, 121.0, 46.0, 10.0,
+            181.0, 153.0, 141.0, 80.0, 241.0, 308.0, 106.0, 230.0,
+            14.0, 217.0, 55.0, 87.0, 187.0, 273.2, 239.0, 82.5,
+            104.0, 52.43, 48.31, 138.24, 3.273,
+    };
+
+    // Index of the first term evaluated in each series
+    private final int firstParallaxTerm;
+    private final int firstLongitudeTerm;
+    private final int firstLatitudeTerm;
+
+
+    /**
+     * Creates the Moon evaluating all the terms of the series.
+     */
+    public Moon() {
+        this(0.0);
+    }
+
+    /**
+     * Creates the Moon skipping the terms of the series below PrecisionProfile.getMoonTruncationThresholdDeg() of {@code precisionProfile}.
+     *
+     * @param precisionProfile Precision of the series
+     */
+    public Moon(PrecisionProfile precisionProfile) {
+        this(precisionProfile.getMoonTruncationThresholdDeg());
+    }
+
+    /**
+     * Creates the Moon skipping the terms of the series whose amplitude is smaller than {@code truncationThresholdDeg}, which is faster but less accurate.
+     * The error is at most the sum of the amplitudes skipped (see ARCMINUTE_ACCURACY_TRUNCATION_DEG).
+     *
+     * @param truncationThresholdDeg Minimum amplitude of the terms evaluated in degrees. 0 to evaluate all the terms.
+     */
+    public Moon(double truncationThresholdDeg) {
+        if (! (truncationThresholdDeg >= 0.0)) {
+            throw new IllegalArgumentException("Truncation threshold must not be negative");
+        }
+        this.firstParallaxTerm = firstTermNotSmallerThan(PARALLAX_AMPLITUDE_DEG, truncationThresholdDeg);
+        this.firstLongitudeTerm = firstTermNotSmallerThan(LONGITUDE_AMPLITUDE_DEG, truncationThresholdDeg);
+        this.firstLatitudeTerm = firstTermNotSmallerThan(LATITUDE_AMPLITUDE_DEG, truncationThresholdDeg);
+    }
+
+    private static int firstTermNotSmallerThan(double[] amplitudeDeg, double thresholdDeg) {
+        int ret = 0;
+        while (ret < amplitudeDeg.length && amplitudeDeg[ret] < thresholdDeg) {
+            ++ret;
+        }
+        return ret;
+    }
+
+    // Sum of the terms from firstTerm, in the order of the tables
+    private static double evaluateSeriesDeg(double[] amplitudeDeg, double[] rateDegPerCentury, double[] phaseDeg, int firstTerm, double T) {
+        double retDeg = 0.0;
+        for (int i = firstTerm; i < amplitudeDeg.length; ++i) {
+            retDeg += amplitudeDeg[i] * Math.cos(Math.toRadians(rateDegPerCentury[i] * T + phaseDeg[i]));
+        }
+        return retDeg;
+    }
+
+    // Same as evaluateSeriesDeg() for the value at index 0, and stores its derivative by T in degrees per julian century at index 1.
+    // d/dT of A * cos(toRadians(f * T + p)) is -A * toRadians(f) * sin(toRadians(f * T + p)), so the derivative comes from the same arguments.
+    private static void evaluateSeriesWithDerivativeDeg(double[] amplitudeDeg, double[] rateDegPerCentury, double[] phaseDeg, int firstTerm, double T, double[] valueAndDerivativeDeg) {
+        double retDeg = 0.0;
+        double derivativeDegPerCentury = 0.0;
+        for (int i = firstTerm; i < amplitudeDeg.length; ++i) {
+            final double argumentRad = Math.toRadians(rateDegPerCentury[i] * T + phaseDeg[i]);
+            retDeg += amplitudeDeg[i] * Math.cos(argumentRad);
+            derivativeDegPerCentury -= amplitudeDeg[i] * Math.toRadians(rateDegPerCentury[i]) * Math.sin(argumentRad);
+        }
+        valueAndDerivativeDeg[0] = retDeg;
+        valueAndDerivativeDeg[1] = derivativeDegPerCentury;
+    }
+
+    // Derivative by T of evaluateSeriesDeg() in degrees per julian century, same as index 1 of evaluateSeriesWithDerivativeDeg(), for the callers without the array
+    private static double evaluateSeriesDerivativeDeg(double[] amplitudeDeg, double[] rateDegPerCentury, double[] phaseDeg, int firstTerm, double T) {
+        double derivativeDegPerCentury = 0.0;
+        for (int i = firstTerm; i < amplitudeDeg.length; ++i) {
+            derivativeDegPerCentury -= amplitudeDeg[i] * Math.toRadians(rateDegPerCentury[i]) * Math.sin(Math.toRadians(rateDegPerCentury[i] * T + phaseDeg[i]));
+        }
+        return derivativeDegPerCentury;
+    }
+
+
+    @Override
+    public CelestialCoordinatesWithRightAscension calculateCelestialCoordinates(Instant t) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        double eclipticTiltRad = EarthOrientationProvider.getEclipticTiltRad(t.toEpochMilli());
+        return CelestialCoordinatesWithRightAscension.fromEclipticCoordinates(this.calculateEclipticCoordinates(t), eclipticTiltRad);
+    }
+
+    @Override
+    public void calculateCelestialCoordinates(long epochMilli, double[] rightAscensionAndDeclinationRad) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final double julianYearFromJ2000_0 = TimePointOnTheEarth.julianYearFromJ2000_0(epochMilli);
+        final double eclipticTiltRad = EarthOrientationProvider.getEclipticTiltRad(epochMilli);
+        CelestialCoordinatesWithRightAscension.convertFromEclipticCoordinates(this.calculateEclipticLongitudeRadByJulianYear(julianYearFromJ2000_0), this.calculateEclipticLatitudeRadByJulianYear(julianYearFromJ2000_0), eclipticTiltRad, rightAscensionAndDeclinationRad);
+    }
+
+    /**
+     * Calculates all the values at once, evaluating each series only once.<br>
+     * Julian year and ecliptic tilt are computed once, and the distance and the apparent radius are derived from the parallax.
+     * {@code stateRad} is used as the work array of the ecliptic coordinates, not to allocate objects.
+     */
+    @Override
+    public void calculateState(long epochMilli, double[] stateRad) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final double julianYearFromJ2000_0 = TimePointOnTheEarth.julianYearFromJ2000_0(epochMilli);
+        final double eclipticTiltRad = EarthOrientationProvider.getEclipticTiltRad(epochMilli);
+        this.calculateEclipticCoordinatesAndRatesByJulianYear(julianYearFromJ2000_0, stateRad);
+        final double eclipticLongitudeRad = stateRad[0];
+        final double eclipticLatitudeRad = stateRad[1];
+        final double eclipticLongitudeRadPerDay = stateRad[2];
+        final double eclipticLatitudeRadPerDay = stateRad[3];
+        CelestialCoordinatesWithRightAscension.convertFromEclipticCoordinates(eclipticLongitudeRad, eclipticLatitudeRad, eclipticTiltRad, stateRad);
+        final double parallaxRad = this.calculateEquatorialHorizontalParallaxRadByJulianYear(julianYearFromJ2000_0);
+        stateRad[STATE_EQUATORIAL_HORIZONTAL_PARALLAX] = parallaxRad;
+        stateRad[STATE_APPARENT_RADIUS] = this.calculateApparentRadiusRadByEquatorialHorizontalParallaxRad(parallaxRad);
+        stateRad[STATE_INCREMENT_OF_RIGHT_ASCENSION_PER_DAY] = CelestialCoordinatesWithRightAscension.calculateRightAscensionRateFromEclipticCoordinates(
+                eclipticLongitudeRad, eclipticLatitudeRad, eclipticLongitudeRadPerDay, eclipticLatitudeRadPerDay, eclipticTiltRad);
+    }
+
+    /**
+     * Calculates ecliptic and celestial coordinates, equatorial horizontal parallax, distance and apparent radius of the Moon at once.<br>
+     * Each series is evaluated only once, while calling each method evaluates the parallax series again for the distance and the apparent radius.
+     *
+     * @param t Target time
+     * @return State of the Moon at {@code t}
+     */
+    public MoonState calculateState(Instant t) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        return this.calculateState(t.toEpochMilli());
+    }
+
+    /**
+     * Same as calculateState(Instant), but takes milliseconds from the epoch.
+     *
+     * @param epochMilli Target time in milliseconds from the epoch
+     * @return State of the Moon at {@code epochMilli}
+     */
+    public MoonState calculateState(long epochMilli) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final double julianYearFromJ2000_0 = TimePointOnTheEarth.julianYearFromJ2000_0(epochMilli);
+        final double eclipticTiltRad = EarthOrientationProvider.getEclipticTiltRad(epochMilli);
+        final double eclipticLongitudeRad = this.calculateEclipticLongitudeRadByJulianYear(julianYearFromJ2000_0);
+        final double eclipticLatitudeRad = this.calculateEclipticLatitudeRadByJulianYear(julianYearFromJ2000_0);
+        final double eclipticLongitudeRadPerDay = this.calculateEclipticLongitudeRadPerDayByJulianYear(julianYearFromJ2000_0);
+        final double eclipticLatitudeRadPerDay = this.calculateEclipticLatitudeRadPerDayByJulianYear(julianYearFromJ2000_0);
+        final EclipticCoordinates eclipticCoordinates = EclipticCoordinates.ofRadians(eclipticLongitudeRad, eclipticLatitudeRad);
+        final double parallaxRad = this.calculateEquatorialHorizontalParallaxRadByJulianYear(julianYearFromJ2000_0);
+
+        return new MoonState(eclipticCoordinates,
+                CelestialCoordinatesWithRightAscension.fromEclipticCoordinates(eclipticCoordinates, eclipticTiltRad),
+                CelestialCoordinatesWithRightAscension.calculateRightAscensionRateFromEclipticCoordinates(eclipticLongitudeRad, eclipticLatitudeRad, eclipticLongitudeRadPerDay, eclipticLatitudeRadPerDay, eclipticTiltRad),
+                CelestialCoordinatesWithRightAscension.calculateDeclinationRateFromEclipticCoordinates(eclipticLongitudeRad, eclipticLatitudeRad, eclipticLongitudeRadPerDay, eclipticLatitudeRadPerDay, eclipticTiltRad),
+                parallaxRad,
+                Earth.calculateDistanceAUByEquatorialHorizontalParallaxRad(parallaxRad) * Sun.AU_IN_KM,
+                this.calculateApparentRadiusRadByEquatorialHorizontalParallaxRad(parallaxRad));
+    }
+
+    @Override
+    public double calculateEquatorialHorizontalParallaxRad(Instant t) {
+        return this.calculateEquatorialHorizontalParallaxRad(t.toEpochMilli());
+    }
+
+    @Override
+    public double calculateEquatorialHorizontalParallaxRad(long epochMilli) {
+        return this.calculateEquatorialHorizontalParallaxRadByJulianYear(TimePointOnTheEarth.julianYearFromJ2000_0(epochMilli));
+    }
+
+    /**
+     * Calculates equatorial horizontal parallax from julian year, for callers computing several values for the same time point.
+     *
+     * @param julianYearFromJ2000_0 Target time in julian year from J2000.0 (see TimePointOnTheEarth.julianYearFromJ2000_0())
+     * @return Equatorial horizontal parallax in radian
+     */
+    public double calculateEquatorialHorizontalParallaxRadByJulianYear(double julianYearFromJ2000_0) {
+        double T = julianYearFromJ2000_0 / 100.0;
+
+        // https://www1.kaiho.mlit.go.jp/kenkyu/report/rhr15/rhr15-06.pdf
+        //   Trigonometric Series for the Coordinates of the Objects in the Solar System
+        //   Yoshio Kubo
+        //
+        // And there is distribution table that compared in certain time points from 1972 to 1981, which only a little number of cases had difference of more than 0.2" compared to the Japanese Emphemeris.
+        // The author expects this distribution to be retained throughout the 60 years centering at 2000.
+        double retDeg = evaluateSeriesDeg(PARALLAX_AMPLITUDE_DEG, PARALLAX_RATE_DEG_PER_CENTURY, PARALLAX_PHASE_DEG, this.firstParallaxTerm, T);
+        retDeg += 0.950725;
+
+        return Math.toRadians(retDeg);
+    }
+
+    @Override
+    public double calculateApparentRadiusRad(Instant t) {
+        return this.calculateApparentRadiusRad(t.toEpochMilli());
+    }
+
+    @Override
+    public double calculateApparentRadiusRad(long epochMilli) {
+        return this.calculateApparentRadiusRadByEquatorialHorizontalParallaxRad(this.calculateEquatorialHorizontalParallaxRad(epochMilli));
+    }
+
+    /**
+     * Calculates apparent radius from equatorial horizontal parallax, for callers computing several values for the same time point.
+     *
+     * @param equatorialHorizontalParallaxRad Equatorial horizontal parallax in radian (see calculateEquatorialHorizontalParallaxRadByJulianYear())
+     * @return Apparent radius in radian
+     */
+    public double calculateApparentRadiusRadByEquatorialHorizontalParallaxRad(double equatorialHorizontalParallaxRad) {
+        return Math.atan(MEAN_RADIUS_KM / (Earth.calculateDistanceAUByEquatorialHorizontalParallaxRad(equatorialHorizontalParallaxRad) * Sun.AU_IN_KM));
+    }
+
+    @Override
+    public double estimatedIncrementOfRightAscensionRadPerDay(Instant t) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        return this.estimatedIncrementOfRightAscensionRadPerDay(t.toEpochMilli());
+    }
+
+    @Override
+    public double estimatedIncrementOfRightAscensionRadPerDay(long epochMilli) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        // Rate at the moment from the derivatives of the series, instead of the positions 12 hours before and after, which needs two more evaluations.
+        // Change of the ecliptic tilt is ignored, which is less than 0.5 arcseconds per year.
+        // Each value is computed into a local not to allocate the array of calculateEclipticCoordinatesAndRatesByJulianYear().
+        final double julianYearFromJ2000_0 = TimePointOnTheEarth.julianYearFromJ2000_0(epochMilli);
+        return CelestialCoordinatesWithRightAscension.calculateRightAscensionRateFromEclipticCoordinates(
+                this.calculateEclipticLongitudeRadByJulianYear(julianYearFromJ2000_0), this.calculateEclipticLatitudeRadByJulianYear(julianYearFromJ2000_0),
+                this.calculateEclipticLongitudeRadPerDayByJulianYear(julianYearFromJ2000_0), this.calculateEclipticLatitudeRadPerDayByJulianYear(julianYearFromJ2000_0),
+                EarthOrientationProvider.getEclipticTiltRad(epochMilli));
+    }
+
+    @Override
+    public double maximumAngularSpeedRadPerDay() {
+        // The moon moves at most about 15.4 degrees per day, and the parallax and radius change at most about 0.02 degrees per day in total.
+        // 17 degrees with margin.
+        return 0.29670597283903602807;
+    }
+
+    @Override
+    public double maximumDeclinationSpeedRadPerDay() {
+        // The orbit of the moon is inclined at most about 28.7 degrees to the equator, so the declination changes at most about 15.4 * sin(28.7) = 7.4 degrees per day.
+        // 8 degrees with margin, including the change of parallax and radius.
+        return 0.13962634015954636615;
+    }
+
+    public EclipticCoordinates calculateEclipticCoordinates(Instant t) {
+        return EclipticCoordinates.ofRadians(this.calculateEclipticLongitudeRad(t.toEpochMilli()), this.calculateEclipticLatitudeRad(t.toEpochMilli()));
+    }
+
+    public double calculateDistanceFromTheEarthKM(Instant t) {
+        return this.calculateDistanceFromTheEarthKM(t.toEpochMilli());
+    }
+
+    public double calculateDistanceFromTheEarthAU(Instant t) {
+        return this.calculateDistanceFromTheEarthAU(t.toEpochMilli());
+    }
+
+    private double calculateDistanceFromTheEarthKM(long epochMilli) {
+        return this.calculateDistanceFromTheEarthAU(epochMilli) * Sun.AU_IN_KM;
+    }
+
+    private double calculateDistanceFromTheEarthAU(long epochMilli) {
+        return Earth.calculateDistanceAUByEquatorialHorizontalParallaxRad(this.calculateEquatorialHorizontalParallaxRad(epochMilli));
+    }
+
+    private double calculateEclipticLongitudeRad (long epochMilli) {
+        return this.calculateEclipticLongitudeRadByJulianYear(TimePointOnTheEarth.julianYearFromJ2000_0(epochMilli));
+    }
+
+    /**
+     * Calculates ecliptic longitude from julian year, for callers computing several values for the same time point.
+     *
+     * @param julianYearFromJ2000_0 Target time in julian year from J2000.0 (see TimePointOnTheEarth.julianYearFromJ2000_0())
+     * @return Ecliptic longitude in radians
+     */
+    public double calculateEclipticLongitudeRadByJulianYear (double julianYearFromJ2000_0) {
+        return Math.toRadians(this.calculateEclipticLongitudeDeg(julianYearFromJ2000_0));
+    }
+
+    private double calculateEclipticLongitudeDeg (double julianYearFromJ2000_0) {
+        double T = julianYearFromJ2000_0 / 100.0;
+
+        // https://www1.kaiho.mlit.go.jp/kenkyu/report/rhr15/rhr15-06.pdf
+        //   Trigonometric Series for the Coordinates of the Objects in the Solar System
+        //   Yoshio Kubo
+        //
+        // Looks like the writer of this paper expects the precision about 0.1' for 1970-2030 for Moon
+        // And there is distribution table that compared in certain time points from 1972 to 1981, which only a little number of cases had difference of more than 10" compared to the Japanese Emphemeris.
+        // The author expects this distribution to be retained throughout the 60 years centering at 2000.
+        double retDeg = evaluateSeriesDeg(LONGITUDE_AMPLITUDE_DEG, LONGITUDE_RATE_DEG_PER_CENTURY, LONGITUDE_PHASE_DEG, this.firstLongitudeTerm, T);
+        retDeg += 218.3162 + 481267.8809 * T;
+
+        // Differentiation of this function:
+        //   deg per julian century: 481267.8809 + 6.2888 * toRadians(477198.868) * sin(~) + much smaller items
+        //   deg oer day: 13.17637234 + 1.434017103 * sin(~) + much smaller items
+        //   which is always larger than 0
+        retDeg -= Math.floor(retDeg / 360.0) * 360.0;
+
+        return retDeg;
+    }
+
+    private double calculateEclipticLatitudeRad (long epochMilli) {
+        return this.calculateEclipticLatitudeRadByJulianYear(TimePointOnTheEarth.julianYearFromJ2000_0(epochMilli));
+    }
+
+    /**
+     * Calculates ecliptic latitude from julian year, for callers computing several values for the same time point.
+     *
+     * @param julianYearFromJ2000_0 Target time in julian year from J2000.0 (see TimePointOnTheEarth.julianYearFromJ2000_0())
+     * @return Ecliptic latitude in radians
+     */
+    public double calculateEclipticLatitudeRadByJulianYear (double julianYearFromJ2000_0) {
+        return Math.toRadians(this.calculateEclipticLatitudeDeg(julianYearFromJ2000_0));
+    }
+
+    /**
+     * Calculates ecliptic longitude and latitude and their increments per day from julian year, evaluating each series once.
+     * Values are the same as calculateEclipticLongitudeRadByJulianYear() and calculateEclipticLatitudeRadByJulianYear().
+     *
+     * @param julianYearFromJ2000_0 Target time in julian year from J2000.0 (see TimePointOnTheEarth.julianYearFromJ2000_0())
+     * @param ret Array to store ecliptic longitude, ecliptic latitude, increment of ecliptic longitude per day and increment of ecliptic latitude per day in this order, in radians
+     */
+    public void calculateEclipticCoordinatesAndRatesByJulianYear (double julianYearFromJ2000_0, double[] ret) {
+        double T = julianYearFromJ2000_0 / 100.0;
+
+        // Same as calculateEclipticLongitudeDeg()
+        evaluateSeriesWithDerivativeDeg(LONGITUDE_AMPLITUDE_DEG, LONGITUDE_RATE_DEG_PER_CENTURY, LONGITUDE_PHASE_DEG, this.firstLongitudeTerm, T, ret);
+        double longitudeDeg = ret[0];
+        longitudeDeg += 218.3162 + 481267.8809 * T;
+        longitudeDeg -= Math.floor(longitudeDeg / 360.0) * 360.0;
+        final double longitudeDegPerCentury = ret[1] + 481267.8809;
+
+        // Same as calculateEclipticLatitudeDeg()
+        evaluateSeriesWithDerivativeDeg(LATITUDE_AMPLITUDE_DEG, LATITUDE_RATE_DEG_PER_CENTURY, LATITUDE_PHASE_DEG, this.firstLatitudeTerm, T, ret);
+        final double latitudeDeg = ret[0];
+        final double latitudeDegPerCentury = ret[1];
+
+        ret[0] = Math.toRadians(longitudeDeg);
+        ret[1] = Math.toRadians(latitudeDeg);
+        ret[2] = Math.toRadians(longitudeDegPerCentury) / 36525.0;
+        ret[3] = Math.toRadians(latitudeDegPerCentury) / 36525.0;
+    }
+
+    // Same as index 2 of calculateEclipticCoordinatesAndRatesByJulianYear()
+    private double calculateEclipticLongitudeRadPerDayByJulianYear (double julianYearFromJ2000_0) {
+        final double T = julianYearFromJ2000_0 / 100.0;
+        return Math.toRadians(evaluateSeriesDerivativeDeg(LONGITUDE_AMPLITUDE_DEG, LONGITUDE_RATE_DEG_PER_CENTURY, LONGITUDE_PHASE_DEG, this.firstLongitudeTerm, T) + 481267.8809) / 36525.0;
+    }
+
+    // Same as index 3 of calculateEclipticCoordinatesAndRatesByJulianYear()
+    private double calculateEclipticLatitudeRadPerDayByJulianYear (double julianYearFromJ2000_0) {
+        final double T = julianYearFromJ2000_0 / 100.0;
+        return Math.toRadians(evaluateSeriesDerivativeDeg(LATITUDE_AMPLITUDE_DEG, LATITUDE_RATE_DEG_PER_CENTURY, LATITUDE_PHASE_DEG, this.firstLatitudeTerm, T)) / 36525.0;
+    }
+
+    private double calculateEclipticLatitudeDeg (double julianYearFromJ2000_0) {
+        double T = julianYearFromJ2000_0 / 100.0;
+
+        // https://www1.kaiho.mlit.go.jp/kenkyu/report/rhr15/rhr15-06.pdf
+        //   Trigonometric Series for the Coordinates of the Objects in the Solar System
+        //   Yoshio Kubo
+        //
+        // Looks like the writer of this paper expects the precision about 0.1' for 1970-2030 for Moon
+        // And there is distribution table that compared in certain time points from 1972 to 1981, which only a little numbers of expections exceed 10 seconds.
+        // The author expects this distribution to be retained throughout the 60 years centering at 2000.
+        double retDeg = evaluateSeriesDeg(LATITUDE_AMPLITUDE_DEG, LATITUDE_RATE_DEG_PER_CENTURY, LATITUDE_PHASE_DEG, this.firstLatitudeTerm, T);
+
+        // Differentiation of this function:
+        //   deg per julian century: 5.1281 * toRadians(483202.019) * sin(~) + much smaller items
+        //   deg per day: 1.184056 * sin(~) + much smaller items
+        //
+        // And for analysis of peaks and valleys,
+        //   if the argument for cos in the largest 5.1281deg line is 0 degree or 180 degrees at time t,
+        //   in bc:
+        //     5.1281*(1-c(483202.019*0.5/36525*3.14159265358979/180))
+        //     .03413625290975240256
+        //     5.1281*(1-c(483202.019*0.5/36525*3.14159265358979/180))*60
+        //     2.04817517458514415360
+        //   at t +/- 12 hours, the result might have up to 2.05 arcminutes + much smaller items.
+        //   at t +/- 6 hours, the result might have up to 30.75 arcseconds + much smaller items.
+        //   Therefore, if the caller checks the ecliptic latitude for the term of both for start and end, and both did not cross the desired line,
+        //     there may be peak or valley of:
+        //       about a little more than 2 arcminutes if the term is 24 hours (up to 12 hours from the peak or the valley)
+        //       about 31 arcseconds if the term is 12 hours (up to 6 hours from the peak or the valley)
+        // Note is that this is about ecliptic latitude, so the effect of ecliptic tilt should also be considered.
+        //    in bc:
+        //      23.4*(1-c(0.5/3.14159265358979/180))*60
+        //      .00054882304230688260
+        //      23.4*s(0.5/3.14159265358979/180)*60
+        //      1.24140839436141018180
+        //    It looks like the peaks or valleys can be ignored. It's about 0.03 arcsecond.
+        //    It looks like the increase or decrease in case the declination is near 0 deg cannot eliminate this peak or valley.
+        // In computation of rise/set in current logic, if this 2 arcminutes difference would matter whether the line crosses the specified or not, it would affect the result.
+        //    However, actually, first computation is done 12h, so if the difference is less tha about 30 arcsecseconds, the calculation should start with the line of possibility.
+        //    The moon goes around every about 25 hours, so in my understandings actual error to miss rise/set would be about 30 arcseconds or like that just for computation logic, which is larger than just the precision of computing the location.
+
+        return retDeg;
+    }
+}
@@ -0,0 +1,68 @@
+package net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects;
+
+import net.nhiroki.lib.bluelineastrolib.coordinates.CelestialCoordinatesWithRightAscension;
+import net.nhiroki.lib.bluelineastrolib.coordinates.EclipticCoordinates;
+
+
+/**
+ * Position and size of the Moon at a time point, computed at once by Moon.calculateState().
+ */
+public class MoonState {
+    private final EclipticCoordinates eclipticCoordinates;
+    private final CelestialCoordinatesWithRightAscension celestialCoordinates;
+    private final double incrementOfRightAscensionRadPerDay;
+    private final double incrementOfDeclinationRadPerDay;
+    private final double equatorialHorizontalParallaxRad;
+    private final double distanceFromTheEarthKM;
+    private final double apparentRadiusRad;
+
+    MoonState(EclipticCoordinates eclipticCoordinates, CelestialCoordinatesWithRightAscension celestialCoordinates,
+              double incrementOfRightAscensionRadPerDay, double incrementOfDeclinationRadPerDay,
+              double equatorialHorizontalParallaxRad, double distanceFromTheEarthKM, double apparentRadiusRad) {
+        this.eclipticCoordinates = eclipticCoordinates;
+        this.celestialCoordinates = celestialCoordinates;
+        this.incrementOfRightAscensionRadPerDay = incrementOfRightAscensionRadPerDay;
+        this.incrementOfDeclinationRadPerDay = incrementOfDeclinationRadPerDay;
+        this.equatorialHorizontalParallaxRad = equatorialHorizontalParallaxRad;
+        this.distanceFromTheEarthKM = distanceFromTheEarthKM;
+        this.apparentRadiusRad = apparentRadiusRad;
+    }
+
+    public EclipticCoordinates getEclipticCoordinates() {
+        return eclipticCoordinates;
+    }
+
+    public CelestialCoordinatesWithRightAscension getCelestialCoordinates() {
+        return celestialCoordinates;
+    }
+
+    /**
+     * Returns the rate of right ascension at the moment, from the derivatives of the series.
+     *
+     * @return Increment of right ascension per day in radians
+     */
+    public double getIncrementOfRightAscensionRadPerDay() {
+        return incrementOfRightAscensionRadPerDay;
+    }
+
+    /**
+     * Returns the rate of declination at the moment, from the derivatives of the series.
+     *
+     * @return Increment of declination per day in radians
+     */
+    public double getIncrementOfDeclinationRadPerDay() {
+        return incrementOfDeclinationRadPerDay;
+    }
+
+    public double getEquatorialHorizontalParallaxRad() {
+        return equatorialHorizontalParallaxRad;
+    }
+
+    public double getDistanceFromTheEarthKM() {
+        return distanceFromTheEarthKM;
+    }
+
+    public double getApparentRadiusRad() {
+        return apparentRadiusRad;
+    }
+}
@@ -0,0 +1,251 @@
+package net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects;
+
+import net.nhiroki.lib.bluelineastrolib.coordinates.CelestialCoordinatesWithRightAscension;
+import net.nhiroki.lib.bluelineastrolib.coordinates.EclipticCoordinates;
+import net.nhiroki.lib.bluelineastrolib.earth.Earth;
+import net.nhiroki.lib.bluelineastrolib.earth.EarthOrientationProvider;
+import net.nhiroki.lib.bluelineastrolib.earth.TimePointOnTheEarth;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.AstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.PrecisionProfile;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+
+import java.time.Instant;
+
+
+/**
+ * The sun seen from the earth
+ */
+public class Sun implements AstronomicalObject {
+    // https://en.wikipedia.org/wiki/Astronomical_unit
+    public static final double AU_IN_KM = 149597870.7;
+
+    // https://eco.mtk.nao.ac.jp/koyomi/faq/ephemeris.html
+    // National Astronomical Observatory of Japan uses this value
+    private static final double APPARENT_SEMI_DIAMETER_AT_1_AU_DEG_SEC = 16.0 * 60.0 + 1.18;
+
+    // Amplitude of the second harmonic of the equation of center in calculateEclipticLongitudeDeg()
+    private static final double SECOND_HARMONIC_AMPLITUDE_DEG = 0.020;
+
+    // Whether the terms of 2g are evaluated, in the longitude and in the distance
+    private final boolean evaluatesSecondHarmonics;
+
+
+    /**
+     * Creates the Sun evaluating all the terms of the formula.
+     */
+    public Sun() {
+        this(PrecisionProfile.DEFAULT);
+    }
+
+    /**
+     * Creates the Sun skipping the terms of the formula below PrecisionProfile.getSunTruncationThresholdDeg() of {@code precisionProfile}.
+     * The only term which may be skipped is the second harmonic of the equation of center (0.020 degrees in the longitude),
+     * skipped together with the term of the distance from the same argument (0.00014 AU, which changes the apparent radius by 0.13 arcseconds).
+     *
+     * @param precisionProfile Precision of the formula
+     */
+    public Sun(PrecisionProfile precisionProfile) {
+        this.evaluatesSecondHarmonics = SECOND_HARMONIC_AMPLITUDE_DEG >= precisionProfile.getSunTruncationThresholdDeg();
+    }
+
+    @Override
+    public CelestialCoordinatesWithRightAscension calculateCelestialCoordinates(Instant t) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        double eclipticTiltRad = EarthOrientationProvider.getEclipticTiltRad(t.toEpochMilli());
+        return CelestialCoordinatesWithRightAscension.fromEclipticLongitudeWithLatitudeZero(this.calculateEclipticLongitudeRad(t.toEpochMilli()), eclipticTiltRad);
+    }
+
+    @Override
+    public void calculateCelestialCoordinates(long epochMilli, double[] rightAscensionAndDeclinationRad) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final double julianYearFromJ2000_0 = TimePointOnTheEarth.julianYearFromJ2000_0(epochMilli);
+        CelestialCoordinatesWithRightAscension.convertFromEclipticLongitudeWithLatitudeZero(this.calculateEclipticLongitudeRadByJulianYear(julianYearFromJ2000_0),
+                EarthOrientationProvider.getEclipticTiltRad(epochMilli), rightAscensionAndDeclinationRad);
+    }
+
+    /**
+     * Calculates all the values at once. Julian year is computed once, and the parallax and the apparent radius are derived from the same distance.
+     */
+    @Override
+    public void calculateState(long epochMilli, double[] stateRad) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final double julianYearFromJ2000_0 = TimePointOnTheEarth.julianYearFromJ2000_0(epochMilli);
+        final double eclipticTiltRad = EarthOrientationProvider.getEclipticTiltRad(epochMilli);
+        CelestialCoordinatesWithRightAscension.convertFromEclipticLongitudeWithLatitudeZero(this.calculateEclipticLongitudeRadByJulianYear(julianYearFromJ2000_0), eclipticTiltRad, stateRad);
+        final double distanceAU = this.calculateDistanceFromTheEarthAUByJulianYear(julianYearFromJ2000_0);
+        stateRad[STATE_EQUATORIAL_HORIZONTAL_PARALLAX] = Earth.calculateEquatorialHorizontalParallaxRadByDistanceAU(distanceAU);
+        stateRad[STATE_APPARENT_RADIUS] = this.calculateApparentRadiusRadByDistanceAU(distanceAU);
+        stateRad[STATE_INCREMENT_OF_RIGHT_ASCENSION_PER_DAY] = this.estimatedIncrementOfRightAscensionRadPerDay(epochMilli);
+    }
+
+    @Override
+    public double estimatedIncrementOfRightAscensionRadPerDay(Instant t) {
+        return this.estimatedIncrementOfRightAscensionRadPerDay(t.toEpochMilli());
+    }
+
+    @Override
+    public double estimatedIncrementOfRightAscensionRadPerDay(long epochMilli) {
+        // Use estimated increment of ecliptic longitude from calculateEclipticLongitudeDeg()
+        // as rough estimate
+        // 0.98564736 / 180 * pi
+        return 0.01720279169558985675;
+    }
+
+    @Override
+    public double maximumAngularSpeedRadPerDay() {
+        // The sun moves at most about 1.02 degrees per day.
+        // 1.1 degrees with margin.
+        return 0.01919862177193762595;
+    }
+
+    @Override
+    public double maximumDeclinationSpeedRadPerDay() {
+        // The declination of the sun changes at most about 0.41 degrees per day around the equinoxes.
+        // 0.45 degrees with margin.
+        return 0.00785398163397448310;
+    }
+
+    @Override
+    public double calculateEquatorialHorizontalParallaxRad (Instant t) {
+        return this.calculateEquatorialHorizontalParallaxRad(t.toEpochMilli());
+    }
+
+    @Override
+    public double calculateEquatorialHorizontalParallaxRad (long epochMilli) {
+        return Earth.calculateEquatorialHorizontalParallaxRadByDistanceAU(this.calculateDistanceFromTheEarthAU(epochMilli));
+    }
+
+    @Override
+    public double calculateApparentRadiusRad (Instant t) {
+        return this.calculateApparentRadiusRad(t.toEpochMilli());
+    }
+
+    @Override
+    public double calculateApparentRadiusRad (long epochMilli) {
+        return this.calculateApparentRadiusRadByDistanceAU(calculateDistanceFromTheEarthAU(epochMilli));
+    }
+
+    /**
+     * Calculates apparent radius from the distance, for callers computing several values for the same time point.
+     *
+     * @param distanceAU Distance from the earth in AU (see calculateDistanceFromTheEarthAUByJulianYear())
+     * @return Apparent radius in radian
+     */
+    public double calculateApparentRadiusRadByDistanceAU (double distanceAU) {
+        return Math.toRadians(APPARENT_SEMI_DIAMETER_AT_1_AU_DEG_SEC / 3600.0 / distanceAU);
+    }
+
+    public EclipticCoordinates calculateEclipticCoordinates(Instant t) {
+        // This function assumes ecliptic latitude of sun is 0
+        // https://en.wikipedia.org/wiki/Position_of_the_Sun says that the ecliptic latitude of the Sun is very small and never exceeds 0.00033 deg (a little over 1 arcsec).
+        return EclipticCoordinates.ofRadians(this.calculateEclipticLongitudeRad(t.toEpochMilli()), 0.0);
+    }
+
+    public double calculateEquationOfTimeSec(Instant t) throws UnsupportedDateRangeException, AstronomicalPhenomenonComputationException {
+        final double julianYearFromJ2000_0 = TimePointOnTheEarth.julianYearFromJ2000_0(t.toEpochMilli());
+        return this.calculateEquationOfTimeSecByJulianYear(julianYearFromJ2000_0, EarthOrientationProvider.getEclipticTiltRad(t.toEpochMilli()));
+    }
+
+    /**
+     * Same as calculateEquationOfTimeSec(Instant), but takes the values depending only on the time, for callers computing several values for the same time point.
+     *
+     * @param julianYearFromJ2000_0 Target time in julian year from J2000.0 (see TimePointOnTheEarth.julianYearFromJ2000_0())
+     * @param eclipticTiltRad Ecliptic tilt at the target time in radians (see EarthOrientationProvider.getEclipticTiltRad())
+     * @return Equation of time in seconds
+     */
+    public double calculateEquationOfTimeSecByJulianYear(double julianYearFromJ2000_0, double eclipticTiltRad) {
+        // https://aa.usno.navy.mil/faq/sun_approx as of 2026/03/02
+        double D = julianYearFromJ2000_0 * 365.25;
+        double q = 280.459 + 0.98564736 * D;
+
+        double eqDeg = q - Math.toDegrees(this.calculateRightAscensionRad(this.calculateEclipticLongitudeRadByJulianYear(julianYearFromJ2000_0), eclipticTiltRad));
+        eqDeg -= 360.0 * Math.floor((eqDeg + 180.0) / 360.0);
+
+        return eqDeg * 240.0;
+    }
+
+    public double calculateDistanceFromTheEarthKM(Instant t) {
+        return this.calculateDistanceFromTheEarthAU(t) * Sun.AU_IN_KM;
+    }
+
+    public double calculateDistanceFromTheEarthAU(Instant t) {
+        return this.calculateDistanceFromTheEarthAU(t.toEpochMilli());
+    }
+
+    private double calculateDistanceFromTheEarthAU(long epochMilli) {
+        return this.calculateDistanceFromTheEarthAUByJulianYear(TimePointOnTheEarth.julianYearFromJ2000_0(epochMilli));
+    }
+
+    /**
+     * Calculates distance from the earth from julian year, for callers computing several values for the same time point.
+     *
+     * @param julianYearFromJ2000_0 Target time in julian year from J2000.0 (see TimePointOnTheEarth.julianYearFromJ2000_0())
+     * @return Distance from the earth in AU
+     */
+    public double calculateDistanceFromTheEarthAUByJulianYear(double julianYearFromJ2000_0) {
+        // https://aa.usno.navy.mil/faq/sun_approx as of 2024/02/29
+        // Almost the same formula is found in https://en.wikipedia.org/wiki/Position_of_the_Sun , with 357.528 + 0.9856003n to calculate g
+        // The Wikipedia page describes that the formula is from the Astronomical Almanac.
+        // Both pages uses distance to the Sun to calculate the longitude of the Sun.
+        // Looks like both pages does not mention precision about this formula itself, but US Navy page mentions the precision of the longitude calculated in 1800-2200, and the Wikipedia for 1950-2050.
+        double D = julianYearFromJ2000_0 * 365.25;
+
+        double g = Math.toRadians(357.529 + 0.98560028 * D);
+        double R = 1.00014 - 0.01671 * Math.cos(g);
+        if (this.evaluatesSecondHarmonics) {
+            R -= 0.00014 * Math.cos(2.0 * g);
+        }
+        return R;
+    }
+
+    private double calculateEclipticLongitudeRad (long epochMilli) {
+        return this.calculateEclipticLongitudeRadByJulianYear(TimePointOnTheEarth.julianYearFromJ2000_0(epochMilli));
+    }
+
+    /**
+     * Calculates ecliptic longitude from julian year, for callers computing several values for the same time point.
+     *
+     * @param julianYearFromJ2000_0 Target time in julian year from J2000.0 (see TimePointOnTheEarth.julianYearFromJ2000_0())
+     * @return Ecliptic longitude in radians
+     */
+    public double calculateEclipticLongitudeRadByJulianYear (double julianYearFromJ2000_0) {
+        return Math.toRadians(this.calculateEclipticLongitudeDeg(julianYearFromJ2000_0));
+    }
+
+    private double calculateEclipticLongitudeDeg (double julianYearFromJ2000_0) {
+        // https://aa.usno.navy.mil/faq/sun_approx as of 2024/02/29
+        // About precision, the page links to the file: https://aa.usno.navy.mil/graphics/sun_lonlat.pdf
+        // The Wikipedia page describes that the formula is from the Astronomical Almanac.
+        // Which looks like we can expect precision of roughly 30 arcsecs in 1950-2050, and roughly 50 arcsecs in 1800-2200 (both peak error is a little larger).
+        //
+        // Almost the same formula is found in https://en.wikipedia.org/wiki/Position_of_the_Sun , except that 0.9856474 instead of 0.98564736 is used to calculate q, 357.528 + 0.9856003n to calculate g
+        // This formula is described as precision of 0.01 deg (36 arcsecs) between 1950 and 2050.
+        double D = julianYearFromJ2000_0 * 365.25;
+        double g = Math.toRadians(357.529 + 0.98560028 * D);
+        double q = 280.459 + 0.98564736 * D;
+
+        // Differentiation of this formula:
+        //   deg per day: 0.98564736 + 1.915 * toRadian(0.98560028) * cos(g) + 2 * 0.020 * toRadian(0.98560028) * cos(2g)
+        //              : 0.98564736 + 0.03294177 * cos(g) + 0.000688078 * cos(2g)
+        double L = q + 1.915 * Math.sin(g);
+        if (this.evaluatesSecondHarmonics) {
+            L += SECOND_HARMONIC_AMPLITUDE_DEG * Math.sin(2.0 * g);
+        }
+
+        L -= 360.0 * Math.floor(L / 360.0);
+
+        return L;
+    }
+
+    private double calculateRightAscensionRad (double eclipticLongitudeRad, double eclipticTiltRad) {
+        // This formula assumes ecliptic latitude of sun is 0
+        // https://en.wikipedia.org/wiki/Position_of_the_Sun says that the ecliptic latitude of the Sun is very small and never exceeds 0.00033 deg (a little over 1 arcsec).
+        eclipticLongitudeRad -= Math.floor(eclipticLongitudeRad / (2.0 * Math.PI)) * 2.0 * Math.PI;
+        double ret = Math.atan(Math.tan(eclipticLongitudeRad) * Math.cos(eclipticTiltRad));
+        if (eclipticLongitudeRad >= 0.5 * Math.PI && eclipticLongitudeRad < 1.5 * Math.PI) {
+            ret += Math.PI;
+        }
+        if (ret < 0.0) {
+            ret += 2 * Math.PI;
+        }
+        return ret;
+    }
+}
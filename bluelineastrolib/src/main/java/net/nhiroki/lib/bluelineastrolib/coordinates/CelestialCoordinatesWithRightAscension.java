@@ -0,0 +1,144 @@
+package net.nhiroki.lib.bluelineastrolib.coordinates;
+
+public class CelestialCoordinatesWithRightAscension {
+    private final double rightAscensionRad;
+    private final double declinationRad;
+
+
+    public static CelestialCoordinatesWithRightAscension ofRadians(double rightAscensionRad, double declinationRad) {
+        return new CelestialCoordinatesWithRightAscension(rightAscensionRad, declinationRad);
+    }
+
+    public static CelestialCoordinatesWithRightAscension fromEclipticCoordinates(EclipticCoordinates eclipticCoordinates, double eclipticTiltRad) {
+        double[] ret = new double[2];
+        convertFromEclipticCoordinates(eclipticCoordinates.getLongitudeRad(), eclipticCoordinates.getLatitudeRad(), eclipticTiltRad, ret);
+        return CelestialCoordinatesWithRightAscension.ofRadians(ret[0], ret[1]);
+    }
+
+    /**
+     * Same as fromEclipticCoordinates(), but stores the result into {@code rightAscensionAndDeclinationRad} not to allocate objects.
+     *
+     * @param longitude Ecliptic longitude in radians
+     * @param latitude Ecliptic latitude in radians
+     * @param eclipticTiltRad Ecliptic tilt in radians
+     * @param rightAscensionAndDeclinationRad Array to store right ascension at index 0 and declination at index 1, in radians
+     */
+    public static void convertFromEclipticCoordinates(double longitude, double latitude, double eclipticTiltRad, double[] rightAscensionAndDeclinationRad) {
+
+        double U = Math.cos(latitude) * Math.cos(longitude);
+        double V = -Math.sin(latitude) * Math.sin(eclipticTiltRad) + Math.cos(latitude) * Math.sin(longitude) * Math.cos(eclipticTiltRad);
+        double W = Math.sin(latitude) * Math.cos(eclipticTiltRad) + Math.cos(latitude) * Math.sin(longitude) * Math.sin(eclipticTiltRad);
+
+        double rightAscentionRad;
+
+        if (Math.abs(U) < 1e-20) {
+            if (U > 0.0) {
+                if (V > 0.0) {
+                    rightAscentionRad = Math.PI / 2.0;
+                } else {
+                    rightAscentionRad = - Math.PI / 2.0;
+                }
+            } else {
+                if (V > 0.0) {
+                    rightAscentionRad = - Math.PI / 2.0;
+                } else {
+                    rightAscentionRad = Math.PI / 2.0;
+                }
+            }
+        } else {
+            rightAscentionRad = Math.atan(V / U);
+            if (U < 0.0) {
+                rightAscentionRad += Math.PI;
+            }
+            rightAscentionRad -= 2.0 * Math.PI * Math.floor(rightAscentionRad / (2.0 * Math.PI));
+        }
+
+        double declinationRad = Math.atan(W / Math.sqrt(U * U + V * V));
+
+        rightAscensionAndDeclinationRad[0] = rightAscentionRad;
+        rightAscensionAndDeclinationRad[1] = declinationRad;
+    }
+
+    /**
+     * Calculates how fast the right ascension changes from the ecliptic coordinates and how fast they change, taking the ecliptic tilt as constant.<br>
+     * Rates can be in any unit of time, and the result is in the same unit.
+     *
+     * @param longitude Ecliptic longitude in radians
+     * @param latitude Ecliptic latitude in radians
+     * @param longitudeRate Increment of ecliptic longitude per unit of time in radians
+     * @param latitudeRate Increment of ecliptic latitude per unit of time in radians
+     * @param eclipticTiltRad Ecliptic tilt in radians
+     * @return Increment of right ascension per unit of time in radians
+     */
+    public static double calculateRightAscensionRateFromEclipticCoordinates(double longitude, double latitude, double longitudeRate, double latitudeRate, double eclipticTiltRad) {
+        // Derivatives of U and V of convertFromEclipticCoordinates(), where right ascension is atan2(V, U)
+        double U = Math.cos(latitude) * Math.cos(longitude);
+        double V = -Math.sin(latitude) * Math.sin(eclipticTiltRad) + Math.cos(latitude) * Math.sin(longitude) * Math.cos(eclipticTiltRad);
+        double dU = -Math.sin(latitude) * Math.cos(longitude) * latitudeRate - Math.cos(latitude) * Math.sin(longitude) * longitudeRate;
+        double dV = (-Math.cos(latitude) * Math.sin(eclipticTiltRad) - Math.sin(latitude) * Math.sin(longitude) * Math.cos(eclipticTiltRad)) * latitudeRate
+                + Math.cos(latitude) * Math.cos(longitude) * Math.cos(eclipticTiltRad) * longitudeRate;
+
+        return (U * dV - V * dU) / (U * U + V * V);
+    }
+
+    /**
+     * Calculates how fast the declination changes from the ecliptic coordinates and how fast they change, taking the ecliptic tilt as constant.<br>
+     * Rates can be in any unit of time, and the result is in the same unit.
+     *
+     * @param longitude Ecliptic longitude in radians
+     * @param latitude Ecliptic latitude in radians
+     * @param longitudeRate Increment of ecliptic longitude per unit of time in radians
+     * @param latitudeRate Increment of ecliptic latitude per unit of time in radians
+     * @param eclipticTiltRad Ecliptic tilt in radians
+     * @return Increment of declination per unit of time in radians
+     */
+    public static double calculateDeclinationRateFromEclipticCoordinates(double longitude, double latitude, double longitudeRate, double latitudeRate, double eclipticTiltRad) {
+        // Derivative of W of convertFromEclipticCoordinates(), where declination is asin(W), divided by cos(declination) = sqrt(U^2 + V^2)
+        double U = Math.cos(latitude) * Math.cos(longitude);
+        double V = -Math.sin(latitude) * Math.sin(eclipticTiltRad) + Math.cos(latitude) * Math.sin(longitude) * Math.cos(eclipticTiltRad);
+        double dW = (Math.cos(latitude) * Math.cos(eclipticTiltRad) - Math.sin(latitude) * Math.sin(longitude) * Math.sin(eclipticTiltRad)) * latitudeRate
+                + Math.cos(latitude) * Math.cos(longitude) * Math.sin(eclipticTiltRad) * longitudeRate;
+
+        return dW / Math.sqrt(U * U + V * V);
+    }
+
+    public static CelestialCoordinatesWithRightAscension fromEclipticLongitudeWithLatitudeZero(double eclipticLongitudeRad, double eclipticTiltRad) {
+        double[] ret = new double[2];
+        convertFromEclipticLongitudeWithLatitudeZero(eclipticLongitudeRad, eclipticTiltRad, ret);
+        return CelestialCoordinatesWithRightAscension.ofRadians(ret[0], ret[1]);
+    }
+
+    /**
+     * Same as fromEclipticLongitudeWithLatitudeZero(), but stores the result into {@code rightAscensionAndDeclinationRad} not to allocate objects.
+     *
+     * @param eclipticLongitudeRad Ecliptic longitude in radians
+     * @param eclipticTiltRad Ecliptic tilt in radians
+     * @param rightAscensionAndDeclinationRad Array to store right ascension at index 0 and declination at index 1, in radians
+     */
+    public static void convertFromEclipticLongitudeWithLatitudeZero(double eclipticLongitudeRad, double eclipticTiltRad, double[] rightAscensionAndDeclinationRad) {
+        eclipticLongitudeRad -= Math.floor(eclipticLongitudeRad / (2.0 * Math.PI)) * 2.0 * Math.PI;
+        double rightAscension = Math.atan(Math.tan(eclipticLongitudeRad) * Math.cos(eclipticTiltRad));
+        if (eclipticLongitudeRad >= 0.5 * Math.PI && eclipticLongitudeRad < 1.5 * Math.PI) {
+            rightAscension += Math.PI;
+        }
+        if (rightAscension < 0.0) {
+            rightAscension += 2.0 * Math.PI;
+        }
+        double declination = Math.asin(Math.sin(eclipticLongitudeRad) * Math.sin(eclipticTiltRad));
+        rightAscensionAndDeclinationRad[0] = rightAscension;
+        rightAscensionAndDeclinationRad[1] = declination;
+    }
+
+    private CelestialCoordinatesWithRightAscension(double rightAscensionRad, double declinationRad) {
+        this.rightAscensionRad = rightAscensionRad;
+        this.declinationRad = declinationRad;
+    }
+
+    public double getRightAscensionRad() {
+        return rightAscensionRad;
+    }
+
+    public double getDeclinationRad() {
+        return declinationRad;
+    }
+}
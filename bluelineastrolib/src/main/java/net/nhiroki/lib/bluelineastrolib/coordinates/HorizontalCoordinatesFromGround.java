@@ -0,0 +1,212 @@
+package net.nhiroki.lib.bluelineastrolib.coordinates;
+
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.AstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.ChebyshevInterpolatedAstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.earth.Earth;
+import net.nhiroki.lib.bluelineastrolib.earth.SiderealTimeStepper;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+
+import java.time.Instant;
+
+public class HorizontalCoordinatesFromGround {
+    private final AstronomicalObject astronomicalObject;
+    private final Instant time;
+    private final LocationOnTheEarth locationOnTheEarth;
+    private final double azimuthRad;
+    private final double actualElevationRad;
+
+    private HorizontalCoordinatesFromGround(AstronomicalObject astronomicalObject, Instant time, LocationOnTheEarth locationOnTheEarth, double azimuthRad, double actualElevationRad) {
+        this.astronomicalObject = astronomicalObject;
+        this.time = time;
+        this.locationOnTheEarth = locationOnTheEarth;
+        this.azimuthRad = azimuthRad;
+        this.actualElevationRad = actualElevationRad;
+    }
+
+    /**
+     * Returns horizontal coordinate converted from {@code horizontalCoordinatesFromTheCenterOfTheEarth} by correcting the parallax by the radius of the earth.
+     * @param horizontalCoordinatesFromTheCenterOfTheEarth Coordinates from the center of the earth
+     * @param astronomicalObject Target astronomical object. Note that position of the astronomical object is not computed by this function. Some functions are used for converting and computing the elevation.
+     * @param time Target time. Used for converting and computing the elevation.
+     * @param locationOnTheEarth Location to be observed from. Used for converting and computing the elevation.
+     * @return {@code HorizontalCoordinatesFromGround} object describing the horizontal coordinates from the ground
+     */
+    public static HorizontalCoordinatesFromGround fromCoordinatesFromTheCenterOfTheEarth(HorizontalCoordinatesFromTheCenterOfTheEarth horizontalCoordinatesFromTheCenterOfTheEarth,
+                                                                                         AstronomicalObject astronomicalObject,
+                                                                                         Instant time, LocationOnTheEarth locationOnTheEarth) throws UnsupportedDateRangeException, AstronomicalPhenomenonComputationException {
+        final double actualElevationRad = correctParallaxOfElevationRad(horizontalCoordinatesFromTheCenterOfTheEarth.getElevationRad(),
+                astronomicalObject.calculateEquatorialHorizontalParallaxRad(time));
+
+        return new HorizontalCoordinatesFromGround(astronomicalObject, time, locationOnTheEarth, horizontalCoordinatesFromTheCenterOfTheEarth.getAzimuthRad(), actualElevationRad);
+    }
+
+    /**
+     * Calculate horizontal coordinates of the {@code astronomicalObject} seen from the ground of {@code locationOnTheEarth} at {@code time}.
+     *
+     * @param astronomicalObject Target astronomical object
+     * @param time Target time
+     * @param locationOnTheEarth Location to be observed from
+     * @return {@code HorizontalCoordinatesFromGround} object describing the horizontal coordinates from the ground
+     */
+    public static HorizontalCoordinatesFromGround calculatePositionOfAstronomicalObject(AstronomicalObject astronomicalObject, Instant time,
+                                                                                        LocationOnTheEarth locationOnTheEarth)
+            throws UnsupportedDateRangeException, AstronomicalPhenomenonComputationException {
+
+        HorizontalCoordinatesFromTheCenterOfTheEarth fromTheCenterOfTheEarth = HorizontalCoordinatesFromTheCenterOfTheEarth.ofAstronomicalObject(astronomicalObject, time, locationOnTheEarth);
+        return fromCoordinatesFromTheCenterOfTheEarth(fromTheCenterOfTheEarth, astronomicalObject, time, locationOnTheEarth);
+    }
+
+    /**
+     * Calculates horizontal coordinates from the ground of {@code count} time points from {@code startEpochMilli} stepping by {@code stepMillis}, e.g. for drawing the path of the object in a day.<br>
+     * Values at index i of the arrays are the ones at {@code startEpochMilli + i * stepMillis}, same as getAzimuthRad(), getActualElevationRad() and calculateApparentElevationRad()
+     * of calculatePositionOfAstronomicalObject(), without allocating objects for each time point.<br>
+     * <br>
+     * Position of {@code astronomicalObject} is fitted by ChebyshevInterpolatedAstronomicalObject.forAny() (1-day segments and 12 nodes),
+     * when the time points are more than the evaluations for fitting (e.g. 1440 points of a day are computed from 24 evaluations of the segments of 2 days).
+     * Sidereal time is advanced by SiderealTimeStepper. Differences from calculatePositionOfAstronomicalObject() are:
+     * <ul>
+     *   <li>Interpolation: less than 0.001 arcseconds (see ChebyshevInterpolatedAstronomicalObject)</li>
+     *   <li>Sidereal time: less than 0.01 seconds, which moves the object by less than 0.15 arcseconds (see SiderealTimeStepper)</li>
+     * </ul>
+     *
+     * @param astronomicalObject Target astronomical object
+     * @param startEpochMilli First time point in milliseconds from the epoch
+     * @param stepMillis Interval of the time points in milliseconds, must be positive
+     * @param count Number of the time points
+     * @param observer Location to be observed from
+     * @param azimuthRad Array of at least {@code count} to store azimuth in radians, which may be NaN. Null if not needed.
+     * @param actualElevationRad Array of at least {@code count} to store actual elevation in radians. Null if not needed.
+     * @param apparentElevationRad Array of at least {@code count} to store apparent elevation in radians. Null if not needed.
+     */
+    public static void calculateTrack(AstronomicalObject astronomicalObject, long startEpochMilli, long stepMillis, int count, Observer observer,
+                                      double[] azimuthRad, double[] actualElevationRad, double[] apparentElevationRad)
+            throws UnsupportedDateRangeException, AstronomicalPhenomenonComputationException {
+        if (stepMillis <= 0L || count < 0) {
+            throw new IllegalArgumentException("Invalid parameter for calculateTrack");
+        }
+        if (count == 0) {
+            return;
+        }
+
+        final long lastEpochMilli = startEpochMilli + (count - 1) * stepMillis;
+        final long segmentCount = Math.floorDiv(lastEpochMilli, 86400000L) - Math.floorDiv(startEpochMilli, 86400000L) + 1;
+        AstronomicalObject positionSource = astronomicalObject;
+        if (! (astronomicalObject instanceof ChebyshevInterpolatedAstronomicalObject) && segmentCount * ChebyshevInterpolatedAstronomicalObject.MOON_NODE_COUNT < count) {
+            positionSource = ChebyshevInterpolatedAstronomicalObject.forAny(astronomicalObject);
+        }
+
+        final double[] state = new double[AstronomicalObject.STATE_LENGTH];
+        final SiderealTimeStepper siderealTimeStepper = new SiderealTimeStepper(startEpochMilli, stepMillis, observer.getLongitudeRad());
+        for (int i = 0; i < count; ++i, siderealTimeStepper.next()) {
+            positionSource.calculateState(siderealTimeStepper.getEpochMilli(), state);
+            final double hourAngleRad = siderealTimeStepper.getSiderealTimeRad() - state[AstronomicalObject.STATE_RIGHT_ASCENSION];
+            final double declinationRad = state[AstronomicalObject.STATE_DECLINATION];
+
+            if (azimuthRad != null) {
+                azimuthRad[i] = HorizontalCoordinatesFromTheCenterOfTheEarth.calculateAzimuthRad(hourAngleRad, declinationRad, observer);
+            }
+            final double elevationRad = calculateActualElevationRad(hourAngleRad, state, observer);
+            if (actualElevationRad != null) {
+                actualElevationRad[i] = elevationRad;
+            }
+            if (apparentElevationRad != null) {
+                apparentElevationRad[i] = elevationRad + Earth.calculateAtmosphericRefractionRadFromActualElevationRad(elevationRad);
+            }
+        }
+    }
+
+    /**
+     * Calculates actual elevation, same as getActualElevationRad(), from the values of AstronomicalObject.calculateState() without allocating objects.
+     *
+     * @param hourAngleRad Hour angle of the object at the location in radians
+     * @param stateRad Values of AstronomicalObject.calculateState()
+     * @param observer Location to be observed from
+     * @return Actual elevation in radians, corrected by the parallax
+     */
+    public static double calculateActualElevationRad(double hourAngleRad, double[] stateRad, Observer observer) {
+        return correctParallaxOfElevationRad(
+                HorizontalCoordinatesFromTheCenterOfTheEarth.calculateElevationRad(hourAngleRad, stateRad[AstronomicalObject.STATE_DECLINATION], observer),
+                stateRad[AstronomicalObject.STATE_EQUATORIAL_HORIZONTAL_PARALLAX]);
+    }
+
+    private static double correctParallaxOfElevationRad(double elevationFromTheCenterOfTheEarthRad, double equatorialHorizontalParallaxRad) {
+        if (Math.abs(elevationFromTheCenterOfTheEarthRad) < Math.PI * 0.4999999) {
+            return Math.atan(Math.tan(elevationFromTheCenterOfTheEarthRad) - Math.tan(equatorialHorizontalParallaxRad) / Math.cos(elevationFromTheCenterOfTheEarthRad));
+        }
+        return elevationFromTheCenterOfTheEarthRad;
+    }
+
+    /**
+     * Same as calculateTrack() taking Observer, but with LocationOnTheEarth.
+     *
+     * @param astronomicalObject Target astronomical object
+     * @param startEpochMilli First time point in milliseconds from the epoch
+     * @param stepMillis Interval of the time points in milliseconds, must be positive
+     * @param count Number of the time points
+     * @param locationOnTheEarth Location to be observed from
+     * @param azimuthRad Array of at least {@code count} to store azimuth in radians, which may be NaN. Null if not needed.
+     * @param actualElevationRad Array of at least {@code count} to store actual elevation in radians. Null if not needed.
+     * @param apparentElevationRad Array of at least {@code count} to store apparent elevation in radians. Null if not needed.
+     */
+    public static void calculateTrack(AstronomicalObject astronomicalObject, long startEpochMilli, long stepMillis, int count, LocationOnTheEarth locationOnTheEarth,
+                                      double[] azimuthRad, double[] actualElevationRad, double[] apparentElevationRad)
+            throws UnsupportedDateRangeException, AstronomicalPhenomenonComputationException {
+        calculateTrack(astronomicalObject, startEpochMilli, stepMillis, count, Observer.of(locationOnTheEarth), azimuthRad, actualElevationRad, apparentElevationRad);
+    }
+
+    /**
+     * Returns azimuth in radians. It may return NaN.
+     *
+     * @return azimuth in radians
+     */
+    public double getAzimuthRad() {
+        return azimuthRad;
+    }
+
+    /**
+     * Returns azimuth in degrees. It may return NaN.
+     *
+     * @return azimuth in degrees
+     */
+    public double getAzimuthDeg() {
+        return Math.toDegrees(azimuthRad);
+    }
+
+    public double getActualElevationRad() {
+        return actualElevationRad;
+    }
+
+    /**
+     * Returns apparent elevation in radians.<br>
+     * <b>Note about the case of below the horizon:</b> This function returns some value even if below the horizon, but in such cases, you should be careful about the meaning of the returned value, as there is no "apparent" elevation and it includes the atmospheric refraction which does not exist actually.<br>
+     * @return Apparent elevation in radians
+     */
+    public double calculateApparentElevationRad() {
+        return this.actualElevationRad + Earth.calculateAtmosphericRefractionRadFromActualElevationRad(this.actualElevationRad);
+    }
+
+    /**
+     * Returns apparent elevation in degrees.<br>
+     * <b>Note about the case of below the horizon:</b> This function returns some value even if below the horizon, but in such cases, you should be careful about the meaning of the returned value, as there is no "apparent" elevation and it includes the atmospheric refraction which does not exist actually.<br>
+     * @return Apparent elevation in degrees
+     */
+    public double calculateApparentElevationDeg() {
+        return Math.toDegrees(calculateApparentElevationRad());
+    }
+
+    /**
+     * Returns whether the top of the astronomical object is above the horizon. If this function returns {@code false}, the astronomical object should be invisible.<br>
+     * <br>
+     * <b>Note about threshold:</b><br>
+     * Earth.calculateAtmosphericRefractionRadFromActualElevationRad() at horizon and Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC differs a bit.<br>
+     * Here, this function uses the constant value used for rise/set.<br>
+     * This would make the result consistent as total, but you may see the {@code calculateApparentElevationDeg} returns negative value and still this functions return {@code true} if near the horizon.
+     * @return {@code true} if the top of the astronomical object is above the horizon, {@code false} otherwise
+     */
+    public boolean isTopAboveHorizon() throws UnsupportedDateRangeException, AstronomicalPhenomenonComputationException {
+        double topActualRad = this.actualElevationRad + astronomicalObject.calculateApparentRadiusRad(time);
+        double threshold = -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0) - Earth.calculateAltitudeCorrectionOfHorizonRad(locationOnTheEarth.getElevationMeters());
+        return topActualRad > threshold;
+    }
+}
@@ -37,6 +37,22 @@ public class HorizontalCoordinatesFromTheCenterOfTheEarth {
         return HorizontalCoordinatesFromTheCenterOfTheEarth.fromCelestialCoordinatesAndLocation(celestialCoordinatesWithHourAngle, locationOnTheEarth);
     }
 
+    /**
+     * Same as ofAstronomicalObject() taking LocationOnTheEarth, but with the location prepared as Observer.
+     *
+     * @param astronomicalObject Target object
+     * @param time Target time
+     * @param observer Target location
+     * @return Horizontal coordinates of {@code astronomicalObject}
+     */
+    public static HorizontalCoordinatesFromTheCenterOfTheEarth ofAstronomicalObject(AstronomicalObject astronomicalObject, Instant time,
+                                                                                    Observer observer) throws UnsupportedDateRangeException, AstronomicalPhenomenonComputationException {
+        final double[] coordinates = new double[2];
+        astronomicalObject.calculateCelestialCoordinates(time.toEpochMilli(), coordinates);
+        final double hourAngleRad = TimePointOnTheEarth.calculateSiderealTimeRad(time.toEpochMilli(), observer.getLongitudeRad()) - coordinates[0];
+        return HorizontalCoordinatesFromTheCenterOfTheEarth.ofRadians(calculateAzimuthRad(hourAngleRad, coordinates[1], observer), calculateElevationRad(hourAngleRad, coordinates[1], observer));
+    }
+
     /**
      * Returns azimuth in radians. It may return NaN.
      *
@@ -63,16 +79,54 @@ public class HorizontalCoordinatesFromTheCenterOfTheEarth {
     }
 
     private static double calculateElevationRadFromHourAngle(CelestialCoordinatesWithHourAngle coordinates, double latitudeRad) {
-        return Math.asin(Math.sin(coordinates.getDeclinationRad()) * Math.sin(latitudeRad) + Math.cos(coordinates.getDeclinationRad()) * Math.cos(latitudeRad) * Math.cos(coordinates.getHourAngleRad()));
+        return calculateElevationRad(coordinates.getHourAngleRad(), coordinates.getDeclinationRad(), latitudeRad);
+    }
+
+    /**
+     * Calculates elevation from hour angle and declination, without allocating objects.
+     *
+     * @param hourAngleRad Hour angle in radians
+     * @param declinationRad Declination in radians
+     * @param latitudeRad Latitude of the location in radians
+     * @return Elevation in radians
+     */
+    public static double calculateElevationRad(double hourAngleRad, double declinationRad, double latitudeRad) {
+        return Math.asin(Math.sin(declinationRad) * Math.sin(latitudeRad) + Math.cos(declinationRad) * Math.cos(latitudeRad) * Math.cos(hourAngleRad));
+    }
+
+    /**
+     * Same as calculateElevationRad() taking latitude, but with sine and cosine of the latitude prepared in {@code observer}.
+     *
+     * @param hourAngleRad Hour angle in radians
+     * @param declinationRad Declination in radians
+     * @param observer Target location
+     * @return Elevation in radians
+     */
+    public static double calculateElevationRad(double hourAngleRad, double declinationRad, Observer observer) {
+        return Math.asin(Math.sin(declinationRad) * observer.getSinLatitude() + Math.cos(declinationRad) * observer.getCosLatitude() * Math.cos(hourAngleRad));
+    }
+
+    /**
+     * Calculates azimuth from hour angle and declination, without allocating objects. It may return NaN.
+     *
+     * @param hourAngleRad Hour angle in radians
+     * @param declinationRad Declination in radians
+     * @param observer Target location
+     * @return Azimuth in radians
+     */
+    public static double calculateAzimuthRad(double hourAngleRad, double declinationRad, Observer observer) {
+        return calculateAzimuthRad(hourAngleRad, declinationRad, observer.getSinLatitude(), observer.getCosLatitude());
     }
 
     // May return NaN
     private static double calculateAzimuthRadFromHourAngle(CelestialCoordinatesWithHourAngle coordinates, double latitudeRad) {
-        double hourAngleRad = coordinates.getHourAngleRad();
-        double declinationRad = coordinates.getDeclinationRad();
+        return calculateAzimuthRad(coordinates.getHourAngleRad(), coordinates.getDeclinationRad(), Math.sin(latitudeRad), Math.cos(latitudeRad));
+    }
 
+    // May return NaN
+    private static double calculateAzimuthRad(double hourAngleRad, double declinationRad, double sinLatitude, double cosLatitude) {
         double numerator = - Math.cos(declinationRad) * Math.sin(hourAngleRad);
-        double denominator = Math.sin(declinationRad) * Math.cos(latitudeRad) - Math.cos(declinationRad) * Math.sin(latitudeRad) * Math.cos(hourAngleRad);
+        double denominator = Math.sin(declinationRad) * cosLatitude - Math.cos(declinationRad) * sinLatitude * Math.cos(hourAngleRad);
 
         if (Math.abs(denominator) < 1e-20) {
             // abs(tan(ret)) ~ 10^20 or infinite
@@ -0,0 +1,76 @@
+package net.nhiroki.lib.bluelineastrolib.coordinates;
+
+import net.nhiroki.lib.bluelineastrolib.earth.Earth;
+
+
+/**
+ * LocationOnTheEarth prepared for the calculations repeated at the same location.<br>
+ * <br>
+ * Longitude and latitude in radians, sine and cosine of the latitude, and the altitude correction of the horizon by the elevation are computed once when created,
+ * while LocationOnTheEarth converts them on each call. Values are exactly the same as computed from LocationOnTheEarth, so the results do not change.<br>
+ * Create one for each location and pass it to the event calculations (e.g. AstronomicalEventsCalculation.calculateEventWithin24h()) computing many days.
+ */
+public class Observer {
+    private final LocationOnTheEarth locationOnTheEarth;
+    private final double longitudeRad;
+    private final double latitudeRad;
+    private final double sinLatitude;
+    private final double cosLatitude;
+    private final double altitudeCorrectionOfHorizonRad;
+
+
+    /**
+     * @param locationOnTheEarth Target location
+     * @return Observer at {@code locationOnTheEarth}
+     */
+    public static Observer of(LocationOnTheEarth locationOnTheEarth) {
+        return new Observer(locationOnTheEarth);
+    }
+
+    private Observer(LocationOnTheEarth locationOnTheEarth) {
+        this.locationOnTheEarth = locationOnTheEarth;
+        this.longitudeRad = locationOnTheEarth.getLongitudeRad();
+        this.latitudeRad = locationOnTheEarth.getLatitudeRad();
+        this.sinLatitude = Math.sin(this.latitudeRad);
+        this.cosLatitude = Math.cos(this.latitudeRad);
+        this.altitudeCorrectionOfHorizonRad = Earth.calculateAltitudeCorrectionOfHorizonRad(locationOnTheEarth.getElevationMeters());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Observer{%s}", this.locationOnTheEarth);
+    }
+
+    public LocationOnTheEarth getLocationOnTheEarth() {
+        return this.locationOnTheEarth;
+    }
+
+    public double getLongitudeRad() {
+        return this.longitudeRad;
+    }
+
+    public double getLatitudeRad() {
+        return this.latitudeRad;
+    }
+
+    public double getSinLatitude() {
+        return this.sinLatitude;
+    }
+
+    public double getCosLatitude() {
+        return this.cosLatitude;
+    }
+
+    public double getElevationMeters() {
+        return this.locationOnTheEarth.getElevationMeters();
+    }
+
+    /**
+     * Returns the altitude correction of the horizon by the elevation of the location (see Earth.calculateAltitudeCorrectionOfHorizonRad()).
+     *
+     * @return The elevation of horizon with inverted sign in radians
+     */
+    public double getAltitudeCorrectionOfHorizonRad() {
+        return this.altitudeCorrectionOfHorizonRad;
+    }
+}
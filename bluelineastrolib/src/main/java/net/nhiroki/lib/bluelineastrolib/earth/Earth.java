@@ -69,19 +69,39 @@ public class Earth {
      * @return ecliptic tilt in degrees
      */
     public static double calculateEclipticTiltDeg (Instant instant) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        return calculateEclipticTiltDeg(instant.toEpochMilli());
+    }
 
-        double t = new TimePointOnTheEarth(instant).julianYearFromJ2000_0() / 10000.0;
+    /**
+     * Same as calculateEclipticTiltDeg(Instant), but takes milliseconds from the epoch not to allocate objects.
+     *
+     * @param epochMilli Target time in milliseconds from the epoch
+     * @return ecliptic tilt in degrees
+     */
+    public static double calculateEclipticTiltDeg (long epochMilli) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        return calculateEclipticTiltDegByJulianYear(TimePointOnTheEarth.julianYearFromJ2000_0(epochMilli));
+    }
+
+    /**
+     * Same as calculateEclipticTiltDeg(Instant), but takes julian year from J2000.0, for callers computing several values for the same time point.
+     *
+     * @param julianYearFromJ2000_0 Target time in julian year from J2000.0 (see TimePointOnTheEarth.julianYearFromJ2000_0())
+     * @return ecliptic tilt in degrees
+     */
+    public static double calculateEclipticTiltDegByJulianYear (double julianYearFromJ2000_0) {
+        double t = julianYearFromJ2000_0 / 10000.0;
+        // Horner's method, which is 10 multiplications instead of 55
         return 23.0 + 26.0 / 60.0 + 21.448 / 3600.0
-                - 4680.93 / 3600.0 * t
-                - 1.55 / 3600.0 * t * t
-                + 1999.25 / 3600.0 * t * t * t
-                - 51.38 / 3600.0 * t * t * t * t
-                - 249.67 / 3600.0 * t * t * t * t * t
-                - 39.05 / 3600.0 * t * t * t * t * t * t
-                + 7.12 / 3600.0 * t * t * t * t * t * t * t
-                + 27.87 / 3600.0 * t * t * t * t * t * t * t * t
-                + 5.79 / 3600.0 * t * t * t * t * t * t * t * t * t
-                + 2.45 / 3600.0 * t * t * t * t * t * t * t * t * t * t;
+                + t * (-4680.93 / 3600.0
+                + t * (-1.55 / 3600.0
+                + t * (1999.25 / 3600.0
+                + t * (-51.38 / 3600.0
+                + t * (-249.67 / 3600.0
+                + t * (-39.05 / 3600.0
+                + t * (7.12 / 3600.0
+                + t * (27.87 / 3600.0
+                + t * (5.79 / 3600.0
+                + t * (2.45 / 3600.0))))))))));
     }
 
     /**
@@ -98,6 +118,26 @@ public class Earth {
         return Math.toRadians(calculateEclipticTiltDeg(instant));
     }
 
+    /**
+     * Same as calculateEclipticTiltRad(Instant), but takes milliseconds from the epoch not to allocate objects.
+     *
+     * @param epochMilli Target time in milliseconds from the epoch
+     * @return ecliptic tilt in radians
+     */
+    public static double calculateEclipticTiltRad (long epochMilli) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        return Math.toRadians(calculateEclipticTiltDeg(epochMilli));
+    }
+
+    /**
+     * Same as calculateEclipticTiltRad(Instant), but takes julian year from J2000.0, for callers computing several values for the same time point.
+     *
+     * @param julianYearFromJ2000_0 Target time in julian year from J2000.0 (see TimePointOnTheEarth.julianYearFromJ2000_0())
+     * @return ecliptic tilt in radians
+     */
+    public static double calculateEclipticTiltRadByJulianYear (double julianYearFromJ2000_0) {
+        return Math.toRadians(calculateEclipticTiltDegByJulianYear(julianYearFromJ2000_0));
+    }
+
     public static double calculateEquatorialHorizontalParallaxRadByDistanceAU (double distanceAU) {
         return Math.toRadians(Earth.MEAN_EQUATORIAL_HORIZONTAL_PARALLAX_AT_1_AU_SUN_ARCSEC / 3600.0 / distanceAU);
     }
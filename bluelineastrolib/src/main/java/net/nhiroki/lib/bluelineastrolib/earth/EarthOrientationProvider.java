@@ -0,0 +1,118 @@
+package net.nhiroki.lib.bluelineastrolib.earth;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+/**
+ * Ecliptic tilt and the equation of the equinoxes, cached for each day (UTC) and shared by Sun, Moon, sidereal time and the equation of time.<br>
+ * <br>
+ * Both change slowly: the ecliptic tilt by less than 0.5 arcseconds per year, and the equation of the equinoxes by less than 0.005 seconds per day.
+ * Values at the start of the day and of the next day are computed directly on the first call for the day,
+ * and the values between them are linearly interpolated, so no polynomial nor trigonometric function is evaluated for the following calls.<br>
+ * <br>
+ * Differences from the direct formulas are:
+ * <ul>
+ *   <li>Ecliptic tilt: less than 1e-7 arcseconds from Earth.calculateEclipticTiltRad(), which is the largest on the days ending with a leap second</li>
+ *   <li>Equation of the equinoxes: less than 2e-5 seconds, by the term of the half year (0.086 seconds of amplitude)</li>
+ * </ul>
+ * Results are exactly the direct formulas at 00:00 UTC of each day.<br>
+ * <br>
+ * Days are cached in a table of CACHE_SIZE entries indexed by the day, so that the calculations around the same days from many threads hit without locks.
+ * Each entry is immutable and replaced as a whole, so a thread reading an entry of another day only computes it again.
+ */
+public class EarthOrientationProvider {
+    public static final int CACHE_SIZE = 64;
+
+    private static final long MILLIS_PER_DAY = 86400000L;
+
+    private static final AtomicReferenceArray<DayEntry> CACHE = new AtomicReferenceArray<>(CACHE_SIZE);
+
+
+    /**
+     * Returns the ecliptic tilt from the cache of the day (see Earth.calculateEclipticTiltRad()).
+     *
+     * @param epochMilli Target time in milliseconds from the epoch
+     * @return Ecliptic tilt in radians
+     */
+    public static double getEclipticTiltRad(long epochMilli) {
+        final DayEntry dayEntry = findDayEntry(epochMilli);
+        return dayEntry.eclipticTiltRadAtStart + dayEntry.eclipticTiltRadPerMilli * (epochMilli - dayEntry.startEpochMilli);
+    }
+
+    /**
+     * Returns the equation of the equinoxes (apparent minus mean sidereal time), which is the nutation in longitude projected on the equator, from the cache of the day.
+     *
+     * @param epochMilli Target time in milliseconds from the epoch
+     * @return Equation of the equinoxes in hours
+     */
+    public static double getEquationOfTheEquinoxesHours(long epochMilli) {
+        final DayEntry dayEntry = findDayEntry(epochMilli);
+        return dayEntry.equationOfTheEquinoxesHoursAtStart + dayEntry.equationOfTheEquinoxesHoursPerMilli * (epochMilli - dayEntry.startEpochMilli);
+    }
+
+    /**
+     * Calculates the equation of the equinoxes directly, without the cache.<br>
+     * <br>
+     * Estimation method open to public by U.S. navy<br>
+     * <a href="https://aa.usno.navy.mil/faq/GAST">https://aa.usno.navy.mil/faq/GAST</a>
+     *
+     * @param epochMilli Target time in milliseconds from the epoch
+     * @return Equation of the equinoxes in hours
+     */
+    public static double calculateEquationOfTheEquinoxesHours(long epochMilli) {
+        final double D_TT = TimePointOnTheEarth.julianCenturyFromJ2000_0(epochMilli) * 36525.0;
+
+        // the Longitude of the ascending node of the Moon
+        // Not sure about the precision of this one itself, so for now using this value only here
+        double omegaDeg = 125.04 - 0.052954 * D_TT;
+
+        // the Mean Longitude of the Sun
+        // Not sure about the precision of this one itself, so for now using this value only here
+        double LDeg = 280.47 + 0.98565 * D_TT;
+
+        // the obliquity
+        // This library has another function to calculate this in class Earth, but this algorithm looks like verified by this algorithm,
+        // so using this here.
+        // Effect of the error of this is very small though.
+        double epsilonDeg = 23.4393 - 0.0000004 * D_TT;
+
+        // the nutation in longitude
+        double deltaPsiHour = -0.000319 * Math.sin(Math.toRadians(omegaDeg)) - 0.000024 * Math.sin(Math.toRadians(2 * LDeg));
+
+        // the equation of the equinoxes
+        return deltaPsiHour * Math.cos(Math.toRadians(epsilonDeg));
+    }
+
+    private static DayEntry findDayEntry(long epochMilli) {
+        final long day = Math.floorDiv(epochMilli, MILLIS_PER_DAY);
+        final int index = (int) Math.floorMod(day, (long) CACHE_SIZE);
+        DayEntry dayEntry = CACHE.get(index);
+        if (dayEntry == null || dayEntry.day != day) {
+            dayEntry = new DayEntry(day);
+            CACHE.set(index, dayEntry);
+        }
+        return dayEntry;
+    }
+
+
+    // Values of a day, immutable to be shared by the threads
+    private static class DayEntry {
+        private final long day;
+        private final long startEpochMilli;
+        private final double eclipticTiltRadAtStart;
+        private final double eclipticTiltRadPerMilli;
+        private final double equationOfTheEquinoxesHoursAtStart;
+        private final double equationOfTheEquinoxesHoursPerMilli;
+
+        DayEntry(long day) {
+            this.day = day;
+            this.startEpochMilli = day * MILLIS_PER_DAY;
+            final long endEpochMilli = this.startEpochMilli + MILLIS_PER_DAY;
+
+            this.eclipticTiltRadAtStart = Earth.calculateEclipticTiltRadByJulianYear(TimePointOnTheEarth.julianYearFromJ2000_0(this.startEpochMilli));
+            this.eclipticTiltRadPerMilli = (Earth.calculateEclipticTiltRadByJulianYear(TimePointOnTheEarth.julianYearFromJ2000_0(endEpochMilli)) - this.eclipticTiltRadAtStart) / MILLIS_PER_DAY;
+            this.equationOfTheEquinoxesHoursAtStart = calculateEquationOfTheEquinoxesHours(this.startEpochMilli);
+            this.equationOfTheEquinoxesHoursPerMilli = (calculateEquationOfTheEquinoxesHours(endEpochMilli) - this.equationOfTheEquinoxesHoursAtStart) / MILLIS_PER_DAY;
+        }
+    }
+}
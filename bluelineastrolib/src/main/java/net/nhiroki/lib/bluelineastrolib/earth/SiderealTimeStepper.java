@@ -0,0 +1,114 @@
+package net.nhiroki.lib.bluelineastrolib.earth;
+
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+
+
+/**
+ * Sidereal time of time points stepping forward, e.g. the scan of AstronomicalEventsCalculation.calculateAllEvents().<br>
+ * <br>
+ * TimePointOnTheEarth.calculateSiderealTimeRad() evaluates the mean sidereal time and looks up the equation of the equinoxes for each call.
+ * This evaluates them only at the start and when {@code refreshSteps} steps have passed since the last evaluation,
+ * and advances the sidereal time between them by the constant rate of TimePointOnTheEarth.estimatedIncrementOfSiderealTimeRadPerDay().<br>
+ * <br>
+ * Difference from TimePointOnTheEarth.calculateSiderealTimeRad() is the sum of:
+ * <ul>
+ *   <li>Jump of the direct formula at 0h UT, less than 0.008 seconds, which is not followed by the constant rate</li>
+ *   <li>Changes of the equation of the equinoxes, the term of T and the daily term from the constant rate, less than 0.02 seconds per day since the last evaluation</li>
+ * </ul>
+ * With the refresh interval of DEFAULT_REFRESH_INTERVAL_MILLIS, this is less than 0.01 seconds (7.3e-7 radians), which is much smaller than the error of the formula itself (about 1.3 seconds).
+ * Results at the evaluated time points are exactly the same as TimePointOnTheEarth.calculateSiderealTimeRad().<br>
+ * <br>
+ * This is mutable and not thread safe, expected to be created for each scan.
+ */
+public class SiderealTimeStepper {
+    public static final long DEFAULT_REFRESH_INTERVAL_MILLIS = 3600000L;
+
+    private static final double INCREMENT_OF_SIDEREAL_TIME_RAD_PER_MILLI = TimePointOnTheEarth.estimatedIncrementOfSiderealTimeRadPerDay(0L) / 86400000.0;
+
+    private final long stepMillis;
+    private final double longitudeRad;
+    private final long refreshIntervalMillis;
+
+    private long epochMilli;
+    private long lastRefreshEpochMilli;
+    private double siderealTimeRadAtLastRefresh;
+    private double siderealTimeRad;
+
+
+    /**
+     * Creates stepper which evaluates the sidereal time directly every DEFAULT_REFRESH_INTERVAL_MILLIS (at least every step).
+     *
+     * @param startEpochMilli First time point in milliseconds from the epoch
+     * @param stepMillis Interval of the time points in milliseconds, must be positive
+     * @param longitudeRad Longitude in radians
+     */
+    public SiderealTimeStepper(long startEpochMilli, long stepMillis, double longitudeRad) throws UnsupportedDateRangeException {
+        this(startEpochMilli, stepMillis, longitudeRad, (int) Math.max(1L, Math.min(Integer.MAX_VALUE, DEFAULT_REFRESH_INTERVAL_MILLIS / Math.max(1L, stepMillis))));
+    }
+
+    /**
+     * @param startEpochMilli First time point in milliseconds from the epoch
+     * @param stepMillis Interval of the time points in milliseconds, must be positive
+     * @param longitudeRad Longitude in radians
+     * @param refreshSteps Number of steps after which the sidereal time is evaluated directly again, must be positive
+     */
+    public SiderealTimeStepper(long startEpochMilli, long stepMillis, double longitudeRad, int refreshSteps) throws UnsupportedDateRangeException {
+        if (stepMillis <= 0) {
+            throw new IllegalArgumentException("Step must be positive");
+        }
+        if (refreshSteps < 1) {
+            throw new IllegalArgumentException("Refresh steps must be positive");
+        }
+        this.stepMillis = stepMillis;
+        this.longitudeRad = longitudeRad;
+        this.refreshIntervalMillis = refreshSteps * stepMillis;
+        this.refresh(startEpochMilli);
+    }
+
+    /**
+     * @return Current time point in milliseconds from the epoch
+     */
+    public long getEpochMilli() {
+        return this.epochMilli;
+    }
+
+    /**
+     * @return Sidereal time at the current time point in radians, in [0, 2 pi)
+     */
+    public double getSiderealTimeRad() {
+        return this.siderealTimeRad;
+    }
+
+    /**
+     * Moves to the next time point.
+     */
+    public void next() throws UnsupportedDateRangeException {
+        this.advance(this.stepMillis);
+    }
+
+    /**
+     * Moves forward by {@code millis}, which does not need to be multiple of the step (e.g. to skip the time where no event can happen).
+     *
+     * @param millis Time to move forward in milliseconds, must not be negative
+     */
+    public void advance(long millis) throws UnsupportedDateRangeException {
+        final long nextEpochMilli = this.epochMilli + millis;
+        final long elapsedMillis = nextEpochMilli - this.lastRefreshEpochMilli;
+        if (elapsedMillis >= this.refreshIntervalMillis || elapsedMillis < 0) {
+            this.refresh(nextEpochMilli);
+            return;
+        }
+
+        this.epochMilli = nextEpochMilli;
+        double siderealTimeRad = this.siderealTimeRadAtLastRefresh + INCREMENT_OF_SIDEREAL_TIME_RAD_PER_MILLI * elapsedMillis;
+        siderealTimeRad -= 2.0 * Math.PI * Math.floor(siderealTimeRad / 2.0 / Math.PI);
+        this.siderealTimeRad = siderealTimeRad;
+    }
+
+    private void refresh(long epochMilli) throws UnsupportedDateRangeException {
+        this.epochMilli = epochMilli;
+        this.lastRefreshEpochMilli = epochMilli;
+        this.siderealTimeRadAtLastRefresh = TimePointOnTheEarth.calculateSiderealTimeRad(epochMilli, this.longitudeRad);
+        this.siderealTimeRad = this.siderealTimeRadAtLastRefresh;
+    }
+}
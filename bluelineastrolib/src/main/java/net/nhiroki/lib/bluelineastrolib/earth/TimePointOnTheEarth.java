@@ -0,0 +1,251 @@
+package net.nhiroki.lib.bluelineastrolib.earth;
+
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Sun;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+import net.nhiroki.lib.bluelineastrolib.coordinates.LocationOnTheEarth;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+
+/**
+ * Indicate a time point on the earth.
+ */
+public class TimePointOnTheEarth {
+    // Times when each leap second has been inserted, in ascending order.
+    // Kept as primitive array for the binary search in countLeapSecondsBefore(), which is called by every evaluation of the series.
+    private static final long[] LEAP_SECOND_EPOCH_MILLI_LIST = {
+            Instant.parse("1972-07-01T00:00:00.000Z").toEpochMilli(),
+            Instant.parse("1973-01-01T00:00:00.000Z").toEpochMilli(),
+            Instant.parse("1974-01-01T00:00:00.000Z").toEpochMilli(),
+            Instant.parse("1975-01-01T00:00:00.000Z").toEpochMilli(),
+            Instant.parse("1976-01-01T00:00:00.000Z").toEpochMilli(),
+            Instant.parse("1977-01-01T00:00:00.000Z").toEpochMilli(),
+            Instant.parse("1978-01-01T00:00:00.000Z").toEpochMilli(),
+            Instant.parse("1979-01-01T00:00:00.000Z").toEpochMilli(),
+            Instant.parse("1980-01-01T00:00:00.000Z").toEpochMilli(),
+            Instant.parse("1981-07-01T00:00:00.000Z").toEpochMilli(),
+            Instant.parse("1982-07-01T00:00:00.000Z").toEpochMilli(),
+            Instant.parse("1983-07-01T00:00:00.000Z").toEpochMilli(),
+            Instant.parse("1985-07-01T00:00:00.000Z").toEpochMilli(),
+            Instant.parse("1988-01-01T00:00:00.000Z").toEpochMilli(),
+            Instant.parse("1990-01-01T00:00:00.000Z").toEpochMilli(),
+            Instant.parse("1991-01-01T00:00:00.000Z").toEpochMilli(),
+            Instant.parse("1992-07-01T00:00:00.000Z").toEpochMilli(),
+            Instant.parse("1993-07-01T00:00:00.000Z").toEpochMilli(),
+            Instant.parse("1994-07-01T00:00:00.000Z").toEpochMilli(),
+            Instant.parse("1996-01-01T00:00:00.000Z").toEpochMilli(),
+            Instant.parse("1997-07-01T00:00:00.000Z").toEpochMilli(),
+            Instant.parse("1999-01-01T00:00:00.000Z").toEpochMilli(),
+            Instant.parse("2006-01-01T00:00:00.000Z").toEpochMilli(),
+            Instant.parse("2009-01-01T00:00:00.000Z").toEpochMilli(),
+            Instant.parse("2012-07-01T00:00:00.000Z").toEpochMilli(),
+            Instant.parse("2015-07-01T00:00:00.000Z").toEpochMilli(),
+            Instant.parse("2017-01-01T00:00:00.000Z").toEpochMilli(),
+    };
+    private static final long LAST_LEAP_SECOND_EPOCH_MILLI = LEAP_SECOND_EPOCH_MILLI_LIST[LEAP_SECOND_EPOCH_MILLI_LIST.length - 1];
+    // TAI - UTC before the first leap second of the list
+    private static final int TAI_MINUS_UTC_SECONDS_BEFORE_LEAP_SECONDS = 10;
+    // TT - TAI
+    private static final double TT_MINUS_TAI_MILLIS = 32184.0;
+    private static final Instant INSTANT_2000_1_1_12Z = Instant.parse("2000-01-01T12:00:00.000Z");
+    private static final long EPOCH_MILLI_2000_1_1_12Z = INSTANT_2000_1_1_12Z.toEpochMilli();
+
+    private final Instant instant;
+
+    public TimePointOnTheEarth(Instant instant) {
+        this.instant = instant;
+    }
+
+    /**
+     * Returns julian year from time point J2000.0, which increases 1.0 per 365.25 days.<br>
+     * If you want julian century, just divide the result by 100.0.
+     *
+     * @return Julian year from J2000.0
+     */
+    public double julianYearFromJ2000_0 () {
+        return julianYearFromJ2000_0(this.instant.toEpochMilli());
+    }
+
+    /**
+     * Same as julianYearFromJ2000_0(), but without allocating TimePointOnTheEarth.
+     *
+     * @param epochMilli Target time in milliseconds from the epoch
+     * @return Julian year from J2000.0
+     */
+    public static double julianYearFromJ2000_0 (long epochMilli) {
+        return (epochMilli - EPOCH_MILLI_2000_1_1_12Z + calculateTTMinusUTCMillis(epochMilli)) / 86400000.0 / 365.25;
+    }
+
+    /**
+     * Returns julian century from time point J2000.0 (T of the formulas in julian centuries), which increases 1.0 per 36525 days.<br>
+     * This is the same value as julianYearFromJ2000_0(epochMilli) / 100.0, so it can be computed once and shared by the series evaluated at the same time point.
+     *
+     * @param epochMilli Target time in milliseconds from the epoch
+     * @return Julian century from J2000.0
+     */
+    public static double julianCenturyFromJ2000_0 (long epochMilli) {
+        return julianYearFromJ2000_0(epochMilli) / 100.0;
+    }
+
+    /**
+     * Returns TAI - UTC, which is 10 seconds plus the leap seconds inserted before {@code epochMilli}.
+     *
+     * @param epochMilli Target time in milliseconds from the epoch (UTC)
+     * @return TAI - UTC in seconds
+     */
+    public static int calculateTAIMinusUTCSeconds (long epochMilli) {
+        return TAI_MINUS_UTC_SECONDS_BEFORE_LEAP_SECONDS + countLeapSecondsBefore(epochMilli);
+    }
+
+    /**
+     * Returns TT - UTC, where TT (based on TAI) = TAI + 32.184s.
+     *
+     * @param epochMilli Target time in milliseconds from the epoch (UTC)
+     * @return TT - UTC in milliseconds
+     */
+    public static double calculateTTMinusUTCMillis (long epochMilli) {
+        return 1000.0 * calculateTAIMinusUTCSeconds(epochMilli) + TT_MINUS_TAI_MILLIS;
+    }
+
+    public int countLeapSecondsBefore () {
+        return countLeapSecondsBefore(this.instant.toEpochMilli());
+    }
+
+    public static int countLeapSecondsBefore (long epochMilli) {
+        // Most calls are after the last leap second, which is answered without the search
+        if (epochMilli >= LAST_LEAP_SECOND_EPOCH_MILLI) {
+            return LEAP_SECOND_EPOCH_MILLI_LIST.length;
+        }
+
+        // Number of the leap seconds at or before epochMilli
+        int low = 0;
+        int high = LEAP_SECOND_EPOCH_MILLI_LIST.length - 1;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (LEAP_SECOND_EPOCH_MILLI_LIST[mid] <= epochMilli) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Calculate the sidereal time and return it in radians.<br>
+     * Specify 0 as longitude for Greenwich sidereal time.<br>
+     * <br>
+     * This function has error of about 1.3s in 2000-2100 with the sum of:<br>
+     * <ul>
+     *   <li>Formula itself has an error of max error 0.432 sec, RMS error 0.001512 sec, in 2000-2100</li>
+     *   <li>This formula handles UTC derived from Instant as the same as UT1. As long as UTC is kept within difference of 0.9s from UT1, this would cause an error of about 0.9s.</li>
+     *   <li>The equation of the equinoxes is interpolated within the day by EarthOrientationProvider, which adds less than 2e-5 sec.</li>
+     * </ul>
+     *
+     * @param longitudeRad Longitude in degrees
+     * @return Sidereal time in radians
+     */
+    public double calculateSiderealTimeRad (double longitudeRad) throws UnsupportedDateRangeException {
+        return calculateSiderealTimeRad(this.instant.toEpochMilli(), longitudeRad);
+    }
+
+    /**
+     * Same as calculateSiderealTimeRad(double), but without allocating TimePointOnTheEarth.
+     *
+     * @param epochMilli Target time in milliseconds from the epoch
+     * @param longitudeRad Longitude in radians
+     * @return Sidereal time in radians
+     */
+    public static double calculateSiderealTimeRad (long epochMilli, double longitudeRad) throws UnsupportedDateRangeException {
+        return Math.toRadians(calculateSiderealTimeDeg(epochMilli, Math.toDegrees(longitudeRad)));
+    }
+
+    /**
+     * Calculate the sidereal time and return it in degrees.<br>
+     * Specify 0 as longitude for Greenwich sidereal time.<br>
+     * <br>
+     * This function has error of about 1.3s in 2000-2100 with the sum of:<br>
+     * <ul>
+     *   <li>Formula itself has an error of max error 0.432 sec, RMS error 0.001512 sec, in 2000-2100</li>
+     *   <li>This formula handles UTC derived from Instant as the same as UT1. As long as UTC is kept within difference of 0.9s from UT1, this would cause an error of about 0.9s.</li>
+     *   <li>The equation of the equinoxes is interpolated within the day by EarthOrientationProvider, which adds less than 2e-5 sec.</li>
+     * </ul>
+     *
+     * @param longitudeDeg Longitude in degrees
+     * @return Sidereal time in degrees
+     */
+    public double calculateSiderealTimeDeg (double longitudeDeg) throws UnsupportedDateRangeException{
+        return calculateSiderealTimeDeg(this.instant.toEpochMilli(), longitudeDeg);
+    }
+
+    /**
+     * Same as calculateSiderealTimeDeg(double), but without allocating TimePointOnTheEarth.
+     *
+     * @param epochMilli Target time in milliseconds from the epoch
+     * @param longitudeDeg Longitude in degrees
+     * @return Sidereal time in degrees
+     */
+    public static double calculateSiderealTimeDeg (long epochMilli, double longitudeDeg) throws UnsupportedDateRangeException{
+        // Estimation method open to public by U.S. navy
+        // https://aa.usno.navy.mil/faq/GAST
+        // This page writes:
+        // > The maximum error in GAST resulting from the use of these formulae over the period 2000-2100 is 0.432 seconds; the RMS error is 0.01512 seconds.
+        // In this function, we don't handle D_UT properly and this will have error of 0.9s, so this is the largest factor and total error is about 1.3s in 2000-2100.
+        double T = julianCenturyFromJ2000_0(epochMilli);
+        // D_UT here should be the elapsed time in UT1 from 2000/01/01 12:00:00 UT1, but epochMilli is UTC.
+        // UTC and UT1 is kept to have absolute difference less than 0.9 in 2024, so
+        // this has error of less than 0.9s.
+        // After abandoning leap seconds, this different will be larger.
+        double D_UT = (epochMilli - EPOCH_MILLI_2000_1_1_12Z) / 86400000.0;
+        double D_UT_INT = Math.floor(D_UT - 0.5) + 0.5;
+        double D_UT_TIMEOFDAY = D_UT - D_UT_INT;
+
+        // Greenwich mean sidereal time
+        // This function handles D_UT_INT and D_UT_TIMEOFDAY separately, but the jump when jumping the "day" is less than 0.01 seconds:
+        //   (1.0027379 * 24.0 - 24.0 - 0.065707485828) * 3600
+        //   .007611019200
+        double gsmtHours = 6.697375 + 0.065707485828 * D_UT_INT + 1.0027379 * 24.0 * D_UT_TIMEOFDAY + 0.0854103 * T + 0.0000258 * T * T;
+        gsmtHours -= 24.0 * Math.floor(gsmtHours / 24.0);
+
+        // the equation of the equinoxes, which changes slowly and is cached for each day
+        double eqeqHour = EarthOrientationProvider.getEquationOfTheEquinoxesHours(epochMilli);
+
+        double retVal = (gsmtHours + eqeqHour) / 24.0 * 360.0 + longitudeDeg;
+        retVal -= 360.0 * Math.floor(retVal / 360.0);
+        return retVal;
+    }
+
+    public double estimatedIncrementOfSiderealTimeRadPerDay() {
+        return estimatedIncrementOfSiderealTimeRadPerDay(this.instant.toEpochMilli());
+    }
+
+    @SuppressWarnings({"SameReturnValue", "unused"})
+    public static double estimatedIncrementOfSiderealTimeRadPerDay(long epochMilli) {
+        // 1.0027379 * 2 * pi
+        return 6.30038804023211344976;
+    }
+
+
+    /**
+     * Calculates mean solar time.
+     * This function dismisses the difference between UTC and UT1, which would be up to 0.9sec in the operation of leap seconds.
+     * @param locationOnTheEarth Target location
+     * @return Mean solar time
+     */
+    public ZonedDateTime calculateMeanSolarTime(LocationOnTheEarth locationOnTheEarth) {
+        return instant.plusMillis((long)(locationOnTheEarth.getLongitudeDeg() * 240000.0)).atZone(ZoneId.of("UTC"));
+    }
+
+    /**
+     * Calculates apparent solar time.
+     * This function dismisses the difference between UTC and UT1, which would be up to 0.9sec in the operation of leap seconds.
+     * @param locationOnTheEarth Target location
+     * @return Apparent solar time
+     */
+    public ZonedDateTime calculateApparentSolarTime(LocationOnTheEarth locationOnTheEarth) throws UnsupportedDateRangeException, AstronomicalPhenomenonComputationException {
+        return this.calculateMeanSolarTime(locationOnTheEarth).plusNanos((long) (new Sun().calculateEquationOfTimeSec(this.instant) * 1000000000.0));
+    }
+}
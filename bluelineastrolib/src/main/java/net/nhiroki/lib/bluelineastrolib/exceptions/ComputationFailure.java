@@ -0,0 +1,28 @@
+package net.nhiroki.lib.bluelineastrolib.exceptions;
+
+/**
+ * Unchecked exception carrying the checked exceptions of the computation out of the tasks of ForkJoinPool.<br>
+ * The caller of the pool catches this and calls rethrowCause() to throw the original exception.
+ */
+public class ComputationFailure extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public ComputationFailure(Exception cause) {
+        super(cause);
+    }
+
+    /**
+     * Throws the exception thrown in the task.
+     */
+    public void rethrowCause() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        // ForkJoinPool may wrap the exception thrown in other thread again
+        Throwable cause = this.getCause();
+        while (cause instanceof ComputationFailure) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof UnsupportedDateRangeException) {
+            throw (UnsupportedDateRangeException) cause;
+        }
+        throw (AstronomicalPhenomenonComputationException) cause;
+    }
+}
@@ -0,0 +1,30 @@
+package net.nhiroki.lib.bluelineastrolib.logic;
+
+import java.time.Instant;
+
+
+/**
+ * A rise, culmination, or set of an astronomical object at a certain time.
+ */
+public class AstronomicalEvent {
+    private final AstronomicalEventsCalculation.EventDirectionType eventDirectionType;
+    private final Instant time;
+
+
+    public AstronomicalEvent(AstronomicalEventsCalculation.EventDirectionType eventDirectionType, Instant time) {
+        this.eventDirectionType = eventDirectionType;
+        this.time = time;
+    }
+
+    public AstronomicalEventsCalculation.EventDirectionType getEventDirectionType() {
+        return eventDirectionType;
+    }
+
+    public Instant getTime() {
+        return time;
+    }
+
+    public String toString() {
+        return String.format("AstronomicalEvent{eventDirectionType=%s, time=%s}", eventDirectionType, time);
+    }
+}
@@ -0,0 +1,1195 @@
+package net.nhiroki.lib.bluelineastrolib.logic;
+
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.AstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.PrecisionProfile;
+import net.nhiroki.lib.bluelineastrolib.coordinates.HorizontalCoordinatesFromTheCenterOfTheEarth;
+import net.nhiroki.lib.bluelineastrolib.earth.Earth;
+import net.nhiroki.lib.bluelineastrolib.earth.SiderealTimeStepper;
+import net.nhiroki.lib.bluelineastrolib.earth.TimePointOnTheEarth;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+import net.nhiroki.lib.bluelineastrolib.coordinates.LocationOnTheEarth;
+import net.nhiroki.lib.bluelineastrolib.coordinates.Observer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+
+
+public class AstronomicalEventsCalculation {
+    public enum EventDirectionType { RISE, CULMINATION, SET }
+    public enum ReferencePoint { TOP, CENTER, BOTTOM }
+    public enum TwilightEventType { ASTRONOMICAL_DAWN, NAUTICAL_DAWN, CIVIL_DAWN, SUNRISE, SUNSET, CIVIL_DUSK, NAUTICAL_DUSK, ASTRONOMICAL_DUSK }
+
+    // Elevations of the center of the Sun defining the twilights, without refraction of the air
+    public static final double CIVIL_TWILIGHT_SUN_ELEVATION_DEG = -6.0;
+    public static final double NAUTICAL_TWILIGHT_SUN_ELEVATION_DEG = -12.0;
+    public static final double ASTRONOMICAL_TWILIGHT_SUN_ELEVATION_DEG = -18.0;
+
+    // TwilightEventType.values() returns a new array for each call
+    private static final int TWILIGHT_EVENT_TYPE_COUNT = TwilightEventType.values().length;
+
+
+    /**
+     * Return time of rise of {@code astronomialObject} from within 24 hours.<br>
+     * <ul>
+     *   <li>If not happens within 24 hours, returns null.</li>
+     *   <li>If it happens multiple times, it is not guaranteed which is returned.</li>
+     * </ul>
+     *
+     * This function assumes that:<br>
+     * <ul>
+     *   <li>{@code astronomicalObject} does not behave so dramatically in the equatorial coordinate system. Sun goes around once in a year, and moon in about a month, they are OK.</li>
+     *   <li>Event is expected to happen about once in 24 hours.</li>
+     * </ul>
+     *
+     * @param astronomicalObject Target astronomical object
+     * @param start              Start point of calculation
+     * @param locationOnTheEarth Target location
+     * @param horizonByElevation If true, horizon with regard of height is standard of rise/set. If false, horizon is handled as 0 degree height.
+     * @param referencePoint     Which rim or center to refer
+     * @return TIme of the rise, or null if not within 24 hours
+     */
+    public static Instant calculateRiseWithin24h(AstronomicalObject astronomicalObject, Instant start,
+                                                 LocationOnTheEarth locationOnTheEarth, boolean horizonByElevation,
+                                                 ReferencePoint referencePoint) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        return calculateEventWithin24h(astronomicalObject, EventDirectionType.RISE, start, locationOnTheEarth, horizonByElevation, referencePoint,
+                true, -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0)
+        );
+    }
+
+    /**
+     * Return time of set of {@code estronomialObject} from within 24 hours.<br>
+     * <ul>
+     *   <li>If not happens within 24 hours, returns null.</li>
+     *   <li>If it happens multiple times, it is not guaranteed which is returned.</li>
+     * </ul>
+     *
+     * This function assumes that:<br>
+     * <ul>
+     *   <li>{@code astronomicalObject} does not behave so dramatically in the equatorial coordinate system. Sun goes around once in a year, and moon in about a month, they are OK.</li>
+     *   <li>Event is expected to happen about once in 24 hours.</li>
+     * </ul>
+     *
+     * @param astronomicalObject Target astronomical object
+     * @param start              Start point of calculation
+     * @param locationOnTheEarth Target location
+     * @param horizonByElevation If true, horizon with regard of height is standard of rise/set. If false, horizon is handled as 0 degree height.
+     * @param referencePoint     Which rim or center to refer
+     * @return Time of the set, or null if not within 24 hours
+     */
+    public static Instant calculateSetWithin24h(AstronomicalObject astronomicalObject, Instant start,
+                                                LocationOnTheEarth locationOnTheEarth, boolean horizonByElevation,
+                                                ReferencePoint referencePoint) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        return calculateEventWithin24h(astronomicalObject, EventDirectionType.SET, start, locationOnTheEarth, horizonByElevation, referencePoint,
+                true, -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0)
+        );
+    }
+
+    /**
+     * Return time of culmination of {@code astronomialObject} from within 24 hours.<br>
+     * <ul>
+     *   <li>If not happens within 24 hours, returns null.</li>
+     *   <li>If it happens multiple times, it is not guaranteed which is returned.</li>
+     * </ul>
+     *
+     * This function assumes that:<br>
+     * <ul>
+     *   <li>{@code astronomicalObject} does not behave so dramatically in the equatorial coordinate system. Sun goes around once in a year, and moon in about a month, they are OK.</li>
+     *   <li>Event is expected to happen about once in 24 hours.</li>
+     * </ul>
+     *
+     * @param astronomicalObject Target astronomical object
+     * @param start              Start point of calculation
+     * @param locationOnTheEarth Target location
+     * @return Time of the culmination, or null if not within 24 hours
+     */
+    public static Instant calculateCulminationWithin24h(AstronomicalObject astronomicalObject, Instant start,
+                                                        LocationOnTheEarth locationOnTheEarth) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        return calculateEventWithin24h(astronomicalObject, EventDirectionType.CULMINATION, start, locationOnTheEarth, false, ReferencePoint.CENTER,
+                true, 0.0
+        );
+    }
+
+    /**
+     * Returns all rises, culminations and sets of {@code astronomicalObject} from the start of {@code from} to the end of {@code to} in {@code zoneId}, in the order of time.<br>
+     * <br>
+     * This gives the same result as calling calculateRiseWithin24h, calculateCulminationWithin24h and calculateSetWithin24h for each day, but faster:
+     * <ul>
+     *   <li>Each event is computed starting from the previous event of the same type plus one synodic day of the object (about 24 hours for the sun, about 24 hours 50 minutes for the moon), which is usually close enough to finish in one or two iterations.</li>
+     *   <li>Days without the event (e.g. moon culmination once in about a month) or days with two events (e.g. 25-hour days by DST) are handled by following the events one by one, not by falling back to the slow path.</li>
+     * </ul>
+     * If the next event cannot be followed from the previous one (e.g. polar night or midnight sun), this function falls back to calculateEventWithin24h for each 24 hours until the event is found again.
+     *
+     * @param astronomicalObject Target astronomical object
+     * @param from               First date of calculation
+     * @param to                 Last date of calculation (inclusive)
+     * @param zoneId             Time zone to decide the start and the end of each date
+     * @param locationOnTheEarth Target location
+     * @param horizonByElevation If true, horizon with regard of height is standard of rise/set. If false, horizon is handled as 0 degree height.
+     * @param referencePoint     Which rim or center to refer for rise/set
+     * @return Array of events ordered by time. Empty if no event happens.
+     */
+    public static AstronomicalEvent[] calculateEventsBetween(final AstronomicalObject astronomicalObject,
+                                                             final LocalDate from, final LocalDate to, final ZoneId zoneId,
+                                                             final LocationOnTheEarth locationOnTheEarth,
+                                                             final boolean horizonByElevation,
+                                                             final ReferencePoint referencePoint) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        return calculateEventsBetween(astronomicalObject, from, to, zoneId, Observer.of(locationOnTheEarth), horizonByElevation, referencePoint, PrecisionProfile.DEFAULT);
+    }
+
+    /**
+     * Same as calculateEventsBetween() taking LocationOnTheEarth, but takes Observer prepared for the location and computes with {@code precisionProfile}.
+     *
+     * @param astronomicalObject Target astronomical object
+     * @param from               First date of calculation
+     * @param to                 Last date of calculation (inclusive)
+     * @param zoneId             Time zone to decide the start and the end of each date
+     * @param observer           Target location
+     * @param horizonByElevation If true, horizon with regard of height is standard of rise/set. If false, horizon is handled as 0 degree height.
+     * @param referencePoint     Which rim or center to refer for rise/set
+     * @param precisionProfile   Precision of the calculation
+     * @return Array of events ordered by time. Empty if no event happens.
+     */
+    public static AstronomicalEvent[] calculateEventsBetween(final AstronomicalObject astronomicalObject,
+                                                             final LocalDate from, final LocalDate to, final ZoneId zoneId,
+                                                             final Observer observer,
+                                                             final boolean horizonByElevation,
+                                                             final ReferencePoint referencePoint,
+                                                             final PrecisionProfile precisionProfile) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final Instant rangeEnd = to.plusDays(1).atStartOfDay(zoneId).toInstant();
+        final double refractionAtHorizonRad = -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0);
+
+        ArrayList<AstronomicalEvent> ret = new ArrayList<>();
+        followEventsBetween(ret, astronomicalObject, EventDirectionType.RISE, from, zoneId, rangeEnd, observer,
+                horizonByElevation, referencePoint, true, refractionAtHorizonRad, precisionProfile);
+        followEventsBetween(ret, astronomicalObject, EventDirectionType.CULMINATION, from, zoneId, rangeEnd, observer,
+                false, ReferencePoint.CENTER, true, 0.0, precisionProfile);
+        followEventsBetween(ret, astronomicalObject, EventDirectionType.SET, from, zoneId, rangeEnd, observer,
+                horizonByElevation, referencePoint, true, refractionAtHorizonRad, precisionProfile);
+
+        // List.sort is stable, so events at exactly the same time keep the order of rise, culmination, and set
+        ret.sort(Comparator.comparing(AstronomicalEvent::getTime));
+        return ret.toArray(new AstronomicalEvent[0]);
+    }
+
+    /**
+     * Returns the time of specified event within 24 hours from {@code start}.
+     * <ul>
+     *   <li>If not happens within 24 hours, returns null.</li>
+     *   <li>If it happens multiple times, it is not guaranteed which is returned.</li>
+     * </ul>
+     * This function assumes that:<br>
+     * <ul>
+     *   <li>{@code astronomicalObject} does not behave so dramatically in the equatorial coordinate system. Sun goes around once in a year, and moon in about a month, they are OK.</li>
+     *   <li>Event is expected to happen about once in 24 hours.</li>
+     * </ul>
+     * Unlike calculateAllEvents, if the assumptions above do not hold, it may happen to miss the event which actually happens.
+     * This function is usually faster than calculateAllEvents, but sometimes it falls back to calculateAllEvents.
+     *
+     * @param astronomicalObject Target astronomical object
+     * @param eventDirectionType Rise, set, or culmination
+     * @param start Start point of calculation. 24 hours from {@code start} will be the scope of calculation.
+     * @param locationOnTheEarth Target location
+     * @param horizonByElevation If set true, horizon is a bit below the horizontal 0 degrees, with considering horizontal of {@code locationOnTheEarth}.
+     * @param referencePoint Which point (top/center/bottom) of the {@code astronomicalObject} should be the reference
+     * @param considerEquatorialHorizontalParallax Whether equatorial horizontal parallax should be considered into the calculation. Set true if unsure.
+     * @param heightStandardRad The standard height to be considered as rise/set, including refraction of the air.
+     * @return Time of the event, or null if not within 24 hours
+     */
+    public static Instant calculateEventWithin24h(final AstronomicalObject astronomicalObject,
+                                                   final EventDirectionType eventDirectionType,
+                                                   final Instant start,
+                                                   final LocationOnTheEarth locationOnTheEarth,
+                                                   final boolean horizonByElevation, final ReferencePoint referencePoint,
+                                                   final boolean considerEquatorialHorizontalParallax,
+                                                   final double heightStandardRad) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final double ret = calculateEventWithin24h(astronomicalObject, eventDirectionType, start.toEpochMilli(), Observer.of(locationOnTheEarth), horizonByElevation, referencePoint,
+                considerEquatorialHorizontalParallax, heightStandardRad, PrecisionProfile.DEFAULT);
+        if (Double.isNaN(ret)) {
+            return null;
+        }
+        return instantOfEpochMilli(ret);
+    }
+
+    /**
+     * Same as calculateEventWithin24h() taking Instant, but takes and returns time in milliseconds from the epoch not to allocate objects in the calculation,
+     * and takes Observer prepared for the location, to compute many events at the same location without converting the location each time.
+     * Tolerance and scan interval of the calculation are given by {@code precisionProfile}.
+     *
+     * @param astronomicalObject Target astronomical object
+     * @param eventDirectionType Rise, set, or culmination
+     * @param start Start point of calculation in milliseconds from the epoch. 24 hours from {@code start} will be the scope of calculation.
+     * @param observer Target location
+     * @param horizonByElevation If set true, horizon is a bit below the horizontal 0 degrees, with considering horizontal of {@code observer}.
+     * @param referencePoint Which point (top/center/bottom) of the {@code astronomicalObject} should be the reference
+     * @param considerEquatorialHorizontalParallax Whether equatorial horizontal parallax should be considered into the calculation. Set true if unsure.
+     * @param heightStandardRad The standard height to be considered as rise/set, including refraction of the air.
+     * @param precisionProfile Precision of the calculation
+     * @return Time of the event in milliseconds from the epoch, or NaN if not within 24 hours
+     */
+    public static double calculateEventWithin24h(final AstronomicalObject astronomicalObject,
+                                                 final EventDirectionType eventDirectionType,
+                                                 final long start,
+                                                 final Observer observer,
+                                                 final boolean horizonByElevation, final ReferencePoint referencePoint,
+                                                 final boolean considerEquatorialHorizontalParallax,
+                                                 final double heightStandardRad,
+                                                 final PrecisionProfile precisionProfile) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final long statisticsStartNanos = EventCalculationStatistics.startCall();
+        try {
+            return solveEventWithin24h(astronomicalObject, eventDirectionType, start, observer, horizonByElevation, referencePoint, considerEquatorialHorizontalParallax, heightStandardRad, precisionProfile);
+        } finally {
+            EventCalculationStatistics.endCall(EventCalculationStatistics.Operation.EVENT_WITHIN_24H, statisticsStartNanos);
+        }
+    }
+
+    private static double solveEventWithin24h(final AstronomicalObject astronomicalObject,
+                                              final EventDirectionType eventDirectionType,
+                                              final long start,
+                                              final Observer observer,
+                                              final boolean horizonByElevation, final ReferencePoint referencePoint,
+                                              final boolean considerEquatorialHorizontalParallax,
+                                              final double heightStandardRad,
+                                              final PrecisionProfile precisionProfile) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final long end = start + 86400000L;
+        final long toleranceMillis = precisionProfile.getToleranceMillis();
+        final double altitudeCorrectionOfHorizonRad = horizonByElevation ? observer.getAltitudeCorrectionOfHorizonRad() : 0.0;
+
+        final int posReference = signOfReferencePoint(referencePoint);
+        int signOfHourAngle = 0;
+        if (eventDirectionType == EventDirectionType.RISE) {
+            signOfHourAngle = -1;
+        } else if (eventDirectionType == EventDirectionType.CULMINATION) {
+            signOfHourAngle = 0;
+        } else if (eventDirectionType == EventDirectionType.SET) {
+            signOfHourAngle = 1;
+        }
+
+        // Values of AstronomicalObject.calculateState() (right ascension, declination, parallax, ...), reused for each evaluation
+        final double[] coordinates = new double[AstronomicalObject.STATE_LENGTH];
+
+        long estimate = start + 43200000L;
+        int loopCount = 0;
+        while (true) {
+            final long estimateAtStartOfThisLoop = estimate;
+            calculateState(astronomicalObject, estimate, coordinates);
+
+            if (++loopCount > 30) {
+                // Falling back to slow path
+                EventCalculationStatistics.count(EventCalculationStatistics.Counter.SLOW_PATH_FALLBACKS_BY_LOOP_LIMIT);
+                break;
+            }
+            EventCalculationStatistics.count(EventCalculationStatistics.Counter.NEWTON_ITERATIONS);
+
+            double targetHourAngle;
+            double centerHeightRad = 0.0;
+            if (eventDirectionType == EventDirectionType.CULMINATION) {
+                targetHourAngle = 0.0;
+            } else {
+                centerHeightRad = calculateActualCenterHeightRad(coordinates, altitudeCorrectionOfHorizonRad, posReference, considerEquatorialHorizontalParallax, heightStandardRad);
+                targetHourAngle = CoordinatesCalculation.calculateHourAngleRadCrossingElevationRad(
+                        centerHeightRad,
+                        coordinates[1],
+                        observer
+                ) * signOfHourAngle;
+            }
+
+            if (Double.isNaN(targetHourAngle)) {
+                EventCalculationStatistics.count(EventCalculationStatistics.Counter.NAN_BRANCH_ENTRIES);
+
+                // Declination envelope: within the window, the declination and the standard height move from the values at @estimate
+                // at most by maximumDeclinationSpeedRadPerDay() per day. If the object cannot reach the standard height anywhere in this envelope,
+                // the event cannot happen, and the evaluations below and the slow path are not needed. This is usual in polar area.
+                final double maximumDistanceDays = Math.max(estimate - start, end - estimate) / 86400000.0;
+                if (calculateMarginFromCrossingRad(coordinates[1], observer.getLatitudeRad(), centerHeightRad) > astronomicalObject.maximumDeclinationSpeedRadPerDay() * maximumDistanceDays) {
+                    EventCalculationStatistics.count(EventCalculationStatistics.Counter.DECLINATION_ENVELOPE_SKIPS);
+                    return Double.NaN;
+                }
+
+                // There are cases:
+                //    Case 1: The slight change of declination on this day does not affect the existence of the event.
+                //      This means this function must return null
+                //    Case 2: The slight change of declination on this day affects the existence of the event.
+                //      Case 2.1: The period that the line with the same declination as the target star cross the horizon continues at least 24 hrs.
+                //        This case start or end has expected value.
+                //      Case 2.2: The period that the line with the same declination as the target star cross the horizon continues less than 24 hrs.
+                //        It happens in polar area.
+                //        In this case, the line goes from below to above, or above from below, the horizon.
+                //        I think crossing and going back does not happen, but not sure.
+
+                // Covering case 2.2
+                double startJudgeHeight = calculateHeightFromStandardRad(start, observer, astronomicalObject, altitudeCorrectionOfHorizonRad, posReference, considerEquatorialHorizontalParallax, heightStandardRad, coordinates);
+                double endJudgeHeight = calculateHeightFromStandardRad(end, observer, astronomicalObject, altitudeCorrectionOfHorizonRad, posReference, considerEquatorialHorizontalParallax, heightStandardRad, coordinates);
+                if ((startJudgeHeight < 0.0 && endJudgeHeight > 0.0 && eventDirectionType == EventDirectionType.RISE) ||
+                        (startJudgeHeight > 0.0 && endJudgeHeight < 0.0 && eventDirectionType == EventDirectionType.SET)) {
+                    return RootRefinement.findZeroCrossing(
+                            t -> {
+                                final long epochMilli = epochMilliOfEpochNanos(t);
+                                return calculateHeightFromStandardRad(epochMilli, observer, astronomicalObject, altitudeCorrectionOfHorizonRad, posReference, considerEquatorialHorizontalParallax, heightStandardRad, coordinates);
+                            },
+                            start * 1e6, startJudgeHeight, end * 1e6, endJudgeHeight, toleranceMillis * 1e6) / 1e6;
+                }
+
+                // Handle case 2.1
+                // We can assume that @sign != 0 because if @sign = 0 we can assume @targetHourAngle never gets NaN, it is just 0.0
+                calculateState(astronomicalObject, start, coordinates);
+                double targetHourAngleAtStart = CoordinatesCalculation.calculateHourAngleRadCrossingElevationRad(
+                        calculateActualCenterHeightRad(coordinates, altitudeCorrectionOfHorizonRad, posReference, considerEquatorialHorizontalParallax, heightStandardRad),
+                        coordinates[1],
+                        observer
+                ) * signOfHourAngle;
+                if (! Double.isNaN(targetHourAngleAtStart)) {
+                    estimate = start;
+                    continue;
+                }
+                calculateState(astronomicalObject, end, coordinates);
+                double targetHourAngleAtEnd = CoordinatesCalculation.calculateHourAngleRadCrossingElevationRad(
+                        calculateActualCenterHeightRad(coordinates, altitudeCorrectionOfHorizonRad, posReference, considerEquatorialHorizontalParallax, heightStandardRad),
+                        coordinates[1],
+                        observer
+                ) * signOfHourAngle;
+                if (! Double.isNaN(targetHourAngleAtEnd)) {
+                    estimate = end;
+                    continue;
+                }
+
+                // Line of the declinations at each of start, mid, and end does not cross the expected horizon.
+                // If the declination has a peak on other time between start and end, which is peak in minus area in valley at plus area,
+                // and if the object rises at that time, there may be an event.
+                //
+                // But declination of sun does not have peak in minus area or valley in plus area.
+                // And for other planets, even if there is peak or valley and the astronomical object shows within the change of declination within 12 hours,
+                // it would show a little bit within the change of declination, and go back again soon (rise and set soon or set and rise soon).
+                //
+                // This function assumes that @astronomicalObject does not move so dramatically in the equatorial coordinate system.
+                // Therefore, returning as this does not happen, rather than going to slow path.
+                // Caller must use other functions like calculateAllEvents if this would be a problem.
+                return Double.NaN;
+            }
+
+            final double hourAngleRad = TimePointOnTheEarth.calculateSiderealTimeRad(estimate, observer.getLongitudeRad()) - coordinates[0];
+
+            double diffFromNow = targetHourAngle - hourAngleRad;
+            diffFromNow -= 2.0 * Math.PI * Math.floor(diffFromNow / (2.0 * Math.PI));
+            final double hourAnglePerDay = TimePointOnTheEarth.estimatedIncrementOfSiderealTimeRadPerDay(estimate) - coordinates[AstronomicalObject.STATE_INCREMENT_OF_RIGHT_ASCENSION_PER_DAY];
+
+            final double diffFromNowSeconds = diffFromNow / hourAnglePerDay * 86400.0;
+
+            long estimateNext = estimate + (long) (diffFromNowSeconds * 1000.0);
+            long estimatePrev = estimateNext - (long) (2.0 * Math.PI / hourAnglePerDay * 86400000.0);
+
+            if (hourAnglePerDay < 0.0) {
+                estimatePrev = estimate + (long) (diffFromNowSeconds * 1000.0);
+                estimateNext = estimateNext + (long) (2.0 * Math.PI / (-hourAnglePerDay) * 86400000.0);
+            }
+
+            if (estimateNext < end && estimatePrev > start) {
+                if (estimateAtStartOfThisLoop - estimatePrev < estimateNext - estimateAtStartOfThisLoop) {
+                    estimate = estimatePrev;
+                } else {
+                    estimate = estimateNext;
+                }
+            } else if (estimateNext < end) {
+                estimate = estimateNext;
+            } else if (estimatePrev > start) {
+                estimate = estimatePrev;
+            } else {
+                // fall back to slow path
+                EventCalculationStatistics.count(EventCalculationStatistics.Counter.SLOW_PATH_FALLBACKS_BY_ESTIMATE_OUT_OF_WINDOW);
+                break;
+            }
+
+            if (Math.abs(estimate - estimateAtStartOfThisLoop) < toleranceMillis) {
+                return estimate;
+            }
+        }
+
+        // Slow path, only the first event is needed
+        final double[] result = new double[1];
+        final int eventCount = calculateAllEvents(astronomicalObject, eventDirectionType,
+                start, end, precisionProfile.getScanIntervalMillis(), (double) toleranceMillis,
+                observer, horizonByElevation, referencePoint, considerEquatorialHorizontalParallax, heightStandardRad, result);
+
+        if (eventCount == 0) {
+            return Double.NaN;
+        } else {
+            return result[0];
+        }
+    }
+
+    /**
+     * Return time of the first event of {@code astronomicalObject} after {@code from}, searching up to {@code maxSearch}.<br>
+     * This is for finding the end of polar night or midnight sun (e.g. the next sunrise when the Sun does not rise today).<br>
+     * <br>
+     * While the object cannot cross the standard height at its declination, the time until it may become possible is estimated
+     * from the margin and maximumDeclinationSpeedRadPerDay(), and skipped at once instead of searching day by day.
+     * Otherwise, the time is searched by each part between the upper and lower culminations, judging the crossing from the elevations at the ends of the part.
+     * Unlike searching each 24 hours by calculateEventWithin24h(), this does not fall into the slow path on the days the object barely reaches the horizon.
+     * Culmination is searched by calculateEventWithin24h(), as it always happens.
+     *
+     * @param astronomicalObject Target astronomical object
+     * @param eventDirectionType Rise, set, or culmination
+     * @param from Start point of search
+     * @param locationOnTheEarth Target location
+     * @param horizonByElevation If set true, horizon is a bit below the horizontal 0 degrees, with considering horizontal of {@code locationOnTheEarth}.
+     * @param referencePoint Which point (top/center/bottom) of the {@code astronomicalObject} should be the reference
+     * @param maxSearch Maximum duration to search
+     * @return Time of the event, or null if not within {@code maxSearch}
+     */
+    public static Instant findNextEvent(final AstronomicalObject astronomicalObject,
+                                        final EventDirectionType eventDirectionType,
+                                        final Instant from,
+                                        final LocationOnTheEarth locationOnTheEarth,
+                                        final boolean horizonByElevation, final ReferencePoint referencePoint,
+                                        final Duration maxSearch) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final double ret = findNextEvent(astronomicalObject, eventDirectionType, from.toEpochMilli(), Observer.of(locationOnTheEarth), horizonByElevation, referencePoint,
+                maxSearch.toMillis(), PrecisionProfile.DEFAULT);
+        if (Double.isNaN(ret)) {
+            return null;
+        }
+        return instantOfEpochMilli(ret);
+    }
+
+    /**
+     * Same as findNextEvent() taking Instant, but takes and returns time in milliseconds from the epoch not to allocate objects in the calculation,
+     * and takes Observer prepared for the location. Tolerance of the calculation is given by {@code precisionProfile}.
+     *
+     * @param astronomicalObject Target astronomical object
+     * @param eventDirectionType Rise, set, or culmination
+     * @param from Start point of search in milliseconds from the epoch
+     * @param observer Target location
+     * @param horizonByElevation If set true, horizon is a bit below the horizontal 0 degrees, with considering horizontal of {@code observer}.
+     * @param referencePoint Which point (top/center/bottom) of the {@code astronomicalObject} should be the reference
+     * @param maxSearchMillis Maximum duration to search in milliseconds
+     * @param precisionProfile Precision of the calculation
+     * @return Time of the event in milliseconds from the epoch, or NaN if not within {@code maxSearchMillis}
+     */
+    public static double findNextEvent(final AstronomicalObject astronomicalObject,
+                                       final EventDirectionType eventDirectionType,
+                                       final long from,
+                                       final Observer observer,
+                                       final boolean horizonByElevation, final ReferencePoint referencePoint,
+                                       final long maxSearchMillis,
+                                       final PrecisionProfile precisionProfile) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final long statisticsStartNanos = EventCalculationStatistics.startCall();
+        try {
+            return solveNextEvent(astronomicalObject, eventDirectionType, from, observer, horizonByElevation, referencePoint, maxSearchMillis, precisionProfile);
+        } finally {
+            EventCalculationStatistics.endCall(EventCalculationStatistics.Operation.FIND_NEXT_EVENT, statisticsStartNanos);
+        }
+    }
+
+    private static double solveNextEvent(final AstronomicalObject astronomicalObject,
+                                         final EventDirectionType eventDirectionType,
+                                         final long from,
+                                         final Observer observer,
+                                         final boolean horizonByElevation, final ReferencePoint referencePoint,
+                                         final long maxSearchMillis,
+                                         final PrecisionProfile precisionProfile) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final long searchEnd = from + maxSearchMillis;
+        final double heightStandardRad = -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0);
+
+        if (eventDirectionType == EventDirectionType.CULMINATION) {
+            for (long now = from; now < searchEnd; now += 86399000L) {
+                final double event = calculateEventWithin24h(astronomicalObject, eventDirectionType, now, observer, horizonByElevation, referencePoint, true, heightStandardRad, precisionProfile);
+                if (! Double.isNaN(event) && event >= from) {
+                    return event <= searchEnd ? event : Double.NaN;
+                }
+            }
+            return Double.NaN;
+        }
+
+        final double altitudeCorrectionOfHorizonRad = horizonByElevation ? observer.getAltitudeCorrectionOfHorizonRad() : 0.0;
+        final int posReference = signOfReferencePoint(referencePoint);
+        final double latitudeRad = observer.getLatitudeRad();
+        final double signOfDirection = eventDirectionType == EventDirectionType.RISE ? 1.0 : -1.0;
+
+        // Values of AstronomicalObject.calculateState() (right ascension, declination, parallax, ...), reused for each evaluation
+        final double[] coordinates = new double[AstronomicalObject.STATE_LENGTH];
+
+        // Search goes through the parts between the upper and lower culminations, where the object only goes up or only goes down,
+        // so that the crossing is found from the elevations at the ends of each part even when the object barely reaches the horizon.
+        long partStart = from;
+        double hourAngleAtPartStart = calculateHourAngleAndStateRad(partStart, observer, astronomicalObject, coordinates);
+        double declinationAtPartStart = coordinates[1];
+        double centerHeightAtPartStart = calculateActualCenterHeightRad(coordinates, altitudeCorrectionOfHorizonRad, posReference, true, heightStandardRad);
+        double incrementOfRightAscensionAtPartStart = coordinates[AstronomicalObject.STATE_INCREMENT_OF_RIGHT_ASCENSION_PER_DAY];
+
+        while (partStart < searchEnd) {
+            // The margin cannot reach 0 before this, as the declination and the standard height move at most maximumDeclinationSpeedRadPerDay() per day.
+            final double margin = calculateMarginFromCrossingRad(declinationAtPartStart, latitudeRad, centerHeightAtPartStart);
+            final long skippableMillis = calculateSkippableMillis(margin, astronomicalObject.maximumDeclinationSpeedRadPerDay());
+            if (skippableMillis > 43200000L) {
+                EventCalculationStatistics.count(EventCalculationStatistics.Counter.DECLINATION_ENVELOPE_SKIPS);
+                // Skipping beyond the end is clamped, not to overflow when the object never reaches the standard height
+                partStart += Math.min(skippableMillis, searchEnd - partStart);
+                hourAngleAtPartStart = calculateHourAngleAndStateRad(partStart, observer, astronomicalObject, coordinates);
+                declinationAtPartStart = coordinates[1];
+                centerHeightAtPartStart = calculateActualCenterHeightRad(coordinates, altitudeCorrectionOfHorizonRad, posReference, true, heightStandardRad);
+                incrementOfRightAscensionAtPartStart = coordinates[AstronomicalObject.STATE_INCREMENT_OF_RIGHT_ASCENSION_PER_DAY];
+                continue;
+            }
+
+            final double hourAnglePerDay = TimePointOnTheEarth.estimatedIncrementOfSiderealTimeRadPerDay(partStart) - incrementOfRightAscensionAtPartStart;
+
+            // The part ends at the next culmination, upper (hour angle 0) or lower (hour angle pi)
+            final double hourAngleFromPartStart = hourAngleAtPartStart - Math.floor(hourAngleAtPartStart / (2.0 * Math.PI)) * 2.0 * Math.PI;
+            final double targetHourAngle = hourAngleFromPartStart < Math.PI ? Math.PI : 2.0 * Math.PI;
+            long partEnd = partStart + (long) ((targetHourAngle - hourAngleFromPartStart) / hourAnglePerDay * 86400000.0);
+            // Making progress even if the part start is just before the culmination
+            partEnd = Math.min(Math.max(partEnd, partStart + 1000L), searchEnd);
+
+            final double hourAngleAtPartEnd = calculateHourAngleAndStateRad(partEnd, observer, astronomicalObject, coordinates);
+            final double declinationAtPartEnd = coordinates[1];
+            final double centerHeightAtPartEnd = calculateActualCenterHeightRad(coordinates, altitudeCorrectionOfHorizonRad, posReference, true, heightStandardRad);
+            final double incrementOfRightAscensionAtPartEnd = coordinates[AstronomicalObject.STATE_INCREMENT_OF_RIGHT_ASCENSION_PER_DAY];
+
+            final double judgeHeightAtPartStart = (HorizontalCoordinatesFromTheCenterOfTheEarth.calculateElevationRad(hourAngleAtPartStart, declinationAtPartStart, observer) - centerHeightAtPartStart) * signOfDirection;
+            final double judgeHeightAtPartEnd = (HorizontalCoordinatesFromTheCenterOfTheEarth.calculateElevationRad(hourAngleAtPartEnd, declinationAtPartEnd, observer) - centerHeightAtPartEnd) * signOfDirection;
+            if (judgeHeightAtPartStart <= 0.0 && judgeHeightAtPartEnd > 0.0) {
+                final double estimate = refineEventFromEstimate(astronomicalObject, eventDirectionType, partStart + (partEnd - partStart) / 2, hourAnglePerDay,
+                        observer, altitudeCorrectionOfHorizonRad, posReference, true, heightStandardRad, (int) -signOfDirection, precisionProfile.getToleranceMillis(), coordinates);
+                if (! Double.isNaN(estimate) && estimate >= partStart && estimate <= partEnd) {
+                    return estimate;
+                }
+
+                // The declination changes whether the standard height is reached, which happens around the culmination in polar area
+                return RootRefinement.findZeroCrossing(
+                        t -> {
+                            final long epochMilli = epochMilliOfEpochNanos(t);
+                            return calculateHeightFromStandardRad(epochMilli, observer, astronomicalObject, altitudeCorrectionOfHorizonRad, posReference, true, heightStandardRad, coordinates) * signOfDirection;
+                        },
+                        partStart * 1e6, judgeHeightAtPartStart, partEnd * 1e6, judgeHeightAtPartEnd, precisionProfile.getToleranceMillis() * 1e6) / 1e6;
+            }
+
+            partStart = partEnd;
+            hourAngleAtPartStart = hourAngleAtPartEnd;
+            declinationAtPartStart = declinationAtPartEnd;
+            centerHeightAtPartStart = centerHeightAtPartEnd;
+            incrementOfRightAscensionAtPartStart = incrementOfRightAscensionAtPartEnd;
+        }
+
+        return Double.NaN;
+    }
+
+    /**
+     * Return time of the all events from {@code start} to {@code end} in the correct order.<br>
+     * This is slow function that iterates from {@code start} to {@code end} with the specified {@code interval}.<br>
+     * Thus, if there is a case like that the object rise and then set within {@code interval} or vice versa, the event may be missed.<br>
+     * For rise and set, the time while the object is too far from the horizon to reach it is skipped, based on AstronomicalObject.maximumAngularSpeedRadPerDay()
+     * and the latitude. Events apart from each other more than {@code interval} are still not missed.<br>
+     *
+     * @param astronomicalObject Target astronomical object
+     * @param eventDirectionType Rise, set, or culmination
+     * @param start Start point of calculation
+     * @param end End point of calculation
+     * @param interval Interval of calculation. If the object shows/hides only less than this interval, the event may be ignored.
+     * @param precision Expected precision of calculation. When the expected error is less than precision, calculation is finished.
+     * @param locationOnTheEarth Target location
+     * @param horizonByElevation If set true, horizon is a bit below the horizontal 0 degrees, with considering horizontal of {@code locationOnTheEarth}.
+     * @param referencePoint Which point (top/center/bottom) of the @astronomicalObject should be the reference
+     * @param considerEquatorialHorizontalParallax Whether equatorial horizontal parallax should be considered into the calculation. Set true if unsure.
+     * @param heightStandardRad The standard height to be considered as rise/set, including refraction of the air.
+     * @return Array of times of event. Empty if the event does not happen.
+     */
+    public static Instant[] calculateAllEvents(final AstronomicalObject astronomicalObject,
+                                               final EventDirectionType eventDirectionType,
+                                               final Instant start, final Instant end, final Duration interval, final Duration precision,
+                                               final LocationOnTheEarth locationOnTheEarth,
+                                               final boolean horizonByElevation, final ReferencePoint referencePoint,
+                                               final boolean considerEquatorialHorizontalParallax,
+                                               final double heightStandardRad) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final long startEpochMilli = start.toEpochMilli();
+        final long endEpochMilli = end.toEpochMilli();
+        final long intervalMillis = Math.max(1L, interval.toMillis());
+        final double precisionMillis = precision.toNanos() / 1e6;
+
+        // Events usually happen at most about once a day, and the calculation is done again only if this was not enough
+        double[] eventEpochMillis = new double[(int) Math.max(0L, (endEpochMilli - startEpochMilli) / 86400000L) + 2];
+        final Observer observer = Observer.of(locationOnTheEarth);
+        final int eventCount = calculateAllEvents(astronomicalObject, eventDirectionType, startEpochMilli, endEpochMilli, intervalMillis, precisionMillis,
+                observer, horizonByElevation, referencePoint, considerEquatorialHorizontalParallax, heightStandardRad, eventEpochMillis);
+        if (eventCount > eventEpochMillis.length) {
+            eventEpochMillis = new double[eventCount];
+            calculateAllEvents(astronomicalObject, eventDirectionType, startEpochMilli, endEpochMilli, intervalMillis, precisionMillis,
+                    observer, horizonByElevation, referencePoint, considerEquatorialHorizontalParallax, heightStandardRad, eventEpochMillis);
+        }
+
+        Instant[] retArray = new Instant[eventCount];
+        for (int i = 0; i < eventCount; ++i) {
+            retArray[i] = instantOfEpochMilli(eventEpochMillis[i]);
+        }
+        return retArray;
+    }
+
+    /**
+     * Same as calculateAllEvents() taking Instant, but takes and returns time in milliseconds from the epoch not to allocate objects in the calculation,
+     * and takes Observer prepared for the location.<br>
+     * Times of the events are stored into {@code eventEpochMillis} up to its length, and the number of all events is returned.
+     * If the returned value is larger than the length of {@code eventEpochMillis}, events after that are not stored (and not refined, which is faster).
+     *
+     * @param astronomicalObject Target astronomical object
+     * @param eventDirectionType Rise, set, or culmination
+     * @param start Start point of calculation in milliseconds from the epoch
+     * @param end End point of calculation in milliseconds from the epoch
+     * @param intervalMillis Interval of calculation in milliseconds, which must be positive. If the object shows/hides only less than this interval, the event may be ignored.
+     * @param precisionMillis Expected precision of calculation in milliseconds. When the expected error is less than precision, calculation is finished.
+     * @param observer Target location
+     * @param horizonByElevation If set true, horizon is a bit below the horizontal 0 degrees, with considering horizontal of {@code observer}.
+     * @param referencePoint Which point (top/center/bottom) of the @astronomicalObject should be the reference
+     * @param considerEquatorialHorizontalParallax Whether equatorial horizontal parallax should be considered into the calculation. Set true if unsure.
+     * @param heightStandardRad The standard height to be considered as rise/set, including refraction of the air.
+     * @param eventEpochMillis Array to store the times of the events in milliseconds from the epoch, in the order of time
+     * @return Number of the events, which may be larger than the length of {@code eventEpochMillis}
+     */
+    public static int calculateAllEvents(final AstronomicalObject astronomicalObject,
+                                         final EventDirectionType eventDirectionType,
+                                         final long start, final long end, final long intervalMillis, final double precisionMillis,
+                                         final Observer observer,
+                                         final boolean horizonByElevation, final ReferencePoint referencePoint,
+                                         final boolean considerEquatorialHorizontalParallax,
+                                         final double heightStandardRad,
+                                         final double[] eventEpochMillis) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final long statisticsStartNanos = EventCalculationStatistics.startCall();
+        try {
+            return solveAllEvents(astronomicalObject, eventDirectionType, start, end, intervalMillis, precisionMillis, observer, horizonByElevation, referencePoint, considerEquatorialHorizontalParallax, heightStandardRad, eventEpochMillis);
+        } finally {
+            EventCalculationStatistics.endCall(EventCalculationStatistics.Operation.ALL_EVENTS, statisticsStartNanos);
+        }
+    }
+
+    private static int solveAllEvents(final AstronomicalObject astronomicalObject,
+                                      final EventDirectionType eventDirectionType,
+                                      final long start, final long end, final long intervalMillis, final double precisionMillis,
+                                      final Observer observer,
+                                      final boolean horizonByElevation, final ReferencePoint referencePoint,
+                                      final boolean considerEquatorialHorizontalParallax,
+                                      final double heightStandardRad,
+                                      final double[] eventEpochMillis) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final double altitudeCorrectionOfHorizonRad = horizonByElevation ? observer.getAltitudeCorrectionOfHorizonRad() : 0.0;
+        final double precisionNanos = precisionMillis * 1e6;
+
+        // Values of AstronomicalObject.calculateState() (right ascension, declination, parallax, ...), reused for each evaluation
+        final double[] coordinates = new double[AstronomicalObject.STATE_LENGTH];
+        int eventCount = 0;
+
+        if (eventDirectionType == EventDirectionType.CULMINATION) {
+            // Hour angle in [-pi, pi), which is continuous around the culmination
+            final RootRefinement.TimeFunction hourAngleAroundCulmination = t -> normalizeHourAngleAroundZero(calculateHourAngleRad(epochMilliOfEpochNanos(t), observer, astronomicalObject, coordinates));
+
+            double prevHourAngle = 0.0;
+            boolean isFirstOfTheLoop = true;
+            long prevTime = 0L;
+            // Scan advances the sidereal time by the constant rate, only the refinement evaluates it directly
+            final SiderealTimeStepper siderealTimeStepper = new SiderealTimeStepper(start - intervalMillis, intervalMillis, observer.getLongitudeRad());
+            for (long now = start - intervalMillis; now < end; now += intervalMillis, siderealTimeStepper.next()) {
+                calculateCelestialCoordinates(astronomicalObject, now, coordinates);
+                double hourAngle = siderealTimeStepper.getSiderealTimeRad() - coordinates[0];
+                hourAngle -= Math.floor(hourAngle / 2.0 / Math.PI) * 2.0 * Math.PI;
+
+                if (! isFirstOfTheLoop) {
+                    if ((hourAngle < 0.5 * Math.PI && prevHourAngle > 1.5 * Math.PI) ||
+                            (hourAngle > 1.5 * Math.PI && prevHourAngle < 0.5 * Math.PI)) {
+                        if (eventCount < eventEpochMillis.length) {
+                            eventEpochMillis[eventCount] = RootRefinement.findZeroCrossing(hourAngleAroundCulmination,
+                                    prevTime * 1e6, normalizeHourAngleAroundZero(prevHourAngle), now * 1e6, normalizeHourAngleAroundZero(hourAngle), precisionNanos) / 1e6;
+                        }
+                        ++eventCount;
+                    }
+                }
+
+                prevHourAngle = hourAngle;
+                prevTime = now;
+                isFirstOfTheLoop = false;
+            }
+
+        } else {
+            final int posReference = signOfReferencePoint(referencePoint);
+
+            final double signOfDirection = eventDirectionType == EventDirectionType.RISE ? 1.0 : -1.0;
+
+            final RootRefinement.TimeFunction judgeHeight = t -> {
+                final long epochMilli = epochMilliOfEpochNanos(t);
+                return calculateHeightFromStandardRad(epochMilli, observer, astronomicalObject, altitudeCorrectionOfHorizonRad, posReference, considerEquatorialHorizontalParallax, heightStandardRad, coordinates) * signOfDirection;
+            };
+
+            final double maximumJudgeHeightSpeedRadPerDay = calculateMaximumElevationSpeedRadPerDay(astronomicalObject, start, observer);
+
+            long prevTime = 0L;
+            double prevJudgeHeight = 0.0;
+            boolean isFirstOfTheLoop = true;
+            long now = start - intervalMillis;
+            // Scan advances the sidereal time by the constant rate, only the refinement evaluates it directly
+            final SiderealTimeStepper siderealTimeStepper = new SiderealTimeStepper(now, intervalMillis, observer.getLongitudeRad());
+            while (now < end) {
+                double nowJudgeHeight = calculateHeightFromStandardRad(now, siderealTimeStepper.getSiderealTimeRad(), observer, astronomicalObject,
+                        altitudeCorrectionOfHorizonRad, posReference, considerEquatorialHorizontalParallax, heightStandardRad, coordinates) * signOfDirection;
+
+                if (!isFirstOfTheLoop) {
+                    if (prevJudgeHeight < 0.0 && nowJudgeHeight > 0.0) {
+                        if (eventCount < eventEpochMillis.length) {
+                            eventEpochMillis[eventCount] = RootRefinement.findZeroCrossing(judgeHeight, prevTime * 1e6, prevJudgeHeight, now * 1e6, nowJudgeHeight, precisionNanos) / 1e6;
+                        }
+                        ++eventCount;
+                    }
+                }
+
+                prevTime = now;
+                prevJudgeHeight = nowJudgeHeight;
+                isFirstOfTheLoop = false;
+
+                // The judge height cannot reach 0 before this, so no event can be missed by skipping the time.
+                // This makes polar days, where the object stays far from the horizon, much faster.
+                final long skippableMillis = calculateSkippableMillis(Math.abs(nowJudgeHeight), maximumJudgeHeightSpeedRadPerDay);
+                // Skipping beyond the end is clamped, not to overflow when the object never reaches the horizon
+                final long advanceMillis = Math.max(Math.min(skippableMillis, end - now), intervalMillis);
+                now += advanceMillis;
+                siderealTimeStepper.advance(advanceMillis);
+            }
+        }
+
+        return eventCount;
+    }
+
+    /**
+     * Return times of the twilights, sunrise and sunset from {@code start} to {@code end}, found in a single sweep.<br>
+     * <ul>
+     *   <li>Returned array is indexed by TwilightEventType.ordinal(), from the astronomical dawn to the astronomical dusk.</li>
+     *   <li>Each element is the first event of the type within the range, or null if it does not happen (e.g. no astronomical dusk in the summer of high latitude).</li>
+     *   <li>Sunrise and sunset refer to the top of the Sun with refraction of the air, same as calculateRiseWithin24h() with ReferencePoint.TOP.</li>
+     *   <li>Twilights refer to the center of the Sun at the elevations defined by CIVIL/NAUTICAL/ASTRONOMICAL_TWILIGHT_SUN_ELEVATION_DEG, without refraction and the horizon of the elevation.</li>
+     * </ul>
+     *
+     * The range is split at the upper and lower culminations, where the Sun turns between going up and going down except at the poles.
+     * Elevations at the ends of each part are computed once and shared by all the thresholds to judge whether each event happens in the part,
+     * and the events found are refined from the hour angle crossing each threshold, falling back to Brent's method only around the culmination in polar area.<br>
+     * Passing ChebyshevInterpolatedAstronomicalObject as {@code sun} makes the computation much faster, as the Sun is evaluated many times around the same time.
+     *
+     * @param sun The Sun, or its interpolation
+     * @param start Start point of calculation
+     * @param end End point of calculation
+     * @param locationOnTheEarth Target location
+     * @param horizonByElevation If set true, horizon of sunrise and sunset is a bit below the horizontal 0 degrees, with considering horizontal of {@code locationOnTheEarth}.
+     * @return Times of the events indexed by TwilightEventType.ordinal(), null for the events which do not happen
+     */
+    public static Instant[] calculateTwilightEvents(final AstronomicalObject sun, final Instant start, final Instant end,
+                                                    final LocationOnTheEarth locationOnTheEarth,
+                                                    final boolean horizonByElevation) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final double[] eventEpochMillis = new double[TWILIGHT_EVENT_TYPE_COUNT];
+        calculateTwilightEvents(sun, start.toEpochMilli(), end.toEpochMilli(), Observer.of(locationOnTheEarth), horizonByElevation, PrecisionProfile.DEFAULT, eventEpochMillis);
+
+        Instant[] retArray = new Instant[eventEpochMillis.length];
+        for (int i = 0; i < eventEpochMillis.length; ++i) {
+            retArray[i] = Double.isNaN(eventEpochMillis[i]) ? null : instantOfEpochMilli(eventEpochMillis[i]);
+        }
+        return retArray;
+    }
+
+    /**
+     * Same as calculateTwilightEvents() taking Instant, but takes and returns time in milliseconds from the epoch not to allocate objects in the calculation,
+     * and takes Observer prepared for the location. Tolerance of the calculation is given by {@code precisionProfile}.
+     *
+     * @param sun The Sun, or its interpolation
+     * @param start Start point of calculation in milliseconds from the epoch
+     * @param end End point of calculation in milliseconds from the epoch
+     * @param observer Target location
+     * @param horizonByElevation If set true, horizon of sunrise and sunset is a bit below the horizontal 0 degrees, with considering horizontal of {@code observer}.
+     * @param precisionProfile Precision of the calculation
+     * @param eventEpochMillis Array to store the times of the events in milliseconds from the epoch indexed by TwilightEventType.ordinal(), NaN for the events which do not happen.
+     *                         Length must be at least the number of TwilightEventType.
+     */
+    public static void calculateTwilightEvents(final AstronomicalObject sun, final long start, final long end,
+                                               final Observer observer,
+                                               final boolean horizonByElevation,
+                                               final PrecisionProfile precisionProfile,
+                                               final double[] eventEpochMillis) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final long statisticsStartNanos = EventCalculationStatistics.startCall();
+        try {
+            solveTwilightEvents(sun, start, end, observer, horizonByElevation, precisionProfile, eventEpochMillis);
+        } finally {
+            EventCalculationStatistics.endCall(EventCalculationStatistics.Operation.TWILIGHT_EVENTS, statisticsStartNanos);
+        }
+    }
+
+    private static void solveTwilightEvents(final AstronomicalObject sun, final long start, final long end,
+                                            final Observer observer,
+                                            final boolean horizonByElevation,
+                                            final PrecisionProfile precisionProfile,
+                                            final double[] eventEpochMillis) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final int sunriseIndex = TwilightEventType.SUNRISE.ordinal();
+        final double altitudeCorrectionOfHorizonRad = horizonByElevation ? observer.getAltitudeCorrectionOfHorizonRad() : 0.0;
+
+        for (int i = 0; i < TWILIGHT_EVENT_TYPE_COUNT; ++i) {
+            eventEpochMillis[i] = Double.NaN;
+        }
+
+        // Values of AstronomicalObject.calculateState() (right ascension, declination, parallax, ...), reused for each evaluation
+        final double[] coordinates = new double[AstronomicalObject.STATE_LENGTH];
+
+        long partStart = start;
+        double hourAngleAtPartStart = calculateHourAngleRad(partStart, observer, sun, coordinates);
+        double declinationAtPartStart = coordinates[1];
+        double elevationAtPartStart = HorizontalCoordinatesFromTheCenterOfTheEarth.calculateElevationRad(hourAngleAtPartStart, declinationAtPartStart, observer);
+
+        while (partStart < end) {
+            final double hourAnglePerDay = TimePointOnTheEarth.estimatedIncrementOfSiderealTimeRadPerDay(partStart) - sun.estimatedIncrementOfRightAscensionRadPerDay(partStart);
+
+            // The part ends at the next culmination, upper (hour angle 0) or lower (hour angle pi), where the elevation turns.
+            // The estimate is enough, as the elevation hardly changes around the culmination.
+            final double hourAngleFromPartStart = hourAngleAtPartStart - Math.floor(hourAngleAtPartStart / (2.0 * Math.PI)) * 2.0 * Math.PI;
+            final double targetHourAngle = hourAngleFromPartStart < Math.PI ? Math.PI : 2.0 * Math.PI;
+            long partEnd = partStart + (long) ((targetHourAngle - hourAngleFromPartStart) / hourAnglePerDay * 86400000.0);
+            // Making progress even if the part start is just before the culmination
+            partEnd = Math.min(Math.max(partEnd, partStart + 1000L), end);
+
+            final double hourAngleAtPartEnd = calculateHourAngleAndStateRad(partEnd, observer, sun, coordinates);
+            final double declinationAtPartEnd = coordinates[1];
+            final double elevationAtPartEnd = HorizontalCoordinatesFromTheCenterOfTheEarth.calculateElevationRad(hourAngleAtPartEnd, declinationAtPartEnd, observer);
+
+            // Whether each threshold is crossed upward or downward is judged from the elevations, not from the hour angle, as they differ at the poles
+            for (int i = 0; i <= sunriseIndex; ++i) {
+                // Apparent radius and parallax of the Sun hardly change within a part, so the values at the part end are used
+                final double thresholdRad = calculateTwilightThresholdRad(i, coordinates, altitudeCorrectionOfHorizonRad);
+                final double valueAtPartStart = elevationAtPartStart - thresholdRad;
+                final double valueAtPartEnd = elevationAtPartEnd - thresholdRad;
+                final boolean goingUp = valueAtPartStart <= 0.0 && valueAtPartEnd > 0.0;
+                if (! goingUp && ! (valueAtPartStart > 0.0 && valueAtPartEnd <= 0.0)) {
+                    continue;
+                }
+                final int index = goingUp ? i : TWILIGHT_EVENT_TYPE_COUNT - 1 - i;
+                if (! Double.isNaN(eventEpochMillis[index])) {
+                    continue;
+                }
+                eventEpochMillis[index] = refineTwilightEvent(sun,
+                        partStart, hourAngleAtPartStart, declinationAtPartStart, valueAtPartStart,
+                        partEnd, hourAngleAtPartEnd, declinationAtPartEnd, valueAtPartEnd,
+                        hourAnglePerDay, goingUp ? -1.0 : 1.0, thresholdRad, observer, precisionProfile.getToleranceMillis(), coordinates);
+            }
+
+            partStart = partEnd;
+            hourAngleAtPartStart = hourAngleAtPartEnd;
+            declinationAtPartStart = declinationAtPartEnd;
+            elevationAtPartStart = elevationAtPartEnd;
+        }
+    }
+
+    // Elevation of the center of the Sun for the dawn at dawnIndex, which is TwilightEventType.ordinal() from ASTRONOMICAL_DAWN to SUNRISE. Dusks are in the reverse order.
+    private static double calculateTwilightThresholdRad(final int dawnIndex, final double[] coordinates, final double altitudeCorrectionOfHorizonRad) {
+        if (dawnIndex == TwilightEventType.SUNRISE.ordinal()) {
+            return calculateActualCenterHeightRad(coordinates, altitudeCorrectionOfHorizonRad, signOfReferencePoint(ReferencePoint.TOP),
+                    true, -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0));
+        } else if (dawnIndex == TwilightEventType.CIVIL_DAWN.ordinal()) {
+            return calculateActualCenterHeightRad(coordinates, 0.0, 0, true, Math.toRadians(CIVIL_TWILIGHT_SUN_ELEVATION_DEG));
+        } else if (dawnIndex == TwilightEventType.NAUTICAL_DAWN.ordinal()) {
+            return calculateActualCenterHeightRad(coordinates, 0.0, 0, true, Math.toRadians(NAUTICAL_TWILIGHT_SUN_ELEVATION_DEG));
+        } else {
+            return calculateActualCenterHeightRad(coordinates, 0.0, 0, true, Math.toRadians(ASTRONOMICAL_TWILIGHT_SUN_ELEVATION_DEG));
+        }
+    }
+
+    // Refines the crossing of thresholdRad known to be between partStart and partEnd, where the Sun only goes up or only goes down
+    private static double refineTwilightEvent(final AstronomicalObject sun,
+                                              final long partStart, final double hourAngleAtPartStart, final double declinationAtPartStart, final double valueAtPartStart,
+                                              final long partEnd, final double hourAngleAtPartEnd, final double declinationAtPartEnd, final double valueAtPartEnd,
+                                              final double hourAnglePerDay, final double signOfHourAngle, final double thresholdRad,
+                                              final Observer observer, final long toleranceMillis,
+                                              final double[] coordinates) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final double partLengthMillis = (double) (partEnd - partStart);
+
+        // Hour angle crossing the threshold, with the declination linearly interpolated from the ends of the part, which are already computed.
+        // The declination of the Sun is almost linear within a part, so this is usually within seconds from the crossing.
+        long estimate = partStart;
+        final double hourAngleIncrementInPart = normalizeHourAngleAroundZero(hourAngleAtPartEnd - hourAngleAtPartStart - Math.PI) + Math.PI;
+        for (int loopCount = 0; loopCount < 3; ++loopCount) {
+            final double ratio = (estimate - partStart) / partLengthMillis;
+            final double targetHourAngle = CoordinatesCalculation.calculateHourAngleRadCrossingElevationRad(thresholdRad,
+                    declinationAtPartStart + (declinationAtPartEnd - declinationAtPartStart) * ratio, observer) * signOfHourAngle;
+            if (Double.isNaN(targetHourAngle)) {
+                break;
+            }
+            final double diffRad = normalizeHourAngleAroundZero(targetHourAngle - hourAngleAtPartStart - hourAngleIncrementInPart * ratio);
+            estimate = partStart + (long) ((hourAngleIncrementInPart * ratio + diffRad) / hourAngleIncrementInPart * partLengthMillis);
+        }
+
+        for (int loopCount = 0; loopCount < 10 && estimate >= partStart && estimate <= partEnd; ++loopCount) {
+            EventCalculationStatistics.count(EventCalculationStatistics.Counter.NEWTON_ITERATIONS);
+            final double hourAngleRad = calculateHourAngleRad(estimate, observer, sun, coordinates);
+            final double targetHourAngle = CoordinatesCalculation.calculateHourAngleRadCrossingElevationRad(thresholdRad, coordinates[1], observer) * signOfHourAngle;
+            if (Double.isNaN(targetHourAngle)) {
+                break;
+            }
+            final long diffMillis = (long) (normalizeHourAngleAroundZero(targetHourAngle - hourAngleRad) / hourAnglePerDay * 86400000.0);
+            estimate += diffMillis;
+            // The hour angle is almost linear in time, and the drift of the declination within the step is tiny.
+            // Therefore one step from within 10 seconds is precise enough without evaluating again.
+            if (Math.abs(diffMillis) < 10000L) {
+                return estimate;
+            }
+        }
+
+        // The declination changes whether the threshold is reached, which happens around the culmination in polar area
+        return RootRefinement.findZeroCrossing(
+                t -> calculateHeightRad(epochMilliOfEpochNanos(t), observer, sun, coordinates) - thresholdRad,
+                partStart * 1e6, valueAtPartStart, partEnd * 1e6, valueAtPartEnd, toleranceMillis * 1e6) / 1e6;
+    }
+
+    private static void followEventsBetween(final ArrayList<AstronomicalEvent> ret,
+                                            final AstronomicalObject astronomicalObject,
+                                            final EventDirectionType eventDirectionType,
+                                            final LocalDate from, final ZoneId zoneId, final Instant rangeEnd,
+                                            final Observer observer,
+                                            final boolean horizonByElevation, final ReferencePoint referencePoint,
+                                            final boolean considerEquatorialHorizontalParallax,
+                                            final double heightStandardRad,
+                                            final PrecisionProfile precisionProfile) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final double altitudeCorrectionOfHorizonRad = horizonByElevation ? observer.getAltitudeCorrectionOfHorizonRad() : 0.0;
+
+        final int posReference = signOfReferencePoint(referencePoint);
+        int signOfHourAngle = 0;
+        if (eventDirectionType == EventDirectionType.RISE) {
+            signOfHourAngle = -1;
+        } else if (eventDirectionType == EventDirectionType.SET) {
+            signOfHourAngle = 1;
+        }
+
+        // Date to be computed by calculateEventWithin24h in the same way as calling it for each day, when the event cannot be followed from the previous one
+        LocalDate fallbackDate = from;
+        // The next event must be after this, not to return the same event twice
+        Instant minimumNext = null;
+        Instant nextEstimate = null;
+        double hourAnglePerDay = 0.0;
+        // Previous events followed one by one without a gap, latest first, to extrapolate the next one
+        Instant[] followedEvents = new Instant[3];
+        // Values of AstronomicalObject.calculateState() (right ascension, declination, parallax, ...), reused for each evaluation
+        final double[] coordinates = new double[AstronomicalObject.STATE_LENGTH];
+
+        while (true) {
+            Instant event = null;
+            // Whether coordinates has the values at the last step of refineEventFromEstimate() for the event
+            boolean refinedFromEstimate = false;
+            if (nextEstimate != null) {
+                final double refined = refineEventFromEstimate(astronomicalObject, eventDirectionType, nextEstimate.toEpochMilli(), hourAnglePerDay, observer,
+                        altitudeCorrectionOfHorizonRad, posReference, considerEquatorialHorizontalParallax, heightStandardRad, signOfHourAngle, precisionProfile.getToleranceMillis(), coordinates);
+                if (! Double.isNaN(refined)) {
+                    event = instantOfEpochMilli(refined);
+                    refinedFromEstimate = true;
+                }
+                if (event != null && ! event.isAfter(minimumNext)) {
+                    // Went back to the previous event, which means the estimate was not good enough
+                    event = null;
+                    refinedFromEstimate = false;
+                }
+            }
+            if (event == null) {
+                if (minimumNext != null) {
+                    LocalDate dateOfMinimumNext = minimumNext.atZone(zoneId).toLocalDate();
+                    if (dateOfMinimumNext.isAfter(fallbackDate)) {
+                        fallbackDate = dateOfMinimumNext;
+                    }
+                }
+                final Instant startOfFallbackDate = fallbackDate.atStartOfDay(zoneId).toInstant();
+                if (! startOfFallbackDate.isBefore(rangeEnd)) {
+                    break;
+                }
+                final double fallbackEvent = calculateEventWithin24h(astronomicalObject, eventDirectionType, startOfFallbackDate.toEpochMilli(), observer,
+                        horizonByElevation, referencePoint, considerEquatorialHorizontalParallax, heightStandardRad, precisionProfile);
+                event = Double.isNaN(fallbackEvent) ? null : instantOfEpochMilli(fallbackEvent);
+                fallbackDate = fallbackDate.plusDays(1);
+                followedEvents = new Instant[3];
+                if (event == null || (minimumNext != null && ! event.isAfter(minimumNext))) {
+                    nextEstimate = null;
+                    continue;
+                }
+            }
+
+            if (! event.isBefore(rangeEnd)) {
+                break;
+            }
+            ret.add(new AstronomicalEvent(eventDirectionType, event));
+            followedEvents[2] = followedEvents[1];
+            followedEvents[1] = followedEvents[0];
+            followedEvents[0] = event;
+
+            final long eventEpochMilli = event.toEpochMilli();
+            // The last step of the refinement is within the tolerance from the event, which is close enough for estimating the next event
+            final double incrementOfRightAscension = refinedFromEstimate ? coordinates[AstronomicalObject.STATE_INCREMENT_OF_RIGHT_ASCENSION_PER_DAY]
+                                                                         : astronomicalObject.estimatedIncrementOfRightAscensionRadPerDay(eventEpochMilli);
+            hourAnglePerDay = TimePointOnTheEarth.estimatedIncrementOfSiderealTimeRadPerDay(eventEpochMilli) - incrementOfRightAscension;
+            if (hourAnglePerDay > 0.0) {
+                final long synodicDayMillis = (long) (2.0 * Math.PI / hourAnglePerDay * 86400000.0);
+                minimumNext = event.plusMillis(synodicDayMillis / 2);
+                nextEstimate = event.plusMillis(synodicDayMillis);
+
+                // Time of the event drifts smoothly day by day, so the intervals observed so far give a better estimate than the synodic day,
+                // which is often within the precision and finishes the iteration at the first step.
+                long extrapolatedIntervalMillis = synodicDayMillis;
+                if (followedEvents[2] != null) {
+                    extrapolatedIntervalMillis = 2L * Duration.between(followedEvents[1], followedEvents[0]).toMillis() - Duration.between(followedEvents[2], followedEvents[1]).toMillis();
+                } else if (followedEvents[1] != null) {
+                    extrapolatedIntervalMillis = Duration.between(followedEvents[1], followedEvents[0]).toMillis();
+                }
+                if (Math.abs(extrapolatedIntervalMillis - synodicDayMillis) < synodicDayMillis / 8) {
+                    nextEstimate = event.plusMillis(extrapolatedIntervalMillis);
+                }
+            } else {
+                // Not expected for objects in this library, but not to get into infinite loop
+                minimumNext = event.plusSeconds(43200);
+                nextEstimate = null;
+            }
+        }
+    }
+
+    // Returns NaN if the iteration does not converge or the event does not happen around initialEstimate
+    private static double refineEventFromEstimate(final AstronomicalObject astronomicalObject,
+                                                  final EventDirectionType eventDirectionType,
+                                                  final long initialEstimate, final double hourAnglePerDay,
+                                                  final Observer observer,
+                                                  final double altitudeCorrectionOfHorizonRad, final int posReference,
+                                                  final boolean considerEquatorialHorizontalParallax,
+                                                  final double heightStandardRad, final int signOfHourAngle, final long toleranceMillis,
+                                                  final double[] coordinates) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        long estimate = initialEstimate;
+        for (int loopCount = 0; loopCount < 30; ++loopCount) {
+            EventCalculationStatistics.count(EventCalculationStatistics.Counter.NEWTON_ITERATIONS);
+            calculateState(astronomicalObject, estimate, coordinates);
+
+            double targetHourAngle = 0.0;
+            if (eventDirectionType != EventDirectionType.CULMINATION) {
+                targetHourAngle = CoordinatesCalculation.calculateHourAngleRadCrossingElevationRad(
+                        calculateActualCenterHeightRad(coordinates, altitudeCorrectionOfHorizonRad, posReference, considerEquatorialHorizontalParallax, heightStandardRad),
+                        coordinates[1],
+                        observer
+                ) * signOfHourAngle;
+                if (Double.isNaN(targetHourAngle)) {
+                    return Double.NaN;
+                }
+            }
+
+            final double hourAngleRad = TimePointOnTheEarth.calculateSiderealTimeRad(estimate, observer.getLongitudeRad()) - coordinates[0];
+            double diffRad = targetHourAngle - hourAngleRad;
+            diffRad -= 2.0 * Math.PI * Math.floor((diffRad + Math.PI) / (2.0 * Math.PI));
+
+            final long diffMillis = (long) (diffRad / hourAnglePerDay * 86400000.0);
+            estimate += diffMillis;
+
+            if (Math.abs(diffMillis) < toleranceMillis) {
+                return estimate;
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static int signOfReferencePoint(ReferencePoint referencePoint) {
+        if (referencePoint == ReferencePoint.TOP) {
+            return 1;
+        } else if (referencePoint == ReferencePoint.BOTTOM) {
+            return -1;
+        }
+        return 0;
+    }
+
+    // Returns how far the standard height is from the range of the elevation in a day of the object at the declination, in radians.
+    // Positive if the object does not cross the standard height at the declination, and negative or zero if it does.
+    private static double calculateMarginFromCrossingRad(double declinationRad, double latitudeRad, double centerHeightRad) {
+        final double upperCulminationElevationRad = 0.5 * Math.PI - Math.abs(latitudeRad - declinationRad);
+        final double lowerCulminationElevationRad = Math.abs(latitudeRad + declinationRad) - 0.5 * Math.PI;
+        return Math.max(centerHeightRad - upperCulminationElevationRad, lowerCulminationElevationRad - centerHeightRad);
+    }
+
+    // Upper bound of how fast the elevation of the object changes, also used by HorizontalCrossingCalculation.
+    // Diurnal motion changes the elevation at most by (rotation speed) * cos(latitude), and the object's own motion adds its angular speed.
+    // Correction by the parallax changes the speed by the factor of less than (1 + parallax), which is within the margin of calculateSkippableMillis().
+    static double calculateMaximumElevationSpeedRadPerDay(AstronomicalObject astronomicalObject, long epochMilli, Observer observer) {
+        return TimePointOnTheEarth.estimatedIncrementOfSiderealTimeRadPerDay(epochMilli) * observer.getCosLatitude() + astronomicalObject.maximumAngularSpeedRadPerDay();
+    }
+
+    // Returns how long a value moving at most maximumSpeedRadPerDay cannot move by distanceRad, which can be skipped by the scans without missing a crossing.
+    // 10% of margin for safety.
+    static long calculateSkippableMillis(double distanceRad, double maximumSpeedRadPerDay) {
+        return (long) (distanceRad / maximumSpeedRadPerDay * 86400000.0 * 0.9);
+    }
+
+    // Returns the hour angle in [-pi, pi)
+    private static double normalizeHourAngleAroundZero(double hourAngleRad) {
+        return hourAngleRad - Math.floor(hourAngleRad / (2.0 * Math.PI) + 0.5) * 2.0 * Math.PI;
+    }
+
+    // Time is evaluated in milliseconds, as the library computes positions from epoch milliseconds
+    private static long epochMilliOfEpochNanos(double epochNanos) {
+        return (long) Math.floor(epochNanos / 1e6);
+    }
+
+    private static Instant instantOfEpochMilli(double epochMilli) {
+        return RootRefinement.instantOfEpochNanos(epochMilli * 1e6);
+    }
+
+    // state is the result of AstronomicalObject.calculateState() at the target time
+    private static double calculateActualCenterHeightRad(double[] state, double altitudeCorrectionOfHorizonRad,
+                                                         int pos, boolean considerEquatorialHorizontalParallax,
+                                                         double heightStandardRad) {
+        double ret = heightStandardRad;
+
+        ret -= altitudeCorrectionOfHorizonRad;
+        if (pos != 0) {
+            ret -= state[AstronomicalObject.STATE_APPARENT_RADIUS] * (double) pos;
+        }
+        if (considerEquatorialHorizontalParallax) {
+            ret += state[AstronomicalObject.STATE_EQUATORIAL_HORIZONTAL_PARALLAX];
+        }
+
+        return ret;
+    }
+
+    // All evaluations of the solvers go through this, to be counted by EventCalculationStatistics
+    private static void calculateCelestialCoordinates(AstronomicalObject astronomicalObject, long epochMilli, double[] coordinates) throws UnsupportedDateRangeException, AstronomicalPhenomenonComputationException {
+        EventCalculationStatistics.countCoordinateEvaluation(astronomicalObject);
+        astronomicalObject.calculateCelestialCoordinates(epochMilli, coordinates);
+    }
+
+    // Same as calculateCelestialCoordinates(), and also parallax, apparent radius and increment of right ascension are stored, counted as one evaluation
+    private static void calculateState(AstronomicalObject astronomicalObject, long epochMilli, double[] state) throws UnsupportedDateRangeException, AstronomicalPhenomenonComputationException {
+        EventCalculationStatistics.countCoordinateEvaluation(astronomicalObject);
+        astronomicalObject.calculateState(epochMilli, state);
+    }
+
+    // coordinates is the work array for right ascension and declination, to avoid allocation
+    private static double calculateHourAngleRad(long epochMilli, Observer observer, AstronomicalObject astronomicalObject, double[] coordinates) throws UnsupportedDateRangeException, AstronomicalPhenomenonComputationException {
+        calculateCelestialCoordinates(astronomicalObject, epochMilli, coordinates);
+        return TimePointOnTheEarth.calculateSiderealTimeRad(epochMilli, observer.getLongitudeRad()) - coordinates[0];
+    }
+
+    // coordinates is the work array for right ascension and declination, to avoid allocation
+    private static double calculateHeightRad(long epochMilli, Observer observer, AstronomicalObject astronomicalObject, double[] coordinates) throws UnsupportedDateRangeException, AstronomicalPhenomenonComputationException {
+        final double hourAngleRad = calculateHourAngleRad(epochMilli, observer, astronomicalObject, coordinates);
+        return HorizontalCoordinatesFromTheCenterOfTheEarth.calculateElevationRad(hourAngleRad, coordinates[1], observer);
+    }
+
+    // state is the work array for AstronomicalObject.calculateState(), to avoid allocation
+    private static double calculateHourAngleAndStateRad(long epochMilli, Observer observer, AstronomicalObject astronomicalObject, double[] state) throws UnsupportedDateRangeException, AstronomicalPhenomenonComputationException {
+        calculateState(astronomicalObject, epochMilli, state);
+        return TimePointOnTheEarth.calculateSiderealTimeRad(epochMilli, observer.getLongitudeRad()) - state[AstronomicalObject.STATE_RIGHT_ASCENSION];
+    }
+
+    // Elevation of the center minus the standard height of the center, which is positive while the object is above the horizon.
+    // state is the work array for AstronomicalObject.calculateState(), to avoid allocation
+    private static double calculateHeightFromStandardRad(long epochMilli, Observer observer, AstronomicalObject astronomicalObject,
+                                                         double altitudeCorrectionOfHorizonRad, int pos, boolean considerEquatorialHorizontalParallax,
+                                                         double heightStandardRad, double[] state) throws UnsupportedDateRangeException, AstronomicalPhenomenonComputationException {
+        return calculateHeightFromStandardRad(epochMilli, TimePointOnTheEarth.calculateSiderealTimeRad(epochMilli, observer.getLongitudeRad()), observer, astronomicalObject,
+                altitudeCorrectionOfHorizonRad, pos, considerEquatorialHorizontalParallax, heightStandardRad, state);
+    }
+
+    // Same as above, but with the sidereal time at epochMilli given (e.g. by SiderealTimeStepper)
+    private static double calculateHeightFromStandardRad(long epochMilli, double siderealTimeRad, Observer observer, AstronomicalObject astronomicalObject,
+                                                         double altitudeCorrectionOfHorizonRad, int pos, boolean considerEquatorialHorizontalParallax,
+                                                         double heightStandardRad, double[] state) throws UnsupportedDateRangeException, AstronomicalPhenomenonComputationException {
+        calculateState(astronomicalObject, epochMilli, state);
+        final double hourAngleRad = siderealTimeRad - state[AstronomicalObject.STATE_RIGHT_ASCENSION];
+        return HorizontalCoordinatesFromTheCenterOfTheEarth.calculateElevationRad(hourAngleRad, state[AstronomicalObject.STATE_DECLINATION], observer)
+                - calculateActualCenterHeightRad(state, altitudeCorrectionOfHorizonRad, pos, considerEquatorialHorizontalParallax, heightStandardRad);
+    }
+}
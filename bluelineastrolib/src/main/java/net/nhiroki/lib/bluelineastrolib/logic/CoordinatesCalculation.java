@@ -0,0 +1,38 @@
+package net.nhiroki.lib.bluelineastrolib.logic;
+
+import static java.lang.Double.NaN;
+
+import net.nhiroki.lib.bluelineastrolib.coordinates.Observer;
+
+
+public class CoordinatesCalculation {
+    public static double calculateHourAngleRadCrossingElevationRad(double elevationRad, double declinationRad, double latitudeRad) {
+        double denominator = Math.cos(declinationRad) * Math.cos(latitudeRad);
+        double numerator = Math.sin(elevationRad) - Math.sin(declinationRad) * Math.sin(latitudeRad);
+
+        if (Math.abs(denominator) < Math.abs(numerator)) {
+            return NaN;
+        }
+
+        return Math.acos(numerator / denominator);
+    }
+
+    /**
+     * Same as calculateHourAngleRadCrossingElevationRad() taking latitude, but with sine and cosine of the latitude prepared in {@code observer}.
+     *
+     * @param elevationRad Elevation to cross in radians
+     * @param declinationRad Declination in radians
+     * @param observer Target location
+     * @return Hour angle in [0, pi] where the object crosses {@code elevationRad} going down, or NaN if it does not cross
+     */
+    public static double calculateHourAngleRadCrossingElevationRad(double elevationRad, double declinationRad, Observer observer) {
+        double denominator = Math.cos(declinationRad) * observer.getCosLatitude();
+        double numerator = Math.sin(elevationRad) - Math.sin(declinationRad) * observer.getSinLatitude();
+
+        if (Math.abs(denominator) < Math.abs(numerator)) {
+            return NaN;
+        }
+
+        return Math.acos(numerator / denominator);
+    }
+}
@@ -0,0 +1,221 @@
+package net.nhiroki.lib.bluelineastrolib.logic;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Opt-in statistics of the event solvers in AstronomicalEventsCalculation, to see why some locations or dates take longer than others.<br>
+ * <br>
+ * Disabled by default. While disabled, the solvers only read a volatile flag and do not call System.nanoTime() nor touch the counters.
+ * Counters are LongAdder, so that threads computing at the same time (e.g. GridEventCalculator) do not contend on them.<br>
+ * <br>
+ * Usage from a batch job:
+ * <ul>
+ *   <li>Call enable() before the computation, and snapshot() after it to export the numbers.</li>
+ *   <li>Call reset() between the batches. Counts made by other threads during reset() may be lost or kept, as LongAdder.reset() is not atomic.</li>
+ * </ul>
+ *
+ * Operations called from other operations (e.g. calculateAllEvents() as the slow path of calculateEventWithin24h()) are counted and timed in both of them.
+ */
+public class EventCalculationStatistics {
+    /**
+     * Steps inside the solvers.
+     */
+    public enum Counter {
+        // Newton-like steps of the hour angle toward the event
+        NEWTON_ITERATIONS,
+        // calculateEventWithin24h() found that the object cannot cross the standard height at the declination of the estimate
+        NAN_BRANCH_ENTRIES,
+        // The time was skipped, as the declination cannot change enough to make the event happen
+        DECLINATION_ENVELOPE_SKIPS,
+        // calculateEventWithin24h() fell back to calculateAllEvents(), as the estimate did not converge within the loop limit
+        SLOW_PATH_FALLBACKS_BY_LOOP_LIMIT,
+        // calculateEventWithin24h() fell back to calculateAllEvents(), as the estimates of both of the previous and next events were out of the window
+        SLOW_PATH_FALLBACKS_BY_ESTIMATE_OUT_OF_WINDOW,
+        // Evaluations of the function by RootRefinement (Brent's method), excluding the ends of the bracket given by the caller
+        ROOT_REFINEMENT_EVALUATIONS,
+    }
+
+    /**
+     * Public entry points of the solvers, whose calls and wall time are recorded.
+     */
+    public enum Operation {
+        EVENT_WITHIN_24H,
+        FIND_NEXT_EVENT,
+        ALL_EVENTS,
+        TWILIGHT_EVENTS,
+    }
+
+    private static volatile boolean enabled = false;
+
+    private static final LongAdder[] counters = newAdders(Counter.values().length);
+    private static final LongAdder[] callCounts = newAdders(Operation.values().length);
+    private static final LongAdder[] callNanos = newAdders(Operation.values().length);
+    private static final LongAccumulator[] maximumCallNanos = new LongAccumulator[Operation.values().length];
+    private static final ConcurrentHashMap<Class<?>, LongAdder> coordinateEvaluations = new ConcurrentHashMap<>();
+
+    static {
+        for (int i = 0; i < maximumCallNanos.length; ++i) {
+            maximumCallNanos[i] = new LongAccumulator(Math::max, 0L);
+        }
+    }
+
+
+    private EventCalculationStatistics() {
+    }
+
+    public static void enable() {
+        enabled = true;
+    }
+
+    public static void disable() {
+        enabled = false;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets all the counters to zero. Enabled or disabled state is not changed.
+     */
+    public static void reset() {
+        for (LongAdder adder : counters) {
+            adder.reset();
+        }
+        for (int i = 0; i < callCounts.length; ++i) {
+            callCounts[i].reset();
+            callNanos[i].reset();
+            maximumCallNanos[i].reset();
+        }
+        coordinateEvaluations.clear();
+    }
+
+    /**
+     * Returns the current values of the counters. Values are read one by one, so they may not be consistent with each other while other threads are computing.
+     *
+     * @return Copy of the counters, which is not updated later
+     */
+    public static Snapshot snapshot() {
+        final long[] counterValues = new long[counters.length];
+        for (int i = 0; i < counters.length; ++i) {
+            counterValues[i] = counters[i].sum();
+        }
+        final long[] callCountValues = new long[callCounts.length];
+        final long[] callNanosValues = new long[callCounts.length];
+        final long[] maximumCallNanosValues = new long[callCounts.length];
+        for (int i = 0; i < callCounts.length; ++i) {
+            callCountValues[i] = callCounts[i].sum();
+            callNanosValues[i] = callNanos[i].sum();
+            maximumCallNanosValues[i] = maximumCallNanos[i].get();
+        }
+        final Map<String, Long> coordinateEvaluationValues = new HashMap<>();
+        for (Map.Entry<Class<?>, LongAdder> entry : coordinateEvaluations.entrySet()) {
+            coordinateEvaluationValues.merge(entry.getKey().getSimpleName(), entry.getValue().sum(), Long::sum);
+        }
+        return new Snapshot(counterValues, callCountValues, callNanosValues, maximumCallNanosValues, coordinateEvaluationValues);
+    }
+
+    static void count(Counter counter) {
+        if (enabled) {
+            counters[counter.ordinal()].increment();
+        }
+    }
+
+    static void countCoordinateEvaluation(Object astronomicalObject) {
+        if (enabled) {
+            coordinateEvaluations.computeIfAbsent(astronomicalObject.getClass(), k -> new LongAdder()).increment();
+        }
+    }
+
+    // Returns 0 if disabled, not to call System.nanoTime()
+    static long startCall() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    static void endCall(Operation operation, long startNanos) {
+        // Calls started before enable() are not recorded
+        if (startNanos != 0L && enabled) {
+            final long nanos = System.nanoTime() - startNanos;
+            callCounts[operation.ordinal()].increment();
+            callNanos[operation.ordinal()].add(nanos);
+            maximumCallNanos[operation.ordinal()].accumulate(nanos);
+        }
+    }
+
+    private static LongAdder[] newAdders(int count) {
+        final LongAdder[] ret = new LongAdder[count];
+        for (int i = 0; i < count; ++i) {
+            ret[i] = new LongAdder();
+        }
+        return ret;
+    }
+
+
+    /**
+     * Values of the counters at the time of snapshot().
+     */
+    public static class Snapshot {
+        private final long[] counterValues;
+        private final long[] callCounts;
+        private final long[] callNanos;
+        private final long[] maximumCallNanos;
+        private final Map<String, Long> coordinateEvaluations;
+
+        private Snapshot(long[] counterValues, long[] callCounts, long[] callNanos, long[] maximumCallNanos, Map<String, Long> coordinateEvaluations) {
+            this.counterValues = counterValues;
+            this.callCounts = callCounts;
+            this.callNanos = callNanos;
+            this.maximumCallNanos = maximumCallNanos;
+            this.coordinateEvaluations = Collections.unmodifiableMap(coordinateEvaluations);
+        }
+
+        public long getCount(Counter counter) {
+            return this.counterValues[counter.ordinal()];
+        }
+
+        public long getCallCount(Operation operation) {
+            return this.callCounts[operation.ordinal()];
+        }
+
+        public long getTotalCallNanos(Operation operation) {
+            return this.callNanos[operation.ordinal()];
+        }
+
+        public long getMaximumCallNanos(Operation operation) {
+            return this.maximumCallNanos[operation.ordinal()];
+        }
+
+        /**
+         * Returns the number of calculateCelestialCoordinates() and calculateState() requested by the solvers, by the simple name of the class of the object.<br>
+         * For ChebyshevInterpolatedAstronomicalObject, this is the number of requests to the interpolation, not the evaluations of its source.
+         *
+         * @return Map from the simple name of the class to the number of evaluations
+         */
+        public Map<String, Long> getCoordinateEvaluations() {
+            return this.coordinateEvaluations;
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder ret = new StringBuilder();
+            for (Counter counter : Counter.values()) {
+                ret.append(counter.name()).append('=').append(this.getCount(counter)).append('\n');
+            }
+            for (Operation operation : Operation.values()) {
+                ret.append(operation.name()).append(": calls=").append(this.getCallCount(operation))
+                        .append(" totalNanos=").append(this.getTotalCallNanos(operation))
+                        .append(" maximumNanos=").append(this.getMaximumCallNanos(operation)).append('\n');
+            }
+            for (Map.Entry<String, Long> entry : this.coordinateEvaluations.entrySet()) {
+                ret.append("coordinates of ").append(entry.getKey()).append('=').append(entry.getValue()).append('\n');
+            }
+            return ret.toString();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package net.nhiroki.lib.bluelineastrolib.logic;
+
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.AstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.ChebyshevInterpolatedAstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.PrecisionProfile;
+import net.nhiroki.lib.bluelineastrolib.coordinates.LocationOnTheEarth;
+import net.nhiroki.lib.bluelineastrolib.coordinates.Observer;
+import net.nhiroki.lib.bluelineastrolib.earth.Earth;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.ComputationFailure;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+
+/**
+ * Computes an event (e.g. sunrise) for each point of a latitude/longitude grid and each day, for drawing maps.<br>
+ * <br>
+ * Equatorial coordinates of the object do not depend on the location, so the object is evaluated only at the Chebyshev nodes of each day
+ * by ChebyshevInterpolatedAstronomicalObject before the computation of the grid, and each point of the grid is solved from the interpolation.
+ * Points are split into rows (a latitude of a day) and computed by ForkJoinPool, splitting the rows into halves until a single row.
+ * No state is shared between the rows other than the interpolated object, whose segments are all fitted beforehand by ChebyshevInterpolatedAstronomicalObject.ofRange(),
+ * and the observers of the grid prepared once for all the days. Both are read without locks nor writes to shared fields, so this scales with the number of cores.<br>
+ * <br>
+ * Results are stored into a flat int array, in seconds from 00:00 UTC of each day, in the order of day, latitude and longitude (longitude changes fastest).
+ * Each point is computed as calculateEventWithin24h() from 00:00 UTC at the elevation of 0 meter, and NO_EVENT is stored if the event does not happen within the day.
+ */
+public class GridEventCalculator {
+    public static final int NO_EVENT = -1;
+
+    private final double latitudeStartDeg;
+    private final double latitudeStepDeg;
+    private final int latitudeCount;
+    private final double longitudeStartDeg;
+    private final double longitudeStepDeg;
+    private final int longitudeCount;
+
+
+    /**
+     * Constructor of GridEventCalculator.
+     *
+     * @param latitudeStartDeg Latitude of the first row in degrees
+     * @param latitudeStepDeg Step of latitude between rows in degrees
+     * @param latitudeCount Number of latitudes
+     * @param longitudeStartDeg Longitude of the first column in degrees
+     * @param longitudeStepDeg Step of longitude between columns in degrees
+     * @param longitudeCount Number of longitudes
+     */
+    public GridEventCalculator(double latitudeStartDeg, double latitudeStepDeg, int latitudeCount,
+                               double longitudeStartDeg, double longitudeStepDeg, int longitudeCount) {
+        if (latitudeCount < 1 || longitudeCount < 1) {
+            throw new IllegalArgumentException("Grid must have at least one point");
+        }
+        if (Math.abs(latitudeStartDeg) > 90.0 || Math.abs(latitudeStartDeg + latitudeStepDeg * (latitudeCount - 1)) > 90.0) {
+            throw new IllegalArgumentException("Latitude of the grid out of range");
+        }
+        this.latitudeStartDeg = latitudeStartDeg;
+        this.latitudeStepDeg = latitudeStepDeg;
+        this.latitudeCount = latitudeCount;
+        this.longitudeStartDeg = longitudeStartDeg;
+        this.longitudeStepDeg = longitudeStepDeg;
+        this.longitudeCount = longitudeCount;
+    }
+
+    public int getLatitudeCount() {
+        return latitudeCount;
+    }
+
+    public int getLongitudeCount() {
+        return longitudeCount;
+    }
+
+    /**
+     * Returns the index of the point in the result array.
+     *
+     * @param day Index of the day from the first date
+     * @param latitudeIndex Index of the latitude
+     * @param longitudeIndex Index of the longitude
+     * @return Index in the result array
+     */
+    public int indexOf(int day, int latitudeIndex, int longitudeIndex) {
+        return (day * this.latitudeCount + latitudeIndex) * this.longitudeCount + longitudeIndex;
+    }
+
+    /**
+     * Computes the event for each point of the grid and each day, using the common pool of ForkJoinPool.
+     *
+     * @param astronomicalObject Target astronomical object
+     * @param eventDirectionType Rise, set, or culmination
+     * @param referencePoint Which point (top/center/bottom) of the {@code astronomicalObject} should be the reference
+     * @param firstDate First date in UTC
+     * @param dayCount Number of days
+     * @return Seconds from 00:00 UTC of the day for each point, or NO_EVENT. See indexOf() for the order.
+     */
+    public int[] calculate(AstronomicalObject astronomicalObject, AstronomicalEventsCalculation.EventDirectionType eventDirectionType,
+                           AstronomicalEventsCalculation.ReferencePoint referencePoint,
+                           LocalDate firstDate, int dayCount) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final long pointCount = (long) dayCount * this.latitudeCount * this.longitudeCount;
+        if (dayCount < 1 || pointCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Number of points must be positive and fit into an array");
+        }
+        final int[] result = new int[(int) pointCount];
+        this.calculate(astronomicalObject, eventDirectionType, referencePoint, firstDate, dayCount, ForkJoinPool.commonPool(), result);
+        return result;
+    }
+
+    /**
+     * Same as calculate() returning array, but stores into {@code result} with the specified pool, so that the caller can reuse the array for each range of days.
+     *
+     * @param astronomicalObject Target astronomical object
+     * @param eventDirectionType Rise, set, or culmination
+     * @param referencePoint Which point (top/center/bottom) of the {@code astronomicalObject} should be the reference
+     * @param firstDate First date in UTC
+     * @param dayCount Number of days
+     * @param pool Pool to run the computation
+     * @param result Array to store seconds from 00:00 UTC of the day for each point, or NO_EVENT. Length must be at least the number of points.
+     */
+    public void calculate(AstronomicalObject astronomicalObject, AstronomicalEventsCalculation.EventDirectionType eventDirectionType,
+                          AstronomicalEventsCalculation.ReferencePoint referencePoint,
+                          LocalDate firstDate, int dayCount, ForkJoinPool pool, int[] result) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        if (dayCount < 1 || (long) dayCount * this.latitudeCount * this.longitudeCount > result.length) {
+            throw new IllegalArgumentException("Result array is too short for the grid");
+        }
+
+        final long firstDayEpochMilli = firstDate.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+
+        // Segments are aligned to 00:00 UTC, where leap seconds are inserted. All of them including the days before and after,
+        // which the solver may look at, are fitted here, so that the object is never evaluated from the tasks.
+        final ChebyshevInterpolatedAstronomicalObject interpolated = ChebyshevInterpolatedAstronomicalObject.ofRange(astronomicalObject, 86400000L, ChebyshevInterpolatedAstronomicalObject.MOON_NODE_COUNT,
+                firstDayEpochMilli - 86400000L, dayCount + 2);
+
+        // Same points are computed for each day, so trigonometric functions of the latitudes are computed only here
+        final Observer[] observers = new Observer[this.latitudeCount * this.longitudeCount];
+        for (int j = 0; j < this.latitudeCount; ++j) {
+            final double latitudeDeg = this.latitudeStartDeg + this.latitudeStepDeg * j;
+            for (int i = 0; i < this.longitudeCount; ++i) {
+                observers[j * this.longitudeCount + i] = Observer.of(LocationOnTheEarth.ofDegreesMeters(this.longitudeStartDeg + this.longitudeStepDeg * i, latitudeDeg, 0.0));
+            }
+        }
+
+        try {
+            pool.invoke(new RowsTask(interpolated, eventDirectionType, referencePoint, observers, firstDayEpochMilli, result, 0, dayCount * this.latitudeCount));
+        } catch (ComputationFailure e) {
+            e.rethrowCause();
+        }
+    }
+
+    private void calculateRow(AstronomicalObject interpolated, AstronomicalEventsCalculation.EventDirectionType eventDirectionType,
+                              AstronomicalEventsCalculation.ReferencePoint referencePoint, Observer[] observers,
+                              long firstDayEpochMilli, int[] result, int row) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final int day = row / this.latitudeCount;
+        final int observerIndex = (row % this.latitudeCount) * this.longitudeCount;
+        final long dayStart = firstDayEpochMilli + day * 86400000L;
+        final double heightStandardRad = eventDirectionType == AstronomicalEventsCalculation.EventDirectionType.CULMINATION ? 0.0 : -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0);
+
+        int index = row * this.longitudeCount;
+        for (int i = 0; i < this.longitudeCount; ++i) {
+            final double event = AstronomicalEventsCalculation.calculateEventWithin24h(interpolated, eventDirectionType, dayStart, observers[observerIndex + i],
+                    false, referencePoint, true, heightStandardRad, PrecisionProfile.DEFAULT);
+            if (Double.isNaN(event) || event < dayStart || event >= dayStart + 86400000L) {
+                result[index++] = NO_EVENT;
+            } else {
+                result[index++] = (int) ((long) Math.floor(event - dayStart) / 1000L);
+            }
+        }
+    }
+
+    private class RowsTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final AstronomicalObject interpolated;
+        private final AstronomicalEventsCalculation.EventDirectionType eventDirectionType;
+        private final AstronomicalEventsCalculation.ReferencePoint referencePoint;
+        private final Observer[] observers;
+        private final long firstDayEpochMilli;
+        private final int[] result;
+        private final int rowFrom;
+        private final int rowTo;
+
+        RowsTask(AstronomicalObject interpolated, AstronomicalEventsCalculation.EventDirectionType eventDirectionType,
+                 AstronomicalEventsCalculation.ReferencePoint referencePoint, Observer[] observers,
+                 long firstDayEpochMilli, int[] result, int rowFrom, int rowTo) {
+            this.interpolated = interpolated;
+            this.eventDirectionType = eventDirectionType;
+            this.referencePoint = referencePoint;
+            this.observers = observers;
+            this.firstDayEpochMilli = firstDayEpochMilli;
+            this.result = result;
+            this.rowFrom = rowFrom;
+            this.rowTo = rowTo;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.rowTo - this.rowFrom > 1) {
+                final int rowMid = (this.rowFrom + this.rowTo) >>> 1;
+                invokeAll(new RowsTask(this.interpolated, this.eventDirectionType, this.referencePoint, this.observers, this.firstDayEpochMilli, this.result, this.rowFrom, rowMid),
+                          new RowsTask(this.interpolated, this.eventDirectionType, this.referencePoint, this.observers, this.firstDayEpochMilli, this.result, rowMid, this.rowTo));
+                return;
+            }
+
+            try {
+                calculateRow(this.interpolated, this.eventDirectionType, this.referencePoint, this.observers, this.firstDayEpochMilli, this.result, this.rowFrom);
+            } catch (AstronomicalPhenomenonComputationException | UnsupportedDateRangeException e) {
+                throw new ComputationFailure(e);
+            }
+        }
+    }
+}
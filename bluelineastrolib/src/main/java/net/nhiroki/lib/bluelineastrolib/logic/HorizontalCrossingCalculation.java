@@ -0,0 +1,359 @@
+package net.nhiroki.lib.bluelineastrolib.logic;
+
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.AstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.ChebyshevInterpolatedAstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.PrecisionProfile;
+import net.nhiroki.lib.bluelineastrolib.coordinates.HorizontalCoordinatesFromGround;
+import net.nhiroki.lib.bluelineastrolib.coordinates.HorizontalCoordinatesFromTheCenterOfTheEarth;
+import net.nhiroki.lib.bluelineastrolib.coordinates.LocationOnTheEarth;
+import net.nhiroki.lib.bluelineastrolib.coordinates.Observer;
+import net.nhiroki.lib.bluelineastrolib.earth.SiderealTimeStepper;
+import net.nhiroki.lib.bluelineastrolib.earth.TimePointOnTheEarth;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+
+
+/**
+ * Times when an astronomical object reaches the given elevation or azimuth, which are not rise, set nor culmination (e.g. golden hour, or the Sun behind a landmark).<br>
+ * <br>
+ * Azimuth and elevation are the same as HorizontalCoordinatesFromGround.getAzimuthRad() and getActualElevationRad(): the center of the object, azimuth from the north to the east,
+ * and the elevation corrected by the parallax, without refraction of the air nor the horizon of the elevation of the location.<br>
+ * <br>
+ * Each method scans the range at PrecisionProfile.getScanIntervalMillis(), brackets the crossings between the samples, and refines them to PrecisionProfile.getToleranceMillis()
+ * (Brent's method of RootRefinement for crossings, and bisection for the borders of the windows).
+ * The scan skips the time when the elevation is too far from the target to reach it, in the same way as AstronomicalEventsCalculation.calculateAllEvents().
+ * As azimuth can change fast near the zenith, crossings of azimuth apart less than the scan interval may be missed, and so may alignment windows shorter than the scan interval.<br>
+ * <br>
+ * {@code astronomicalObject} is interpolated by ChebyshevInterpolatedAstronomicalObject.forAny() (1-day segments and 12 nodes) unless it is already interpolated,
+ * which moves the object by less than 0.001 arcseconds (see ChebyshevInterpolatedAstronomicalObject).
+ * A year of the Sun or the Moon in Tokyo takes about 0.05 seconds for the crossings of elevation and the alignment windows, which skip most of the time,
+ * and about 0.2 seconds for the crossings of azimuth, which evaluate every sample.<br>
+ * <br>
+ * Times are stored into the arrays given by the caller up to their length, and the number of all the results is returned,
+ * same as AstronomicalEventsCalculation.calculateAllEvents() taking milliseconds.
+ */
+public class HorizontalCrossingCalculation {
+
+    /**
+     * Calculates the times when the actual elevation of the center of {@code astronomicalObject} crosses {@code elevationRad} from {@code start} to {@code end}.
+     *
+     * @param astronomicalObject Target astronomical object
+     * @param eventDirectionType RISE for the crossings going up, SET for going down. CULMINATION is not accepted.
+     * @param start Start point of calculation in milliseconds from the epoch
+     * @param end End point of calculation in milliseconds from the epoch
+     * @param observer Target location
+     * @param elevationRad Target elevation in radians, without refraction of the air
+     * @param precisionProfile Precision of the calculation
+     * @param crossingEpochMillis Array to store the times of the crossings in milliseconds from the epoch, in the order of time
+     * @return Number of the crossings, which may be larger than the length of {@code crossingEpochMillis}
+     */
+    public static int calculateElevationCrossings(final AstronomicalObject astronomicalObject,
+                                                  final AstronomicalEventsCalculation.EventDirectionType eventDirectionType,
+                                                  final long start, final long end,
+                                                  final Observer observer,
+                                                  final double elevationRad,
+                                                  final PrecisionProfile precisionProfile,
+                                                  final double[] crossingEpochMillis) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        if (eventDirectionType == AstronomicalEventsCalculation.EventDirectionType.CULMINATION) {
+            throw new IllegalArgumentException("Crossings of elevation are only going up or going down");
+        }
+        final AstronomicalObject interpolated = interpolate(astronomicalObject);
+        final double signOfDirection = eventDirectionType == AstronomicalEventsCalculation.EventDirectionType.RISE ? 1.0 : -1.0;
+        final long intervalMillis = precisionProfile.getScanIntervalMillis();
+        final double maximumElevationSpeedRadPerDay = AstronomicalEventsCalculation.calculateMaximumElevationSpeedRadPerDay(interpolated, start, observer);
+
+        final double[] state = new double[AstronomicalObject.STATE_LENGTH];
+        final RootRefinement.TimeFunction judgeHeight = t -> {
+            final long epochMilli = epochMilliOfEpochNanos(t);
+            interpolated.calculateState(epochMilli, state);
+            return (calculateActualElevationRad(TimePointOnTheEarth.calculateSiderealTimeRad(epochMilli, observer.getLongitudeRad()), state, observer) - elevationRad) * signOfDirection;
+        };
+
+        int crossingCount = 0;
+        long prevTime = 0L;
+        double prevJudgeHeight = 0.0;
+        boolean isFirstOfTheLoop = true;
+        long now = start;
+        final SiderealTimeStepper siderealTimeStepper = new SiderealTimeStepper(now, intervalMillis, observer.getLongitudeRad());
+        while (true) {
+            interpolated.calculateState(now, state);
+            final double nowJudgeHeight = (calculateActualElevationRad(siderealTimeStepper.getSiderealTimeRad(), state, observer) - elevationRad) * signOfDirection;
+
+            if (! isFirstOfTheLoop && prevJudgeHeight < 0.0 && nowJudgeHeight >= 0.0) {
+                if (crossingCount < crossingEpochMillis.length) {
+                    crossingEpochMillis[crossingCount] = RootRefinement.findZeroCrossing(judgeHeight, prevTime * 1e6, prevJudgeHeight, now * 1e6, nowJudgeHeight,
+                            precisionProfile.getToleranceMillis() * 1e6) / 1e6;
+                }
+                ++crossingCount;
+            }
+            if (now >= end) {
+                break;
+            }
+
+            prevTime = now;
+            prevJudgeHeight = nowJudgeHeight;
+            isFirstOfTheLoop = false;
+
+            // The elevation cannot reach the target before this, so no crossing can be missed by skipping the time
+            final long skippableMillis = AstronomicalEventsCalculation.calculateSkippableMillis(Math.abs(nowJudgeHeight), maximumElevationSpeedRadPerDay);
+            final long advanceMillis = Math.min(Math.max(skippableMillis, intervalMillis), end - now);
+            now += advanceMillis;
+            siderealTimeStepper.advance(advanceMillis);
+        }
+
+        return crossingCount;
+    }
+
+    /**
+     * Same as calculateElevationCrossings() taking Observer, but with LocationOnTheEarth.
+     *
+     * @param astronomicalObject Target astronomical object
+     * @param eventDirectionType RISE for the crossings going up, SET for going down. CULMINATION is not accepted.
+     * @param start Start point of calculation in milliseconds from the epoch
+     * @param end End point of calculation in milliseconds from the epoch
+     * @param locationOnTheEarth Target location
+     * @param elevationRad Target elevation in radians, without refraction of the air
+     * @param precisionProfile Precision of the calculation
+     * @param crossingEpochMillis Array to store the times of the crossings in milliseconds from the epoch, in the order of time
+     * @return Number of the crossings, which may be larger than the length of {@code crossingEpochMillis}
+     */
+    public static int calculateElevationCrossings(final AstronomicalObject astronomicalObject,
+                                                  final AstronomicalEventsCalculation.EventDirectionType eventDirectionType,
+                                                  final long start, final long end,
+                                                  final LocationOnTheEarth locationOnTheEarth,
+                                                  final double elevationRad,
+                                                  final PrecisionProfile precisionProfile,
+                                                  final double[] crossingEpochMillis) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        return calculateElevationCrossings(astronomicalObject, eventDirectionType, start, end, Observer.of(locationOnTheEarth), elevationRad, precisionProfile, crossingEpochMillis);
+    }
+
+    /**
+     * Calculates the times when the azimuth of the center of {@code astronomicalObject} crosses {@code azimuthRad} from {@code start} to {@code end}, in either direction.<br>
+     * Crossings below the horizon are also returned. Use calculateAlignmentWindows() to limit the elevation.
+     *
+     * @param astronomicalObject Target astronomical object
+     * @param start Start point of calculation in milliseconds from the epoch
+     * @param end End point of calculation in milliseconds from the epoch
+     * @param observer Target location
+     * @param azimuthRad Target azimuth in radians, from the north to the east
+     * @param precisionProfile Precision of the calculation
+     * @param crossingEpochMillis Array to store the times of the crossings in milliseconds from the epoch, in the order of time
+     * @return Number of the crossings, which may be larger than the length of {@code crossingEpochMillis}
+     */
+    public static int calculateAzimuthCrossings(final AstronomicalObject astronomicalObject,
+                                                final long start, final long end,
+                                                final Observer observer,
+                                                final double azimuthRad,
+                                                final PrecisionProfile precisionProfile,
+                                                final double[] crossingEpochMillis) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final AstronomicalObject interpolated = interpolate(astronomicalObject);
+        final long intervalMillis = precisionProfile.getScanIntervalMillis();
+
+        final double[] state = new double[AstronomicalObject.STATE_LENGTH];
+        final RootRefinement.TimeFunction azimuthDifference = t -> {
+            final long epochMilli = epochMilliOfEpochNanos(t);
+            interpolated.calculateState(epochMilli, state);
+            return calculateAzimuthDifferenceRad(TimePointOnTheEarth.calculateSiderealTimeRad(epochMilli, observer.getLongitudeRad()), state, observer, azimuthRad);
+        };
+
+        int crossingCount = 0;
+        long prevTime = 0L;
+        // NaN at the zenith, where the azimuth is not defined
+        double prevDifference = Double.NaN;
+        final SiderealTimeStepper siderealTimeStepper = new SiderealTimeStepper(start, intervalMillis, observer.getLongitudeRad());
+        for (long now = start; ; now = siderealTimeStepper.getEpochMilli()) {
+            interpolated.calculateState(now, state);
+            final double nowDifference = calculateAzimuthDifferenceRad(siderealTimeStepper.getSiderealTimeRad(), state, observer, azimuthRad);
+
+            // Change of the sign by passing the opposite azimuth jumps by about 2 pi, which is not a crossing
+            if ((prevDifference < 0.0 && nowDifference >= 0.0 || prevDifference >= 0.0 && nowDifference < 0.0) && Math.abs(nowDifference - prevDifference) < Math.PI) {
+                if (crossingCount < crossingEpochMillis.length) {
+                    crossingEpochMillis[crossingCount] = RootRefinement.findZeroCrossing(azimuthDifference, prevTime * 1e6, prevDifference, now * 1e6, nowDifference,
+                            precisionProfile.getToleranceMillis() * 1e6) / 1e6;
+                }
+                ++crossingCount;
+            }
+            if (now >= end) {
+                break;
+            }
+
+            prevTime = now;
+            prevDifference = nowDifference;
+            siderealTimeStepper.advance(Math.min(intervalMillis, end - now));
+        }
+
+        return crossingCount;
+    }
+
+    /**
+     * Same as calculateAzimuthCrossings() taking Observer, but with LocationOnTheEarth.
+     *
+     * @param astronomicalObject Target astronomical object
+     * @param start Start point of calculation in milliseconds from the epoch
+     * @param end End point of calculation in milliseconds from the epoch
+     * @param locationOnTheEarth Target location
+     * @param azimuthRad Target azimuth in radians, from the north to the east
+     * @param precisionProfile Precision of the calculation
+     * @param crossingEpochMillis Array to store the times of the crossings in milliseconds from the epoch, in the order of time
+     * @return Number of the crossings, which may be larger than the length of {@code crossingEpochMillis}
+     */
+    public static int calculateAzimuthCrossings(final AstronomicalObject astronomicalObject,
+                                                final long start, final long end,
+                                                final LocationOnTheEarth locationOnTheEarth,
+                                                final double azimuthRad,
+                                                final PrecisionProfile precisionProfile,
+                                                final double[] crossingEpochMillis) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        return calculateAzimuthCrossings(astronomicalObject, start, end, Observer.of(locationOnTheEarth), azimuthRad, precisionProfile, crossingEpochMillis);
+    }
+
+    /**
+     * Calculates the windows when {@code astronomicalObject} is within the tolerances from the target azimuth and elevation from {@code start} to {@code end}
+     * (e.g. the Sun or the Moon behind a landmark seen from the location).<br>
+     * The start and the end of the i-th window are stored at index 2 * i and 2 * i + 1 of {@code windowEpochMillis}.
+     * Windows continuing at {@code start} or {@code end} are cut there.
+     *
+     * @param astronomicalObject Target astronomical object
+     * @param start Start point of calculation in milliseconds from the epoch
+     * @param end End point of calculation in milliseconds from the epoch
+     * @param observer Target location
+     * @param azimuthRad Target azimuth in radians, from the north to the east
+     * @param azimuthToleranceRad Maximum difference from {@code azimuthRad} in radians
+     * @param elevationRad Target elevation in radians, without refraction of the air
+     * @param elevationToleranceRad Maximum difference from {@code elevationRad} in radians
+     * @param precisionProfile Precision of the calculation
+     * @param windowEpochMillis Array to store the starts and the ends of the windows in milliseconds from the epoch, in the order of time
+     * @return Number of the windows, which may be larger than the half of the length of {@code windowEpochMillis}
+     */
+    public static int calculateAlignmentWindows(final AstronomicalObject astronomicalObject,
+                                                final long start, final long end,
+                                                final Observer observer,
+                                                final double azimuthRad, final double azimuthToleranceRad,
+                                                final double elevationRad, final double elevationToleranceRad,
+                                                final PrecisionProfile precisionProfile,
+                                                final double[] windowEpochMillis) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final AstronomicalObject interpolated = interpolate(astronomicalObject);
+        final long intervalMillis = precisionProfile.getScanIntervalMillis();
+        final double maximumElevationSpeedRadPerDay = AstronomicalEventsCalculation.calculateMaximumElevationSpeedRadPerDay(interpolated, start, observer);
+
+        final double[] state = new double[AstronomicalObject.STATE_LENGTH];
+        int windowCount = 0;
+        long prevTime = 0L;
+        boolean prevInside = false;
+        long now = start;
+        final SiderealTimeStepper siderealTimeStepper = new SiderealTimeStepper(now, intervalMillis, observer.getLongitudeRad());
+        while (true) {
+            interpolated.calculateState(now, state);
+            final double siderealTimeRad = siderealTimeStepper.getSiderealTimeRad();
+            final double elevationDistanceRad = Math.abs(calculateActualElevationRad(siderealTimeRad, state, observer) - elevationRad) - elevationToleranceRad;
+            final boolean nowInside = elevationDistanceRad <= 0.0 && Math.abs(calculateAzimuthDifferenceRad(siderealTimeRad, state, observer, azimuthRad)) <= azimuthToleranceRad;
+
+            if (nowInside && ! prevInside) {
+                if (2 * windowCount + 1 < windowEpochMillis.length) {
+                    // The window continuing at the start is cut there
+                    windowEpochMillis[2 * windowCount] = now == start ? start : findBorder(interpolated, prevTime, now, observer, azimuthRad, azimuthToleranceRad, elevationRad, elevationToleranceRad,
+                            precisionProfile.getToleranceMillis(), state);
+                }
+            } else if (! nowInside && prevInside) {
+                if (2 * windowCount + 1 < windowEpochMillis.length) {
+                    windowEpochMillis[2 * windowCount + 1] = findBorder(interpolated, prevTime, now, observer, azimuthRad, azimuthToleranceRad, elevationRad, elevationToleranceRad,
+                            precisionProfile.getToleranceMillis(), state);
+                }
+                ++windowCount;
+            }
+            if (now >= end) {
+                if (nowInside) {
+                    if (2 * windowCount + 1 < windowEpochMillis.length) {
+                        windowEpochMillis[2 * windowCount + 1] = end;
+                    }
+                    ++windowCount;
+                }
+                break;
+            }
+
+            prevTime = now;
+            prevInside = nowInside;
+
+            // The elevation cannot enter the band of the tolerance before this, so no window can be missed by skipping the time
+            final long skippableMillis = AstronomicalEventsCalculation.calculateSkippableMillis(Math.max(elevationDistanceRad, 0.0), maximumElevationSpeedRadPerDay);
+            final long advanceMillis = Math.min(Math.max(skippableMillis, intervalMillis), end - now);
+            now += advanceMillis;
+            siderealTimeStepper.advance(advanceMillis);
+        }
+
+        return windowCount;
+    }
+
+    /**
+     * Same as calculateAlignmentWindows() taking Observer, but with LocationOnTheEarth.
+     *
+     * @param astronomicalObject Target astronomical object
+     * @param start Start point of calculation in milliseconds from the epoch
+     * @param end End point of calculation in milliseconds from the epoch
+     * @param locationOnTheEarth Target location
+     * @param azimuthRad Target azimuth in radians, from the north to the east
+     * @param azimuthToleranceRad Maximum difference from {@code azimuthRad} in radians
+     * @param elevationRad Target elevation in radians, without refraction of the air
+     * @param elevationToleranceRad Maximum difference from {@code elevationRad} in radians
+     * @param precisionProfile Precision of the calculation
+     * @param windowEpochMillis Array to store the starts and the ends of the windows in milliseconds from the epoch, in the order of time
+     * @return Number of the windows, which may be larger than the half of the length of {@code windowEpochMillis}
+     */
+    public static int calculateAlignmentWindows(final AstronomicalObject astronomicalObject,
+                                                final long start, final long end,
+                                                final LocationOnTheEarth locationOnTheEarth,
+                                                final double azimuthRad, final double azimuthToleranceRad,
+                                                final double elevationRad, final double elevationToleranceRad,
+                                                final PrecisionProfile precisionProfile,
+                                                final double[] windowEpochMillis) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        return calculateAlignmentWindows(astronomicalObject, start, end, Observer.of(locationOnTheEarth), azimuthRad, azimuthToleranceRad,
+                elevationRad, elevationToleranceRad, precisionProfile, windowEpochMillis);
+    }
+
+    // Returns the time between inside and outside of the window by bisection, as the border is where either of the 4 limits is crossed
+    private static double findBorder(final AstronomicalObject interpolated, long lo, long hi, final Observer observer,
+                                     final double azimuthRad, final double azimuthToleranceRad, final double elevationRad, final double elevationToleranceRad,
+                                     final long toleranceMillis, final double[] state) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final boolean insideAtLo = isInside(interpolated, lo, observer, azimuthRad, azimuthToleranceRad, elevationRad, elevationToleranceRad, state);
+        while (hi - lo > Math.max(toleranceMillis, 1L)) {
+            final long mid = lo + (hi - lo) / 2;
+            if (isInside(interpolated, mid, observer, azimuthRad, azimuthToleranceRad, elevationRad, elevationToleranceRad, state) == insideAtLo) {
+                lo = mid;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo + (hi - lo) / 2.0;
+    }
+
+    private static boolean isInside(final AstronomicalObject interpolated, final long epochMilli, final Observer observer,
+                                    final double azimuthRad, final double azimuthToleranceRad, final double elevationRad, final double elevationToleranceRad,
+                                    final double[] state) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        interpolated.calculateState(epochMilli, state);
+        final double siderealTimeRad = TimePointOnTheEarth.calculateSiderealTimeRad(epochMilli, observer.getLongitudeRad());
+        return Math.abs(calculateActualElevationRad(siderealTimeRad, state, observer) - elevationRad) <= elevationToleranceRad
+                && Math.abs(calculateAzimuthDifferenceRad(siderealTimeRad, state, observer, azimuthRad)) <= azimuthToleranceRad;
+    }
+
+    private static double calculateActualElevationRad(double siderealTimeRad, double[] state, Observer observer) {
+        return HorizontalCoordinatesFromGround.calculateActualElevationRad(siderealTimeRad - state[AstronomicalObject.STATE_RIGHT_ASCENSION], state, observer);
+    }
+
+    // Azimuth minus the target in [-pi, pi), or NaN at the zenith
+    private static double calculateAzimuthDifferenceRad(double siderealTimeRad, double[] state, Observer observer, double azimuthRad) {
+        final double hourAngleRad = siderealTimeRad - state[AstronomicalObject.STATE_RIGHT_ASCENSION];
+        final double differenceRad = HorizontalCoordinatesFromTheCenterOfTheEarth.calculateAzimuthRad(hourAngleRad, state[AstronomicalObject.STATE_DECLINATION], observer) - azimuthRad;
+        return differenceRad - Math.floor(differenceRad / (2.0 * Math.PI) + 0.5) * 2.0 * Math.PI;
+    }
+
+    private static AstronomicalObject interpolate(AstronomicalObject astronomicalObject) {
+        if (astronomicalObject instanceof ChebyshevInterpolatedAstronomicalObject) {
+            return astronomicalObject;
+        }
+        return ChebyshevInterpolatedAstronomicalObject.forAny(astronomicalObject);
+    }
+
+    // Time is evaluated in milliseconds, as the library computes positions from epoch milliseconds
+    private static long epochMilliOfEpochNanos(double epochNanos) {
+        return (long) Math.floor(epochNanos / 1e6);
+    }
+}
@@ -0,0 +1,427 @@
+package net.nhiroki.lib.bluelineastrolib.tool;
+
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.AstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.ChebyshevInterpolatedAstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.PrecisionProfile;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Moon;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Sun;
+import net.nhiroki.lib.bluelineastrolib.coordinates.LocationOnTheEarth;
+import net.nhiroki.lib.bluelineastrolib.coordinates.Observer;
+import net.nhiroki.lib.bluelineastrolib.earth.Earth;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.ComputationFailure;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+import net.nhiroki.lib.bluelineastrolib.logic.AstronomicalEventsCalculation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+
+/**
+ * File of sunrise, sunset, moonrise and moonset for many locations and days, read by memory mapping.<br>
+ * <br>
+ * The file is written by write(), and read by open(), which maps the file and reads each value from the mapped memory directly.
+ * A lookup costs an offset computation and a few reads of the memory, and allocates no object, so a server can answer many locations without loading the file.<br>
+ * <br>
+ * Days are UTC, and each event is stored in seconds from 00:00 UTC of the day as GridEventCalculator, or NO_EVENT if it does not happen within the day.
+ * The definition of the events is the same as DailyAlmanac (the top of the Sun and the center of the Moon, with the elevation of the location considered),
+ * computed by calculateEventWithin24h() from 00:00 UTC.<br>
+ * <br>
+ * Format (little endian):
+ * <ul>
+ *   <li>Header of HEADER_BYTES: magic, format version, first day (days from 1970-01-01), number of days, number of locations, bytes of a record</li>
+ *   <li>Locations: longitude, latitude (degrees) and elevation (meters) as double, for each location</li>
+ *   <li>Records of RECORD_BYTES for each location and day, all days of a location together. Location id is the index in the array given to write().</li>
+ * </ul>
+ * Seconds of the day need 17 bits, so a record has the lower 16 bits of each event as unsigned short, and a byte of the 17th bits of the events.
+ * Records of a location do not depend on other records, so any day is read without the previous days.<br>
+ * <br>
+ * Records are mapped by buffers of at most 1 GiB holding whole locations, so files larger than 2 GiB (e.g. 50000 locations for 30 years, about 4.9 GB) can be read.
+ * An instance can be shared by threads after open().
+ */
+public class BinaryAlmanacFile implements Closeable {
+    public static final int NO_EVENT = -1;
+
+    public static final int MAGIC = 0x4C414C42;
+    public static final int FORMAT_VERSION = 1;
+    public static final int HEADER_BYTES = 32;
+    public static final int LOCATION_BYTES = 24;
+    public static final int RECORD_BYTES = 9;
+
+    public enum Event {
+        SUNRISE,
+        SUNSET,
+        MOONRISE,
+        MOONSET,
+    }
+
+    private static final Event[] EVENTS = Event.values();
+    private static final int ENCODED_NO_EVENT = 0x1FFFF;
+    private static final int MAX_BUFFER_BYTES = 1 << 30;
+    // Days whose interpolations are prepared at once when writing
+    private static final int DAYS_PER_BLOCK = 32;
+    private static final int LOCATIONS_PER_TASK = 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] buffers;
+    private final int locationsPerBuffer;
+    private final long firstEpochDay;
+    private final int dayCount;
+    private final double[] longitudeDeg;
+    private final double[] latitudeDeg;
+    private final double[] elevationMeters;
+
+
+    private BinaryAlmanacFile(FileChannel channel, MappedByteBuffer[] buffers, int locationsPerBuffer, long firstEpochDay, int dayCount,
+                              double[] longitudeDeg, double[] latitudeDeg, double[] elevationMeters) {
+        this.channel = channel;
+        this.buffers = buffers;
+        this.locationsPerBuffer = locationsPerBuffer;
+        this.firstEpochDay = firstEpochDay;
+        this.dayCount = dayCount;
+        this.longitudeDeg = longitudeDeg;
+        this.latitudeDeg = latitudeDeg;
+        this.elevationMeters = elevationMeters;
+    }
+
+    /**
+     * Opens the file written by write().
+     *
+     * @param path Path of the file
+     * @return Opened file, which should be closed after use
+     * @throws IOException If the file cannot be read, or is not in the format
+     */
+    public static BinaryAlmanacFile open(Path path) throws IOException {
+        return open(path, MAX_BUFFER_BYTES);
+    }
+
+    static BinaryAlmanacFile open(Path path, int maxBufferBytes) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, header, 0L);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != FORMAT_VERSION || header.getInt(24) != RECORD_BYTES) {
+                throw new IOException("Not a binary almanac file of this version: " + path);
+            }
+            final long firstEpochDay = header.getLong(8);
+            final int dayCount = header.getInt(16);
+            final int locationCount = header.getInt(20);
+            if (dayCount < 1 || locationCount < 1 || (long) dayCount * RECORD_BYTES > maxBufferBytes) {
+                throw new IOException("Invalid header of binary almanac file: " + path);
+            }
+            final long recordsStart = HEADER_BYTES + (long) LOCATION_BYTES * locationCount;
+            if (channel.size() != recordsStart + (long) RECORD_BYTES * dayCount * locationCount) {
+                throw new IOException("Size of binary almanac file does not match the header: " + path);
+            }
+
+            final ByteBuffer locations = ByteBuffer.allocate(LOCATION_BYTES * locationCount).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, locations, HEADER_BYTES);
+            final double[] longitudeDeg = new double[locationCount];
+            final double[] latitudeDeg = new double[locationCount];
+            final double[] elevationMeters = new double[locationCount];
+            for (int i = 0; i < locationCount; ++i) {
+                longitudeDeg[i] = locations.getDouble(i * LOCATION_BYTES);
+                latitudeDeg[i] = locations.getDouble(i * LOCATION_BYTES + 8);
+                elevationMeters[i] = locations.getDouble(i * LOCATION_BYTES + 16);
+            }
+
+            final int locationsPerBuffer = maxBufferBytes / (dayCount * RECORD_BYTES);
+            final MappedByteBuffer[] buffers = mapRecords(channel, FileChannel.MapMode.READ_ONLY, recordsStart, locationCount, dayCount, locationsPerBuffer);
+            return new BinaryAlmanacFile(channel, buffers, locationsPerBuffer, firstEpochDay, dayCount, longitudeDeg, latitudeDeg, elevationMeters);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Computes the events for each location and day, and writes them to the file, using the common pool of ForkJoinPool.
+     *
+     * @param path Path of the file, which is overwritten if it exists
+     * @param locations Locations, whose index is the location id in the file
+     * @param firstDate First date in UTC
+     * @param dayCount Number of days
+     */
+    public static void write(Path path, LocationOnTheEarth[] locations, LocalDate firstDate, int dayCount) throws IOException, AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        write(path, locations, firstDate, dayCount, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as write() without pool, but computes with the specified pool.<br>
+     * <br>
+     * Days are computed by blocks of DAYS_PER_BLOCK days. For each block, the Sun and the Moon are interpolated by ChebyshevInterpolatedAstronomicalObject
+     * fitted beforehand (see GridEventCalculator), and the locations are split into tasks writing into distinct records of the mapped file.<br>
+     * The file is written to a temporary file in the same directory, which replaces {@code path} only after all of it is on the disk,
+     * so a reader never opens a partially written file, and the old file is kept if the computation fails.
+     *
+     * @param path Path of the file, which is overwritten if it exists
+     * @param locations Locations, whose index is the location id in the file
+     * @param firstDate First date in UTC
+     * @param dayCount Number of days
+     * @param pool Pool to run the computation
+     */
+    public static void write(Path path, LocationOnTheEarth[] locations, LocalDate firstDate, int dayCount, ForkJoinPool pool) throws IOException, AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        write(path, locations, firstDate, dayCount, pool, MAX_BUFFER_BYTES);
+    }
+
+    static void write(Path path, LocationOnTheEarth[] locations, LocalDate firstDate, int dayCount, ForkJoinPool pool, int maxBufferBytes) throws IOException, AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        if (locations.length < 1 || dayCount < 1) {
+            throw new IllegalArgumentException("Binary almanac file must have at least one location and one day");
+        }
+        if ((long) dayCount * RECORD_BYTES > maxBufferBytes) {
+            throw new IllegalArgumentException("Too many days for binary almanac file");
+        }
+
+        // Written to a temporary file in the same directory and moved to the path at last, so that the path never has a partially written file
+        final Path temporaryPath = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                writeRecords(channel, locations, firstDate, dayCount, pool, maxBufferBytes);
+            }
+            copyPermissions(path, temporaryPath);
+            Files.move(temporaryPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporaryPath);
+        }
+    }
+
+    private static void writeRecords(FileChannel channel, LocationOnTheEarth[] locations, LocalDate firstDate, int dayCount, ForkJoinPool pool, int maxBufferBytes) throws IOException, AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        // Magic is written after all the others are on the disk, so that the file is not opened if the writer stops in the middle
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES + LOCATION_BYTES * locations.length).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(4, FORMAT_VERSION);
+        header.putLong(8, firstDate.toEpochDay());
+        header.putInt(16, dayCount);
+        header.putInt(20, locations.length);
+        header.putInt(24, RECORD_BYTES);
+        for (int i = 0; i < locations.length; ++i) {
+            header.putDouble(HEADER_BYTES + i * LOCATION_BYTES, locations[i].getLongitudeDeg());
+            header.putDouble(HEADER_BYTES + i * LOCATION_BYTES + 8, locations[i].getLatitudeDeg());
+            header.putDouble(HEADER_BYTES + i * LOCATION_BYTES + 16, locations[i].getElevationMeters());
+        }
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+
+        final int locationsPerBuffer = maxBufferBytes / (dayCount * RECORD_BYTES);
+        final MappedByteBuffer[] buffers = mapRecords(channel, FileChannel.MapMode.READ_WRITE, HEADER_BYTES + (long) LOCATION_BYTES * locations.length,
+                locations.length, dayCount, locationsPerBuffer);
+
+        final long firstDayEpochMilli = firstDate.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+        final Sun sun = new Sun();
+        final Moon moon = new Moon();
+        for (int blockFirstDay = 0; blockFirstDay < dayCount; blockFirstDay += DAYS_PER_BLOCK) {
+            final int blockDayCount = Math.min(DAYS_PER_BLOCK, dayCount - blockFirstDay);
+            final long blockStartEpochMilli = firstDayEpochMilli + blockFirstDay * 86400000L;
+
+            // All segments including the days before and after are fitted here, so that the objects are never evaluated from the tasks
+            final ChebyshevInterpolatedAstronomicalObject interpolatedSun = ChebyshevInterpolatedAstronomicalObject.ofRange(sun, 86400000L, ChebyshevInterpolatedAstronomicalObject.SUN_NODE_COUNT,
+                    blockStartEpochMilli - 86400000L, blockDayCount + 2);
+            final ChebyshevInterpolatedAstronomicalObject interpolatedMoon = ChebyshevInterpolatedAstronomicalObject.ofRange(moon, 86400000L, ChebyshevInterpolatedAstronomicalObject.MOON_NODE_COUNT,
+                    blockStartEpochMilli - 86400000L, blockDayCount + 2);
+
+            final Block block = new Block(interpolatedSun, interpolatedMoon, locations, buffers, locationsPerBuffer, dayCount, blockFirstDay, blockDayCount, blockStartEpochMilli);
+            try {
+                pool.invoke(new LocationsTask(block, 0, locations.length));
+            } catch (ComputationFailure e) {
+                e.rethrowCause();
+            }
+        }
+
+        for (MappedByteBuffer buffer : buffers) {
+            buffer.force();
+        }
+        channel.force(true);
+
+        final ByteBuffer magic = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        magic.putInt(0, MAGIC);
+        while (magic.hasRemaining()) {
+            channel.write(magic, magic.position());
+        }
+        channel.force(true);
+    }
+
+    public int getLocationCount() {
+        return this.longitudeDeg.length;
+    }
+
+    public int getDayCount() {
+        return this.dayCount;
+    }
+
+    public LocalDate getFirstDate() {
+        return LocalDate.ofEpochDay(this.firstEpochDay);
+    }
+
+    public LocationOnTheEarth getLocation(int locationId) {
+        return LocationOnTheEarth.ofDegreesMeters(this.longitudeDeg[locationId], this.latitudeDeg[locationId], this.elevationMeters[locationId]);
+    }
+
+    /**
+     * Returns the day number of the date in this file, which may be out of the range of the file.
+     *
+     * @param date Date in UTC
+     * @return Days from the first date
+     */
+    public long dayOf(LocalDate date) {
+        return date.toEpochDay() - this.firstEpochDay;
+    }
+
+    /**
+     * Returns the event of the location on the day, reading the mapped file directly.
+     *
+     * @param locationId Index of the location in the array given to write()
+     * @param day Days from the first date
+     * @param event Event to read
+     * @return Seconds from 00:00 UTC of the day, or NO_EVENT
+     */
+    public int getSecondOfDay(int locationId, int day, Event event) {
+        if (locationId < 0 || locationId >= this.longitudeDeg.length || day < 0 || day >= this.dayCount) {
+            throw new IndexOutOfBoundsException("Location " + locationId + " or day " + day + " out of the file");
+        }
+        final MappedByteBuffer buffer = this.buffers[locationId / this.locationsPerBuffer];
+        final int offset = ((locationId % this.locationsPerBuffer) * this.dayCount + day) * RECORD_BYTES;
+        final int ordinal = event.ordinal();
+        final int value = (buffer.getShort(offset + 2 * ordinal) & 0xFFFF) | (((buffer.get(offset + 8) >>> ordinal) & 1) << 16);
+        return value == ENCODED_NO_EVENT ? NO_EVENT : value;
+    }
+
+    /**
+     * Closes the file. Mapped memory is released when the instance is garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    // Files.createTempFile() makes the file readable only by the owner, which would be kept by the move.
+    // Permissions of the file being replaced are kept, and a new file is readable by all, as files created by FileChannel.open() with the usual umask.
+    private static void copyPermissions(Path path, Path temporaryPath) throws IOException {
+        if (! Files.getFileStore(temporaryPath).supportsFileAttributeView(PosixFileAttributeView.class)) {
+            return;
+        }
+        Files.setPosixFilePermissions(temporaryPath, Files.exists(path) ? Files.getPosixFilePermissions(path) : PosixFilePermissions.fromString("rw-r--r--"));
+    }
+
+    private static MappedByteBuffer[] mapRecords(FileChannel channel, FileChannel.MapMode mode, long recordsStart,
+                                                 int locationCount, int dayCount, int locationsPerBuffer) throws IOException {
+        final long locationBytes = (long) dayCount * RECORD_BYTES;
+        final MappedByteBuffer[] buffers = new MappedByteBuffer[(locationCount + locationsPerBuffer - 1) / locationsPerBuffer];
+        for (int i = 0; i < buffers.length; ++i) {
+            final int locationsInBuffer = Math.min(locationsPerBuffer, locationCount - i * locationsPerBuffer);
+            buffers[i] = channel.map(mode, recordsStart + i * locationsPerBuffer * locationBytes, locationsInBuffer * locationBytes);
+            buffers[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return buffers;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of binary almanac file");
+            }
+        }
+    }
+
+    // Records of the days in the block, computed by tasks
+    private static class Block {
+        private final AstronomicalObject sun;
+        private final AstronomicalObject moon;
+        private final LocationOnTheEarth[] locations;
+        private final MappedByteBuffer[] buffers;
+        private final int locationsPerBuffer;
+        private final int dayCount;
+        private final int firstDay;
+        private final int blockDayCount;
+        private final long startEpochMilli;
+
+        Block(AstronomicalObject sun, AstronomicalObject moon, LocationOnTheEarth[] locations, MappedByteBuffer[] buffers, int locationsPerBuffer,
+              int dayCount, int firstDay, int blockDayCount, long startEpochMilli) {
+            this.sun = sun;
+            this.moon = moon;
+            this.locations = locations;
+            this.buffers = buffers;
+            this.locationsPerBuffer = locationsPerBuffer;
+            this.dayCount = dayCount;
+            this.firstDay = firstDay;
+            this.blockDayCount = blockDayCount;
+            this.startEpochMilli = startEpochMilli;
+        }
+
+        void writeLocation(int locationId) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+            final double heightStandardRad = -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0);
+            // Prepared once, as all the days of the block are computed at the location
+            final Observer observer = Observer.of(this.locations[locationId]);
+            final MappedByteBuffer buffer = this.buffers[locationId / this.locationsPerBuffer];
+
+            for (int i = 0; i < this.blockDayCount; ++i) {
+                final long dayStart = this.startEpochMilli + i * 86400000L;
+                final int offset = ((locationId % this.locationsPerBuffer) * this.dayCount + this.firstDay + i) * RECORD_BYTES;
+                int highBits = 0;
+                for (Event event : EVENTS) {
+                    final boolean isSun = event == Event.SUNRISE || event == Event.SUNSET;
+                    final double eventEpochMilli = AstronomicalEventsCalculation.calculateEventWithin24h(
+                            isSun ? this.sun : this.moon,
+                            (event == Event.SUNRISE || event == Event.MOONRISE) ? AstronomicalEventsCalculation.EventDirectionType.RISE : AstronomicalEventsCalculation.EventDirectionType.SET,
+                            dayStart, observer, true,
+                            isSun ? AstronomicalEventsCalculation.ReferencePoint.TOP : AstronomicalEventsCalculation.ReferencePoint.CENTER,
+                            true, heightStandardRad, PrecisionProfile.DEFAULT);
+                    final int value;
+                    if (Double.isNaN(eventEpochMilli) || eventEpochMilli < dayStart || eventEpochMilli >= dayStart + 86400000L) {
+                        value = ENCODED_NO_EVENT;
+                    } else {
+                        value = (int) ((long) Math.floor(eventEpochMilli - dayStart) / 1000L);
+                    }
+                    buffer.putShort(offset + 2 * event.ordinal(), (short) value);
+                    highBits |= (value >>> 16) << event.ordinal();
+                }
+                buffer.put(offset + 8, (byte) highBits);
+            }
+        }
+    }
+
+    private static class LocationsTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Block block;
+        private final int locationFrom;
+        private final int locationTo;
+
+        LocationsTask(Block block, int locationFrom, int locationTo) {
+            this.block = block;
+            this.locationFrom = locationFrom;
+            this.locationTo = locationTo;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.locationTo - this.locationFrom > LOCATIONS_PER_TASK) {
+                final int locationMid = (this.locationFrom + this.locationTo) >>> 1;
+                invokeAll(new LocationsTask(this.block, this.locationFrom, locationMid),
+                          new LocationsTask(this.block, locationMid, this.locationTo));
+                return;
+            }
+
+            try {
+                for (int locationId = this.locationFrom; locationId < this.locationTo; ++locationId) {
+                    this.block.writeLocation(locationId);
+                }
+            } catch (AstronomicalPhenomenonComputationException | UnsupportedDateRangeException e) {
+                throw new ComputationFailure(e);
+            }
+        }
+    }
+}
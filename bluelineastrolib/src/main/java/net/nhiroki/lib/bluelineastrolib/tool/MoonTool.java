@@ -9,7 +9,11 @@ import java.time.Instant;
 
 public class MoonTool {
     public static double calculateMoonPhaseDeg(Instant t) {
-        double phase = new Moon().calculateEclipticCoordinates(t).getLongitudeDeg() - new Sun().calculateEclipticCoordinates(t).getLongitudeDeg();
+        return calculateMoonPhaseDegByEclipticLongitudes(new Moon().calculateEclipticCoordinates(t).getLongitudeDeg(), new Sun().calculateEclipticCoordinates(t).getLongitudeDeg());
+    }
+
+    static double calculateMoonPhaseDegByEclipticLongitudes(double moonEclipticLongitudeDeg, double sunEclipticLongitudeDeg) {
+        double phase = moonEclipticLongitudeDeg - sunEclipticLongitudeDeg;
         phase -= Math.floor(phase / 360.0) * 360.0;
         return phase;
     }
@@ -0,0 +1,130 @@
+package net.nhiroki.lib.bluelineastrolib.astronomicalobjects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Moon;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Sun;
+import net.nhiroki.lib.bluelineastrolib.coordinates.CelestialCoordinatesWithRightAscension;
+import net.nhiroki.lib.bluelineastrolib.coordinates.LocationOnTheEarth;
+import net.nhiroki.lib.bluelineastrolib.coordinates.Observer;
+import net.nhiroki.lib.bluelineastrolib.earth.Earth;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+import net.nhiroki.lib.bluelineastrolib.logic.AstronomicalEventsCalculation;
+import net.nhiroki.lib.bluelineastrolib.test_data.CountingAstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.test_data.LocationsForTest;
+
+import org.junit.Test;
+
+import java.time.Instant;
+
+
+public class CachingAstronomicalObjectTest {
+    @Test
+    public void sameAsSourceTest() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final double heightStandardRad = -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0);
+
+        for (AstronomicalObject source : new AstronomicalObject[] { new Sun(), new Moon() }) {
+            final CachingAstronomicalObject caching = new CachingAstronomicalObject(source);
+
+            for (Instant t = Instant.parse("2026-01-01T00:00:00Z"); t.isBefore(Instant.parse("2027-01-01T00:00:00Z")); t = t.plusSeconds(86400 * 11 + 3607)) {
+                // Asked twice, the second is answered from the cache
+                for (int i = 0; i < 2; ++i) {
+                    final CelestialCoordinatesWithRightAscension expected = source.calculateCelestialCoordinates(t);
+                    final CelestialCoordinatesWithRightAscension actual = caching.calculateCelestialCoordinates(t);
+                    assertEquals(expected.getRightAscensionRad(), actual.getRightAscensionRad(), 0.0);
+                    assertEquals(expected.getDeclinationRad(), actual.getDeclinationRad(), 0.0);
+                    assertEquals(source.calculateEquatorialHorizontalParallaxRad(t), caching.calculateEquatorialHorizontalParallaxRad(t), 0.0);
+                    assertEquals(source.calculateApparentRadiusRad(t), caching.calculateApparentRadiusRad(t), 0.0);
+                    assertEquals(source.estimatedIncrementOfRightAscensionRadPerDay(t), caching.estimatedIncrementOfRightAscensionRadPerDay(t), 0.0);
+                }
+
+                // Sub-millisecond part is passed to the source as is
+                final Instant withNanos = t.plusNanos(123456);
+                assertEquals(source.calculateCelestialCoordinates(withNanos).getRightAscensionRad(), caching.calculateCelestialCoordinates(withNanos).getRightAscensionRad(), 0.0);
+
+                for (LocationOnTheEarth locationOnTheEarth : LocationsForTest.listLocationsForTest()) {
+                    final Observer observer = Observer.of(locationOnTheEarth);
+                    for (AstronomicalEventsCalculation.EventDirectionType eventDirectionType : AstronomicalEventsCalculation.EventDirectionType.values()) {
+                        assertEquals(
+                                AstronomicalEventsCalculation.calculateEventWithin24h(source, eventDirectionType, t.toEpochMilli(), observer,
+                                        true, AstronomicalEventsCalculation.ReferencePoint.TOP, true, heightStandardRad, PrecisionProfile.DEFAULT),
+                                AstronomicalEventsCalculation.calculateEventWithin24h(caching, eventDirectionType, t.toEpochMilli(), observer,
+                                        true, AstronomicalEventsCalculation.ReferencePoint.TOP, true, heightStandardRad, PrecisionProfile.DEFAULT),
+                                0.0);
+                    }
+                }
+            }
+            assertTrue(caching.getHitCount() > 0);
+            assertTrue(caching.getMissCount() > 0);
+        }
+    }
+
+    @Test
+    public void evaluationCountTest() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final double heightStandardRad = -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0);
+
+        // Polar area, where the same time points are evaluated again in calculateEventWithin24h()
+        int countWithoutCache = 0;
+        int countWithCache = 0;
+        for (Instant t = Instant.parse("2026-01-01T00:00:00Z"); t.isBefore(Instant.parse("2027-01-01T00:00:00Z")); t = t.plusSeconds(86400 * 3)) {
+            for (LocationOnTheEarth locationOnTheEarth : new LocationOnTheEarth[] { LocationsForTest.getTromsoe(), LocationsForTest.getShowaStation() }) {
+                final CountingAstronomicalObject withoutCache = new CountingAstronomicalObject(new Moon(), false);
+                final CountingAstronomicalObject source = new CountingAstronomicalObject(new Moon(), false);
+                final CachingAstronomicalObject caching = new CachingAstronomicalObject(source);
+
+                AstronomicalEventsCalculation.calculateEventWithin24h(withoutCache, AstronomicalEventsCalculation.EventDirectionType.RISE, t.toEpochMilli(), Observer.of(locationOnTheEarth),
+                        true, AstronomicalEventsCalculation.ReferencePoint.TOP, true, heightStandardRad, PrecisionProfile.DEFAULT);
+                AstronomicalEventsCalculation.calculateEventWithin24h(caching, AstronomicalEventsCalculation.EventDirectionType.RISE, t.toEpochMilli(), Observer.of(locationOnTheEarth),
+                        true, AstronomicalEventsCalculation.ReferencePoint.TOP, true, heightStandardRad, PrecisionProfile.DEFAULT);
+
+                assertTrue(source.getCount() <= withoutCache.getCount());
+                countWithoutCache += withoutCache.getCount();
+                countWithCache += source.getCount();
+            }
+        }
+
+        assertTrue(countWithCache < countWithoutCache);
+    }
+
+    @Test
+    public void cacheOfEachThreadTest() throws Exception {
+        final CountingAstronomicalObject source = new CountingAstronomicalObject(new Sun(), false);
+        final CachingAstronomicalObject caching = new CachingAstronomicalObject(source, 2);
+        final double[] coordinates = new double[2];
+
+        final long t = Instant.parse("2026-03-20T00:00:00Z").toEpochMilli();
+        caching.calculateCelestialCoordinates(t, coordinates);
+        caching.calculateCelestialCoordinates(t, coordinates);
+        assertEquals(1, source.getCount());
+        assertEquals(1, caching.getHitCount());
+        assertEquals(1, caching.getMissCount());
+
+        // Other thread does not see the cache of this thread
+        final Thread thread = new Thread(() -> {
+            try {
+                caching.calculateCelestialCoordinates(t, new double[2]);
+            } catch (AstronomicalPhenomenonComputationException | UnsupportedDateRangeException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        thread.start();
+        thread.join();
+        assertEquals(2, source.getCount());
+        assertEquals(2, caching.getMissCount());
+
+        // Oldest time point is replaced when the capacity is exceeded
+        caching.calculateCelestialCoordinates(t + 1000L, coordinates);
+        caching.calculateCelestialCoordinates(t + 2000L, coordinates);
+        caching.calculateCelestialCoordinates(t, coordinates);
+        assertEquals(5, source.getCount());
+
+        caching.resetCounts();
+        assertEquals(0, caching.getHitCount());
+        assertEquals(0, caching.getMissCount());
+
+        assertThrows(IllegalArgumentException.class, () -> new CachingAstronomicalObject(new Sun(), 0));
+    }
+}
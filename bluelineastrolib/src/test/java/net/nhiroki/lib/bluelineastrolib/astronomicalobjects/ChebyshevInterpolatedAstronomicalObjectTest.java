@@ -0,0 +1,129 @@
+package net.nhiroki.lib.bluelineastrolib.astronomicalobjects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Moon;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Sun;
+import net.nhiroki.lib.bluelineastrolib.coordinates.CelestialCoordinatesWithRightAscension;
+import net.nhiroki.lib.bluelineastrolib.coordinates.LocationOnTheEarth;
+import net.nhiroki.lib.bluelineastrolib.earth.Earth;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+import net.nhiroki.lib.bluelineastrolib.logic.AstronomicalEvent;
+import net.nhiroki.lib.bluelineastrolib.logic.AstronomicalEventsCalculation;
+import net.nhiroki.lib.bluelineastrolib.test_data.CountingAstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.test_data.LocationsForTest;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+public class ChebyshevInterpolatedAstronomicalObjectTest {
+    @Test
+    public void interpolationErrorTest() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        // Checks the maximum errors documented in ChebyshevInterpolatedAstronomicalObject
+        AstronomicalObject[] sources = new AstronomicalObject[] { new Moon(), new Sun() };
+        AstronomicalObject[] interpolated = new AstronomicalObject[] {
+                ChebyshevInterpolatedAstronomicalObject.forMoon(sources[0]),
+                ChebyshevInterpolatedAstronomicalObject.forSun(sources[1]),
+        };
+        double[] maxPositionErrorArcsec = new double[] { 0.001, 0.0001 };
+        double[] maxParallaxAndRadiusErrorArcsec = new double[] { 1e-5, 1e-7 };
+
+        for (int i = 0; i < sources.length; ++i) {
+            // Shifting a bit in each loop not to check the same time of day
+            for (Instant t = Instant.parse("1900-01-01T00:00:00Z"); t.isBefore(Instant.parse("2100-01-01T00:00:00Z")); t = t.plusSeconds(86400 * 7 + 3600 * 5 + 7)) {
+                CelestialCoordinatesWithRightAscension expected = sources[i].calculateCelestialCoordinates(t);
+                CelestialCoordinatesWithRightAscension actual = interpolated[i].calculateCelestialCoordinates(t);
+
+                double rightAscensionDiffRad = actual.getRightAscensionRad() - expected.getRightAscensionRad();
+                rightAscensionDiffRad -= 2.0 * Math.PI * Math.floor(rightAscensionDiffRad / (2.0 * Math.PI) + 0.5);
+                assertEquals(0.0, Math.toDegrees(rightAscensionDiffRad) * 3600.0 * Math.cos(expected.getDeclinationRad()), maxPositionErrorArcsec[i]);
+                assertEquals(Math.toDegrees(expected.getDeclinationRad()) * 3600.0, Math.toDegrees(actual.getDeclinationRad()) * 3600.0, maxPositionErrorArcsec[i]);
+
+                assertEquals(Math.toDegrees(sources[i].calculateEquatorialHorizontalParallaxRad(t)) * 3600.0,
+                        Math.toDegrees(interpolated[i].calculateEquatorialHorizontalParallaxRad(t)) * 3600.0, maxParallaxAndRadiusErrorArcsec[i]);
+                assertEquals(Math.toDegrees(sources[i].calculateApparentRadiusRad(t)) * 3600.0,
+                        Math.toDegrees(interpolated[i].calculateApparentRadiusRad(t)) * 3600.0, maxParallaxAndRadiusErrorArcsec[i]);
+
+                assertEquals(sources[i].estimatedIncrementOfRightAscensionRadPerDay(t), interpolated[i].estimatedIncrementOfRightAscensionRadPerDay(t), Math.toRadians(0.2));
+            }
+        }
+    }
+
+    @Test
+    public void rangeSameAsCacheTest() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final long start = Instant.parse("2026-03-01T05:00:00Z").toEpochMilli();
+        final CountingAstronomicalObject source = new CountingAstronomicalObject(new Moon(), false);
+        final ChebyshevInterpolatedAstronomicalObject range = ChebyshevInterpolatedAstronomicalObject.ofRange(source, 86400000L, 12, start, 3);
+        final ChebyshevInterpolatedAstronomicalObject cache = ChebyshevInterpolatedAstronomicalObject.forMoon(new Moon());
+        // All the segments are fitted on creation, from 00:00 UTC of the day of start
+        assertEquals(3 * 12, source.getCount());
+
+        final double[] expected = new double[AstronomicalObject.STATE_LENGTH];
+        final double[] actual = new double[AstronomicalObject.STATE_LENGTH];
+        for (long t = start - 86400000L; t < start + 4 * 86400000L; t += 3600000L + 17L) {
+            cache.calculateState(t, expected);
+            range.calculateState(t, actual);
+            for (int i = 0; i < AstronomicalObject.STATE_LENGTH; ++i) {
+                assertEquals(expected[i], actual[i], 0.0);
+            }
+        }
+        // Days out of the range (the day before and the 2 days after) are fitted by the cache
+        assertEquals(6 * 12, source.getCount());
+    }
+
+    @Test
+    public void riseSetConsistencyTest() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        ZoneId tokyoZoneId = ZoneId.of("Asia/Tokyo");
+        AstronomicalObject[] sources = new AstronomicalObject[] { new Moon(), new Sun() };
+        AstronomicalObject[] interpolated = new AstronomicalObject[] {
+                ChebyshevInterpolatedAstronomicalObject.forMoon(sources[0]),
+                ChebyshevInterpolatedAstronomicalObject.forSun(sources[1]),
+        };
+
+        for (int i = 0; i < sources.length; ++i) {
+            for (LocationOnTheEarth locationOnTheEarth : new LocationOnTheEarth[] { LocationsForTest.getTokyoNAO(), LocationsForTest.getTopOfMtFuji(), LocationsForTest.getRioDeJaneiro() }) {
+                AstronomicalEvent[] expected = AstronomicalEventsCalculation.calculateEventsBetween(sources[i], LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31),
+                        tokyoZoneId, locationOnTheEarth, true, AstronomicalEventsCalculation.ReferencePoint.TOP);
+                AstronomicalEvent[] actual = AstronomicalEventsCalculation.calculateEventsBetween(interpolated[i], LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31),
+                        tokyoZoneId, locationOnTheEarth, true, AstronomicalEventsCalculation.ReferencePoint.TOP);
+
+                assertEquals(expected.length, actual.length);
+                for (int j = 0; j < expected.length; ++j) {
+                    assertEquals(expected[j].getEventDirectionType(), actual[j].getEventDirectionType());
+                    assertEquals(0.0, Duration.between(expected[j].getTime(), actual[j].getTime()).toMillis(), 500.0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void slowPathScanEvaluationCount() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        // The one-minute scan used as the slow path of calculateEventWithin24h, which evaluates the object 1440 times per day.
+        // Skipping by maximumAngularSpeedRadPerDay() is disabled to measure dense evaluations. Speed is measured by EventsBetweenBenchmark.
+        LocationOnTheEarth placeToTest = LocationsForTest.getShowaStation();
+        Instant start = Instant.parse("2026-01-01T00:00:00Z");
+        Instant end = Instant.parse("2026-03-01T00:00:00Z");
+        double heightStandardRad = -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0);
+
+        CountingAstronomicalObject moon = new CountingAstronomicalObject(new Moon(), true);
+        Instant[] expected = AstronomicalEventsCalculation.calculateAllEvents(moon, AstronomicalEventsCalculation.EventDirectionType.RISE, start, end,
+                Duration.ofMinutes(1), Duration.ofMillis(200), placeToTest, true, AstronomicalEventsCalculation.ReferencePoint.TOP, true, heightStandardRad);
+        CountingAstronomicalObject interpolatedMoon = new CountingAstronomicalObject(new Moon(), true);
+        Instant[] actual = AstronomicalEventsCalculation.calculateAllEvents(ChebyshevInterpolatedAstronomicalObject.forMoon(interpolatedMoon), AstronomicalEventsCalculation.EventDirectionType.RISE, start, end,
+                Duration.ofMinutes(1), Duration.ofMillis(200), placeToTest, true, AstronomicalEventsCalculation.ReferencePoint.TOP, true, heightStandardRad);
+
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; ++i) {
+            assertEquals(0.0, Duration.between(expected[i], actual[i]).toMillis(), 500.0);
+        }
+        // Every sample of 59 days and more, against 12 nodes for each day (the days of start and end, and the day before start for the first step)
+        assertTrue(moon.getCount() >= 59 * 1440);
+        assertTrue(interpolatedMoon.getCount() <= 61 * 12);
+    }
+}
@@ -0,0 +1,92 @@
+package net.nhiroki.lib.bluelineastrolib.astronomicalobjects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Moon;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Sun;
+import net.nhiroki.lib.bluelineastrolib.coordinates.LocationOnTheEarth;
+import net.nhiroki.lib.bluelineastrolib.coordinates.Observer;
+import net.nhiroki.lib.bluelineastrolib.earth.Earth;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+import net.nhiroki.lib.bluelineastrolib.logic.AstronomicalEventsCalculation;
+import net.nhiroki.lib.bluelineastrolib.test_data.LocationsForTest;
+
+import org.junit.Test;
+
+import java.time.Instant;
+
+
+public class PrecisionProfileTest {
+    @Test
+    public void defaultProfileTest() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final Sun sun = new Sun();
+        final Sun defaultSun = new Sun(PrecisionProfile.DEFAULT);
+        final Moon moon = new Moon();
+        final Moon defaultMoon = new Moon(PrecisionProfile.DEFAULT);
+        for (Instant t = Instant.parse("2026-01-01T00:00:00Z"); t.isBefore(Instant.parse("2027-01-01T00:00:00Z")); t = t.plusSeconds(86400 * 7 + 3607)) {
+            assertEquals(sun.calculateCelestialCoordinates(t).getRightAscensionRad(), defaultSun.calculateCelestialCoordinates(t).getRightAscensionRad(), 0.0);
+            assertEquals(sun.calculateApparentRadiusRad(t), defaultSun.calculateApparentRadiusRad(t), 0.0);
+            assertEquals(moon.calculateCelestialCoordinates(t).getRightAscensionRad(), defaultMoon.calculateCelestialCoordinates(t).getRightAscensionRad(), 0.0);
+            assertEquals(moon.calculateEquatorialHorizontalParallaxRad(t), defaultMoon.calculateEquatorialHorizontalParallaxRad(t), 0.0);
+
+            final Instant rise = AstronomicalEventsCalculation.calculateRiseWithin24h(moon, t, LocationsForTest.getTokyoNAO(), true, AstronomicalEventsCalculation.ReferencePoint.TOP);
+            assertEquals(
+                    rise == null ? Double.NaN : rise.toEpochMilli(),
+                    AstronomicalEventsCalculation.calculateEventWithin24h(moon, AstronomicalEventsCalculation.EventDirectionType.RISE, t.toEpochMilli(), Observer.of(LocationsForTest.getTokyoNAO()),
+                            true, AstronomicalEventsCalculation.ReferencePoint.TOP, true, -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0), PrecisionProfile.DEFAULT),
+                    1.0);
+        }
+    }
+
+    @Test
+    public void differenceFromDefaultTest() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        // Error bounds in the document of PrecisionProfile, which are for the latitudes below 60 degrees
+        checkDifferenceFromDefault(PrecisionProfile.WIDGET, 10000.0);
+        checkDifferenceFromDefault(PrecisionProfile.FINE_SOLVER, 200.0);
+    }
+
+    private static void checkDifferenceFromDefault(PrecisionProfile precisionProfile, double maxDifferenceMillis) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final double heightStandardRad = -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0);
+        final long firstDayStart = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+        final LocationOnTheEarth[] locations = new LocationOnTheEarth[] {
+                LocationsForTest.getTokyoNAO(),
+                LocationsForTest.getTopOfMtFuji(),
+                LocationsForTest.getNemuroNAO(),
+                LocationsForTest.getRioDeJaneiro(),
+                LocationsForTest.getNullIsland(),
+        };
+
+        int eventCount = 0;
+        for (int objectIndex = 0; objectIndex < 2; ++objectIndex) {
+            final AstronomicalObject defaultObject = objectIndex == 0 ? new Sun() : new Moon();
+            final AstronomicalObject profiledObject = objectIndex == 0 ? new Sun(precisionProfile) : new Moon(precisionProfile);
+
+            for (LocationOnTheEarth locationOnTheEarth : locations) {
+                final Observer observer = Observer.of(locationOnTheEarth);
+                for (AstronomicalEventsCalculation.EventDirectionType eventDirectionType : AstronomicalEventsCalculation.EventDirectionType.values()) {
+                    for (int day = 0; day < 365; ++day) {
+                        final long start = firstDayStart + day * 86400000L;
+                        final double expected = AstronomicalEventsCalculation.calculateEventWithin24h(defaultObject, eventDirectionType, start, observer,
+                                true, AstronomicalEventsCalculation.ReferencePoint.TOP, true, heightStandardRad, PrecisionProfile.DEFAULT);
+                        final double actual = AstronomicalEventsCalculation.calculateEventWithin24h(profiledObject, eventDirectionType, start, observer,
+                                true, AstronomicalEventsCalculation.ReferencePoint.TOP, true, heightStandardRad, precisionProfile);
+
+                        if (Double.isNaN(expected) || Double.isNaN(actual)) {
+                            // Only the event just at the border of the day may be moved out of the day, e.g. the Moon which rises once in about 25 hours.
+                            // The slow path may return the event up to its scan interval before the start.
+                            final double found = Double.isNaN(expected) ? actual : expected;
+                            final double borderMillis = maxDifferenceMillis + PrecisionProfile.DEFAULT.getScanIntervalMillis();
+                            assertTrue(Double.isNaN(found) || found - start < borderMillis || start + 86400000L - found < borderMillis);
+                            continue;
+                        }
+                        assertEquals(expected, actual, maxDifferenceMillis);
+                        ++eventCount;
+                    }
+                }
+            }
+        }
+        assertTrue(eventCount > 5000);
+    }
+}
@@ -0,0 +1,175 @@
+package net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects;
+
+import static org.junit.Assert.assertEquals;
+
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.AstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+import net.nhiroki.lib.bluelineastrolib.test_data.UnrolledMoonSeriesForTest;
+
+import org.junit.Test;
+
+import java.time.Instant;
+
+public class MoonTest {
+    @Test
+    public void calculateRightAscensionRadTest() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        Moon moon = new Moon();
+
+        // 19h45m27.4s at 1999/11/14 00:00 UTC, from p 120 of 日の出・日の入りの計算 天体の出没時刻の求め方 by 長沢 工
+        //   It's described as from 理科年表
+        // https://www.chijinshokan.co.jp/Books/ISBN4-8052-0634-9.htm
+        assertEquals((19.0 + 45.0 / 60.0 + 27.4 / 3600.0) * 15.0, Math.toDegrees(moon.calculateCelestialCoordinates(Instant.parse("1999-11-14T00:00:00Z")).getRightAscensionRad()), 0.005);
+    }
+
+    @Test
+    public void calculateEquatorialHorizontalParallaxRadTest() {
+        Moon moon = new Moon();
+
+        // 54'10.6" at 1999/11/13 00:00 UTC, from p 131 of 日の出・日の入りの計算 天体の出没時刻の求め方 by 長沢 工
+        //   It's described as from 理科年表
+        // https://www.chijinshokan.co.jp/Books/ISBN4-8052-0634-9.htm
+        assertEquals(54.0 / 60.0 + 10.6 / 3600.0, Math.toDegrees(moon.calculateEquatorialHorizontalParallaxRad(Instant.parse("1999-11-13T00:00:00Z"))), 0.2 / 3600.0);
+
+        // 54'28.8" at 1999/11/14 00:00 UTC, from p 131 of 日の出・日の入りの計算 天体の出没時刻の求め方 by 長沢 工
+        //   It's described as from 理科年表
+        // https://www.chijinshokan.co.jp/Books/ISBN4-8052-0634-9.htm
+        assertEquals(54.0 / 60.0 + 28.8 / 3600.0, Math.toDegrees(moon.calculateEquatorialHorizontalParallaxRad(Instant.parse("1999-11-14T00:00:00Z"))), 0.2 / 3600.0);
+
+        // 54'56.4" at 1999/11/15 00:00 UTC, from p 131 of 日の出・日の入りの計算 天体の出没時刻の求め方 by 長沢 工
+        //   It's described as from 理科年表
+        // https://www.chijinshokan.co.jp/Books/ISBN4-8052-0634-9.htm
+        assertEquals(54.0 / 60.0 + 56.4 / 3600.0, Math.toDegrees(moon.calculateEquatorialHorizontalParallaxRad(Instant.parse("1999-11-15T00:00:00Z"))), 0.2 / 3600.0);
+    }
+
+    @Test
+    public void calculateEclipticLongitudeDegTest() {
+        Moon moon = new Moon();
+
+        // 294.6433deg at 1999/11/14 00:00 UTC, from p 129 of 日の出・日の入りの計算 天体の出没時刻の求め方 by 長沢 工
+        // https://www.chijinshokan.co.jp/Books/ISBN4-8052-0634-9.htm
+        // Based formula is similar but not the same, so the result does not match exactly.
+        assertEquals(294.6433, moon.calculateEclipticCoordinates(Instant.parse("1999-11-14T00:00:00Z")).getLongitudeDeg(), 0.005);
+    }
+
+    @Test
+    public void calculateEclipticLatitudeDegTest() {
+        Moon moon = new Moon();
+
+        // 1.0609deg at 1999/11/14 00:00 UTC, from p 130 of 日の出・日の入りの計算 天体の出没時刻の求め方 by 長沢 工
+        // https://www.chijinshokan.co.jp/Books/ISBN4-8052-0634-9.htm
+        assertEquals(1.0609, moon.calculateEclipticCoordinates(Instant.parse("1999-11-14T00:00:00Z")).getLatitudeDeg(), 1e-4);
+
+        // Code to check the behavior if the result is negative
+        assertEquals(-4.63, moon.calculateEclipticCoordinates(Instant.parse("2026-03-08T00:00:00Z")).getLatitudeDeg(), 0.01);
+    }
+
+    @Test
+    public void calculateApparentRadiusRadTest() {
+        Sun sun = new Sun();
+        Moon moon = new Moon();
+
+        Instant t = Instant.parse("2026-01-01T00:00:00Z");
+        for (int i = 0; i < 365; ++i) {
+            // Roughly the same
+            assertEquals(1.0, moon.calculateApparentRadiusRad(t) / sun.calculateApparentRadiusRad(t), 0.1);
+            t = t.plusSeconds(86400);
+        }
+        assertEquals("2027-01-01T00:00:00Z", t.toString());
+    }
+
+    @Test
+    public void calculateDistanceFromTheEarthTest() {
+        Moon moon = new Moon();
+        Instant t = Instant.parse("2026-01-01T00:00:00Z");
+        assertEquals(385000.0, moon.calculateDistanceFromTheEarthAU(t) * 149597870.7, 25000.0);
+        assertEquals(385000.0, moon.calculateDistanceFromTheEarthKM(t), 25000.0);
+    }
+
+    @Test
+    public void estimatedIncrementOfRightAscensionDegPerDayTest() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        Moon moon = new Moon();
+
+        Instant t = Instant.parse("2026-01-01T00:00:00Z");
+        for (int i = 0; i < 100 * 365 * 4; ++i) {
+            // Roughly 360.0/29.53 + new Sun().estimatedIncrementOfRightAscensionDegPerDay(t)
+            // But changes so much
+            assertEquals(13.17, Math.toDegrees(moon.estimatedIncrementOfRightAscensionRadPerDay(t)), 5.0);
+            t = t.plusSeconds(21600);
+        }
+        assertEquals("2125-12-08T00:00:00Z", t.toString());
+    }
+
+    @Test
+    public void sameAsUnrolledSeriesTest() {
+        Moon moon = new Moon();
+
+        // Every 0.37 days from 1900 to 2100, so that various phases of the terms are checked
+        for (double julianYear = -100.0; julianYear < 100.0; julianYear += 0.37 / 365.25) {
+            // Series are summed in the same order, and only conversion between degrees and radians of the results differs
+            assertEquals(UnrolledMoonSeriesForTest.calculateEquatorialHorizontalParallaxDeg(julianYear), Math.toDegrees(moon.calculateEquatorialHorizontalParallaxRadByJulianYear(julianYear)), 1e-12);
+            assertEquals(UnrolledMoonSeriesForTest.calculateEclipticLongitudeDeg(julianYear), Math.toDegrees(moon.calculateEclipticLongitudeRadByJulianYear(julianYear)), 1e-12);
+            assertEquals(UnrolledMoonSeriesForTest.calculateEclipticLatitudeDeg(julianYear), Math.toDegrees(moon.calculateEclipticLatitudeRadByJulianYear(julianYear)), 1e-12);
+        }
+    }
+
+    @Test
+    public void truncatedSeriesTest() {
+        Moon moon = new Moon();
+        Moon truncatedMoon = new Moon(Moon.ARCMINUTE_ACCURACY_TRUNCATION_DEG);
+
+        for (double julianYear = -100.0; julianYear < 100.0; julianYear += 0.37 / 365.25) {
+            assertEquals(Math.toDegrees(moon.calculateEquatorialHorizontalParallaxRadByJulianYear(julianYear)), Math.toDegrees(truncatedMoon.calculateEquatorialHorizontalParallaxRadByJulianYear(julianYear)), 1.0 / 60.0);
+            double longitudeDiffDeg = Math.toDegrees(moon.calculateEclipticLongitudeRadByJulianYear(julianYear) - truncatedMoon.calculateEclipticLongitudeRadByJulianYear(julianYear));
+            longitudeDiffDeg -= Math.rint(longitudeDiffDeg / 360.0) * 360.0;
+            assertEquals(0.0, longitudeDiffDeg, 1.0 / 60.0);
+            assertEquals(Math.toDegrees(moon.calculateEclipticLatitudeRadByJulianYear(julianYear)), Math.toDegrees(truncatedMoon.calculateEclipticLatitudeRadByJulianYear(julianYear)), 1.0 / 60.0);
+        }
+    }
+
+    @Test
+    public void calculateStateTest() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        Moon moon = new Moon();
+        double[] coordinates = new double[2];
+        double[] state = new double[AstronomicalObject.STATE_LENGTH];
+
+        for (Instant t = Instant.parse("2026-01-01T00:00:00Z"); t.isBefore(Instant.parse("2026-02-01T00:00:00Z")); t = t.plusSeconds(4021)) {
+            MoonState moonState = moon.calculateState(t);
+            assertEquals(moon.calculateEclipticCoordinates(t).getLongitudeRad(), moonState.getEclipticCoordinates().getLongitudeRad(), 0.0);
+            assertEquals(moon.calculateEclipticCoordinates(t).getLatitudeRad(), moonState.getEclipticCoordinates().getLatitudeRad(), 0.0);
+            assertEquals(moon.calculateCelestialCoordinates(t).getRightAscensionRad(), moonState.getCelestialCoordinates().getRightAscensionRad(), 0.0);
+            assertEquals(moon.calculateCelestialCoordinates(t).getDeclinationRad(), moonState.getCelestialCoordinates().getDeclinationRad(), 0.0);
+            assertEquals(moon.calculateEquatorialHorizontalParallaxRad(t), moonState.getEquatorialHorizontalParallaxRad(), 0.0);
+            assertEquals(moon.calculateDistanceFromTheEarthKM(t), moonState.getDistanceFromTheEarthKM(), 0.0);
+            assertEquals(moon.calculateApparentRadiusRad(t), moonState.getApparentRadiusRad(), 0.0);
+
+            moon.calculateState(t.toEpochMilli(), state);
+            moon.calculateCelestialCoordinates(t.toEpochMilli(), coordinates);
+            assertEquals(coordinates[0], state[AstronomicalObject.STATE_RIGHT_ASCENSION], 0.0);
+            assertEquals(coordinates[1], state[AstronomicalObject.STATE_DECLINATION], 0.0);
+            assertEquals(moonState.getEquatorialHorizontalParallaxRad(), state[AstronomicalObject.STATE_EQUATORIAL_HORIZONTAL_PARALLAX], 0.0);
+            assertEquals(moonState.getApparentRadiusRad(), state[AstronomicalObject.STATE_APPARENT_RADIUS], 0.0);
+            assertEquals(moon.estimatedIncrementOfRightAscensionRadPerDay(t), state[AstronomicalObject.STATE_INCREMENT_OF_RIGHT_ASCENSION_PER_DAY], 0.0);
+            assertEquals(moonState.getIncrementOfRightAscensionRadPerDay(), state[AstronomicalObject.STATE_INCREMENT_OF_RIGHT_ASCENSION_PER_DAY], 0.0);
+        }
+    }
+
+    @Test
+    public void incrementOfCelestialCoordinatesTest() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        Moon moon = new Moon();
+        double[] before = new double[2];
+        double[] after = new double[2];
+
+        // Compared with the differences 1 minute before and after, over a month
+        for (long epochMilli = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli(); epochMilli < Instant.parse("2026-02-01T00:00:00Z").toEpochMilli(); epochMilli += 4021000L) {
+            MoonState moonState = moon.calculateState(epochMilli);
+            moon.calculateCelestialCoordinates(epochMilli - 60000L, before);
+            moon.calculateCelestialCoordinates(epochMilli + 60000L, after);
+
+            double rightAscensionDiff = after[0] - before[0];
+            rightAscensionDiff -= Math.floor((rightAscensionDiff + Math.PI) / (2.0 * Math.PI)) * 2.0 * Math.PI;
+            assertEquals(rightAscensionDiff * 720.0, moonState.getIncrementOfRightAscensionRadPerDay(), Math.toRadians(0.001));
+            assertEquals((after[1] - before[1]) * 720.0, moonState.getIncrementOfDeclinationRadPerDay(), Math.toRadians(0.001));
+        }
+    }
+}
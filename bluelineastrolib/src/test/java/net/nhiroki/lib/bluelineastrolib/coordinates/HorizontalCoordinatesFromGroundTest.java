@@ -2,6 +2,7 @@ package net.nhiroki.lib.bluelineastrolib.coordinates;
 
 import static org.junit.Assert.*;
 
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.AstronomicalObject;
 import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Moon;
 import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Sun;
 import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
@@ -96,4 +97,43 @@ public class HorizontalCoordinatesFromGroundTest {
             }
         }
     }
+
+    @Test
+    public void testCalculateTrack() throws UnsupportedDateRangeException, AstronomicalPhenomenonComputationException {
+        // 0.001 arcseconds of interpolation and 0.15 arcseconds of sidereal time in the document
+        final double errorBoundRad = Math.toRadians(0.2 / 3600.0);
+
+        for (AstronomicalObject astronomicalObject : new AstronomicalObject[] { new Sun(), new Moon() }) {
+            for (LocationOnTheEarth place : new LocationOnTheEarth[] { LocationsForTest.getTokyoNAO(), LocationsForTest.getRioDeJaneiro(), LocationsForTest.getShowaStation() }) {
+                // 1 sample per minute for a day, and 10 samples which are computed without interpolation
+                for (int count : new int[] { 1440, 10 }) {
+                    final long start = Instant.parse("2026-05-10T09:30:00Z").toEpochMilli();
+                    final double[] azimuth = new double[count];
+                    final double[] actualElevation = new double[count];
+                    final double[] apparentElevation = new double[count];
+                    HorizontalCoordinatesFromGround.calculateTrack(astronomicalObject, start, 60000L, count, place, azimuth, actualElevation, apparentElevation);
+
+                    for (int i = 0; i < count; ++i) {
+                        final HorizontalCoordinatesFromGround expected = HorizontalCoordinatesFromGround.calculatePositionOfAstronomicalObject(astronomicalObject, Instant.ofEpochMilli(start + i * 60000L), place);
+                        assertEquals(expected.getActualElevationRad(), actualElevation[i], errorBoundRad);
+                        assertEquals(expected.calculateApparentElevationRad(), apparentElevation[i], errorBoundRad);
+                        // Azimuth moves fast near the zenith
+                        if (expected.getActualElevationRad() < Math.toRadians(80.0)) {
+                            double azimuthDiff = azimuth[i] - expected.getAzimuthRad();
+                            azimuthDiff -= 2.0 * Math.PI * Math.floor((azimuthDiff + Math.PI) / 2.0 / Math.PI);
+                            assertEquals(0.0, azimuthDiff, errorBoundRad / Math.cos(expected.getActualElevationRad()));
+                        }
+                    }
+                }
+            }
+        }
+
+        // Arrays not needed can be null
+        final double[] apparentElevation = new double[3];
+        HorizontalCoordinatesFromGround.calculateTrack(new Sun(), 0L, 3600000L, 3, LocationsForTest.getTokyoNAO(), null, null, apparentElevation);
+        assertEquals(HorizontalCoordinatesFromGround.calculatePositionOfAstronomicalObject(new Sun(), Instant.ofEpochMilli(7200000L), LocationsForTest.getTokyoNAO()).calculateApparentElevationRad(),
+                apparentElevation[2], errorBoundRad);
+
+        assertThrows(IllegalArgumentException.class, () -> HorizontalCoordinatesFromGround.calculateTrack(new Sun(), 0L, 0L, 3, LocationsForTest.getTokyoNAO(), null, null, null));
+    }
 }
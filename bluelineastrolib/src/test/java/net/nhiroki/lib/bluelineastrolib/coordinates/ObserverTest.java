@@ -0,0 +1,147 @@
+package net.nhiroki.lib.bluelineastrolib.coordinates;
+
+import static org.junit.Assert.*;
+
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.PrecisionProfile;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Moon;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Sun;
+import net.nhiroki.lib.bluelineastrolib.earth.Earth;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+import net.nhiroki.lib.bluelineastrolib.logic.AstronomicalEventsCalculation;
+import net.nhiroki.lib.bluelineastrolib.logic.CoordinatesCalculation;
+import net.nhiroki.lib.bluelineastrolib.test_data.LocationsForTest;
+
+import org.junit.Test;
+
+import java.time.Instant;
+
+
+public class ObserverTest {
+    // Computed with LocationOnTheEarth before Observer was added, in milliseconds from the epoch, for every 6 days from 2026-03-01 00:00 UTC:
+    // rise, culmination and set of the center of the Moon, and then the twilight events in the order of TwilightEventType
+    private static final double[][][] EXPECTED_EVENTS = {
+            // Tokyo
+            {
+                    { 1772345532823.0, 1772371389353.0, 1772396597865.0,
+                      1772394337950.0, 1772396109858.0, 1772397882821.0, 1772399411504.0, 1772354151125.0, 1772355682883.0, 1772357458838.0, 1772359233228.0 },
+                    { 1772886901702.0, 1772905914419.0, 1772924524907.0,
+                      1772912259794.0, 1772914036627.0, 1772915807683.0, 1772917329585.0, 1772872875472.0, 1772874400160.0, 1772876173936.0, 1772877953032.0 },
+                    { 1773425093974.0, 1773442233238.0, 1773369574410.0,
+                      1773430150700.0, 1773431937524.0, 1773433711245.0, 1773435230170.0, 1773391589822.0, 1773393111232.0, 1773394887387.0, 1773396676239.0 },
+                    { 1773954434180.0, 1773888526259.0, 1773911271104.0,
+                      1773948016486.0, 1773949818737.0, 1773951599934.0, 1773953119822.0, 1773910296188.0, 1773911818259.0, 1773913601598.0, 1773915405637.0 },
+                    { 1774398943774.0, 1774427041096.0, 1774455084493.0,
+                      1774465863082.0, 1774467686502.0, 1774469480139.0, 1774471004982.0, 1774428996892.0, 1774430523622.0, 1774432319111.0, 1774434144078.0 },
+            },
+            // Top of Mt. Fuji
+            {
+                    { 1772345107520.0, 1772371641357.0, 1772397496685.0,
+                      1772394586918.0, 1772396352203.0, 1772398118666.0, 1772399010936.0, 1772355040026.0, 1772355934008.0, 1772357703425.0, 1772359471162.0 },
+                    { 1772886423250.0, 1772906165323.0, 1772925507493.0,
+                      1772912513348.0, 1772914283377.0, 1772916047883.0, 1772916936844.0, 1772873756394.0, 1772874646907.0, 1772876414099.0, 1772878186363.0 },
+                    { 1773424526721.0, 1773442485172.0, 1773370673647.0,
+                      1773430409028.0, 1773432188804.0, 1773433955872.0, 1773434843733.0, 1773392464288.0, 1773393353533.0, 1773395123004.0, 1773396904783.0 },
+                    { 1773954049444.0, 1773888777526.0, 1773912177294.0,
+                      1773948279771.0, 1773950074657.0, 1773951849043.0, 1773952738098.0, 1773911165790.0, 1773912056060.0, 1773913832559.0, 1773915629209.0 },
+                    { 1774398453828.0, 1774427295064.0, 1774456077725.0,
+                      1774466131510.0, 1774467947165.0, 1774469733772.0, 1774470626351.0, 1774429863256.0, 1774430756884.0, 1774432545318.0, 1774434362498.0 },
+            },
+            // Showa station
+            {
+                    { 1772386961488.0, 1772396273651.0, 1772406976168.0,
+                      Double.NaN, 1772406416353.0, 1772326416443.0, 1772330380499.0, 1772384731759.0, 1772388632345.0, 1772395331806.0, Double.NaN },
+                    { 1772894929633.0, 1772841638737.0, 1772876193040.0,
+                      Double.NaN, 1772927793411.0, 1772846582872.0, 1772850271169.0, 1772901498430.0, 1772905140802.0, 1772910599130.0, Double.NaN },
+                    { Double.NaN, 1773377648202.0, Double.NaN,
+                      1773439952159.0, 1773361669858.0, 1773366598749.0, 1773370109054.0, 1773418287935.0, 1773421763506.0, 1773426600442.0, 1773435048998.0 },
+                    { 1773892270979.0, 1773913351015.0, 1773932398967.0,
+                      1773962737817.0, 1773881977695.0, 1773886508151.0, 1773889910175.0, 1773935093337.0, 1773938468304.0, 1773942936578.0, 1773948860052.0 },
+                    { Double.NaN, 1774452125789.0, Double.NaN,
+                      1774396874296.0, 1774402055076.0, 1774406340315.0, 1774409688962.0, 1774451909341.0, 1774455236473.0, 1774459476700.0, 1774464541388.0 },
+            },
+    };
+
+    @Test
+    public void preparedValuesTest() {
+        for (LocationOnTheEarth locationOnTheEarth : LocationsForTest.listLocationsForTest()) {
+            final Observer observer = Observer.of(locationOnTheEarth);
+            assertSame(locationOnTheEarth, observer.getLocationOnTheEarth());
+            assertEquals(locationOnTheEarth.getLongitudeRad(), observer.getLongitudeRad(), 0.0);
+            assertEquals(locationOnTheEarth.getLatitudeRad(), observer.getLatitudeRad(), 0.0);
+            assertEquals(Math.sin(locationOnTheEarth.getLatitudeRad()), observer.getSinLatitude(), 0.0);
+            assertEquals(Math.cos(locationOnTheEarth.getLatitudeRad()), observer.getCosLatitude(), 0.0);
+            assertEquals(locationOnTheEarth.getElevationMeters(), observer.getElevationMeters(), 0.0);
+            assertEquals(Earth.calculateAltitudeCorrectionOfHorizonRad(locationOnTheEarth.getElevationMeters()), observer.getAltitudeCorrectionOfHorizonRad(), 0.0);
+        }
+    }
+
+    @Test
+    public void sameAsLatitudeTest() {
+        for (LocationOnTheEarth locationOnTheEarth : LocationsForTest.listLocationsForTest()) {
+            final Observer observer = Observer.of(locationOnTheEarth);
+            final double latitudeRad = locationOnTheEarth.getLatitudeRad();
+            for (double hourAngleDeg = -180.0; hourAngleDeg < 180.0; hourAngleDeg += 7.5) {
+                for (double declinationDeg = -30.0; declinationDeg <= 30.0; declinationDeg += 5.0) {
+                    final double hourAngleRad = Math.toRadians(hourAngleDeg);
+                    final double declinationRad = Math.toRadians(declinationDeg);
+                    assertEquals(HorizontalCoordinatesFromTheCenterOfTheEarth.calculateElevationRad(hourAngleRad, declinationRad, latitudeRad),
+                            HorizontalCoordinatesFromTheCenterOfTheEarth.calculateElevationRad(hourAngleRad, declinationRad, observer), 0.0);
+                    assertEquals(CoordinatesCalculation.calculateHourAngleRadCrossingElevationRad(Math.toRadians(-0.8), declinationRad, latitudeRad),
+                            CoordinatesCalculation.calculateHourAngleRadCrossingElevationRad(Math.toRadians(-0.8), declinationRad, observer), 0.0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void ofAstronomicalObjectTest() throws UnsupportedDateRangeException, AstronomicalPhenomenonComputationException {
+        final Observer observer = Observer.of(LocationsForTest.getTokyoNAO());
+        for (Instant time = Instant.parse("2026-01-01T00:00:00Z"); time.isBefore(Instant.parse("2026-01-03T00:00:00Z")); time = time.plusSeconds(3600 * 5 + 17)) {
+            for (boolean isSun : new boolean[] { true, false }) {
+                final HorizontalCoordinatesFromTheCenterOfTheEarth expected = HorizontalCoordinatesFromTheCenterOfTheEarth.ofAstronomicalObject(isSun ? new Sun() : new Moon(), time, LocationsForTest.getTokyoNAO());
+                final HorizontalCoordinatesFromTheCenterOfTheEarth actual = HorizontalCoordinatesFromTheCenterOfTheEarth.ofAstronomicalObject(isSun ? new Sun() : new Moon(), time, observer);
+                assertEquals(expected.getElevationRad(), actual.getElevationRad(), 1e-12);
+                assertEquals(expected.getAzimuthRad(), actual.getAzimuthRad(), 1e-12);
+            }
+        }
+    }
+
+    @Test
+    public void sameEventsTest() throws UnsupportedDateRangeException, AstronomicalPhenomenonComputationException {
+        final double heightStandardRad = -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0);
+        final long start = Instant.parse("2026-03-01T00:00:00Z").toEpochMilli();
+        final LocationOnTheEarth[] locations = new LocationOnTheEarth[] { LocationsForTest.getTokyoNAO(), LocationsForTest.getTopOfMtFuji(), LocationsForTest.getShowaStation() };
+        final AstronomicalEventsCalculation.EventDirectionType[] eventDirectionTypes = AstronomicalEventsCalculation.EventDirectionType.values();
+        final double[] twilight = new double[AstronomicalEventsCalculation.TwilightEventType.values().length];
+        for (int i = 0; i < locations.length; ++i) {
+            final Observer observer = Observer.of(locations[i]);
+            for (int j = 0; j < EXPECTED_EVENTS[i].length; ++j) {
+                final long dayStart = start + j * 6 * 86400000L;
+                final double[] expected = EXPECTED_EVENTS[i][j];
+                for (int k = 0; k < eventDirectionTypes.length; ++k) {
+                    assertEquals(expected[k],
+                            AstronomicalEventsCalculation.calculateEventWithin24h(new Moon(), eventDirectionTypes[k], dayStart, observer, true,
+                                    AstronomicalEventsCalculation.ReferencePoint.CENTER, true, heightStandardRad, PrecisionProfile.DEFAULT),
+                            1.0);
+                    assertEquals(expected[k],
+                            epochMilliOrNaN(AstronomicalEventsCalculation.calculateEventWithin24h(new Moon(), eventDirectionTypes[k], Instant.ofEpochMilli(dayStart), locations[i], true,
+                                    AstronomicalEventsCalculation.ReferencePoint.CENTER, true, heightStandardRad)),
+                            1.0);
+                }
+                AstronomicalEventsCalculation.calculateTwilightEvents(new Sun(), dayStart, dayStart + 86400000L, observer, true, PrecisionProfile.DEFAULT, twilight);
+                for (int k = 0; k < twilight.length; ++k) {
+                    assertEquals(expected[eventDirectionTypes.length + k], twilight[k], 1.0);
+                }
+                final Instant[] twilightByInstant = AstronomicalEventsCalculation.calculateTwilightEvents(new Sun(), Instant.ofEpochMilli(dayStart), Instant.ofEpochMilli(dayStart + 86400000L), locations[i], true);
+                for (int k = 0; k < twilightByInstant.length; ++k) {
+                    assertEquals(expected[eventDirectionTypes.length + k], epochMilliOrNaN(twilightByInstant[k]), 1.0);
+                }
+            }
+        }
+    }
+
+    private static double epochMilliOrNaN(Instant instant) {
+        return instant == null ? Double.NaN : instant.toEpochMilli();
+    }
+}
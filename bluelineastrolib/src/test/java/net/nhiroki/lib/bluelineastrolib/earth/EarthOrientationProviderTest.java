@@ -0,0 +1,61 @@
+package net.nhiroki.lib.bluelineastrolib.earth;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+public class EarthOrientationProviderTest {
+    @Test
+    public void differenceFromDirectFormulaTest() {
+        for (long epochMilli = Instant.parse("1900-01-01T00:00:00Z").toEpochMilli(); epochMilli < Instant.parse("2200-01-01T00:00:00Z").toEpochMilli(); epochMilli += 86400000L * 3 + 3600007L) {
+            // 1e-7 arcseconds in the document
+            assertEquals(Earth.calculateEclipticTiltRadByJulianYear(TimePointOnTheEarth.julianYearFromJ2000_0(epochMilli)), EarthOrientationProvider.getEclipticTiltRad(epochMilli), Math.toRadians(1e-7 / 3600.0));
+            // 2e-5 seconds in the document
+            assertEquals(EarthOrientationProvider.calculateEquationOfTheEquinoxesHours(epochMilli), EarthOrientationProvider.getEquationOfTheEquinoxesHours(epochMilli), 2e-5 / 3600.0);
+        }
+    }
+
+    @Test
+    public void startOfDayTest() {
+        for (long epochMilli = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli(); epochMilli < Instant.parse("2027-01-01T00:00:00Z").toEpochMilli(); epochMilli += 86400000L * 5) {
+            assertEquals(Earth.calculateEclipticTiltRadByJulianYear(TimePointOnTheEarth.julianYearFromJ2000_0(epochMilli)), EarthOrientationProvider.getEclipticTiltRad(epochMilli), 0.0);
+            assertEquals(EarthOrientationProvider.calculateEquationOfTheEquinoxesHours(epochMilli), EarthOrientationProvider.getEquationOfTheEquinoxesHours(epochMilli), 0.0);
+        }
+
+        // Before the epoch, days are split at 00:00 UTC as well
+        final long beforeEpoch = Instant.parse("1969-12-31T00:00:00Z").toEpochMilli();
+        assertEquals(EarthOrientationProvider.calculateEquationOfTheEquinoxesHours(beforeEpoch), EarthOrientationProvider.getEquationOfTheEquinoxesHours(beforeEpoch), 0.0);
+    }
+
+    @Test
+    public void concurrentAccessTest() throws InterruptedException {
+        // Days more than CACHE_SIZE apart share the entries, and replaced by each other
+        final long start = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+        final AtomicInteger failureCount = new AtomicInteger();
+        final ArrayList<Thread> threads = new ArrayList<>();
+        for (int threadIndex = 0; threadIndex < 4; ++threadIndex) {
+            final long threadStart = start + threadIndex * EarthOrientationProvider.CACHE_SIZE * 86400000L;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 20000; ++i) {
+                    final long epochMilli = threadStart + (i % 200) * 43200007L;
+                    final double expected = Earth.calculateEclipticTiltRadByJulianYear(TimePointOnTheEarth.julianYearFromJ2000_0(epochMilli));
+                    if (Math.abs(EarthOrientationProvider.getEclipticTiltRad(epochMilli) - expected) > Math.toRadians(1e-7 / 3600.0)) {
+                        failureCount.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, failureCount.get());
+    }
+}
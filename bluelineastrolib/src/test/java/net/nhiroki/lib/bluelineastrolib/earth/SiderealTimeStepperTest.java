@@ -0,0 +1,93 @@
+package net.nhiroki.lib.bluelineastrolib.earth;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+
+import java.time.Instant;
+
+
+public class SiderealTimeStepperTest {
+    // Difference of the hour angles in (-pi, pi]
+    private static double differenceRad(double a, double b) {
+        double diff = a - b;
+        diff -= 2.0 * Math.PI * Math.floor((diff + Math.PI) / 2.0 / Math.PI);
+        return diff;
+    }
+
+    @Test
+    public void errorBoundTest() throws UnsupportedDateRangeException {
+        // 0.01 seconds of the sidereal time, documented for DEFAULT_REFRESH_INTERVAL_MILLIS
+        final double errorBoundRad = 0.01 / 86400.0 * 2.0 * Math.PI;
+        final long start = Instant.parse("2000-01-01T00:00:00Z").toEpochMilli();
+
+        for (long stepMillis : new long[] { 60000L, 300000L, 86400000L / 7 }) {
+            for (double longitudeDeg : new double[] { -179.9, -73.97, 0.0, 139.7414 }) {
+                final double longitudeRad = Math.toRadians(longitudeDeg);
+                final SiderealTimeStepper siderealTimeStepper = new SiderealTimeStepper(start, stepMillis, longitudeRad);
+                for (long epochMilli = start; epochMilli < start + 40L * 86400000L; epochMilli += stepMillis) {
+                    assertEquals(epochMilli, siderealTimeStepper.getEpochMilli());
+                    final double direct = TimePointOnTheEarth.calculateSiderealTimeRad(epochMilli, longitudeRad);
+                    assertTrue(siderealTimeStepper.getSiderealTimeRad() >= 0.0 && siderealTimeStepper.getSiderealTimeRad() < 2.0 * Math.PI);
+                    assertEquals(0.0, differenceRad(siderealTimeStepper.getSiderealTimeRad(), direct), errorBoundRad);
+                    siderealTimeStepper.next();
+                }
+            }
+        }
+    }
+
+    @Test
+    public void refreshTest() throws UnsupportedDateRangeException {
+        final long start = Instant.parse("2026-03-20T12:34:56Z").toEpochMilli();
+        final double longitudeRad = Math.toRadians(139.7414);
+
+        // Refreshed at every step, which is exactly the direct formula
+        final SiderealTimeStepper everyStep = new SiderealTimeStepper(start, 60000L, longitudeRad, 1);
+        for (int i = 0; i < 3000; ++i) {
+            assertEquals(TimePointOnTheEarth.calculateSiderealTimeRad(everyStep.getEpochMilli(), longitudeRad), everyStep.getSiderealTimeRad(), 0.0);
+            everyStep.next();
+        }
+
+        // Refreshed every 10 steps
+        final SiderealTimeStepper everyTenSteps = new SiderealTimeStepper(start, 60000L, longitudeRad, 10);
+        for (int i = 0; i < 3000; ++i) {
+            if (i % 10 == 0) {
+                assertEquals(TimePointOnTheEarth.calculateSiderealTimeRad(everyTenSteps.getEpochMilli(), longitudeRad), everyTenSteps.getSiderealTimeRad(), 0.0);
+            }
+            everyTenSteps.next();
+        }
+
+        // A day without refresh still has the documented error of 0.008 + 0.02 seconds
+        final SiderealTimeStepper oneDay = new SiderealTimeStepper(start, 3600000L, longitudeRad, 24);
+        for (int i = 0; i < 24; ++i) {
+            oneDay.next();
+        }
+        for (int i = 0; i < 23; ++i) {
+            oneDay.advance(3600000L - 1);
+            assertEquals(0.0, differenceRad(oneDay.getSiderealTimeRad(), TimePointOnTheEarth.calculateSiderealTimeRad(oneDay.getEpochMilli(), longitudeRad)), 0.028 / 86400.0 * 2.0 * Math.PI);
+        }
+    }
+
+    @Test
+    public void advanceTest() throws UnsupportedDateRangeException {
+        final long start = Instant.parse("2026-06-21T00:00:00Z").toEpochMilli();
+        final double longitudeRad = Math.toRadians(-0.1278);
+        final SiderealTimeStepper siderealTimeStepper = new SiderealTimeStepper(start, 60000L, longitudeRad);
+
+        long epochMilli = start;
+        for (long skip : new long[] { 1L, 59999L, 1234567L, 0L, 3599999L, 3600000L, 86400000L * 3 + 17L, 60000L }) {
+            siderealTimeStepper.advance(skip);
+            epochMilli += skip;
+            assertEquals(epochMilli, siderealTimeStepper.getEpochMilli());
+            assertEquals(0.0, differenceRad(siderealTimeStepper.getSiderealTimeRad(), TimePointOnTheEarth.calculateSiderealTimeRad(epochMilli, longitudeRad)), 0.01 / 86400.0 * 2.0 * Math.PI);
+        }
+    }
+
+    @Test
+    public void invalidArgumentTest() {
+        assertThrows(IllegalArgumentException.class, () -> new SiderealTimeStepper(0L, 0L, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> new SiderealTimeStepper(0L, 60000L, 0.0, 0));
+    }
+}
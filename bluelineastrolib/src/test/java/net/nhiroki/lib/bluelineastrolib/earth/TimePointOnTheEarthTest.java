@@ -37,6 +37,30 @@ public class TimePointOnTheEarthTest {
         assertEquals(24.0 + (43200.0 + 27.0 + 10.0 + 32.184) / 86400.0 / 365.25, new TimePointOnTheEarth(Instant.parse("2024-01-02T00:00:00Z")).julianYearFromJ2000_0(), 0.0005 / 86400.0 / 365.25);
     }
 
+    @Test
+    public void timeScaleTest() {
+        final String[] leapSeconds = {
+                "1972-07-01", "1973-01-01", "1974-01-01", "1975-01-01", "1976-01-01", "1977-01-01", "1978-01-01", "1979-01-01", "1980-01-01",
+                "1981-07-01", "1982-07-01", "1983-07-01", "1985-07-01", "1988-01-01", "1990-01-01", "1991-01-01", "1992-07-01", "1993-07-01",
+                "1994-07-01", "1996-01-01", "1997-07-01", "1999-01-01", "2006-01-01", "2009-01-01", "2012-07-01", "2015-07-01", "2017-01-01",
+        };
+        for (int i = 0; i < leapSeconds.length; ++i) {
+            final long epochMilli = Instant.parse(leapSeconds[i] + "T00:00:00Z").toEpochMilli();
+            assertEquals(i, TimePointOnTheEarth.countLeapSecondsBefore(epochMilli - 1));
+            assertEquals(i + 1, TimePointOnTheEarth.countLeapSecondsBefore(epochMilli));
+            assertEquals(i + 1, TimePointOnTheEarth.countLeapSecondsBefore(epochMilli + 1));
+            assertEquals(i + 11, TimePointOnTheEarth.calculateTAIMinusUTCSeconds(epochMilli));
+        }
+
+        assertEquals(10, TimePointOnTheEarth.calculateTAIMinusUTCSeconds(Instant.parse("1970-01-01T00:00:00Z").toEpochMilli()));
+        assertEquals(42184.0, TimePointOnTheEarth.calculateTTMinusUTCMillis(Instant.parse("1970-01-01T00:00:00Z").toEpochMilli()), 0.0);
+        assertEquals(69184.0, TimePointOnTheEarth.calculateTTMinusUTCMillis(Instant.parse("2026-01-01T00:00:00Z").toEpochMilli()), 0.0);
+
+        for (Instant t = Instant.parse("1960-01-01T00:00:00Z"); t.isBefore(Instant.parse("2100-01-01T00:00:00Z")); t = t.plusSeconds(86400 * 37 + 3601)) {
+            assertEquals(TimePointOnTheEarth.julianYearFromJ2000_0(t.toEpochMilli()) / 100.0, TimePointOnTheEarth.julianCenturyFromJ2000_0(t.toEpochMilli()), 0.0);
+        }
+    }
+
     @Test
     public void calculateSiderealTimeDegTest() throws UnsupportedDateRangeException {
         // Sprint Equinox in 2026 is 03/20 14:46 UTC
@@ -106,4 +130,15 @@ public class TimePointOnTheEarthTest {
         }
         assertEquals("2199-11-13T00:00:00Z", t.toString());
     }
+
+    @Test
+    public void epochMilliOverloadsTest() throws UnsupportedDateRangeException {
+        for (Instant t = Instant.parse("1970-01-01T00:00:00Z"); t.isBefore(Instant.parse("2100-01-01T00:00:00Z")); t = t.plusSeconds(86400 * 37 + 3601)) {
+            TimePointOnTheEarth timePointOnTheEarth = new TimePointOnTheEarth(t);
+            assertEquals(timePointOnTheEarth.countLeapSecondsBefore(), TimePointOnTheEarth.countLeapSecondsBefore(t.toEpochMilli()));
+            assertEquals(timePointOnTheEarth.julianYearFromJ2000_0(), TimePointOnTheEarth.julianYearFromJ2000_0(t.toEpochMilli()), 0.0);
+            assertEquals(timePointOnTheEarth.calculateSiderealTimeRad(2.4), TimePointOnTheEarth.calculateSiderealTimeRad(t.toEpochMilli(), 2.4), 0.0);
+            assertEquals(timePointOnTheEarth.calculateSiderealTimeDeg(139.7), TimePointOnTheEarth.calculateSiderealTimeDeg(t.toEpochMilli(), 139.7), 0.0);
+        }
+    }
 }
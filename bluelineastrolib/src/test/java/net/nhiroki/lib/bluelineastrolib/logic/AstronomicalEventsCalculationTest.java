@@ -10,15 +10,19 @@ import java.time.ZonedDateTime;
 import org.junit.Test;
 
 import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.AstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.PrecisionProfile;
 import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.FixedStar;
 import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Moon;
 import net.nhiroki.lib.bluelineastrolib.coordinates.HorizontalCoordinatesFromGround;
 import net.nhiroki.lib.bluelineastrolib.earth.Earth;
+import net.nhiroki.lib.bluelineastrolib.earth.EarthOrientationProvider;
 import net.nhiroki.lib.bluelineastrolib.earth.TimePointOnTheEarth;
 import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
 import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
 import net.nhiroki.lib.bluelineastrolib.test_data.AstronomicalObjectsForTest;
+import net.nhiroki.lib.bluelineastrolib.test_data.CountingAstronomicalObject;
 import net.nhiroki.lib.bluelineastrolib.coordinates.LocationOnTheEarth;
+import net.nhiroki.lib.bluelineastrolib.coordinates.Observer;
 import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Sun;
 import net.nhiroki.lib.bluelineastrolib.test_data.LocationsForTest;
 
@@ -524,4 +528,413 @@ public class AstronomicalEventsCalculationTest {
             }
         }
     }
+
+    @Test
+    public void checkEventsBetweenConsistentWithEachDay() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        ZoneId tokyoZoneId = ZoneId.of("Asia/Tokyo");
+        LocationOnTheEarth[] locations = new LocationOnTheEarth[] {
+                LocationsForTest.getTokyoNAO(),
+                LocationsForTest.getTopOfMtFuji(),
+                LocationsForTest.getTromsoe(),
+                LocationsForTest.getShowaStation(),
+                LocationsForTest.getNorthPoleE0Z(),
+        };
+
+        for (AstronomicalObject astronomicalObject: new AstronomicalObject[] { new Sun(), new Moon() }) {
+            for (LocationOnTheEarth locationOnTheEarth: locations) {
+                AstronomicalEvent[] events = AstronomicalEventsCalculation.calculateEventsBetween(astronomicalObject, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31),
+                        tokyoZoneId, locationOnTheEarth, true, AstronomicalEventsCalculation.ReferencePoint.TOP);
+
+                for (int i = 1; i < events.length; ++i) {
+                    assertFalse(events[i].getTime().isBefore(events[i - 1].getTime()));
+                }
+                for (AstronomicalEvent event: events) {
+                    assertFalse(event.getTime().isBefore(Instant.parse("2025-12-31T15:00:00Z")));
+                    assertTrue(event.getTime().isBefore(Instant.parse("2026-12-31T15:00:00Z")));
+                    if (event.getEventDirectionType() == AstronomicalEventsCalculation.EventDirectionType.RISE) {
+                        assertFalse(HorizontalCoordinatesFromGround.calculatePositionOfAstronomicalObject(astronomicalObject, event.getTime().minusMillis(2000), locationOnTheEarth).isTopAboveHorizon());
+                        assertTrue(HorizontalCoordinatesFromGround.calculatePositionOfAstronomicalObject(astronomicalObject, event.getTime().plusMillis(2000), locationOnTheEarth).isTopAboveHorizon());
+                    }
+                    if (event.getEventDirectionType() == AstronomicalEventsCalculation.EventDirectionType.SET) {
+                        assertTrue(HorizontalCoordinatesFromGround.calculatePositionOfAstronomicalObject(astronomicalObject, event.getTime().minusMillis(2000), locationOnTheEarth).isTopAboveHorizon());
+                        assertFalse(HorizontalCoordinatesFromGround.calculatePositionOfAstronomicalObject(astronomicalObject, event.getTime().plusMillis(2000), locationOnTheEarth).isTopAboveHorizon());
+                    }
+                }
+
+                // Every event found by calculating each day must be found, within the precision of 200 ms
+                for (LocalDate date = LocalDate.of(2026, 1, 1); date.getYear() == 2026; date = date.plusDays(1)) {
+                    Instant startOfDay = date.atStartOfDay(tokyoZoneId).toInstant();
+                    Instant endOfDay = date.plusDays(1).atStartOfDay(tokyoZoneId).toInstant();
+                    Instant[] eachDayEvents = new Instant[] {
+                            AstronomicalEventsCalculation.calculateRiseWithin24h(astronomicalObject, startOfDay, locationOnTheEarth, true, AstronomicalEventsCalculation.ReferencePoint.TOP),
+                            AstronomicalEventsCalculation.calculateCulminationWithin24h(astronomicalObject, startOfDay, locationOnTheEarth),
+                            AstronomicalEventsCalculation.calculateSetWithin24h(astronomicalObject, startOfDay, locationOnTheEarth, true, AstronomicalEventsCalculation.ReferencePoint.TOP),
+                    };
+                    AstronomicalEventsCalculation.EventDirectionType[] types = new AstronomicalEventsCalculation.EventDirectionType[] {
+                            AstronomicalEventsCalculation.EventDirectionType.RISE,
+                            AstronomicalEventsCalculation.EventDirectionType.CULMINATION,
+                            AstronomicalEventsCalculation.EventDirectionType.SET,
+                    };
+                    for (int i = 0; i < 3; ++i) {
+                        if (eachDayEvents[i] == null || ! eachDayEvents[i].isBefore(endOfDay)) {
+                            continue;
+                        }
+                        boolean found = false;
+                        for (AstronomicalEvent event: events) {
+                            if (event.getEventDirectionType() == types[i] && Math.abs(Duration.between(event.getTime(), eachDayEvents[i]).toMillis()) <= 200L) {
+                                found = true;
+                                break;
+                            }
+                        }
+                        assertTrue(found);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void checkEventsBetweenMoonInTokyoEvaluationCount() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        // Counts the evaluations of the moon instead of measuring time, which is measured by EventsBetweenBenchmark of the benchmark module
+        ZoneId tokyoZoneId = ZoneId.of("Asia/Tokyo");
+        LocationOnTheEarth placeToTest = LocationsForTest.getTokyoNAO();
+
+        CountingAstronomicalObject eachDayMoon = new CountingAstronomicalObject(new Moon(), false);
+        int eachDayEventCount = 0;
+        for (LocalDate date = LocalDate.of(2026, 1, 1); date.getYear() == 2026; date = date.plusDays(1)) {
+            Instant startOfDay = date.atStartOfDay(tokyoZoneId).toInstant();
+            if (AstronomicalEventsCalculation.calculateRiseWithin24h(eachDayMoon, startOfDay, placeToTest, true, AstronomicalEventsCalculation.ReferencePoint.CENTER) != null) {
+                ++eachDayEventCount;
+            }
+            if (AstronomicalEventsCalculation.calculateCulminationWithin24h(eachDayMoon, startOfDay, placeToTest) != null) {
+                ++eachDayEventCount;
+            }
+            if (AstronomicalEventsCalculation.calculateSetWithin24h(eachDayMoon, startOfDay, placeToTest, true, AstronomicalEventsCalculation.ReferencePoint.CENTER) != null) {
+                ++eachDayEventCount;
+            }
+        }
+
+        CountingAstronomicalObject rangeMoon = new CountingAstronomicalObject(new Moon(), false);
+        AstronomicalEvent[] events = AstronomicalEventsCalculation.calculateEventsBetween(rangeMoon, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31),
+                tokyoZoneId, placeToTest, true, AstronomicalEventsCalculation.ReferencePoint.CENTER);
+
+        // The moon rises, culminates and sets about 354 times each in a year
+        assertEquals(eachDayEventCount, events.length, 3);
+        // Following the events takes about 1/8 of the evaluations of each day
+        assertTrue(rangeMoon.getCount() * 5 <= eachDayMoon.getCount());
+    }
+
+    @Test
+    public void checkAllEventsSkippingConsistentWithFixedInterval() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        // Compares with the fixed interval scan, which is done when maximumAngularSpeedRadPerDay() is unknown
+        for (AstronomicalObject astronomicalObject: AstronomicalObjectsForTest.listAstronomicalObjectsForTest()) {
+            for (LocationOnTheEarth locationOnTheEarth : LocationsForTest.listLocationsForTest()) {
+                for (Instant testDay = Instant.parse("2025-12-31T15:00:00Z"); testDay.isBefore(Instant.parse("2027-01-01T00:00:00Z")); testDay = testDay.plusSeconds(86400 * 13)) {
+                    for (AstronomicalEventsCalculation.EventDirectionType eventDirectionType: new AstronomicalEventsCalculation.EventDirectionType[] { AstronomicalEventsCalculation.EventDirectionType.RISE, AstronomicalEventsCalculation.EventDirectionType.SET }) {
+                        Instant[] expected = AstronomicalEventsCalculation.calculateAllEvents(new CountingAstronomicalObject(astronomicalObject, true), eventDirectionType,
+                                testDay, testDay.plusSeconds(86400 * 2), Duration.ofMinutes(5), Duration.ofMillis(200), locationOnTheEarth, true, AstronomicalEventsCalculation.ReferencePoint.TOP,
+                                true, -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0));
+                        Instant[] actual = AstronomicalEventsCalculation.calculateAllEvents(astronomicalObject, eventDirectionType,
+                                testDay, testDay.plusSeconds(86400 * 2), Duration.ofMinutes(5), Duration.ofMillis(200), locationOnTheEarth, true, AstronomicalEventsCalculation.ReferencePoint.TOP,
+                                true, -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0));
+
+                        // The last point of the fixed interval scan is up to 5 minutes before the end, while skipping scan may get closer to the end.
+                        // Events after the last point of the fixed interval scan are only found by skipping scan.
+                        final Instant lastPointOfFixedInterval = testDay.plusSeconds(86400 * 2).minus(Duration.ofMinutes(5));
+                        int actualCountToCompare = 0;
+                        for (Instant event: actual) {
+                            if (event.isBefore(lastPointOfFixedInterval)) {
+                                ++actualCountToCompare;
+                            }
+                        }
+
+                        assertEquals(expected.length, actualCountToCompare);
+                        for (int i = 0; i < expected.length; ++i) {
+                            assertEquals(0.0, Duration.between(expected[i], actual[i]).toMillis(), 400.0);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void checkAllEventsSkippingOnPolarDays() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        // Midnight sun and polar night, which always go to the slow path of calculateEventWithin24h
+        final Instant testDay = Instant.parse("2026-06-20T00:00:00Z");
+
+        for (LocationOnTheEarth locationOnTheEarth : new LocationOnTheEarth[] { LocationsForTest.getTromsoe(), LocationsForTest.getNorthPoleE0Z(), LocationsForTest.getShowaStation(), LocationsForTest.getSouthPoleE0Z() }) {
+            for (AstronomicalEventsCalculation.EventDirectionType eventDirectionType: new AstronomicalEventsCalculation.EventDirectionType[] { AstronomicalEventsCalculation.EventDirectionType.RISE, AstronomicalEventsCalculation.EventDirectionType.SET }) {
+                CountingAstronomicalObject fixedIntervalSun = new CountingAstronomicalObject(new Sun(), true);
+                CountingAstronomicalObject skippingSun = new CountingAstronomicalObject(new Sun(), false);
+
+                assertEquals(0, AstronomicalEventsCalculation.calculateAllEvents(fixedIntervalSun, eventDirectionType,
+                        testDay, testDay.plusSeconds(86400), Duration.ofMinutes(1), Duration.ofMillis(200), locationOnTheEarth, true, AstronomicalEventsCalculation.ReferencePoint.TOP,
+                        true, -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0)).length);
+                assertEquals(0, AstronomicalEventsCalculation.calculateAllEvents(skippingSun, eventDirectionType,
+                        testDay, testDay.plusSeconds(86400), Duration.ofMinutes(1), Duration.ofMillis(200), locationOnTheEarth, true, AstronomicalEventsCalculation.ReferencePoint.TOP,
+                        true, -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0)).length);
+
+                assertTrue(fixedIntervalSun.getCount() >= 1440);
+                assertTrue(skippingSun.getCount() * 10 <= fixedIntervalSun.getCount());
+            }
+        }
+    }
+
+    @Test
+    public void checkEpochMilliOverloadsConsistentWithInstant() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final double heightStandardRad = -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0);
+
+        for (AstronomicalObject astronomicalObject: AstronomicalObjectsForTest.listAstronomicalObjectsForTest()) {
+            for (LocationOnTheEarth locationOnTheEarth : LocationsForTest.listLocationsForTest()) {
+                for (AstronomicalEventsCalculation.EventDirectionType eventDirectionType: AstronomicalEventsCalculation.EventDirectionType.values()) {
+                    for (Instant testDay = Instant.parse("2026-01-01T00:00:00Z"); testDay.isBefore(Instant.parse("2027-01-01T00:00:00Z")); testDay = testDay.plusSeconds(86400 * 7)) {
+                        Instant byInstant = AstronomicalEventsCalculation.calculateEventWithin24h(astronomicalObject, eventDirectionType, testDay, locationOnTheEarth,
+                                true, AstronomicalEventsCalculation.ReferencePoint.TOP, true, heightStandardRad);
+                        double byEpochMilli = AstronomicalEventsCalculation.calculateEventWithin24h(astronomicalObject, eventDirectionType, testDay.toEpochMilli(), Observer.of(locationOnTheEarth),
+                                true, AstronomicalEventsCalculation.ReferencePoint.TOP, true, heightStandardRad, PrecisionProfile.DEFAULT);
+                        if (byInstant == null) {
+                            assertTrue(Double.isNaN(byEpochMilli));
+                        } else {
+                            assertEquals(byInstant.toEpochMilli(), byEpochMilli, 1.0);
+                        }
+                    }
+                }
+            }
+        }
+
+        // Only the events within the length of the array are stored, and the number of all events is returned
+        final Instant start = Instant.parse("2026-05-01T00:00:00Z");
+        final Instant end = start.plusSeconds(86400 * 10);
+        Instant[] allRises = AstronomicalEventsCalculation.calculateAllEvents(new Moon(), AstronomicalEventsCalculation.EventDirectionType.RISE,
+                start, end, Duration.ofMinutes(1), Duration.ofMillis(200), LocationsForTest.getTokyoNAO(), true, AstronomicalEventsCalculation.ReferencePoint.TOP,
+                true, heightStandardRad);
+        double[] firstRises = new double[3];
+        assertEquals(allRises.length, AstronomicalEventsCalculation.calculateAllEvents(new Moon(), AstronomicalEventsCalculation.EventDirectionType.RISE,
+                start.toEpochMilli(), end.toEpochMilli(), 60000L, 200.0, Observer.of(LocationsForTest.getTokyoNAO()), true, AstronomicalEventsCalculation.ReferencePoint.TOP,
+                true, heightStandardRad, firstRises));
+        assertTrue(allRises.length > firstRises.length);
+        for (int i = 0; i < firstRises.length; ++i) {
+            assertEquals(allRises[i].toEpochMilli(), firstRises[i], 1.0);
+        }
+    }
+
+    @Test
+    public void checkEpochMilliOverloadsAllocation() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        if (! (java.lang.management.ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            // Allocation cannot be measured on this VM
+            return;
+        }
+        final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        if (! threadMXBean.isThreadAllocatedMemorySupported() || ! threadMXBean.isThreadAllocatedMemoryEnabled()) {
+            return;
+        }
+        final long threadId = Thread.currentThread().getId();
+
+        final double heightStandardRad = -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0);
+        final Observer observer = Observer.of(LocationsForTest.getTokyoNAO());
+        final long start = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+        // Fewer days than EarthOrientationProvider.CACHE_SIZE, so that the entries of the days are not replaced after the first round
+        final int dayCount = EarthOrientationProvider.CACHE_SIZE - 4;
+
+        for (AstronomicalObject astronomicalObject: new AstronomicalObject[] { new Sun(), new Moon() }) {
+            long allocatedBytes = 0;
+            // First round is warm-up
+            for (int round = 0; round < 2; ++round) {
+                final long before = threadMXBean.getThreadAllocatedBytes(threadId);
+                for (int day = 0; day < dayCount; ++day) {
+                    AstronomicalEventsCalculation.calculateEventWithin24h(astronomicalObject, AstronomicalEventsCalculation.EventDirectionType.RISE, start + day * 86400000L,
+                            observer, true, AstronomicalEventsCalculation.ReferencePoint.TOP, true, heightStandardRad, PrecisionProfile.DEFAULT);
+                }
+                allocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+            }
+
+            // Only the work arrays of each call are expected (56 bytes of the state, and a little more on the days falling back to the slow path),
+            // while Newton iteration evaluates the position several times per call
+            assertTrue(allocatedBytes <= dayCount * 128L);
+        }
+
+        // Same for the twilights, including the polar area where the sweep falls back to Brent's method around the culmination
+        final Sun sun = new Sun();
+        for (LocationOnTheEarth locationOnTheEarth : new LocationOnTheEarth[] { LocationsForTest.getTokyoNAO(), LocationsForTest.getTromsoe() }) {
+            final Observer twilightObserver = Observer.of(locationOnTheEarth);
+            final double[] eventEpochMillis = new double[AstronomicalEventsCalculation.TwilightEventType.values().length];
+            long allocatedBytes = 0;
+            for (int round = 0; round < 2; ++round) {
+                final long before = threadMXBean.getThreadAllocatedBytes(threadId);
+                for (int day = 0; day < dayCount; ++day) {
+                    AstronomicalEventsCalculation.calculateTwilightEvents(sun, start + day * 86400000L, start + (day + 1) * 86400000L, twilightObserver, true,
+                            PrecisionProfile.DEFAULT, eventEpochMillis);
+                }
+                allocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+            }
+            assertTrue(allocatedBytes <= dayCount * 128L);
+        }
+    }
+
+    @Test
+    public void checkTwilightEventsConsistentWithEachEvent() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final AstronomicalEventsCalculation.TwilightEventType[] eventTypes = AstronomicalEventsCalculation.TwilightEventType.values();
+        final double[] twilightSunElevationDeg = new double[] { AstronomicalEventsCalculation.ASTRONOMICAL_TWILIGHT_SUN_ELEVATION_DEG, AstronomicalEventsCalculation.NAUTICAL_TWILIGHT_SUN_ELEVATION_DEG, AstronomicalEventsCalculation.CIVIL_TWILIGHT_SUN_ELEVATION_DEG };
+
+        long sweepCount = 0;
+        long separateCount = 0;
+        for (LocationOnTheEarth locationOnTheEarth : LocationsForTest.listLocationsForTest()) {
+            for (Instant testDay = Instant.parse("2025-12-31T15:00:00Z"); testDay.isBefore(Instant.parse("2027-01-01T00:00:00Z")); testDay = testDay.plusSeconds(86400 * 13)) {
+                final Instant end = testDay.plusSeconds(86400);
+
+                CountingAstronomicalObject sweepSun = new CountingAstronomicalObject(new Sun(), false);
+                Instant[] actual = AstronomicalEventsCalculation.calculateTwilightEvents(sweepSun, testDay, end, locationOnTheEarth, true);
+                sweepCount += sweepSun.getCount();
+                assertEquals(eventTypes.length, actual.length);
+
+                for (AstronomicalEventsCalculation.TwilightEventType eventType : eventTypes) {
+                    final int index = eventType.ordinal();
+                    final boolean isDawn = index <= AstronomicalEventsCalculation.TwilightEventType.SUNRISE.ordinal();
+                    final AstronomicalEventsCalculation.EventDirectionType eventDirectionType = isDawn ? AstronomicalEventsCalculation.EventDirectionType.RISE : AstronomicalEventsCalculation.EventDirectionType.SET;
+
+                    Instant[] expected;
+                    CountingAstronomicalObject separateSun = new CountingAstronomicalObject(new Sun(), false);
+                    if (eventType == AstronomicalEventsCalculation.TwilightEventType.SUNRISE || eventType == AstronomicalEventsCalculation.TwilightEventType.SUNSET) {
+                        expected = AstronomicalEventsCalculation.calculateAllEvents(separateSun, eventDirectionType, testDay, end, Duration.ofMinutes(1), Duration.ofMillis(200),
+                                locationOnTheEarth, true, AstronomicalEventsCalculation.ReferencePoint.TOP, true, -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0));
+                    } else {
+                        final double elevationDeg = twilightSunElevationDeg[isDawn ? index : eventTypes.length - 1 - index];
+                        expected = AstronomicalEventsCalculation.calculateAllEvents(separateSun, eventDirectionType, testDay, end, Duration.ofMinutes(1), Duration.ofMillis(200),
+                                locationOnTheEarth, false, AstronomicalEventsCalculation.ReferencePoint.CENTER, true, Math.toRadians(elevationDeg));
+                    }
+
+                    if (expected.length == 0 || actual[index] == null) {
+                        // Fixed interval scan does not check the last minute of the range
+                        if (actual[index] != null) {
+                            assertTrue(Duration.between(actual[index], end).toMillis() < 60000L);
+                        }
+                        assertEquals(0, expected.length);
+                    } else {
+                        assertEquals(0.0, Duration.between(expected[0], actual[index]).toMillis(), 400.0);
+                    }
+
+                    // Each event separately by the fast path
+                    CountingAstronomicalObject eachEventSun = new CountingAstronomicalObject(new Sun(), false);
+                    if (eventType == AstronomicalEventsCalculation.TwilightEventType.SUNRISE || eventType == AstronomicalEventsCalculation.TwilightEventType.SUNSET) {
+                        AstronomicalEventsCalculation.calculateEventWithin24h(eachEventSun, eventDirectionType, testDay, locationOnTheEarth,
+                                true, AstronomicalEventsCalculation.ReferencePoint.TOP, true, -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0));
+                    } else {
+                        AstronomicalEventsCalculation.calculateEventWithin24h(eachEventSun, eventDirectionType, testDay, locationOnTheEarth,
+                                false, AstronomicalEventsCalculation.ReferencePoint.CENTER, true, Math.toRadians(twilightSunElevationDeg[isDawn ? index : eventTypes.length - 1 - index]));
+                    }
+                    separateCount += eachEventSun.getCount();
+                }
+            }
+        }
+
+        // The sweep takes about a third of the evaluations of the separate calls without the declination envelope, and about 55% with it,
+        // as the envelope makes the separate calls cheap on polar days
+        assertTrue(sweepCount * 3 < separateCount * 2);
+    }
+
+    @Test
+    public void checkTwilightEventsOnPolarDays() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        // Midnight sun: the Sun never goes down below the horizon
+        Instant[] midnightSun = AstronomicalEventsCalculation.calculateTwilightEvents(new Sun(), Instant.parse("2026-06-20T23:00:00Z"), Instant.parse("2026-06-21T23:00:00Z"), LocationsForTest.getTromsoe(), true);
+        for (Instant event : midnightSun) {
+            assertNull(event);
+        }
+
+        // Polar night: the Sun never rises, but all the twilights happen
+        Instant[] polarNight = AstronomicalEventsCalculation.calculateTwilightEvents(new Sun(), Instant.parse("2026-12-20T23:00:00Z"), Instant.parse("2026-12-21T23:00:00Z"), LocationsForTest.getTromsoe(), true);
+        for (AstronomicalEventsCalculation.TwilightEventType eventType : AstronomicalEventsCalculation.TwilightEventType.values()) {
+            if (eventType == AstronomicalEventsCalculation.TwilightEventType.SUNRISE || eventType == AstronomicalEventsCalculation.TwilightEventType.SUNSET) {
+                assertNull(polarNight[eventType.ordinal()]);
+            } else {
+                assertNotNull(polarNight[eventType.ordinal()]);
+            }
+        }
+        assertTrue(polarNight[AstronomicalEventsCalculation.TwilightEventType.ASTRONOMICAL_DAWN.ordinal()].isBefore(polarNight[AstronomicalEventsCalculation.TwilightEventType.NAUTICAL_DAWN.ordinal()]));
+        assertTrue(polarNight[AstronomicalEventsCalculation.TwilightEventType.NAUTICAL_DAWN.ordinal()].isBefore(polarNight[AstronomicalEventsCalculation.TwilightEventType.CIVIL_DAWN.ordinal()]));
+        assertTrue(polarNight[AstronomicalEventsCalculation.TwilightEventType.CIVIL_DAWN.ordinal()].isBefore(polarNight[AstronomicalEventsCalculation.TwilightEventType.CIVIL_DUSK.ordinal()]));
+        assertTrue(polarNight[AstronomicalEventsCalculation.TwilightEventType.CIVIL_DUSK.ordinal()].isBefore(polarNight[AstronomicalEventsCalculation.TwilightEventType.NAUTICAL_DUSK.ordinal()]));
+        assertTrue(polarNight[AstronomicalEventsCalculation.TwilightEventType.NAUTICAL_DUSK.ordinal()].isBefore(polarNight[AstronomicalEventsCalculation.TwilightEventType.ASTRONOMICAL_DUSK.ordinal()]));
+
+        // At the north pole, the elevation of the Sun is its declination, crossing the horizon only around the equinox
+        Instant[] northPoleSpring = AstronomicalEventsCalculation.calculateTwilightEvents(new Sun(), Instant.parse("2026-03-01T00:00:00Z"), Instant.parse("2026-03-31T00:00:00Z"), LocationsForTest.getNorthPoleE0Z(), true);
+        Instant[] expectedSunrise = AstronomicalEventsCalculation.calculateAllEvents(new Sun(), AstronomicalEventsCalculation.EventDirectionType.RISE,
+                Instant.parse("2026-03-01T00:00:00Z"), Instant.parse("2026-03-31T00:00:00Z"), Duration.ofMinutes(1), Duration.ofMillis(200),
+                LocationsForTest.getNorthPoleE0Z(), true, AstronomicalEventsCalculation.ReferencePoint.TOP, true, -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0));
+        assertEquals(1, expectedSunrise.length);
+        assertEquals(0.0, Duration.between(expectedSunrise[0], northPoleSpring[AstronomicalEventsCalculation.TwilightEventType.SUNRISE.ordinal()]).toMillis(), 1000.0);
+        assertNotNull(northPoleSpring[AstronomicalEventsCalculation.TwilightEventType.CIVIL_DAWN.ordinal()]);
+        assertNull(northPoleSpring[AstronomicalEventsCalculation.TwilightEventType.SUNSET.ordinal()]);
+        assertNull(northPoleSpring[AstronomicalEventsCalculation.TwilightEventType.CIVIL_DUSK.ordinal()]);
+    }
+
+    @Test
+    public void checkEventWithin24hDeclinationEnvelopeOnPolarDays() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        // Midnight sun and polar night far from the boundary: judged from the declination at the middle of the window without further evaluations
+        for (Instant testDay : new Instant[] { Instant.parse("2026-06-20T00:00:00Z"), Instant.parse("2026-12-21T00:00:00Z") }) {
+            for (LocationOnTheEarth locationOnTheEarth : new LocationOnTheEarth[] { LocationsForTest.getTromsoe(), LocationsForTest.getNorthPoleE0Z(), LocationsForTest.getShowaStation(), LocationsForTest.getSouthPoleE0Z() }) {
+                for (AstronomicalEventsCalculation.EventDirectionType eventDirectionType: new AstronomicalEventsCalculation.EventDirectionType[] { AstronomicalEventsCalculation.EventDirectionType.RISE, AstronomicalEventsCalculation.EventDirectionType.SET }) {
+                    CountingAstronomicalObject sun = new CountingAstronomicalObject(new Sun(), false);
+                    assertNull(AstronomicalEventsCalculation.calculateEventWithin24h(sun, eventDirectionType, testDay, locationOnTheEarth,
+                            true, AstronomicalEventsCalculation.ReferencePoint.TOP, true, -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0)));
+                    assertEquals(1, sun.getCount());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void checkFindNextEventConsistentWithDayByDay() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final double heightStandardRad = -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0);
+
+        long dayByDayCount = 0;
+        long findNextCount = 0;
+        final LocationOnTheEarth tokyo = LocationsForTest.getTokyoNAO();
+        for (AstronomicalObject astronomicalObject : new AstronomicalObject[] { new Sun(), new Moon() }) {
+            for (LocationOnTheEarth locationOnTheEarth : new LocationOnTheEarth[] { tokyo, LocationsForTest.getTromsoe(), LocationsForTest.getNorthPoleE0Z(), LocationsForTest.getShowaStation(), LocationsForTest.getSouthPoleE0Z() }) {
+                for (Instant from = Instant.parse("2026-01-01T00:00:00Z"); from.isBefore(Instant.parse("2027-01-01T00:00:00Z")); from = from.plusSeconds(86400 * 17)) {
+                    for (AstronomicalEventsCalculation.EventDirectionType eventDirectionType : AstronomicalEventsCalculation.EventDirectionType.values()) {
+                        // Same as the search which was done in the app before
+                        CountingAstronomicalObject dayByDayObject = new CountingAstronomicalObject(astronomicalObject, false);
+                        Instant expected = null;
+                        Instant t = from;
+                        for (int i = 0; i < 270; ++i) {
+                            expected = AstronomicalEventsCalculation.calculateEventWithin24h(dayByDayObject, eventDirectionType, t, locationOnTheEarth,
+                                    true, AstronomicalEventsCalculation.ReferencePoint.TOP, true, heightStandardRad);
+                            if (expected != null && ! expected.isBefore(from)) {
+                                break;
+                            }
+                            expected = null;
+                            t = t.plusSeconds(86399);
+                        }
+
+                        CountingAstronomicalObject findNextObject = new CountingAstronomicalObject(astronomicalObject, false);
+                        Instant actual = AstronomicalEventsCalculation.findNextEvent(findNextObject, eventDirectionType, from, locationOnTheEarth,
+                                true, AstronomicalEventsCalculation.ReferencePoint.TOP, Duration.ofDays(270));
+
+                        if (expected == null) {
+                            assertNull(actual);
+                        } else {
+                            assertNotNull(actual);
+                            if (actual.isBefore(expected.minusSeconds(1))) {
+                                // Day by day search may miss the object setting and rising again within an hour near the horizon
+                                assertEquals(0.0, Duration.between(actual, AstronomicalEventsCalculation.calculateEventWithin24h(astronomicalObject, eventDirectionType, actual.minusSeconds(3600), locationOnTheEarth,
+                                        true, AstronomicalEventsCalculation.ReferencePoint.TOP, true, heightStandardRad)).toMillis(), 1000.0);
+                            } else {
+                                assertEquals(0.0, Duration.between(expected, actual).toMillis(), 1000.0);
+                            }
+                        }
+
+                        // Polar days of the Sun, where day by day search takes long
+                        if (astronomicalObject instanceof Sun && locationOnTheEarth != tokyo) {
+                            dayByDayCount += dayByDayObject.getCount();
+                            findNextCount += findNextObject.getCount();
+                        }
+                    }
+                }
+            }
+        }
+
+        assertTrue(findNextCount * 5 < dayByDayCount);
+    }
 }
@@ -0,0 +1,155 @@
+package net.nhiroki.lib.bluelineastrolib.logic;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.AstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.CachingAstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.ChebyshevInterpolatedAstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.PrecisionProfile;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Moon;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Sun;
+import net.nhiroki.lib.bluelineastrolib.coordinates.LocationOnTheEarth;
+import net.nhiroki.lib.bluelineastrolib.coordinates.Observer;
+import net.nhiroki.lib.bluelineastrolib.earth.Earth;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+import net.nhiroki.lib.bluelineastrolib.test_data.LocationsForTest;
+import net.nhiroki.lib.bluelineastrolib.tool.DailyAlmanac;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+
+// Stress test of the thread safety contract in README.md: objects shared by threads must give the same results as a single thread
+public class ConcurrentCalculationTest {
+    private static final int THREAD_COUNT = 8;
+    private static final int ROUND_COUNT = 3;
+    private static final int CASE_COUNT = 120;
+
+    private static final long START_EPOCH_MILLI = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+    private static final double HEIGHT_STANDARD_RAD = -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0);
+
+    private final LocationOnTheEarth[] locations = LocationsForTest.listLocationsForTest();
+
+    private final AstronomicalObject[] sharedObjects = new AstronomicalObject[] {
+            new Sun(),
+            new Moon(),
+            ChebyshevInterpolatedAstronomicalObject.forSun(new Sun()),
+            // Few segments, so that threads fit and evict the segments at the same time
+            new ChebyshevInterpolatedAstronomicalObject(new Moon(), 86400000L, 12, 4),
+            new CachingAstronomicalObject(new Moon(), 4),
+    };
+
+    // Results of the case as numbers, NaN for no event
+    private double[] calculateCase(int caseIndex) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final AstronomicalObject astronomicalObject = this.sharedObjects[caseIndex % this.sharedObjects.length];
+        final LocationOnTheEarth locationOnTheEarth = this.locations[caseIndex % this.locations.length];
+        final AstronomicalEventsCalculation.EventDirectionType eventDirectionType = AstronomicalEventsCalculation.EventDirectionType.values()[caseIndex % 3];
+        final long start = START_EPOCH_MILLI + (caseIndex * 37L % 365L) * 86400000L + caseIndex * 3600000L % 86400000L;
+
+        final double[] ret = new double[6 + AstronomicalEventsCalculation.TwilightEventType.values().length + 1];
+        final Observer observer = Observer.of(locationOnTheEarth);
+        ret[0] = AstronomicalEventsCalculation.calculateEventWithin24h(astronomicalObject, eventDirectionType, start, observer,
+                true, AstronomicalEventsCalculation.ReferencePoint.TOP, true, HEIGHT_STANDARD_RAD, PrecisionProfile.DEFAULT);
+        ret[1] = AstronomicalEventsCalculation.findNextEvent(astronomicalObject, eventDirectionType, start, observer,
+                true, AstronomicalEventsCalculation.ReferencePoint.CENTER, 40L * 86400000L, PrecisionProfile.DEFAULT);
+
+        final double[] coordinates = new double[2];
+        astronomicalObject.calculateCelestialCoordinates(start, coordinates);
+        ret[2] = coordinates[0];
+        ret[3] = coordinates[1];
+        ret[4] = astronomicalObject.calculateEquatorialHorizontalParallaxRad(start);
+        ret[5] = astronomicalObject.calculateApparentRadiusRad(start);
+
+        final double[] twilightEvents = new double[AstronomicalEventsCalculation.TwilightEventType.values().length];
+        AstronomicalEventsCalculation.calculateTwilightEvents(this.sharedObjects[caseIndex % 2 == 0 ? 0 : 2], start, start + 86400000L, observer, true, PrecisionProfile.DEFAULT, twilightEvents);
+        System.arraycopy(twilightEvents, 0, ret, 6, twilightEvents.length);
+
+        if (caseIndex % 10 == 0) {
+            final DailyAlmanac dailyAlmanac = DailyAlmanac.calculate(LocalDate.of(2026, 1, 1).plusDays(caseIndex), ZoneId.of("Asia/Tokyo"), locationOnTheEarth);
+            ret[ret.length - 1] = dailyAlmanac.getMoonrise() == null ? Double.NaN : dailyAlmanac.getMoonrise().toEpochMilli();
+        } else {
+            ret[ret.length - 1] = Double.NaN;
+        }
+        return ret;
+    }
+
+    @Test
+    public void sharedObjectsFromManyThreadsTest() throws Exception {
+        final double[][] expected = new double[CASE_COUNT][];
+        for (int i = 0; i < CASE_COUNT; ++i) {
+            expected[i] = this.calculateCase(i);
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            final CountDownLatch startLatch = new CountDownLatch(1);
+            final List<Future<double[][]>> futures = new ArrayList<>();
+            for (int threadIndex = 0; threadIndex < THREAD_COUNT; ++threadIndex) {
+                final int offset = threadIndex * CASE_COUNT / THREAD_COUNT;
+                futures.add(executor.submit((Callable<double[][]>) () -> {
+                    // All threads start at once, to maximize the overlap
+                    startLatch.await();
+                    final double[][] actual = new double[CASE_COUNT][];
+                    for (int round = 0; round < ROUND_COUNT; ++round) {
+                        // Each thread goes through the cases from a different offset, so that different segments are used at the same time
+                        for (int i = 0; i < CASE_COUNT; ++i) {
+                            final int caseIndex = (i + offset) % CASE_COUNT;
+                            final double[] result = this.calculateCase(caseIndex);
+                            if (actual[caseIndex] != null) {
+                                assertArrayEquals(actual[caseIndex], result, 0.0);
+                            }
+                            actual[caseIndex] = result;
+                        }
+                    }
+                    return actual;
+                }));
+            }
+            startLatch.countDown();
+
+            for (Future<double[][]> future : futures) {
+                final double[][] actual = future.get(10, TimeUnit.MINUTES);
+                for (int i = 0; i < CASE_COUNT; ++i) {
+                    assertArrayEquals(expected[i], actual[i], 0.0);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void gridEventCalculatorFromManyThreadsTest() throws Exception {
+        // GridEventCalculator itself uses the common pool, and is called from many threads at once here
+        final GridEventCalculator calculator = new GridEventCalculator(-80.0, 10.0, 17, -180.0, 30.0, 12);
+        final LocalDate firstDate = LocalDate.of(2026, 6, 19);
+        final int[] expected = calculator.calculate(new Moon(), AstronomicalEventsCalculation.EventDirectionType.RISE, AstronomicalEventsCalculation.ReferencePoint.TOP, firstDate, 2);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            final Moon sharedMoon = new Moon();
+            final List<Future<int[]>> futures = new ArrayList<>();
+            for (int threadIndex = 0; threadIndex < THREAD_COUNT; ++threadIndex) {
+                futures.add(executor.submit(() -> calculator.calculate(sharedMoon, AstronomicalEventsCalculation.EventDirectionType.RISE, AstronomicalEventsCalculation.ReferencePoint.TOP, firstDate, 2)));
+            }
+            for (Future<int[]> future : futures) {
+                assertArrayEquals(expected, future.get(10, TimeUnit.MINUTES));
+            }
+            assertEquals(2 * 17 * 12, expected.length);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package net.nhiroki.lib.bluelineastrolib.logic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Sun;
+import net.nhiroki.lib.bluelineastrolib.coordinates.LocationOnTheEarth;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+import net.nhiroki.lib.bluelineastrolib.test_data.CountingAstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.test_data.LocationsForTest;
+
+import org.junit.Test;
+
+import java.time.Instant;
+
+
+public class EventCalculationStatisticsTest {
+    @Test
+    public void disabledRecordsNothingTest() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        EventCalculationStatistics.disable();
+        EventCalculationStatistics.reset();
+
+        assertNotNull(AstronomicalEventsCalculation.calculateRiseWithin24h(new Sun(), Instant.parse("2026-03-01T00:00:00+09:00"), LocationsForTest.getTokyoNAO(), true, AstronomicalEventsCalculation.ReferencePoint.TOP));
+
+        EventCalculationStatistics.Snapshot snapshot = EventCalculationStatistics.snapshot();
+        for (EventCalculationStatistics.Counter counter : EventCalculationStatistics.Counter.values()) {
+            assertEquals(0, snapshot.getCount(counter));
+        }
+        for (EventCalculationStatistics.Operation operation : EventCalculationStatistics.Operation.values()) {
+            assertEquals(0, snapshot.getCallCount(operation));
+            assertEquals(0, snapshot.getTotalCallNanos(operation));
+        }
+        assertTrue(snapshot.getCoordinateEvaluations().isEmpty());
+    }
+
+    @Test
+    public void countersTest() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        EventCalculationStatistics.reset();
+        EventCalculationStatistics.enable();
+        try {
+            // Usual sunrise in Tokyo is found by the iteration
+            CountingAstronomicalObject sun = new CountingAstronomicalObject(new Sun(), false);
+            assertNotNull(AstronomicalEventsCalculation.calculateRiseWithin24h(sun, Instant.parse("2026-03-01T00:00:00+09:00"), LocationsForTest.getTokyoNAO(), true, AstronomicalEventsCalculation.ReferencePoint.TOP));
+            EventCalculationStatistics.Snapshot snapshot = EventCalculationStatistics.snapshot();
+            assertEquals(1, snapshot.getCallCount(EventCalculationStatistics.Operation.EVENT_WITHIN_24H));
+            assertTrue(snapshot.getTotalCallNanos(EventCalculationStatistics.Operation.EVENT_WITHIN_24H) > 0);
+            assertEquals(snapshot.getTotalCallNanos(EventCalculationStatistics.Operation.EVENT_WITHIN_24H), snapshot.getMaximumCallNanos(EventCalculationStatistics.Operation.EVENT_WITHIN_24H));
+            assertTrue(snapshot.getCount(EventCalculationStatistics.Counter.NEWTON_ITERATIONS) > 0);
+            assertEquals(0, snapshot.getCount(EventCalculationStatistics.Counter.NAN_BRANCH_ENTRIES));
+            assertEquals(0, snapshot.getCallCount(EventCalculationStatistics.Operation.ALL_EVENTS));
+            assertEquals(sun.getCount(), (long) snapshot.getCoordinateEvaluations().get("CountingAstronomicalObject"));
+
+            // Polar night is judged by the declination envelope
+            EventCalculationStatistics.reset();
+            assertNull(AstronomicalEventsCalculation.calculateRiseWithin24h(new Sun(), Instant.parse("2026-12-21T00:00:00Z"), LocationsForTest.getNorthPoleE0Z(), true, AstronomicalEventsCalculation.ReferencePoint.TOP));
+            snapshot = EventCalculationStatistics.snapshot();
+            assertEquals(1, snapshot.getCount(EventCalculationStatistics.Counter.NAN_BRANCH_ENTRIES));
+            assertEquals(1, snapshot.getCount(EventCalculationStatistics.Counter.DECLINATION_ENVELOPE_SKIPS));
+            assertEquals(1, (long) snapshot.getCoordinateEvaluations().get("Sun"));
+
+            // Sunrise at the north pole is refined by Brent's method
+            EventCalculationStatistics.reset();
+            assertNotNull(AstronomicalEventsCalculation.calculateRiseWithin24h(new Sun(), Instant.parse("2026-03-18T00:00:00Z"), LocationsForTest.getNorthPoleE0Z(), true, AstronomicalEventsCalculation.ReferencePoint.TOP));
+            snapshot = EventCalculationStatistics.snapshot();
+            assertEquals(1, snapshot.getCount(EventCalculationStatistics.Counter.NAN_BRANCH_ENTRIES));
+            assertTrue(snapshot.getCount(EventCalculationStatistics.Counter.ROOT_REFINEMENT_EVALUATIONS) > 0);
+
+            // Sunrise just before the midnight sun, where the estimate does not converge and falls back to calculateAllEvents()
+            EventCalculationStatistics.reset();
+            AstronomicalEventsCalculation.calculateRiseWithin24h(new Sun(), Instant.parse("2026-05-18T00:00:00Z"), LocationOnTheEarth.ofDegreesMeters(20.0, 69.6, 0.0), true, AstronomicalEventsCalculation.ReferencePoint.TOP);
+            snapshot = EventCalculationStatistics.snapshot();
+            assertEquals(1, snapshot.getCount(EventCalculationStatistics.Counter.SLOW_PATH_FALLBACKS_BY_LOOP_LIMIT) + snapshot.getCount(EventCalculationStatistics.Counter.SLOW_PATH_FALLBACKS_BY_ESTIMATE_OUT_OF_WINDOW));
+            assertEquals(1, snapshot.getCallCount(EventCalculationStatistics.Operation.ALL_EVENTS));
+            assertEquals(1, snapshot.getCallCount(EventCalculationStatistics.Operation.EVENT_WITHIN_24H));
+
+            EventCalculationStatistics.reset();
+            snapshot = EventCalculationStatistics.snapshot();
+            assertEquals(0, snapshot.getCount(EventCalculationStatistics.Counter.NEWTON_ITERATIONS));
+            assertEquals(0, snapshot.getCallCount(EventCalculationStatistics.Operation.ALL_EVENTS));
+            assertTrue(snapshot.getCoordinateEvaluations().isEmpty());
+        } finally {
+            EventCalculationStatistics.disable();
+        }
+    }
+}
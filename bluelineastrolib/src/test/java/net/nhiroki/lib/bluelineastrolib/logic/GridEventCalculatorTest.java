@@ -0,0 +1,85 @@
+package net.nhiroki.lib.bluelineastrolib.logic;
+
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.AstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.PrecisionProfile;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Moon;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Sun;
+import net.nhiroki.lib.bluelineastrolib.coordinates.LocationOnTheEarth;
+import net.nhiroki.lib.bluelineastrolib.coordinates.Observer;
+import net.nhiroki.lib.bluelineastrolib.earth.Earth;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+import net.nhiroki.lib.bluelineastrolib.test_data.CountingAstronomicalObject;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+
+public class GridEventCalculatorTest {
+    @Test
+    public void consistentWithEachPointTest() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final GridEventCalculator calculator = new GridEventCalculator(-80.0, 20.0, 9, -180.0, 45.0, 8);
+        final LocalDate firstDate = LocalDate.of(2026, 6, 19);
+        final int dayCount = 3;
+
+        for (AstronomicalObject astronomicalObject : new AstronomicalObject[] { new Sun(), new Moon() }) {
+            for (AstronomicalEventsCalculation.EventDirectionType eventDirectionType : AstronomicalEventsCalculation.EventDirectionType.values()) {
+                final int[] result = calculator.calculate(astronomicalObject, eventDirectionType, AstronomicalEventsCalculation.ReferencePoint.TOP, firstDate, dayCount);
+                assertEquals(dayCount * 9 * 8, result.length);
+
+                for (int day = 0; day < dayCount; ++day) {
+                    final long dayStart = firstDate.plusDays(day).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+                    for (int latitudeIndex = 0; latitudeIndex < 9; ++latitudeIndex) {
+                        for (int longitudeIndex = 0; longitudeIndex < 8; ++longitudeIndex) {
+                            final LocationOnTheEarth locationOnTheEarth = LocationOnTheEarth.ofDegreesMeters(-180.0 + 45.0 * longitudeIndex, -80.0 + 20.0 * latitudeIndex, 0.0);
+                            final double expected = AstronomicalEventsCalculation.calculateEventWithin24h(astronomicalObject, eventDirectionType, dayStart, Observer.of(locationOnTheEarth),
+                                    false, AstronomicalEventsCalculation.ReferencePoint.TOP, true, -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0), PrecisionProfile.DEFAULT);
+                            final int actual = result[calculator.indexOf(day, latitudeIndex, longitudeIndex)];
+
+                            if (Double.isNaN(expected) || expected < dayStart || expected >= dayStart + 86400000L) {
+                                assertEquals(GridEventCalculator.NO_EVENT, actual);
+                            } else {
+                                assertEquals((expected - dayStart) / 1000.0, actual, 1.5);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void parallelismConsistency() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        // Speed by the number of threads is measured by GridEventCalculatorBenchmark of the benchmark module
+        final GridEventCalculator calculator = new GridEventCalculator(-89.0, 2.0, 90, -180.0, 2.0, 180);
+        final LocalDate firstDate = LocalDate.of(2026, 3, 1);
+        final int dayCount = 2;
+        final int pointCount = dayCount * calculator.getLatitudeCount() * calculator.getLongitudeCount();
+
+        final int[] singleThreadResult = new int[pointCount];
+        final ForkJoinPool singleThreadPool = new ForkJoinPool(1);
+        calculator.calculate(new Sun(), AstronomicalEventsCalculation.EventDirectionType.RISE, AstronomicalEventsCalculation.ReferencePoint.TOP, firstDate, dayCount, singleThreadPool, singleThreadResult);
+        singleThreadPool.shutdown();
+
+        final ForkJoinPool pool = new ForkJoinPool(Math.max(Runtime.getRuntime().availableProcessors(), 4));
+        final int[] result = new int[pointCount];
+        final CountingAstronomicalObject sun = new CountingAstronomicalObject(new Sun(), false);
+        calculator.calculate(sun, AstronomicalEventsCalculation.EventDirectionType.RISE, AstronomicalEventsCalculation.ReferencePoint.TOP, firstDate, dayCount, pool, result);
+        pool.shutdown();
+
+        assertArrayEquals(singleThreadResult, result);
+        // The Sun is evaluated only at the nodes of the segments of the days and the days before and after, which are fitted before the tasks
+        assertEquals((dayCount + 2) * 12, sun.getCount());
+    }
+
+    @Test
+    public void invalidGridTest() {
+        assertThrows(IllegalArgumentException.class, () -> new GridEventCalculator(-90.0, 1.0, 0, 0.0, 1.0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new GridEventCalculator(-90.0, 1.0, 182, 0.0, 1.0, 10));
+    }
+}
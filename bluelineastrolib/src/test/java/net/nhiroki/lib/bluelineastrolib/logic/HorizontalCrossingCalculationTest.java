@@ -0,0 +1,195 @@
+package net.nhiroki.lib.bluelineastrolib.logic;
+
+import static org.junit.Assert.*;
+
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.AstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.PrecisionProfile;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Moon;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Sun;
+import net.nhiroki.lib.bluelineastrolib.coordinates.HorizontalCoordinatesFromGround;
+import net.nhiroki.lib.bluelineastrolib.coordinates.LocationOnTheEarth;
+import net.nhiroki.lib.bluelineastrolib.coordinates.Observer;
+import net.nhiroki.lib.bluelineastrolib.earth.Earth;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+import net.nhiroki.lib.bluelineastrolib.test_data.LocationsForTest;
+
+import org.junit.Test;
+
+import java.time.Instant;
+
+
+public class HorizontalCrossingCalculationTest {
+    private static final long START = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+    private static final long SAMPLE_MILLIS = 60000L;
+    private static final int SAMPLE_COUNT = 60 * 24 * 60;
+
+    // Difference of the angles in [-pi, pi)
+    private static double differenceRad(double a, double b) {
+        final double diff = a - b;
+        return diff - Math.floor(diff / (2.0 * Math.PI) + 0.5) * 2.0 * Math.PI;
+    }
+
+    @Test
+    public void elevationCrossingTest() throws UnsupportedDateRangeException, AstronomicalPhenomenonComputationException {
+        final long end = START + SAMPLE_COUNT * SAMPLE_MILLIS;
+        final double[] crossings = new double[200];
+        final double[] elevation = new double[SAMPLE_COUNT + 1];
+
+        for (AstronomicalObject astronomicalObject : new AstronomicalObject[] { new Sun(), new Moon() }) {
+            for (LocationOnTheEarth place : new LocationOnTheEarth[] { LocationsForTest.getTokyoNAO(), LocationsForTest.getShowaStation() }) {
+                final Observer observer = Observer.of(place);
+                HorizontalCoordinatesFromGround.calculateTrack(astronomicalObject, START, SAMPLE_MILLIS, SAMPLE_COUNT + 1, observer, null, elevation, null);
+
+                // Golden hour of photographers
+                for (double elevationDeg : new double[] { 6.0, -4.0 }) {
+                    for (AstronomicalEventsCalculation.EventDirectionType eventDirectionType : new AstronomicalEventsCalculation.EventDirectionType[] {
+                            AstronomicalEventsCalculation.EventDirectionType.RISE, AstronomicalEventsCalculation.EventDirectionType.SET }) {
+                        final double elevationRad = Math.toRadians(elevationDeg);
+                        final int crossingCount = HorizontalCrossingCalculation.calculateElevationCrossings(astronomicalObject, eventDirectionType, START, end, observer,
+                                elevationRad, PrecisionProfile.DEFAULT, crossings);
+
+                        // Same number of crossings as the samples of every minute
+                        final double sign = eventDirectionType == AstronomicalEventsCalculation.EventDirectionType.RISE ? 1.0 : -1.0;
+                        int expectedCount = 0;
+                        for (int i = 1; i <= SAMPLE_COUNT; ++i) {
+                            if ((elevation[i - 1] - elevationRad) * sign < 0.0 && (elevation[i] - elevationRad) * sign >= 0.0) {
+                                ++expectedCount;
+                            }
+                        }
+                        assertEquals(expectedCount, crossingCount);
+
+                        for (int i = 0; i < crossingCount; ++i) {
+                            final HorizontalCoordinatesFromGround position = HorizontalCoordinatesFromGround.calculatePositionOfAstronomicalObject(astronomicalObject,
+                                    Instant.ofEpochMilli((long) crossings[i]), place);
+                            // Elevation changes at most 0.005 degrees per second
+                            assertEquals(elevationDeg, Math.toDegrees(position.getActualElevationRad()), 0.002);
+                            if (i > 0) {
+                                assertTrue(crossings[i] > crossings[i - 1]);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        // Empty range, and CULMINATION is not a crossing of elevation
+        assertEquals(0, HorizontalCrossingCalculation.calculateElevationCrossings(new Sun(), AstronomicalEventsCalculation.EventDirectionType.RISE, START, START,
+                LocationsForTest.getTokyoNAO(), 0.0, PrecisionProfile.DEFAULT, crossings));
+        assertThrows(IllegalArgumentException.class, () -> HorizontalCrossingCalculation.calculateElevationCrossings(new Sun(), AstronomicalEventsCalculation.EventDirectionType.CULMINATION,
+                START, end, LocationsForTest.getTokyoNAO(), 0.0, PrecisionProfile.DEFAULT, crossings));
+    }
+
+    @Test
+    public void consistencyWithRiseSetTest() throws UnsupportedDateRangeException, AstronomicalPhenomenonComputationException {
+        // Rise of the center without the horizon of the elevation is the crossing of the elevation of the refraction at the horizon
+        final double heightStandardRad = -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0);
+        final long end = START + 365L * 86400000L;
+        final LocationOnTheEarth place = LocationsForTest.getTokyoNAO();
+        final double[] crossings = new double[400];
+        final double[] events = new double[400];
+
+        final int crossingCount = HorizontalCrossingCalculation.calculateElevationCrossings(new Sun(), AstronomicalEventsCalculation.EventDirectionType.RISE, START, end,
+                place, heightStandardRad, PrecisionProfile.DEFAULT, crossings);
+        final int eventCount = AstronomicalEventsCalculation.calculateAllEvents(new Sun(), AstronomicalEventsCalculation.EventDirectionType.RISE, START, end, 60000L, 200.0,
+                Observer.of(place), false, AstronomicalEventsCalculation.ReferencePoint.CENTER, true, heightStandardRad, events);
+        assertEquals(365, crossingCount);
+        assertEquals(eventCount, crossingCount);
+        for (int i = 0; i < crossingCount; ++i) {
+            assertEquals(events[i], crossings[i], 1000.0);
+        }
+    }
+
+    @Test
+    public void azimuthCrossingTest() throws UnsupportedDateRangeException, AstronomicalPhenomenonComputationException {
+        final long end = START + SAMPLE_COUNT * SAMPLE_MILLIS;
+        final double[] crossings = new double[200];
+        final double[] azimuth = new double[SAMPLE_COUNT + 1];
+        final LocationOnTheEarth tokyo = LocationsForTest.getTokyoNAO();
+
+        for (AstronomicalObject astronomicalObject : new AstronomicalObject[] { new Sun(), new Moon() }) {
+            for (LocationOnTheEarth place : new LocationOnTheEarth[] { tokyo, LocationsForTest.getShowaStation() }) {
+                final Observer observer = Observer.of(place);
+                HorizontalCoordinatesFromGround.calculateTrack(astronomicalObject, START, SAMPLE_MILLIS, SAMPLE_COUNT + 1, observer, azimuth, null, null);
+
+                for (double azimuthDeg : new double[] { 0.0, 247.0 }) {
+                    final double azimuthRad = Math.toRadians(azimuthDeg);
+                    final int crossingCount = HorizontalCrossingCalculation.calculateAzimuthCrossings(astronomicalObject, START, end, observer, azimuthRad, PrecisionProfile.DEFAULT, crossings);
+
+                    int expectedCount = 0;
+                    for (int i = 1; i <= SAMPLE_COUNT; ++i) {
+                        final double prev = differenceRad(azimuth[i - 1], azimuthRad);
+                        final double now = differenceRad(azimuth[i], azimuthRad);
+                        if ((prev < 0.0) != (now < 0.0) && Math.abs(now - prev) < Math.PI) {
+                            ++expectedCount;
+                        }
+                    }
+                    assertEquals(expectedCount, crossingCount);
+                    // Once a day for the Sun in Tokyo
+                    if (astronomicalObject instanceof Sun && place == tokyo) {
+                        assertEquals(60, crossingCount);
+                        assertEquals(60, HorizontalCrossingCalculation.calculateAzimuthCrossings(astronomicalObject, START, end, place, azimuthRad, PrecisionProfile.DEFAULT, crossings));
+                    }
+
+                    for (int i = 0; i < crossingCount; ++i) {
+                        final HorizontalCoordinatesFromGround position = HorizontalCoordinatesFromGround.calculatePositionOfAstronomicalObject(astronomicalObject,
+                                Instant.ofEpochMilli((long) crossings[i]), place);
+                        // Azimuth changes faster at higher elevation
+                        assertEquals(0.0, Math.toDegrees(differenceRad(position.getAzimuthRad(), azimuthRad)), 0.002 / Math.cos(position.getActualElevationRad()));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void alignmentWindowTest() throws UnsupportedDateRangeException, AstronomicalPhenomenonComputationException {
+        // The Sun behind a landmark at azimuth 247 degrees and elevation 5 degrees seen from Tokyo, which happens in February and November
+        final LocationOnTheEarth place = LocationsForTest.getTokyoNAO();
+        final double azimuthRad = Math.toRadians(247.0);
+        final double elevationRad = Math.toRadians(5.0);
+        final double toleranceRad = Math.toRadians(1.0);
+        final int sampleCount = 365 * 24 * 60;
+        final long end = START + sampleCount * SAMPLE_MILLIS;
+
+        final double[] windows = new double[200];
+        final int windowCount = HorizontalCrossingCalculation.calculateAlignmentWindows(new Sun(), START, end, place,
+                azimuthRad, toleranceRad, elevationRad, toleranceRad, PrecisionProfile.DEFAULT, windows);
+        assertTrue(windowCount > 10);
+
+        for (int i = 0; i < windowCount; ++i) {
+            assertTrue(windows[2 * i] < windows[2 * i + 1]);
+            if (i > 0) {
+                assertTrue(windows[2 * i - 1] < windows[2 * i]);
+            }
+            // Borders are within the tolerance of 200 milliseconds, so that 1 second inside of the window is inside, and 1 second outside is outside
+            final long windowStart = (long) windows[2 * i];
+            final long windowEnd = (long) windows[2 * i + 1];
+            assertTrue(isInside(place, windowStart + 1000L, azimuthRad, elevationRad, toleranceRad));
+            assertFalse(isInside(place, windowStart - 1000L, azimuthRad, elevationRad, toleranceRad));
+            assertTrue(isInside(place, windowEnd - 1000L, azimuthRad, elevationRad, toleranceRad));
+            assertFalse(isInside(place, windowEnd + 1000L, azimuthRad, elevationRad, toleranceRad));
+        }
+
+        // Every sample of a minute within the tolerances is in one of the windows
+        final double[] azimuth = new double[sampleCount];
+        final double[] elevation = new double[sampleCount];
+        HorizontalCoordinatesFromGround.calculateTrack(new Sun(), START, SAMPLE_MILLIS, sampleCount, place, azimuth, elevation, null);
+        int windowIndex = 0;
+        for (int i = 0; i < sampleCount; ++i) {
+            if (Math.abs(differenceRad(azimuth[i], azimuthRad)) <= toleranceRad * 0.99 && Math.abs(elevation[i] - elevationRad) <= toleranceRad * 0.99) {
+                final long epochMilli = START + i * SAMPLE_MILLIS;
+                while (windowIndex < windowCount && windows[2 * windowIndex + 1] < epochMilli) {
+                    ++windowIndex;
+                }
+                assertTrue(windowIndex < windowCount);
+                assertTrue(windows[2 * windowIndex] <= epochMilli);
+            }
+        }
+    }
+
+    private static boolean isInside(LocationOnTheEarth place, long epochMilli, double azimuthRad, double elevationRad, double toleranceRad) throws UnsupportedDateRangeException, AstronomicalPhenomenonComputationException {
+        final HorizontalCoordinatesFromGround position = HorizontalCoordinatesFromGround.calculatePositionOfAstronomicalObject(new Sun(), Instant.ofEpochMilli(epochMilli), place);
+        return Math.abs(differenceRad(position.getAzimuthRad(), azimuthRad)) <= toleranceRad && Math.abs(position.getActualElevationRad() - elevationRad) <= toleranceRad;
+    }
+}
@@ -0,0 +1,95 @@
+package net.nhiroki.lib.bluelineastrolib.logic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Moon;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Sun;
+import net.nhiroki.lib.bluelineastrolib.coordinates.LocationOnTheEarth;
+import net.nhiroki.lib.bluelineastrolib.earth.Earth;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+import net.nhiroki.lib.bluelineastrolib.test_data.CountingAstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.test_data.LocationsForTest;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+
+public class RootRefinementTest {
+    @Test
+    public void findZeroCrossingBasicTest() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final double root = RootRefinement.toEpochNanos(Instant.parse("2026-03-20T12:34:56.789Z"));
+        final double oneHour = 3600e9;
+        final int[] evaluationCount = new int[1];
+
+        // Sine curve with the period of a day, like the elevation of the sun
+        RootRefinement.TimeFunction function = t -> {
+            ++evaluationCount[0];
+            return Math.sin((t - root) / 86400e9 * 2.0 * Math.PI);
+        };
+
+        for (double lo = root - 12.0 * oneHour + 1e9; lo < root; lo += 0.7 * oneHour) {
+            for (double hi = root + 12.0 * oneHour - 1e9; hi > root; hi -= 1.3 * oneHour) {
+                evaluationCount[0] = 0;
+                double result = RootRefinement.findZeroCrossing(function, lo, function.evaluate(lo), hi, function.evaluate(hi), 200e6);
+                assertEquals(root, result, 200e6);
+                // 2 evaluations for the ends of the bracket are done above
+                assertTrue(evaluationCount[0] - 2 <= 8);
+            }
+        }
+
+        // Reversed direction
+        evaluationCount[0] = 0;
+        double result = RootRefinement.findZeroCrossing(t -> -function.evaluate(t), root - oneHour, -function.evaluate(root - oneHour), root + oneHour, -function.evaluate(root + oneHour), 200e6);
+        assertEquals(root, result, 200e6);
+        assertTrue(evaluationCount[0] - 2 <= 6);
+    }
+
+    @Test
+    public void instantConversionTest() {
+        for (Instant instant : new Instant[] { Instant.parse("1900-01-01T00:00:00.123Z"), Instant.parse("1969-12-31T23:59:59.999Z"), Instant.parse("2026-03-20T12:34:56.789Z"), Instant.parse("2100-12-31T23:59:59.999Z") }) {
+            assertEquals(0.0, Duration.between(instant, RootRefinement.instantOfEpochNanos(RootRefinement.toEpochNanos(instant))).toNanos(), 1000.0);
+        }
+    }
+
+    @Test
+    public void evaluationCountInCalculateAllEventsTest() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        // Compare the number of evaluations with the fixed interval scan without any event, to count only evaluations for the refinement
+        final LocationOnTheEarth tokyo = LocationsForTest.getTokyoNAO();
+        final Instant start = Instant.parse("2026-01-01T00:00:00Z");
+        final Instant end = Instant.parse("2026-02-01T00:00:00Z");
+        final double heightStandardRad = -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0);
+
+        for (AstronomicalEventsCalculation.EventDirectionType eventDirectionType: AstronomicalEventsCalculation.EventDirectionType.values()) {
+            for (boolean isSun : new boolean[] { true, false }) {
+                CountingAstronomicalObject astronomicalObject = new CountingAstronomicalObject(isSun ? new Sun() : new Moon(), true);
+                Instant[] events = AstronomicalEventsCalculation.calculateAllEvents(astronomicalObject, eventDirectionType, start, end, Duration.ofMinutes(10), Duration.ofMillis(200),
+                        tokyo, true, AstronomicalEventsCalculation.ReferencePoint.TOP, true, heightStandardRad);
+                final int scanCount = (int) Duration.between(start, end).toMinutes() / 10 + 1;
+
+                assertTrue(events.length >= 29);
+                // Bisection takes 12 evaluations for each event from 10-minute bracket to 200 ms precision
+                assertTrue((astronomicalObject.getCount() - scanCount) <= events.length * 6);
+            }
+        }
+    }
+
+    @Test
+    public void evaluationCountInPolarFallbackTest() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        // Sunrise at the north pole, where the hour angle crossing the horizon cannot be calculated and the 24-hour bracket is refined
+        final Instant day = Instant.parse("2026-03-18T00:00:00Z");
+        CountingAstronomicalObject sun = new CountingAstronomicalObject(new Sun(), false);
+        Instant rise = AstronomicalEventsCalculation.calculateRiseWithin24h(sun, day, LocationsForTest.getNorthPoleE0Z(), true, AstronomicalEventsCalculation.ReferencePoint.TOP);
+
+        Instant[] expected = AstronomicalEventsCalculation.calculateAllEvents(new Sun(), AstronomicalEventsCalculation.EventDirectionType.RISE, day, day.plusSeconds(86400), Duration.ofMinutes(1), Duration.ofMillis(200),
+                LocationsForTest.getNorthPoleE0Z(), true, AstronomicalEventsCalculation.ReferencePoint.TOP, true, -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0));
+        assertEquals(1, expected.length);
+        assertEquals(0.0, Duration.between(expected[0], rise).toMillis(), 400.0);
+
+        // 3 evaluations at the middle, start and end of the day, and the rest for the refinement, which took 18 evaluations with bisection
+        assertTrue(sun.getCount() - 3 <= 6);
+    }
+}
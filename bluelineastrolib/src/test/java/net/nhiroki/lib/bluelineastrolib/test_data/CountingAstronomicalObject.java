@@ -0,0 +1,69 @@
+package net.nhiroki.lib.bluelineastrolib.test_data;
+
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.AstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.coordinates.CelestialCoordinatesWithRightAscension;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+
+import java.time.Instant;
+
+
+/**
+ * Wraps an astronomical object and counts how many times the celestial coordinates are calculated.
+ */
+public class CountingAstronomicalObject implements AstronomicalObject {
+    private final AstronomicalObject source;
+    private final boolean hideMaximumAngularSpeed;
+    private int count = 0;
+
+
+    /**
+     * @param source Object to be wrapped
+     * @param hideMaximumAngularSpeed If true, maximumAngularSpeedRadPerDay() returns Double.POSITIVE_INFINITY to disable the optimization by it
+     */
+    public CountingAstronomicalObject(AstronomicalObject source, boolean hideMaximumAngularSpeed) {
+        this.source = source;
+        this.hideMaximumAngularSpeed = hideMaximumAngularSpeed;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public CelestialCoordinatesWithRightAscension calculateCelestialCoordinates(Instant t) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        ++this.count;
+        return this.source.calculateCelestialCoordinates(t);
+    }
+
+    @Override
+    public double calculateApparentRadiusRad(Instant t) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        return this.source.calculateApparentRadiusRad(t);
+    }
+
+    @Override
+    public double calculateEquatorialHorizontalParallaxRad(Instant t) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        return this.source.calculateEquatorialHorizontalParallaxRad(t);
+    }
+
+    @Override
+    public double estimatedIncrementOfRightAscensionRadPerDay(Instant t) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        return this.source.estimatedIncrementOfRightAscensionRadPerDay(t);
+    }
+
+    @Override
+    public double maximumAngularSpeedRadPerDay() {
+        if (this.hideMaximumAngularSpeed) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return this.source.maximumAngularSpeedRadPerDay();
+    }
+
+    @Override
+    public double maximumDeclinationSpeedRadPerDay() {
+        if (this.hideMaximumAngularSpeed) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return this.source.maximumDeclinationSpeedRadPerDay();
+    }
+}
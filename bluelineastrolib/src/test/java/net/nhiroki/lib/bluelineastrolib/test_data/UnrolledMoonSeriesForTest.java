@@ -1,40 +1,11 @@
-package net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects;
+package net.nhiroki.lib.bluelineastrolib.test_data;
 
-import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.AstronomicalObject;
-import net.nhiroki.lib.bluelineastrolib.coordinates.CelestialCoordinatesWithRightAscension;
-import net.nhiroki.lib.bluelineastrolib.coordinates.EclipticCoordinates;
-import net.nhiroki.lib.bluelineastrolib.earth.Earth;
-import net.nhiroki.lib.bluelineastrolib.earth.TimePointOnTheEarth;
-import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
-import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
 
-import java.time.Instant;
+// Series of Moon written as unrolled terms before they were moved into tables, kept as the reference of the regression test
+public class UnrolledMoonSeriesForTest {
+    public static double calculateEquatorialHorizontalParallaxDeg(double julianYearFromJ2000_0) {
+        double T = julianYearFromJ2000_0 / 100.0;
 
-
-/**
- * The moon seen from the earth
- */
-public class Moon implements AstronomicalObject {
-    // https://en.wikipedia.org/wiki/Moon
-    private static final double MEAN_RADIUS_KM = 1737.4;
-
-
-    @Override
-    public CelestialCoordinatesWithRightAscension calculateCelestialCoordinates(Instant t) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
-        double eclipticTiltRad = Earth.calculateEclipticTiltRad(t);
-        return CelestialCoordinatesWithRightAscension.fromEclipticCoordinates(this.calculateEclipticCoordinates(t), eclipticTiltRad);
-    }
-
-    @Override
-    public double calculateEquatorialHorizontalParallaxRad(Instant t) {
-        double T = new TimePointOnTheEarth(t).julianYearFromJ2000_0() / 100.0;
-
-        // https://www1.kaiho.mlit.go.jp/kenkyu/report/rhr15/rhr15-06.pdf
-        //   Trigonometric Series for the Coordinates of the Objects in the Solar System
-        //   Yoshio Kubo
-        //
-        // And there is distribution table that compared in certain time points from 1972 to 1981, which only a little number of cases had difference of more than 0.2" compared to the Japanese Emphemeris.
-        // The author expects this distribution to be retained throughout the 60 years centering at 2000.
         double retDeg = 0.0;
         retDeg += 0.000005 * Math.cos(Math.toRadians( 405201.0   * T + 140.0));
         retDeg += 0.000006 * Math.cos(Math.toRadians(  99863.0   * T + 212.0));
@@ -81,53 +52,12 @@ public class Moon implements AstronomicalObject {
         retDeg += 0.051820 * Math.cos(Math.toRadians( 477198.868 * T + 134.963));
         retDeg += 0.950725;
 
-        return Math.toRadians(retDeg);
-    }
-
-    @Override
-    public double calculateApparentRadiusRad(Instant t) {
-        return Math.atan(MEAN_RADIUS_KM / this.calculateDistanceFromTheEarthKM(t));
-    }
-
-    @Override
-    public double estimatedIncrementOfRightAscensionRadPerDay(Instant t) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
-        // Calculate directly
-        double ret = this.calculateCelestialCoordinates(t.plusSeconds(43200)).getRightAscensionRad()
-                - this.calculateCelestialCoordinates(t.minusSeconds(43200)).getRightAscensionRad();
-
-        // The right ascension of the moon increases about 13 degrees per day,
-        // so the change in a day does not exceed 180 degrees
-        ret -= Math.floor((ret + Math.PI) / (2.0 * Math.PI)) * 2.0 * Math.PI;
-
-        return ret;
-    }
-
-    public EclipticCoordinates calculateEclipticCoordinates(Instant t) {
-        return EclipticCoordinates.ofRadians(this.calculateEclipticLongitudeRad(t), this.calculateEclipticLatitudeRad(t));
-    }
-
-    public double calculateDistanceFromTheEarthKM(Instant t) {
-        return this.calculateDistanceFromTheEarthAU(t) * Sun.AU_IN_KM;
-    }
-
-    public double calculateDistanceFromTheEarthAU(Instant t) {
-        return Earth.calculateDistanceAUByEquatorialHorizontalParallaxRad(this.calculateEquatorialHorizontalParallaxRad(t));
-    }
-
-    private double calculateEclipticLongitudeRad (Instant t) {
-        return Math.toRadians(this.calculateEclipticLongitudeDeg(t));
+        return retDeg;
     }
 
-    private double calculateEclipticLongitudeDeg (Instant t) {
-        double T = new TimePointOnTheEarth(t).julianYearFromJ2000_0() / 100.0;
+    public static double calculateEclipticLongitudeDeg(double julianYearFromJ2000_0) {
+        double T = julianYearFromJ2000_0 / 100.0;
 
-        // https://www1.kaiho.mlit.go.jp/kenkyu/report/rhr15/rhr15-06.pdf
-        //   Trigonometric Series for the Coordinates of the Objects in the Solar System
-        //   Yoshio Kubo
-        //
-        // Looks like the writer of this paper expects the precision about 0.1' for 1970-2030 for Moon
-        // And there is distribution table that compared in certain time points from 1972 to 1981, which only a little number of cases had difference of more than 10" compared to the Japanese Emphemeris.
-        // The author expects this distribution to be retained throughout the 60 years centering at 2000.
         double retDeg = 0.0;
         retDeg += 0.0003 * Math.cos(Math.toRadians(2322131.0 * T + 191.0));
         retDeg += 0.0003 * Math.cos(Math.toRadians(   4067.0 * T +  70.0));
@@ -191,30 +121,14 @@ public class Moon implements AstronomicalObject {
         retDeg += 1.2740 * Math.cos(Math.toRadians( 413335.35 * T +  10.74));
         retDeg += 6.2888 * Math.cos(Math.toRadians( 477198.868 * T +  44.963));
         retDeg += 218.3162 + 481267.8809 * T;
-
-        // Differentiation of this function:
-        //   deg per julian century: 481267.8809 + 6.2888 * toRadians(477198.868) * sin(~) + much smaller items
-        //   deg oer day: 13.17637234 + 1.434017103 * sin(~) + much smaller items
-        //   which is always larger than 0
         retDeg -= Math.floor(retDeg / 360.0) * 360.0;
 
         return retDeg;
     }
 
-    private double calculateEclipticLatitudeRad (Instant t) {
-        return Math.toRadians(this.calculateEclipticLatitudeDeg(t));
-    }
-
-    private double calculateEclipticLatitudeDeg (Instant t) {
-        double T = new TimePointOnTheEarth(t).julianYearFromJ2000_0() / 100.0;
+    public static double calculateEclipticLatitudeDeg(double julianYearFromJ2000_0) {
+        double T = julianYearFromJ2000_0 / 100.0;
 
-        // https://www1.kaiho.mlit.go.jp/kenkyu/report/rhr15/rhr15-06.pdf
-        //   Trigonometric Series for the Coordinates of the Objects in the Solar System
-        //   Yoshio Kubo
-        //
-        // Looks like the writer of this paper expects the precision about 0.1' for 1970-2030 for Moon
-        // And there is distribution table that compared in certain time points from 1972 to 1981, which only a little numbers of expections exceed 10 seconds.
-        // The author expects this distribution to be retained throughout the 60 years centering at 2000.
         double retDeg = 0.0;
         retDeg += 0.0003 * Math.cos(Math.toRadians( 335334.0 * T +  57.0));
         retDeg += 0.0003 * Math.cos(Math.toRadians(1814936.0 * T +  16.0));
@@ -262,35 +176,6 @@ public class Moon implements AstronomicalObject {
         retDeg += 0.2806 * Math.cos(Math.toRadians( 960400.89 * T + 138.24));
         retDeg += 5.1281 * Math.cos(Math.toRadians( 483202.019 * T +   3.273));
 
-        // Differentiation of this function:
-        //   deg per julian century: 5.1281 * toRadians(483202.019) * sin(~) + much smaller items
-        //   deg per day: 1.184056 * sin(~) + much smaller items
-        //
-        // And for analysis of peaks and valleys,
-        //   if the argument for cos in the largest 5.1281deg line is 0 degree or 180 degrees at time t,
-        //   in bc:
-        //     5.1281*(1-c(483202.019*0.5/36525*3.14159265358979/180))
-        //     .03413625290975240256
-        //     5.1281*(1-c(483202.019*0.5/36525*3.14159265358979/180))*60
-        //     2.04817517458514415360
-        //   at t +/- 12 hours, the result might have up to 2.05 arcminutes + much smaller items.
-        //   at t +/- 6 hours, the result might have up to 30.75 arcseconds + much smaller items.
-        //   Therefore, if the caller checks the ecliptic latitude for the term of both for start and end, and both did not cross the desired line,
-        //     there may be peak or valley of:
-        //       about a little more than 2 arcminutes if the term is 24 hours (up to 12 hours from the peak or the valley)
-        //       about 31 arcseconds if the term is 12 hours (up to 6 hours from the peak or the valley)
-        // Note is that this is about ecliptic latitude, so the effect of ecliptic tilt should also be considered.
-        //    in bc:
-        //      23.4*(1-c(0.5/3.14159265358979/180))*60
-        //      .00054882304230688260
-        //      23.4*s(0.5/3.14159265358979/180)*60
-        //      1.24140839436141018180
-        //    It looks like the peaks or valleys can be ignored. It's about 0.03 arcsecond.
-        //    It looks like the increase or decrease in case the declination is near 0 deg cannot eliminate this peak or valley.
-        // In computation of rise/set in current logic, if this 2 arcminutes difference would matter whether the line crosses the specified or not, it would affect the result.
-        //    However, actually, first computation is done 12h, so if the difference is less tha about 30 arcsecseconds, the calculation should start with the line of possibility.
-        //    The moon goes around every about 25 hours, so in my understandings actual error to miss rise/set would be about 30 arcseconds or like that just for computation logic, which is larger than just the precision of computing the location.
-
         return retDeg;
     }
 }
@@ -0,0 +1,172 @@
+package net.nhiroki.lib.bluelineastrolib.tool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.AstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.PrecisionProfile;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Moon;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Sun;
+import net.nhiroki.lib.bluelineastrolib.coordinates.LocationOnTheEarth;
+import net.nhiroki.lib.bluelineastrolib.coordinates.Observer;
+import net.nhiroki.lib.bluelineastrolib.earth.Earth;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+import net.nhiroki.lib.bluelineastrolib.logic.AstronomicalEventsCalculation;
+import net.nhiroki.lib.bluelineastrolib.test_data.LocationsForTest;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+
+public class BinaryAlmanacFileTest {
+    @Test
+    public void sameAsSeparateCallsTest() throws IOException, AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final double heightStandardRad = -Math.toRadians(Earth.ATMOSPHERIC_REFRACTION_AT_HORIZON_ARCSEC / 3600.0);
+        final LocationOnTheEarth[] locations = LocationsForTest.listLocationsForTest();
+        final LocalDate firstDate = LocalDate.of(2026, 6, 10);
+        // Longer than a block of the writer
+        final int dayCount = 40;
+
+        final Path path = Files.createTempFile("binary-almanac", ".bin");
+        try {
+            // Buffers of 2 locations, so that the locations are split into buffers
+            BinaryAlmanacFile.write(path, locations, firstDate, dayCount, ForkJoinPool.commonPool(), dayCount * BinaryAlmanacFile.RECORD_BYTES * 2);
+            assertEquals(BinaryAlmanacFile.HEADER_BYTES + (long) BinaryAlmanacFile.LOCATION_BYTES * locations.length + (long) BinaryAlmanacFile.RECORD_BYTES * dayCount * locations.length, Files.size(path));
+
+            try (BinaryAlmanacFile almanacFile = BinaryAlmanacFile.open(path); BinaryAlmanacFile splitAlmanacFile = BinaryAlmanacFile.open(path, dayCount * BinaryAlmanacFile.RECORD_BYTES * 3)) {
+                assertEquals(locations.length, almanacFile.getLocationCount());
+                assertEquals(dayCount, almanacFile.getDayCount());
+                assertEquals(firstDate, almanacFile.getFirstDate());
+                assertEquals(3, almanacFile.dayOf(LocalDate.of(2026, 6, 13)));
+
+                final AstronomicalObject sun = new Sun();
+                final AstronomicalObject moon = new Moon();
+                int eventCount = 0;
+                int noEventCount = 0;
+                for (int locationId = 0; locationId < locations.length; ++locationId) {
+                    assertEquals(locations[locationId], almanacFile.getLocation(locationId));
+
+                    for (int day = 0; day < dayCount; ++day) {
+                        final long dayStart = firstDate.plusDays(day).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+                        for (BinaryAlmanacFile.Event event : BinaryAlmanacFile.Event.values()) {
+                            final boolean isSun = event == BinaryAlmanacFile.Event.SUNRISE || event == BinaryAlmanacFile.Event.SUNSET;
+                            final double expectedEpochMilli = AstronomicalEventsCalculation.calculateEventWithin24h(
+                                    isSun ? sun : moon,
+                                    (event == BinaryAlmanacFile.Event.SUNRISE || event == BinaryAlmanacFile.Event.MOONRISE) ? AstronomicalEventsCalculation.EventDirectionType.RISE : AstronomicalEventsCalculation.EventDirectionType.SET,
+                                    dayStart, Observer.of(locations[locationId]), true,
+                                    isSun ? AstronomicalEventsCalculation.ReferencePoint.TOP : AstronomicalEventsCalculation.ReferencePoint.CENTER,
+                                    true, heightStandardRad, PrecisionProfile.DEFAULT);
+
+                            final int actual = almanacFile.getSecondOfDay(locationId, day, event);
+                            assertEquals(actual, splitAlmanacFile.getSecondOfDay(locationId, day, event));
+                            if (Double.isNaN(expectedEpochMilli) || expectedEpochMilli < dayStart || expectedEpochMilli >= dayStart + 86400000L) {
+                                assertEquals(BinaryAlmanacFile.NO_EVENT, actual);
+                                ++noEventCount;
+                            } else {
+                                // Interpolated in the file, which may differ by milliseconds
+                                assertEquals((expectedEpochMilli - dayStart) / 1000.0, actual, 1.0);
+                                ++eventCount;
+                            }
+                        }
+                    }
+                }
+                // Polar day and night are included
+                assertTrue(eventCount > 0);
+                assertTrue(noEventCount > 0);
+
+                assertThrows(IndexOutOfBoundsException.class, () -> almanacFile.getSecondOfDay(locations.length, 0, BinaryAlmanacFile.Event.SUNRISE));
+                assertThrows(IndexOutOfBoundsException.class, () -> almanacFile.getSecondOfDay(0, dayCount, BinaryAlmanacFile.Event.SUNRISE));
+                assertThrows(IndexOutOfBoundsException.class, () -> almanacFile.getSecondOfDay(0, -1, BinaryAlmanacFile.Event.SUNRISE));
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void truncatedFileTest() throws IOException, AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final Path directory = Files.createTempDirectory("binary-almanac");
+        final Path path = directory.resolve("almanac.bin");
+        try {
+            BinaryAlmanacFile.write(path, LocationsForTest.listLocationsForTest(), LocalDate.of(2026, 1, 1), 3);
+            // Temporary file is moved to the path
+            try (Stream<Path> files = Files.list(directory)) {
+                assertEquals(1L, files.count());
+            }
+            final long size = Files.size(path);
+            try (BinaryAlmanacFile almanacFile = BinaryAlmanacFile.open(path)) {
+                assertEquals(3, almanacFile.getDayCount());
+            }
+
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(size - 1);
+            }
+            assertThrows(IOException.class, () -> BinaryAlmanacFile.open(path));
+
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(BinaryAlmanacFile.HEADER_BYTES);
+            }
+            assertThrows(IOException.class, () -> BinaryAlmanacFile.open(path));
+
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(BinaryAlmanacFile.HEADER_BYTES - 1);
+            }
+            assertThrows(IOException.class, () -> BinaryAlmanacFile.open(path));
+        } finally {
+            Files.deleteIfExists(path);
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void permissionsTest() throws IOException, AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final Path directory = Files.createTempDirectory("binary-almanac");
+        final Path path = directory.resolve("almanac.bin");
+        try {
+            if (! Files.getFileStore(directory).supportsFileAttributeView(PosixFileAttributeView.class)) {
+                return;
+            }
+            // Not only by the owner as the temporary file
+            BinaryAlmanacFile.write(path, LocationsForTest.listLocationsForTest(), LocalDate.of(2026, 1, 1), 1);
+            assertEquals(PosixFilePermissions.fromString("rw-r--r--"), Files.getPosixFilePermissions(path));
+
+            // Permissions of the replaced file are kept
+            Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rw-rw----"));
+            BinaryAlmanacFile.write(path, LocationsForTest.listLocationsForTest(), LocalDate.of(2026, 1, 1), 1);
+            assertEquals(PosixFilePermissions.fromString("rw-rw----"), Files.getPosixFilePermissions(path));
+        } finally {
+            Files.deleteIfExists(path);
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void invalidFileTest() throws IOException {
+        final Path path = Files.createTempFile("binary-almanac", ".bin");
+        try {
+            Files.write(path, new byte[BinaryAlmanacFile.HEADER_BYTES]);
+            assertThrows(IOException.class, () -> BinaryAlmanacFile.open(path));
+
+            Files.write(path, new byte[3]);
+            assertThrows(IOException.class, () -> BinaryAlmanacFile.open(path));
+
+            assertThrows(IllegalArgumentException.class, () -> BinaryAlmanacFile.write(path, new LocationOnTheEarth[0], LocalDate.of(2026, 1, 1), 1));
+            assertThrows(IllegalArgumentException.class, () -> BinaryAlmanacFile.write(path, LocationsForTest.listLocationsForTest(), LocalDate.of(2026, 1, 1), 0));
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package net.nhiroki.lib.bluelineastrolib.tool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.AstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Moon;
+import net.nhiroki.lib.bluelineastrolib.astronomicalobjects.objects.Sun;
+import net.nhiroki.lib.bluelineastrolib.coordinates.HorizontalCoordinatesFromGround;
+import net.nhiroki.lib.bluelineastrolib.coordinates.HorizontalCoordinatesFromTheCenterOfTheEarth;
+import net.nhiroki.lib.bluelineastrolib.coordinates.LocationOnTheEarth;
+import net.nhiroki.lib.bluelineastrolib.exceptions.AstronomicalPhenomenonComputationException;
+import net.nhiroki.lib.bluelineastrolib.exceptions.UnsupportedDateRangeException;
+import net.nhiroki.lib.bluelineastrolib.logic.AstronomicalEventsCalculation;
+import net.nhiroki.lib.bluelineastrolib.test_data.CountingAstronomicalObject;
+import net.nhiroki.lib.bluelineastrolib.test_data.LocationsForTest;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+
+public class DailyAlmanacTest {
+    private static final ZoneId[] ZONES_FOR_TEST = new ZoneId[] { ZoneId.of("Asia/Tokyo"), ZoneId.of("UTC"), ZoneId.of("Europe/Oslo"), ZoneId.of("America/Sao_Paulo") };
+
+    @Test
+    public void consistentWithSeparateCallsTest() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        for (LocationOnTheEarth locationOnTheEarth : LocationsForTest.listLocationsForTest()) {
+            for (ZoneId zoneId : ZONES_FOR_TEST) {
+                // Including the days of daylight saving time change in Oslo (2026/03/29 and 2026/10/25)
+                for (LocalDate date = LocalDate.of(2026, 1, 1); date.isBefore(LocalDate.of(2027, 1, 1)); date = date.plusDays(13)) {
+                    checkConsistentWithSeparateCalls(date, zoneId, locationOnTheEarth);
+                }
+                checkConsistentWithSeparateCalls(LocalDate.of(2026, 3, 29), zoneId, locationOnTheEarth);
+                checkConsistentWithSeparateCalls(LocalDate.of(2026, 10, 25), zoneId, locationOnTheEarth);
+            }
+        }
+    }
+
+    @Test
+    public void evaluationCountTest() throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final ZoneId zoneId = ZoneId.of("Asia/Tokyo");
+
+        for (LocationOnTheEarth locationOnTheEarth : new LocationOnTheEarth[] { LocationsForTest.getTokyoNAO(), LocationsForTest.getRioDeJaneiro(), LocationsForTest.getTromsoe() }) {
+            for (LocalDate date = LocalDate.of(2026, 1, 1); date.isBefore(LocalDate.of(2027, 1, 1)); date = date.plusDays(17)) {
+                final Instant startOfTheDay = date.atStartOfDay(zoneId).toInstant();
+                final Instant endOfTheDay = date.plusDays(1).atStartOfDay(zoneId).toInstant();
+
+                // The sequence of the calls in the main screen of the app
+                CountingAstronomicalObject sun = new CountingAstronomicalObject(new Sun(), false);
+                CountingAstronomicalObject moon = new CountingAstronomicalObject(new Moon(), false);
+                for (CountingAstronomicalObject astronomicalObject : new CountingAstronomicalObject[] { sun, moon }) {
+                    final AstronomicalEventsCalculation.ReferencePoint referencePoint = astronomicalObject == sun ? AstronomicalEventsCalculation.ReferencePoint.TOP : AstronomicalEventsCalculation.ReferencePoint.CENTER;
+
+                    Instant rise = calculateEventOfTheDay(astronomicalObject, AstronomicalEventsCalculation.EventDirectionType.RISE, referencePoint, startOfTheDay, endOfTheDay, locationOnTheEarth);
+                    if (rise != null) {
+                        HorizontalCoordinatesFromTheCenterOfTheEarth.ofAstronomicalObject(astronomicalObject, rise, locationOnTheEarth);
+                    }
+                    Instant culmination = calculateEventOfTheDay(astronomicalObject, AstronomicalEventsCalculation.EventDirectionType.CULMINATION, referencePoint, startOfTheDay, endOfTheDay, locationOnTheEarth);
+                    if (culmination != null) {
+                        HorizontalCoordinatesFromGround.calculatePositionOfAstronomicalObject(astronomicalObject, culmination, locationOnTheEarth);
+                    }
+                    Instant set = calculateEventOfTheDay(astronomicalObject, AstronomicalEventsCalculation.EventDirectionType.SET, referencePoint, startOfTheDay, endOfTheDay, locationOnTheEarth);
+                    if (set != null) {
+                        HorizontalCoordinatesFromTheCenterOfTheEarth.ofAstronomicalObject(astronomicalObject, set, locationOnTheEarth);
+                    }
+                }
+                // Ecliptic longitude of the Sun, moon phase (the Moon and the Sun) and equation of time at 12:00, which are not counted by CountingAstronomicalObject
+                final int countBySeparateCalls = sun.getCount() + moon.getCount() + 4;
+
+                DailyAlmanac dailyAlmanac = DailyAlmanac.calculate(date, zoneId, locationOnTheEarth);
+                // Further computation with the interpolated objects do not evaluate the series
+                for (Instant t : new Instant[] { dailyAlmanac.getSunrise(), dailyAlmanac.getSunCulmination(), dailyAlmanac.getSunset() }) {
+                    if (t != null) {
+                        HorizontalCoordinatesFromGround.calculatePositionOfAstronomicalObject(dailyAlmanac.getInterpolatedSun(), t, locationOnTheEarth);
+                    }
+                }
+                for (Instant t : new Instant[] { dailyAlmanac.getMoonrise(), dailyAlmanac.getMoonCulmination(), dailyAlmanac.getMoonset() }) {
+                    if (t != null) {
+                        HorizontalCoordinatesFromGround.calculatePositionOfAstronomicalObject(dailyAlmanac.getInterpolatedMoon(), t, locationOnTheEarth);
+                    }
+                }
+
+                if (dailyAlmanac.getSunrise() == null && dailyAlmanac.getSunset() == null) {
+                    // Separate calls are also cheap on polar days, as the declination envelope tells there is no rise or set of the Sun
+                    assertTrue(dailyAlmanac.getEphemerisEvaluationCount() <= countBySeparateCalls);
+                } else {
+                    assertTrue(dailyAlmanac.getEphemerisEvaluationCount() * 2 <= countBySeparateCalls);
+                }
+            }
+        }
+    }
+
+    private static void checkConsistentWithSeparateCalls(LocalDate date, ZoneId zoneId, LocationOnTheEarth locationOnTheEarth) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        final Instant startOfTheDay = date.atStartOfDay(zoneId).toInstant();
+        final Instant midOfTheDay = date.atTime(12, 0).atZone(zoneId).toInstant();
+        final Instant endOfTheDay = date.plusDays(1).atStartOfDay(zoneId).toInstant();
+
+        final DailyAlmanac dailyAlmanac = DailyAlmanac.calculate(date, zoneId, locationOnTheEarth);
+        final Sun sun = new Sun();
+        final Moon moon = new Moon();
+
+        checkEventConsistent(calculateEventOfTheDay(sun, AstronomicalEventsCalculation.EventDirectionType.RISE, AstronomicalEventsCalculation.ReferencePoint.TOP, startOfTheDay, endOfTheDay, locationOnTheEarth),
+                dailyAlmanac.getSunrise(), endOfTheDay);
+        checkEventConsistent(calculateEventOfTheDay(sun, AstronomicalEventsCalculation.EventDirectionType.CULMINATION, AstronomicalEventsCalculation.ReferencePoint.TOP, startOfTheDay, endOfTheDay, locationOnTheEarth),
+                dailyAlmanac.getSunCulmination(), endOfTheDay);
+        checkEventConsistent(calculateEventOfTheDay(sun, AstronomicalEventsCalculation.EventDirectionType.SET, AstronomicalEventsCalculation.ReferencePoint.TOP, startOfTheDay, endOfTheDay, locationOnTheEarth),
+                dailyAlmanac.getSunset(), endOfTheDay);
+        checkEventConsistent(calculateEventOfTheDay(moon, AstronomicalEventsCalculation.EventDirectionType.RISE, AstronomicalEventsCalculation.ReferencePoint.CENTER, startOfTheDay, endOfTheDay, locationOnTheEarth),
+                dailyAlmanac.getMoonrise(), endOfTheDay);
+        checkEventConsistent(calculateEventOfTheDay(moon, AstronomicalEventsCalculation.EventDirectionType.CULMINATION, AstronomicalEventsCalculation.ReferencePoint.CENTER, startOfTheDay, endOfTheDay, locationOnTheEarth),
+                dailyAlmanac.getMoonCulmination(), endOfTheDay);
+        checkEventConsistent(calculateEventOfTheDay(moon, AstronomicalEventsCalculation.EventDirectionType.SET, AstronomicalEventsCalculation.ReferencePoint.CENTER, startOfTheDay, endOfTheDay, locationOnTheEarth),
+                dailyAlmanac.getMoonset(), endOfTheDay);
+
+        assertEquals(sun.calculateEclipticCoordinates(midOfTheDay).getLongitudeDeg(), dailyAlmanac.getSunEclipticLongitudeDegAtNoon(), 1e-9);
+        assertEquals(MoonTool.calculateMoonPhaseDeg(midOfTheDay), dailyAlmanac.getMoonPhaseDegAtNoon(), 1e-9);
+        assertEquals(sun.calculateEquationOfTimeSec(midOfTheDay), dailyAlmanac.getEquationOfTimeSecAtNoon(), 1e-6);
+    }
+
+    private static void checkEventConsistent(Instant expected, Instant actual, Instant endOfTheDay) {
+        if (expected == null) {
+            // Interpolation error may move the event across the end of the day only when it is just around there
+            if (actual != null) {
+                assertTrue(Math.abs(actual.toEpochMilli() - endOfTheDay.toEpochMilli()) < 1000L);
+            }
+            return;
+        }
+        if (actual == null) {
+            assertTrue(Math.abs(expected.toEpochMilli() - endOfTheDay.toEpochMilli()) < 1000L);
+            return;
+        }
+        // Both are within the precision of the calculation (200ms)
+        assertEquals(expected.toEpochMilli(), actual.toEpochMilli(), 500.0);
+    }
+
+    // Same as the main screen of the app
+    private static Instant calculateEventOfTheDay(AstronomicalObject astronomicalObject, AstronomicalEventsCalculation.EventDirectionType eventDirectionType,
+                                                  AstronomicalEventsCalculation.ReferencePoint referencePoint,
+                                                  Instant startOfTheDay, Instant endOfTheDay, LocationOnTheEarth locationOnTheEarth) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        Instant ret = calculateEventWithin24h(astronomicalObject, eventDirectionType, referencePoint, startOfTheDay, locationOnTheEarth);
+        if (ret == null && endOfTheDay.isAfter(startOfTheDay.plusSeconds(86400))) {
+            ret = calculateEventWithin24h(astronomicalObject, eventDirectionType, referencePoint, endOfTheDay.minusSeconds(86400), locationOnTheEarth);
+        }
+        if (ret != null && ret.isAfter(endOfTheDay)) {
+            ret = null;
+        }
+        return ret;
+    }
+
+    private static Instant calculateEventWithin24h(AstronomicalObject astronomicalObject, AstronomicalEventsCalculation.EventDirectionType eventDirectionType,
+                                                   AstronomicalEventsCalculation.ReferencePoint referencePoint,
+                                                   Instant start, LocationOnTheEarth locationOnTheEarth) throws AstronomicalPhenomenonComputationException, UnsupportedDateRangeException {
+        if (eventDirectionType == AstronomicalEventsCalculation.EventDirectionType.RISE) {
+            return AstronomicalEventsCalculation.calculateRiseWithin24h(astronomicalObject, start, locationOnTheEarth, true, referencePoint);
+        } else if (eventDirectionType == AstronomicalEventsCalculation.EventDirectionType.SET) {
+            return AstronomicalEventsCalculation.calculateSetWithin24h(astronomicalObject, start, locationOnTheEarth, true, referencePoint);
+        }
+        return AstronomicalEventsCalculation.calculateCulminationWithin24h(astronomicalObject, start, locationOnTheEarth);
+    }
+}
@@ -46,6 +46,9 @@ def main():
             line = line.replace('    ', '')
             line = line.strip()
             assert(line.startswith('+--- ') or line.startswith('\\--- ') or line.startswith('|    '))
+            if line[len('+--- '):].startswith('project '):
+                # Modules of this repository
+                continue
             package_info = line[len('+--- '):].split(':')
             package_fullname = package_info[0]
             if len(package_info) == 2:
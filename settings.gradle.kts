@@ -21,4 +21,6 @@ dependencyResolutionManagement {
 
 rootProject.name = "Blue Line Solar Info"
 include(":app")
+include(":bluelineastrolib")
+include(":benchmark")
  
\ No newline at end of file